@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.file.table;
+
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.connector.file.src.FileSourceSplit;
+import org.apache.flink.connector.file.src.reader.BulkFormat;
+import org.apache.flink.connector.file.src.util.CheckpointedPosition;
+import org.apache.flink.connector.file.src.util.IteratorResultIterator;
+import org.apache.flink.connector.file.src.util.RecordAndPosition;
+import org.apache.flink.connector.file.table.VectorizedHashAggregator.AggregateKind;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.columnar.ColumnarRowData;
+import org.apache.flink.table.data.columnar.vector.VectorizedColumnBatch;
+import org.apache.flink.table.types.logical.RowType;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * This {@link BulkFormat} is a wrapper that computes the local aggregates pushed down into a {@link
+ * FileSystemTableSource}. Every reader produces the partial aggregates of the rows of its split
+ * instead of the rows, consecutive rows of a columnar batch are aggregated at once by the {@link
+ * VectorizedHashAggregator}.
+ */
+class AggregatingBulkFormat implements BulkFormat<RowData, FileSourceSplit> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Max number of groups a reader keeps before it emits their partial aggregates, the final
+     * aggregation merges the partial aggregates of a group emitted more than once.
+     */
+    private static final int MAX_BUFFERED_GROUPS = 1 << 16;
+
+    private final BulkFormat<RowData, FileSourceSplit> wrapped;
+    private final RowType inputType;
+    private final int[] groupingFields;
+    private final AggregateKind[] aggregateKinds;
+    private final int[] aggregateArgFields;
+    private final RowType producedType;
+    private final TypeInformation<RowData> producedTypeInfo;
+
+    public AggregatingBulkFormat(
+            BulkFormat<RowData, FileSourceSplit> wrapped,
+            RowType inputType,
+            int[] groupingFields,
+            AggregateKind[] aggregateKinds,
+            int[] aggregateArgFields,
+            RowType producedType,
+            TypeInformation<RowData> producedTypeInfo) {
+        this.wrapped = wrapped;
+        this.inputType = inputType;
+        this.groupingFields = groupingFields;
+        this.aggregateKinds = aggregateKinds;
+        this.aggregateArgFields = aggregateArgFields;
+        this.producedType = producedType;
+        this.producedTypeInfo = producedTypeInfo;
+    }
+
+    @Override
+    public Reader<RowData> createReader(Configuration config, FileSourceSplit split)
+            throws IOException {
+        return new AggregatingReader(wrapped.createReader(config, split));
+    }
+
+    @Override
+    public Reader<RowData> restoreReader(Configuration config, FileSourceSplit split)
+            throws IOException {
+        return new AggregatingReader(wrapped.restoreReader(config, split));
+    }
+
+    @Override
+    public boolean isSplittable() {
+        return wrapped.isSplittable();
+    }
+
+    @Override
+    public TypeInformation<RowData> getProducedType() {
+        return producedTypeInfo;
+    }
+
+    private class AggregatingReader implements Reader<RowData> {
+
+        private final Reader<RowData> reader;
+        private final VectorizedHashAggregator aggregator;
+
+        private boolean endOfInput;
+
+        // The range of consecutive rows of a columnar batch which is not aggregated yet
+        @Nullable private VectorizedColumnBatch rangeBatch;
+        private int rangeFrom;
+        private int rangeTo;
+
+        private AggregatingReader(Reader<RowData> reader) {
+            this.reader = reader;
+            this.aggregator =
+                    new VectorizedHashAggregator(
+                            inputType,
+                            groupingFields,
+                            aggregateKinds,
+                            aggregateArgFields,
+                            producedType);
+        }
+
+        @Nullable
+        @Override
+        public RecordIterator<RowData> readBatch() throws IOException {
+            while (!endOfInput && aggregator.getNumGroups() < MAX_BUFFERED_GROUPS) {
+                RecordIterator<RowData> batch = reader.readBatch();
+                if (batch == null) {
+                    endOfInput = true;
+                } else {
+                    try {
+                        accumulate(batch);
+                    } finally {
+                        batch.releaseBatch();
+                    }
+                }
+            }
+
+            if (aggregator.getNumGroups() == 0) {
+                return null;
+            }
+            List<RowData> results = aggregator.getResults();
+            aggregator.reset();
+            // Partial aggregates can not be restored from a position, the split is read again
+            // after a failover like in every bounded job
+            return new IteratorResultIterator<>(
+                    results.iterator(), CheckpointedPosition.NO_OFFSET, 0L);
+        }
+
+        private void accumulate(RecordIterator<RowData> batch) {
+            RecordAndPosition<RowData> record;
+            while ((record = batch.next()) != null) {
+                RowData row = record.getRecord();
+                if (row instanceof ColumnarRowData) {
+                    ColumnarRowData columnarRow = (ColumnarRowData) row;
+                    VectorizedColumnBatch columnBatch = columnarRow.getVectorizedColumnBatch();
+                    int rowId = columnarRow.getRowId();
+                    if (columnBatch == rangeBatch && rowId == rangeTo) {
+                        rangeTo++;
+                        continue;
+                    }
+                    flushRange();
+                    rangeBatch = columnBatch;
+                    rangeFrom = rowId;
+                    rangeTo = rowId + 1;
+                } else {
+                    flushRange();
+                    aggregator.accumulate(row);
+                }
+            }
+            // the batch is released after this call, so its rows must be aggregated now
+            flushRange();
+        }
+
+        private void flushRange() {
+            if (rangeBatch != null) {
+                aggregator.accumulate(rangeBatch, rangeFrom, rangeTo);
+                rangeBatch = null;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
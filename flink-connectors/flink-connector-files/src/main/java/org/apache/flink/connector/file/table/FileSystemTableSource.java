@@ -25,6 +25,7 @@ import org.apache.flink.configuration.ReadableConfig;
 import org.apache.flink.connector.file.src.FileSource;
 import org.apache.flink.connector.file.src.FileSourceSplit;
 import org.apache.flink.connector.file.src.reader.BulkFormat;
+import org.apache.flink.connector.file.table.VectorizedHashAggregator.AggregateKind;
 import org.apache.flink.connector.file.table.format.BulkDecodingFormat;
 import org.apache.flink.core.fs.Path;
 import org.apache.flink.table.api.DataTypes;
@@ -38,6 +39,7 @@ import org.apache.flink.table.connector.format.ProjectableDecodingFormat;
 import org.apache.flink.table.connector.source.InputFormatProvider;
 import org.apache.flink.table.connector.source.ScanTableSource;
 import org.apache.flink.table.connector.source.SourceProvider;
+import org.apache.flink.table.connector.source.abilities.SupportsAggregatePushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsFilterPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsLimitPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsPartitionPushDown;
@@ -46,10 +48,14 @@ import org.apache.flink.table.connector.source.abilities.SupportsReadingMetadata
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.data.StringData;
 import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.table.expressions.AggregateExpression;
 import org.apache.flink.table.expressions.ResolvedExpression;
 import org.apache.flink.table.factories.FactoryUtil;
 import org.apache.flink.table.types.DataType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.table.utils.PartitionPathUtils;
+import org.apache.flink.types.RowKind;
 
 import javax.annotation.Nullable;
 
@@ -77,7 +83,8 @@ public class FileSystemTableSource extends AbstractFileSystemTable
                 SupportsLimitPushDown,
                 SupportsPartitionPushDown,
                 SupportsFilterPushDown,
-                SupportsReadingMetadata {
+                SupportsReadingMetadata,
+                SupportsAggregatePushDown {
 
     @Nullable private final DecodingFormat<BulkFormat<RowData, FileSourceSplit>> bulkReaderFormat;
     @Nullable private final DecodingFormat<DeserializationSchema<RowData>> deserializationFormat;
@@ -89,6 +96,10 @@ public class FileSystemTableSource extends AbstractFileSystemTable
     private int[][] projectFields;
     private List<String> metadataKeys;
     private DataType producedDataType;
+    private int[] aggregateGrouping;
+    private AggregateKind[] aggregateKinds;
+    private int[] aggregateArgs;
+    private DataType aggregatedDataType;
 
     public FileSystemTableSource(
             ObjectIdentifier tableIdentifier,
@@ -212,8 +223,8 @@ public class FileSystemTableSource extends AbstractFileSystemTable
     }
 
     /**
-     * Wraps bulk format in a {@link FileInfoExtractorBulkFormat} and {@link LimitableBulkFormat},
-     * if needed.
+     * Wraps bulk format in a {@link FileInfoExtractorBulkFormat}, {@link LimitableBulkFormat} and
+     * {@link AggregatingBulkFormat}, if needed.
      */
     private BulkFormat<RowData, FileSourceSplit> wrapBulkFormat(
             ScanContext context,
@@ -247,6 +258,17 @@ public class FileSystemTableSource extends AbstractFileSystemTable
                             defaultPartName);
         }
         bulkFormat = LimitableBulkFormat.create(bulkFormat, limit);
+        if (aggregatedDataType != null) {
+            bulkFormat =
+                    new AggregatingBulkFormat(
+                            bulkFormat,
+                            (RowType) producedDataType.getLogicalType(),
+                            aggregateGrouping,
+                            aggregateKinds,
+                            aggregateArgs,
+                            (RowType) aggregatedDataType.getLogicalType(),
+                            context.createTypeInformation(aggregatedDataType));
+        }
         return bulkFormat;
     }
 
@@ -295,6 +317,62 @@ public class FileSystemTableSource extends AbstractFileSystemTable
         this.limit = limit;
     }
 
+    @Override
+    public boolean applyAggregates(
+            List<int[]> groupingSets,
+            List<AggregateExpression> aggregateExpressions,
+            DataType producedDataType) {
+        // Aggregates are only pushed down for bulk formats, columnar formats among them produce
+        // batches which can be aggregated a column at a time
+        if (bulkReaderFormat == null
+                || groupingSets.size() != 1
+                || !bulkReaderFormat.getChangelogMode().containsOnly(RowKind.INSERT)) {
+            return false;
+        }
+
+        final RowType inputType = (RowType) this.producedDataType.getLogicalType();
+        final RowType aggregatedType = (RowType) producedDataType.getLogicalType();
+        final int[] grouping = groupingSets.get(0);
+        for (int field : grouping) {
+            if (!VectorizedHashAggregator.supportsKeyType(inputType.getTypeAt(field))) {
+                return false;
+            }
+        }
+
+        final AggregateKind[] kinds = new AggregateKind[aggregateExpressions.size()];
+        final int[] args = new int[aggregateExpressions.size()];
+        for (int i = 0; i < aggregateExpressions.size(); i++) {
+            final AggregateExpression aggregate = aggregateExpressions.get(i);
+            final Optional<AggregateKind> kind =
+                    AggregateKind.of(aggregate.getFunctionDefinition());
+            if (!kind.isPresent()
+                    || aggregate.isDistinct()
+                    || aggregate.isApproximate()
+                    || aggregate.getFilterExpression().isPresent()
+                    || aggregate.getArgs().size() > 1) {
+                return false;
+            }
+
+            LogicalType argType = null;
+            args[i] = -1;
+            if (!aggregate.getArgs().isEmpty()) {
+                args[i] = aggregate.getArgs().get(0).getFieldIndex();
+                argType = inputType.getTypeAt(args[i]);
+            }
+            final LogicalType resultType = aggregatedType.getTypeAt(grouping.length + i);
+            if (!VectorizedHashAggregator.supportsAggregate(kind.get(), argType, resultType)) {
+                return false;
+            }
+            kinds[i] = kind.get();
+        }
+
+        this.aggregateGrouping = grouping;
+        this.aggregateKinds = kinds;
+        this.aggregateArgs = args;
+        this.aggregatedDataType = producedDataType;
+        return true;
+    }
+
     @Override
     public Optional<List<Map<String, String>>> listPartitions() {
         try {
@@ -348,6 +426,10 @@ public class FileSystemTableSource extends AbstractFileSystemTable
         source.projectFields = projectFields;
         source.metadataKeys = metadataKeys;
         source.producedDataType = producedDataType;
+        source.aggregateGrouping = aggregateGrouping;
+        source.aggregateKinds = aggregateKinds;
+        source.aggregateArgs = aggregateArgs;
+        source.aggregatedDataType = aggregatedDataType;
         return source;
     }
 
@@ -0,0 +1,904 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.file.table;
+
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.binary.BinaryStringData;
+import org.apache.flink.table.data.columnar.ColumnarRowData;
+import org.apache.flink.table.data.columnar.vector.BooleanColumnVector;
+import org.apache.flink.table.data.columnar.vector.ByteColumnVector;
+import org.apache.flink.table.data.columnar.vector.BytesColumnVector;
+import org.apache.flink.table.data.columnar.vector.ColumnVector;
+import org.apache.flink.table.data.columnar.vector.DoubleColumnVector;
+import org.apache.flink.table.data.columnar.vector.FloatColumnVector;
+import org.apache.flink.table.data.columnar.vector.IntColumnVector;
+import org.apache.flink.table.data.columnar.vector.LongColumnVector;
+import org.apache.flink.table.data.columnar.vector.ShortColumnVector;
+import org.apache.flink.table.data.columnar.vector.VectorizedColumnBatch;
+import org.apache.flink.table.functions.FunctionDefinition;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.LogicalTypeRoot;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.util.MathUtils;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A hash aggregator which computes the local aggregates pushed down into a {@link
+ * FileSystemTableSource}.
+ *
+ * <p>Columnar formats produce {@link ColumnarRowData}s which are backed by a {@link
+ * VectorizedColumnBatch}, ranges of such rows are aggregated column by column: the hash codes of
+ * the grouping keys are computed for the whole range first, then every aggregate reads its argument
+ * column into a primitive array and updates its accumulators in a tight loop. Rows of other formats
+ * are aggregated one by one.
+ *
+ * <p>Only SUM, SUM0, MIN and MAX of numeric columns, COUNT and COUNT(*) are supported. AVG is
+ * pushed down by the planner as SUM0 and COUNT.
+ */
+class VectorizedHashAggregator {
+
+    private static final int INITIAL_GROUP_CAPACITY = 16;
+
+    private final int[] keyFields;
+    private final LogicalType[] keyTypes;
+    private final RowData.FieldGetter[] keyGetters;
+
+    private final AggregateKind[] kinds;
+    private final int[] argFields;
+    private final LogicalType[] argTypes;
+    private final LogicalType[] resultTypes;
+
+    /** Whether the arguments of an aggregate are accumulated as doubles instead of longs. */
+    private final boolean[] floatingArgs;
+
+    private final long[][] longAccumulators;
+    private final double[][] doubleAccumulators;
+    private final boolean[][] hasValues;
+
+    private int numGroups;
+    private GenericRowData[] groupKeys;
+    private int[] groupHashes;
+
+    /** Open addressing hash table of group ids plus one, 0 marks an empty bucket. */
+    private int[] buckets;
+
+    // Reused buffers for a range of a columnar batch
+    private final ColumnarRowData probeRow = new ColumnarRowData();
+    private int[] hashes = new int[0];
+    private int[] groupIds = new int[0];
+    private long[] longValues = new long[0];
+    private double[] doubleValues = new double[0];
+    private boolean[] nulls = new boolean[0];
+
+    VectorizedHashAggregator(
+            RowType inputType,
+            int[] keyFields,
+            AggregateKind[] kinds,
+            int[] argFields,
+            RowType producedType) {
+        this.keyFields = keyFields;
+        this.keyTypes = new LogicalType[keyFields.length];
+        this.keyGetters = new RowData.FieldGetter[keyFields.length];
+        for (int i = 0; i < keyFields.length; i++) {
+            keyTypes[i] = inputType.getTypeAt(keyFields[i]);
+            keyGetters[i] = RowData.createFieldGetter(keyTypes[i], keyFields[i]);
+        }
+
+        this.kinds = kinds;
+        this.argFields = argFields;
+        this.argTypes = new LogicalType[kinds.length];
+        this.resultTypes = new LogicalType[kinds.length];
+        this.floatingArgs = new boolean[kinds.length];
+        for (int i = 0; i < kinds.length; i++) {
+            argTypes[i] = argFields[i] < 0 ? null : inputType.getTypeAt(argFields[i]);
+            resultTypes[i] = producedType.getTypeAt(keyFields.length + i);
+            floatingArgs[i] = kinds[i].hasNumericArgument() && isFloatingPoint(argTypes[i]);
+        }
+
+        this.longAccumulators = new long[kinds.length][];
+        this.doubleAccumulators = new double[kinds.length][];
+        this.hasValues = new boolean[kinds.length][];
+        this.groupKeys = new GenericRowData[0];
+        this.groupHashes = new int[0];
+        ensureGroupCapacity(INITIAL_GROUP_CAPACITY);
+        this.buckets = new int[INITIAL_GROUP_CAPACITY * 2];
+    }
+
+    /** Aggregates the rows {@code [from, to)} of the given batch. */
+    void accumulate(VectorizedColumnBatch batch, int from, int to) {
+        final int size = to - from;
+        ensureRangeCapacity(size);
+
+        probeRow.setVectorizedColumnBatch(batch);
+        if (keyFields.length == 0) {
+            probeRow.setRowId(from);
+            Arrays.fill(groupIds, 0, size, findOrAddGroup(0, probeRow));
+        } else {
+            Arrays.fill(hashes, 0, size, 0);
+            for (int i = 0; i < keyFields.length; i++) {
+                hashColumn(batch.columns[keyFields[i]], keyTypes[i], from, size);
+            }
+            for (int i = 0; i < size; i++) {
+                probeRow.setRowId(from + i);
+                groupIds[i] = findOrAddGroup(hashes[i], probeRow);
+            }
+        }
+
+        for (int i = 0; i < kinds.length; i++) {
+            switch (kinds[i]) {
+                case COUNT1:
+                    countRows(longAccumulators[i], size);
+                    break;
+                case COUNT:
+                    countNonNulls(longAccumulators[i], batch.columns[argFields[i]], from, size);
+                    break;
+                default:
+                    if (floatingArgs[i]) {
+                        readDoubles(batch.columns[argFields[i]], argTypes[i], from, size);
+                        accumulateDoubles(i, size);
+                    } else {
+                        readLongs(batch.columns[argFields[i]], argTypes[i], from, size);
+                        accumulateLongs(i, size);
+                    }
+            }
+        }
+    }
+
+    /** Aggregates a single row, used for rows which are not backed by a columnar batch. */
+    void accumulate(RowData row) {
+        int hash = 0;
+        for (int i = 0; i < keyFields.length; i++) {
+            hash = 31 * hash + hashField(row, keyFields[i], keyTypes[i]);
+        }
+        final int groupId = findOrAddGroup(hash, row);
+
+        for (int i = 0; i < kinds.length; i++) {
+            final int argField = argFields[i];
+            switch (kinds[i]) {
+                case COUNT1:
+                    longAccumulators[i][groupId]++;
+                    break;
+                case COUNT:
+                    if (!row.isNullAt(argField)) {
+                        longAccumulators[i][groupId]++;
+                    }
+                    break;
+                default:
+                    if (row.isNullAt(argField)) {
+                        break;
+                    }
+                    if (floatingArgs[i]) {
+                        final double value =
+                                isFloat(argTypes[i])
+                                        ? row.getFloat(argField)
+                                        : row.getDouble(argField);
+                        updateDouble(i, groupId, value);
+                    } else {
+                        updateLong(i, groupId, getLong(row, argField, argTypes[i]));
+                    }
+            }
+        }
+    }
+
+    int getNumGroups() {
+        return numGroups;
+    }
+
+    /** Returns a row of the grouping keys followed by the partial aggregates for every group. */
+    List<RowData> getResults() {
+        final List<RowData> results = new ArrayList<>(numGroups);
+        for (int group = 0; group < numGroups; group++) {
+            final GenericRowData result = new GenericRowData(keyFields.length + kinds.length);
+            for (int i = 0; i < keyFields.length; i++) {
+                result.setField(i, groupKeys[group].getField(i));
+            }
+            for (int i = 0; i < kinds.length; i++) {
+                result.setField(keyFields.length + i, getResult(i, group));
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+    /** Removes all groups and their accumulators. */
+    void reset() {
+        for (int i = 0; i < kinds.length; i++) {
+            if (longAccumulators[i] != null) {
+                Arrays.fill(longAccumulators[i], 0, numGroups, 0L);
+            }
+            if (doubleAccumulators[i] != null) {
+                Arrays.fill(doubleAccumulators[i], 0, numGroups, 0.0);
+            }
+            Arrays.fill(hasValues[i], 0, numGroups, false);
+        }
+        Arrays.fill(groupKeys, 0, numGroups, null);
+        Arrays.fill(buckets, 0);
+        numGroups = 0;
+    }
+
+    // --------------------------------------------------------------------------------------------
+    // Groups
+    // --------------------------------------------------------------------------------------------
+
+    private int findOrAddGroup(int hash, RowData row) {
+        if (keyFields.length == 0) {
+            return numGroups == 0 ? addGroup(hash, row) : 0;
+        }
+
+        final int mask = buckets.length - 1;
+        int bucket = MathUtils.murmurHash(hash) & mask;
+        while (true) {
+            final int groupId = buckets[bucket] - 1;
+            if (groupId < 0) {
+                final int newGroupId = addGroup(hash, row);
+                buckets[bucket] = newGroupId + 1;
+                if (numGroups * 2 > buckets.length) {
+                    rehash();
+                }
+                return newGroupId;
+            }
+            if (groupHashes[groupId] == hash && keyEquals(groupKeys[groupId], row)) {
+                return groupId;
+            }
+            bucket = (bucket + 1) & mask;
+        }
+    }
+
+    private int addGroup(int hash, RowData row) {
+        ensureGroupCapacity(numGroups + 1);
+        final GenericRowData key = new GenericRowData(keyFields.length);
+        for (int i = 0; i < keyFields.length; i++) {
+            Object field = keyGetters[i].getFieldOrNull(row);
+            if (field instanceof BinaryStringData) {
+                // the string may point into a buffer which is reused for the next batch
+                field = ((BinaryStringData) field).copy();
+            }
+            key.setField(i, field);
+        }
+        groupKeys[numGroups] = key;
+        groupHashes[numGroups] = hash;
+        return numGroups++;
+    }
+
+    private void rehash() {
+        buckets = new int[buckets.length * 2];
+        final int mask = buckets.length - 1;
+        for (int groupId = 0; groupId < numGroups; groupId++) {
+            int bucket = MathUtils.murmurHash(groupHashes[groupId]) & mask;
+            while (buckets[bucket] != 0) {
+                bucket = (bucket + 1) & mask;
+            }
+            buckets[bucket] = groupId + 1;
+        }
+    }
+
+    private boolean keyEquals(GenericRowData key, RowData row) {
+        for (int i = 0; i < keyFields.length; i++) {
+            final int pos = keyFields[i];
+            final boolean isNull = row.isNullAt(pos);
+            if (key.isNullAt(i) || isNull) {
+                if (key.isNullAt(i) != isNull) {
+                    return false;
+                }
+                continue;
+            }
+            final boolean equals;
+            switch (keyTypes[i].getTypeRoot()) {
+                case BOOLEAN:
+                    equals = key.getBoolean(i) == row.getBoolean(pos);
+                    break;
+                case TINYINT:
+                    equals = key.getByte(i) == row.getByte(pos);
+                    break;
+                case SMALLINT:
+                    equals = key.getShort(i) == row.getShort(pos);
+                    break;
+                case INTEGER:
+                case DATE:
+                case TIME_WITHOUT_TIME_ZONE:
+                    equals = key.getInt(i) == row.getInt(pos);
+                    break;
+                case BIGINT:
+                    equals = key.getLong(i) == row.getLong(pos);
+                    break;
+                case FLOAT:
+                    equals =
+                            Float.floatToIntBits(key.getFloat(i))
+                                    == Float.floatToIntBits(row.getFloat(pos));
+                    break;
+                case DOUBLE:
+                    equals =
+                            Double.doubleToLongBits(key.getDouble(i))
+                                    == Double.doubleToLongBits(row.getDouble(pos));
+                    break;
+                case CHAR:
+                case VARCHAR:
+                    equals = key.getString(i).equals(row.getString(pos));
+                    break;
+                default:
+                    throw new UnsupportedOperationException(
+                            "Unsupported grouping key type: " + keyTypes[i]);
+            }
+            if (!equals) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void ensureGroupCapacity(int capacity) {
+        if (capacity <= groupKeys.length) {
+            return;
+        }
+        final int newCapacity = Math.max(capacity, groupKeys.length * 2);
+        groupKeys = Arrays.copyOf(groupKeys, newCapacity);
+        groupHashes = Arrays.copyOf(groupHashes, newCapacity);
+        for (int i = 0; i < kinds.length; i++) {
+            if (floatingArgs[i]) {
+                doubleAccumulators[i] =
+                        doubleAccumulators[i] == null
+                                ? new double[newCapacity]
+                                : Arrays.copyOf(doubleAccumulators[i], newCapacity);
+            } else {
+                longAccumulators[i] =
+                        longAccumulators[i] == null
+                                ? new long[newCapacity]
+                                : Arrays.copyOf(longAccumulators[i], newCapacity);
+            }
+            hasValues[i] =
+                    hasValues[i] == null
+                            ? new boolean[newCapacity]
+                            : Arrays.copyOf(hasValues[i], newCapacity);
+        }
+    }
+
+    private void ensureRangeCapacity(int size) {
+        if (size <= groupIds.length) {
+            return;
+        }
+        hashes = new int[size];
+        groupIds = new int[size];
+        longValues = new long[size];
+        doubleValues = new double[size];
+        nulls = new boolean[size];
+    }
+
+    // --------------------------------------------------------------------------------------------
+    // Hashing, the hash of a row must be the same as the hash of the row in a columnar batch
+    // --------------------------------------------------------------------------------------------
+
+    private void hashColumn(ColumnVector vector, LogicalType type, int from, int size) {
+        switch (type.getTypeRoot()) {
+            case BOOLEAN:
+                {
+                    final BooleanColumnVector column = (BooleanColumnVector) vector;
+                    for (int i = 0; i < size; i++) {
+                        final int row = from + i;
+                        final int hash =
+                                column.isNullAt(row) ? 0 : Boolean.hashCode(column.getBoolean(row));
+                        hashes[i] = 31 * hashes[i] + hash;
+                    }
+                    break;
+                }
+            case TINYINT:
+                {
+                    final ByteColumnVector column = (ByteColumnVector) vector;
+                    for (int i = 0; i < size; i++) {
+                        final int row = from + i;
+                        final int hash = column.isNullAt(row) ? 0 : column.getByte(row);
+                        hashes[i] = 31 * hashes[i] + hash;
+                    }
+                    break;
+                }
+            case SMALLINT:
+                {
+                    final ShortColumnVector column = (ShortColumnVector) vector;
+                    for (int i = 0; i < size; i++) {
+                        final int row = from + i;
+                        final int hash = column.isNullAt(row) ? 0 : column.getShort(row);
+                        hashes[i] = 31 * hashes[i] + hash;
+                    }
+                    break;
+                }
+            case INTEGER:
+            case DATE:
+            case TIME_WITHOUT_TIME_ZONE:
+                {
+                    final IntColumnVector column = (IntColumnVector) vector;
+                    for (int i = 0; i < size; i++) {
+                        final int row = from + i;
+                        final int hash = column.isNullAt(row) ? 0 : column.getInt(row);
+                        hashes[i] = 31 * hashes[i] + hash;
+                    }
+                    break;
+                }
+            case BIGINT:
+                {
+                    final LongColumnVector column = (LongColumnVector) vector;
+                    for (int i = 0; i < size; i++) {
+                        final int row = from + i;
+                        final int hash =
+                                column.isNullAt(row) ? 0 : Long.hashCode(column.getLong(row));
+                        hashes[i] = 31 * hashes[i] + hash;
+                    }
+                    break;
+                }
+            case FLOAT:
+                {
+                    final FloatColumnVector column = (FloatColumnVector) vector;
+                    for (int i = 0; i < size; i++) {
+                        final int row = from + i;
+                        final int hash =
+                                column.isNullAt(row) ? 0 : Float.hashCode(column.getFloat(row));
+                        hashes[i] = 31 * hashes[i] + hash;
+                    }
+                    break;
+                }
+            case DOUBLE:
+                {
+                    final DoubleColumnVector column = (DoubleColumnVector) vector;
+                    for (int i = 0; i < size; i++) {
+                        final int row = from + i;
+                        final int hash =
+                                column.isNullAt(row) ? 0 : Double.hashCode(column.getDouble(row));
+                        hashes[i] = 31 * hashes[i] + hash;
+                    }
+                    break;
+                }
+            case CHAR:
+            case VARCHAR:
+                {
+                    final BytesColumnVector column = (BytesColumnVector) vector;
+                    for (int i = 0; i < size; i++) {
+                        final int row = from + i;
+                        int hash = 0;
+                        if (!column.isNullAt(row)) {
+                            final BytesColumnVector.Bytes bytes = column.getBytes(row);
+                            hash = hashBytes(bytes.data, bytes.offset, bytes.len);
+                        }
+                        hashes[i] = 31 * hashes[i] + hash;
+                    }
+                    break;
+                }
+            default:
+                throw new UnsupportedOperationException("Unsupported grouping key type: " + type);
+        }
+    }
+
+    private static int hashField(RowData row, int pos, LogicalType type) {
+        if (row.isNullAt(pos)) {
+            return 0;
+        }
+        switch (type.getTypeRoot()) {
+            case BOOLEAN:
+                return Boolean.hashCode(row.getBoolean(pos));
+            case TINYINT:
+                return row.getByte(pos);
+            case SMALLINT:
+                return row.getShort(pos);
+            case INTEGER:
+            case DATE:
+            case TIME_WITHOUT_TIME_ZONE:
+                return row.getInt(pos);
+            case BIGINT:
+                return Long.hashCode(row.getLong(pos));
+            case FLOAT:
+                return Float.hashCode(row.getFloat(pos));
+            case DOUBLE:
+                return Double.hashCode(row.getDouble(pos));
+            case CHAR:
+            case VARCHAR:
+                final byte[] bytes = row.getString(pos).toBytes();
+                return hashBytes(bytes, 0, bytes.length);
+            default:
+                throw new UnsupportedOperationException("Unsupported grouping key type: " + type);
+        }
+    }
+
+    private static int hashBytes(byte[] bytes, int offset, int length) {
+        int hash = 1;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        return hash;
+    }
+
+    // --------------------------------------------------------------------------------------------
+    // Accumulating
+    // --------------------------------------------------------------------------------------------
+
+    private void countRows(long[] counts, int size) {
+        for (int i = 0; i < size; i++) {
+            counts[groupIds[i]]++;
+        }
+    }
+
+    private void countNonNulls(long[] counts, ColumnVector vector, int from, int size) {
+        for (int i = 0; i < size; i++) {
+            if (!vector.isNullAt(from + i)) {
+                counts[groupIds[i]]++;
+            }
+        }
+    }
+
+    private void readLongs(ColumnVector vector, LogicalType type, int from, int size) {
+        switch (type.getTypeRoot()) {
+            case TINYINT:
+                {
+                    final ByteColumnVector column = (ByteColumnVector) vector;
+                    for (int i = 0; i < size; i++) {
+                        nulls[i] = column.isNullAt(from + i);
+                        longValues[i] = nulls[i] ? 0L : column.getByte(from + i);
+                    }
+                    break;
+                }
+            case SMALLINT:
+                {
+                    final ShortColumnVector column = (ShortColumnVector) vector;
+                    for (int i = 0; i < size; i++) {
+                        nulls[i] = column.isNullAt(from + i);
+                        longValues[i] = nulls[i] ? 0L : column.getShort(from + i);
+                    }
+                    break;
+                }
+            case INTEGER:
+                {
+                    final IntColumnVector column = (IntColumnVector) vector;
+                    for (int i = 0; i < size; i++) {
+                        nulls[i] = column.isNullAt(from + i);
+                        longValues[i] = nulls[i] ? 0L : column.getInt(from + i);
+                    }
+                    break;
+                }
+            case BIGINT:
+                {
+                    final LongColumnVector column = (LongColumnVector) vector;
+                    for (int i = 0; i < size; i++) {
+                        nulls[i] = column.isNullAt(from + i);
+                        longValues[i] = nulls[i] ? 0L : column.getLong(from + i);
+                    }
+                    break;
+                }
+            default:
+                throw new UnsupportedOperationException("Unsupported argument type: " + type);
+        }
+    }
+
+    private void readDoubles(ColumnVector vector, LogicalType type, int from, int size) {
+        switch (type.getTypeRoot()) {
+            case FLOAT:
+                {
+                    final FloatColumnVector column = (FloatColumnVector) vector;
+                    for (int i = 0; i < size; i++) {
+                        nulls[i] = column.isNullAt(from + i);
+                        doubleValues[i] = nulls[i] ? 0.0 : column.getFloat(from + i);
+                    }
+                    break;
+                }
+            case DOUBLE:
+                {
+                    final DoubleColumnVector column = (DoubleColumnVector) vector;
+                    for (int i = 0; i < size; i++) {
+                        nulls[i] = column.isNullAt(from + i);
+                        doubleValues[i] = nulls[i] ? 0.0 : column.getDouble(from + i);
+                    }
+                    break;
+                }
+            default:
+                throw new UnsupportedOperationException("Unsupported argument type: " + type);
+        }
+    }
+
+    private void accumulateLongs(int aggIndex, int size) {
+        final long[] accumulators = longAccumulators[aggIndex];
+        final boolean[] hasValue = hasValues[aggIndex];
+        switch (kinds[aggIndex]) {
+            case SUM:
+            case SUM0:
+                for (int i = 0; i < size; i++) {
+                    if (!nulls[i]) {
+                        final int group = groupIds[i];
+                        accumulators[group] += longValues[i];
+                        hasValue[group] = true;
+                    }
+                }
+                break;
+            case MIN:
+                for (int i = 0; i < size; i++) {
+                    final int group = groupIds[i];
+                    if (!nulls[i] && (!hasValue[group] || longValues[i] < accumulators[group])) {
+                        accumulators[group] = longValues[i];
+                        hasValue[group] = true;
+                    }
+                }
+                break;
+            case MAX:
+                for (int i = 0; i < size; i++) {
+                    final int group = groupIds[i];
+                    if (!nulls[i] && (!hasValue[group] || longValues[i] > accumulators[group])) {
+                        accumulators[group] = longValues[i];
+                        hasValue[group] = true;
+                    }
+                }
+                break;
+            default:
+                throw new UnsupportedOperationException(
+                        "Unsupported aggregate: " + kinds[aggIndex]);
+        }
+    }
+
+    private void accumulateDoubles(int aggIndex, int size) {
+        final double[] accumulators = doubleAccumulators[aggIndex];
+        final boolean[] hasValue = hasValues[aggIndex];
+        switch (kinds[aggIndex]) {
+            case SUM:
+            case SUM0:
+                if (isFloat(resultTypes[aggIndex])) {
+                    // rounding the double sum of two floats gives the float sum
+                    for (int i = 0; i < size; i++) {
+                        if (!nulls[i]) {
+                            final int group = groupIds[i];
+                            accumulators[group] = (float) (accumulators[group] + doubleValues[i]);
+                            hasValue[group] = true;
+                        }
+                    }
+                } else {
+                    for (int i = 0; i < size; i++) {
+                        if (!nulls[i]) {
+                            final int group = groupIds[i];
+                            accumulators[group] += doubleValues[i];
+                            hasValue[group] = true;
+                        }
+                    }
+                }
+                break;
+            case MIN:
+                for (int i = 0; i < size; i++) {
+                    final int group = groupIds[i];
+                    if (!nulls[i] && (!hasValue[group] || doubleValues[i] < accumulators[group])) {
+                        accumulators[group] = doubleValues[i];
+                        hasValue[group] = true;
+                    }
+                }
+                break;
+            case MAX:
+                for (int i = 0; i < size; i++) {
+                    final int group = groupIds[i];
+                    if (!nulls[i] && (!hasValue[group] || doubleValues[i] > accumulators[group])) {
+                        accumulators[group] = doubleValues[i];
+                        hasValue[group] = true;
+                    }
+                }
+                break;
+            default:
+                throw new UnsupportedOperationException(
+                        "Unsupported aggregate: " + kinds[aggIndex]);
+        }
+    }
+
+    private void updateLong(int aggIndex, int group, long value) {
+        final long[] accumulators = longAccumulators[aggIndex];
+        final boolean[] hasValue = hasValues[aggIndex];
+        switch (kinds[aggIndex]) {
+            case SUM:
+            case SUM0:
+                accumulators[group] += value;
+                break;
+            case MIN:
+                accumulators[group] =
+                        hasValue[group] ? Math.min(accumulators[group], value) : value;
+                break;
+            case MAX:
+                accumulators[group] =
+                        hasValue[group] ? Math.max(accumulators[group], value) : value;
+                break;
+            default:
+                throw new UnsupportedOperationException(
+                        "Unsupported aggregate: " + kinds[aggIndex]);
+        }
+        hasValue[group] = true;
+    }
+
+    private void updateDouble(int aggIndex, int group, double value) {
+        final double[] accumulators = doubleAccumulators[aggIndex];
+        final boolean[] hasValue = hasValues[aggIndex];
+        switch (kinds[aggIndex]) {
+            case SUM:
+            case SUM0:
+                accumulators[group] =
+                        isFloat(resultTypes[aggIndex])
+                                ? (float) (accumulators[group] + value)
+                                : accumulators[group] + value;
+                break;
+            case MIN:
+                if (!hasValue[group] || value < accumulators[group]) {
+                    accumulators[group] = value;
+                }
+                break;
+            case MAX:
+                if (!hasValue[group] || value > accumulators[group]) {
+                    accumulators[group] = value;
+                }
+                break;
+            default:
+                throw new UnsupportedOperationException(
+                        "Unsupported aggregate: " + kinds[aggIndex]);
+        }
+        hasValue[group] = true;
+    }
+
+    private static long getLong(RowData row, int pos, LogicalType type) {
+        switch (type.getTypeRoot()) {
+            case TINYINT:
+                return row.getByte(pos);
+            case SMALLINT:
+                return row.getShort(pos);
+            case INTEGER:
+                return row.getInt(pos);
+            case BIGINT:
+                return row.getLong(pos);
+            default:
+                throw new UnsupportedOperationException("Unsupported argument type: " + type);
+        }
+    }
+
+    @Nullable
+    private Object getResult(int aggIndex, int group) {
+        final LogicalType resultType = resultTypes[aggIndex];
+        switch (kinds[aggIndex]) {
+            case SUM:
+            case MIN:
+            case MAX:
+                if (!hasValues[aggIndex][group]) {
+                    return null;
+                }
+                break;
+            default:
+                break;
+        }
+        if (floatingArgs[aggIndex]) {
+            final double value = doubleAccumulators[aggIndex][group];
+            return isFloat(resultType) ? (Object) (float) value : (Object) value;
+        }
+        final long value = longAccumulators[aggIndex][group];
+        switch (resultType.getTypeRoot()) {
+            case TINYINT:
+                return (byte) value;
+            case SMALLINT:
+                return (short) value;
+            case INTEGER:
+                return (int) value;
+            default:
+                return value;
+        }
+    }
+
+    // --------------------------------------------------------------------------------------------
+    // Supported aggregates
+    // --------------------------------------------------------------------------------------------
+
+    /** Returns whether rows can be grouped by a field of the given type. */
+    static boolean supportsKeyType(LogicalType type) {
+        switch (type.getTypeRoot()) {
+            case BOOLEAN:
+            case TINYINT:
+            case SMALLINT:
+            case INTEGER:
+            case DATE:
+            case TIME_WITHOUT_TIME_ZONE:
+            case BIGINT:
+            case FLOAT:
+            case DOUBLE:
+            case CHAR:
+            case VARCHAR:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Returns whether the aggregate can be computed for the given argument type, which is null for
+     * COUNT(*), and produce the given result type.
+     */
+    static boolean supportsAggregate(
+            AggregateKind kind, @Nullable LogicalType argType, LogicalType resultType) {
+        switch (kind) {
+            case COUNT1:
+                return argType == null && resultType.getTypeRoot() == LogicalTypeRoot.BIGINT;
+            case COUNT:
+                return argType != null && resultType.getTypeRoot() == LogicalTypeRoot.BIGINT;
+            default:
+                return argType != null
+                        && isNumeric(argType)
+                        && isNumeric(resultType)
+                        && isFloatingPoint(argType) == isFloatingPoint(resultType);
+        }
+    }
+
+    private static boolean isNumeric(LogicalType type) {
+        switch (type.getTypeRoot()) {
+            case TINYINT:
+            case SMALLINT:
+            case INTEGER:
+            case BIGINT:
+            case FLOAT:
+            case DOUBLE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isFloatingPoint(LogicalType type) {
+        return isFloat(type) || type.getTypeRoot() == LogicalTypeRoot.DOUBLE;
+    }
+
+    private static boolean isFloat(LogicalType type) {
+        return type.getTypeRoot() == LogicalTypeRoot.FLOAT;
+    }
+
+    /** The aggregate functions supported by {@link VectorizedHashAggregator}. */
+    enum AggregateKind {
+        SUM("SumAggFunction"),
+        SUM0("Sum0AggFunction"),
+        MIN("MinAggFunction"),
+        MAX("MaxAggFunction"),
+        COUNT("CountAggFunction"),
+        COUNT1("Count1AggFunction");
+
+        /**
+         * The built-in functions are declared by the planner which this connector does not depend
+         * on, so they are recognized by the names of their classes.
+         */
+        private static final String FUNCTION_PACKAGE =
+                "org.apache.flink.table.planner.functions.aggfunctions.";
+
+        private final String functionClassName;
+
+        AggregateKind(String functionClassSimpleName) {
+            this.functionClassName = FUNCTION_PACKAGE + functionClassSimpleName;
+        }
+
+        boolean hasNumericArgument() {
+            return this == SUM || this == SUM0 || this == MIN || this == MAX;
+        }
+
+        /** Returns the kind of the given aggregate function if it is supported. */
+        static Optional<AggregateKind> of(FunctionDefinition definition) {
+            for (Class<?> clazz = definition.getClass();
+                    clazz != null;
+                    clazz = clazz.getSuperclass()) {
+                for (AggregateKind kind : values()) {
+                    if (kind.functionClassName.equals(clazz.getName())) {
+                        return Optional.of(kind);
+                    }
+                }
+            }
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.file.table;
+
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.connector.file.src.FileSourceSplit;
+import org.apache.flink.connector.file.src.reader.BulkFormat;
+import org.apache.flink.connector.file.src.util.IteratorResultIterator;
+import org.apache.flink.connector.file.src.util.RecordAndPosition;
+import org.apache.flink.connector.file.src.util.Utils;
+import org.apache.flink.connector.file.table.VectorizedHashAggregator.AggregateKind;
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.columnar.ColumnarRowData;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.DoubleType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import org.junit.Test;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+
+/** Test for {@link AggregatingBulkFormat}. */
+public class AggregatingBulkFormatTest {
+
+    private static final RowType INPUT_TYPE =
+            RowType.of(new VarCharType(VarCharType.MAX_LENGTH), new IntType(), new DoubleType());
+
+    private static final RowType PRODUCED_TYPE =
+            RowType.of(new VarCharType(VarCharType.MAX_LENGTH), new BigIntType(), new BigIntType());
+
+    private static final FileSourceSplit SPLIT =
+            new FileSourceSplit("id", new Path("/tmp/file"), 0, 0, 0, 0);
+
+    @Test
+    public void testAggregateColumnarAndOtherBatches() throws IOException {
+        List<GenericRowData> columnarRows = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            columnarRows.add(GenericRowData.of(StringData.fromString("key" + i % 3), i, 1.0));
+        }
+        List<RowData> otherRows =
+                Arrays.asList(
+                        GenericRowData.of(StringData.fromString("key0"), 1, 1.0),
+                        GenericRowData.of(StringData.fromString("key3"), 2, 1.0));
+
+        BulkFormat<RowData, FileSourceSplit> format =
+                createFormat(
+                        Arrays.asList(
+                                () -> columnarIterator(columnarRows),
+                                () -> new IteratorResultIterator<>(otherRows.iterator(), 0, 0),
+                                () -> columnarIterator(columnarRows)));
+
+        List<String> results = new ArrayList<>();
+        Utils.forEachRemaining(
+                format.createReader(new Configuration(), SPLIT),
+                row -> results.add(row.toString()));
+        results.sort(String::compareTo);
+
+        assertEquals(
+                Arrays.asList(
+                        "+I(key0,333667,669)",
+                        "+I(key1,332334,666)",
+                        "+I(key2,333000,666)",
+                        "+I(key3,2,1)"),
+                results);
+    }
+
+    @Test
+    public void testEmitWhenTooManyGroups() throws IOException {
+        List<GenericRowData> rows = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            rows.add(GenericRowData.of(StringData.fromString("key" + i), 1, 1.0));
+        }
+        BulkFormat<RowData, FileSourceSplit> format =
+                createFormat(
+                        Arrays.asList(() -> columnarIterator(rows), () -> columnarIterator(rows)));
+
+        BulkFormat.Reader<RowData> reader = format.createReader(new Configuration(), SPLIT);
+        int numBatches = 0;
+        long numResults = 0;
+        long sum = 0;
+        BulkFormat.RecordIterator<RowData> batch;
+        while ((batch = reader.readBatch()) != null) {
+            numBatches++;
+            RecordAndPosition<RowData> record;
+            while ((record = batch.next()) != null) {
+                numResults++;
+                sum += record.getRecord().getLong(1);
+            }
+        }
+
+        // every batch has more groups than a reader keeps, so its groups are emitted at once
+        assertEquals(2, numBatches);
+        assertEquals(200000, numResults);
+        assertEquals(200000, sum);
+    }
+
+    private static BulkFormat.RecordIterator<RowData> columnarIterator(List<GenericRowData> rows) {
+        ColumnarRowIterator iterator =
+                new ColumnarRowIterator(
+                        new ColumnarRowData(VectorizedHashAggregatorTest.createBatch(rows)), null);
+        iterator.set(rows.size(), 0);
+        return iterator;
+    }
+
+    private static AggregatingBulkFormat createFormat(
+            List<Supplier<BulkFormat.RecordIterator<RowData>>> batches) {
+        return new AggregatingBulkFormat(
+                new TestBulkFormat(batches),
+                INPUT_TYPE,
+                new int[] {0},
+                new AggregateKind[] {AggregateKind.SUM, AggregateKind.COUNT1},
+                new int[] {1, -1},
+                PRODUCED_TYPE,
+                null);
+    }
+
+    /** A {@link BulkFormat} whose readers return the given batches. */
+    private static class TestBulkFormat implements BulkFormat<RowData, FileSourceSplit> {
+
+        private final List<Supplier<BulkFormat.RecordIterator<RowData>>> batches;
+
+        private TestBulkFormat(List<Supplier<BulkFormat.RecordIterator<RowData>>> batches) {
+            this.batches = batches;
+        }
+
+        @Override
+        public Reader<RowData> createReader(Configuration config, FileSourceSplit split) {
+            Iterator<Supplier<BulkFormat.RecordIterator<RowData>>> iterator = batches.iterator();
+            return new Reader<RowData>() {
+                @Nullable
+                @Override
+                public RecordIterator<RowData> readBatch() {
+                    return iterator.hasNext() ? iterator.next().get() : null;
+                }
+
+                @Override
+                public void close() {}
+            };
+        }
+
+        @Override
+        public Reader<RowData> restoreReader(Configuration config, FileSourceSplit split) {
+            return createReader(config, split);
+        }
+
+        @Override
+        public boolean isSplittable() {
+            return false;
+        }
+
+        @Override
+        public TypeInformation<RowData> getProducedType() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.file.table;
+
+import org.apache.flink.connector.file.table.VectorizedHashAggregator.AggregateKind;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.columnar.vector.ColumnVector;
+import org.apache.flink.table.data.columnar.vector.VectorizedColumnBatch;
+import org.apache.flink.table.data.columnar.vector.heap.HeapBytesVector;
+import org.apache.flink.table.data.columnar.vector.heap.HeapDoubleVector;
+import org.apache.flink.table.data.columnar.vector.heap.HeapIntVector;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.DoubleType;
+import org.apache.flink.table.types.logical.FloatType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.TimestampType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.apache.flink.connector.file.table.VectorizedHashAggregator.AggregateKind.COUNT;
+import static org.apache.flink.connector.file.table.VectorizedHashAggregator.AggregateKind.COUNT1;
+import static org.apache.flink.connector.file.table.VectorizedHashAggregator.AggregateKind.MAX;
+import static org.apache.flink.connector.file.table.VectorizedHashAggregator.AggregateKind.MIN;
+import static org.apache.flink.connector.file.table.VectorizedHashAggregator.AggregateKind.SUM;
+import static org.apache.flink.connector.file.table.VectorizedHashAggregator.AggregateKind.SUM0;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/** Test for {@link VectorizedHashAggregator}. */
+public class VectorizedHashAggregatorTest {
+
+    private static final RowType INPUT_TYPE =
+            RowType.of(new VarCharType(VarCharType.MAX_LENGTH), new IntType(), new DoubleType());
+
+    private static final AggregateKind[] KINDS = {SUM, SUM0, MIN, MAX, COUNT, COUNT1};
+
+    private static final int[] ARGS = {1, 1, 2, 1, 2, -1};
+
+    private static final RowType PRODUCED_TYPE =
+            RowType.of(
+                    new VarCharType(VarCharType.MAX_LENGTH),
+                    new IntType(),
+                    new BigIntType(),
+                    new DoubleType(),
+                    new IntType(),
+                    new BigIntType(),
+                    new BigIntType());
+
+    private static final List<GenericRowData> ROWS =
+            Arrays.asList(
+                    GenericRowData.of(StringData.fromString("a"), 1, 1.5),
+                    GenericRowData.of(StringData.fromString("b"), null, 2.0),
+                    GenericRowData.of(StringData.fromString("a"), 3, null),
+                    GenericRowData.of(null, 4, -1.0),
+                    GenericRowData.of(StringData.fromString("b"), null, null));
+
+    private static final List<String> EXPECTED =
+            Arrays.asList(
+                    "+I(a,4,4,1.5,3,1,2)", "+I(b,null,0,2.0,null,1,2)", "+I(null,4,4,-1.0,4,1,1)");
+
+    @Test
+    public void testAggregateBatch() {
+        VectorizedHashAggregator aggregator = createAggregator(new int[] {0});
+        VectorizedColumnBatch batch = createBatch(ROWS);
+        aggregator.accumulate(batch, 0, 2);
+        aggregator.accumulate(batch, 2, ROWS.size());
+        assertEquals(EXPECTED, sortedResults(aggregator));
+    }
+
+    @Test
+    public void testAggregateRows() {
+        VectorizedHashAggregator aggregator = createAggregator(new int[] {0});
+        ROWS.forEach(aggregator::accumulate);
+        assertEquals(EXPECTED, sortedResults(aggregator));
+    }
+
+    @Test
+    public void testAggregateWithoutGrouping() {
+        VectorizedHashAggregator aggregator =
+                new VectorizedHashAggregator(
+                        INPUT_TYPE,
+                        new int[0],
+                        KINDS,
+                        ARGS,
+                        RowType.of(
+                                new IntType(),
+                                new BigIntType(),
+                                new DoubleType(),
+                                new IntType(),
+                                new BigIntType(),
+                                new BigIntType()));
+        aggregator.accumulate(createBatch(ROWS), 1, ROWS.size());
+        aggregator.accumulate(ROWS.get(0));
+        assertEquals(
+                "[+I(8,8,-1.0,4,3,5)]",
+                aggregator.getResults().stream()
+                        .map(RowData::toString)
+                        .collect(Collectors.toList())
+                        .toString());
+    }
+
+    @Test
+    public void testSameResultsForBatchesAndRows() {
+        Random random = new Random(42);
+        List<GenericRowData> rows = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            rows.add(
+                    GenericRowData.of(
+                            random.nextInt(50) == 0
+                                    ? null
+                                    : StringData.fromString("key" + random.nextInt(500)),
+                            random.nextInt(10) == 0 ? null : random.nextInt(),
+                            random.nextInt(10) == 0 ? null : random.nextGaussian()));
+        }
+
+        VectorizedHashAggregator batchAggregator = createAggregator(new int[] {0});
+        VectorizedColumnBatch batch = createBatch(rows);
+        int from = 0;
+        while (from < rows.size()) {
+            int to = Math.min(rows.size(), from + 1 + random.nextInt(2048));
+            batchAggregator.accumulate(batch, from, to);
+            from = to;
+        }
+
+        VectorizedHashAggregator rowAggregator = createAggregator(new int[] {0});
+        rows.forEach(rowAggregator::accumulate);
+
+        assertEquals(501, batchAggregator.getNumGroups());
+        assertEquals(sortedResults(rowAggregator), sortedResults(batchAggregator));
+    }
+
+    @Test
+    public void testReset() {
+        VectorizedHashAggregator aggregator = createAggregator(new int[] {0});
+        aggregator.accumulate(createBatch(ROWS), 0, ROWS.size());
+        aggregator.reset();
+        assertEquals(0, aggregator.getNumGroups());
+
+        ROWS.forEach(aggregator::accumulate);
+        assertEquals(EXPECTED, sortedResults(aggregator));
+    }
+
+    @Test
+    public void testSupportedAggregates() {
+        assertTrue(
+                VectorizedHashAggregator.supportsAggregate(SUM0, new IntType(), new BigIntType()));
+        assertTrue(
+                VectorizedHashAggregator.supportsAggregate(
+                        COUNT, new TimestampType(3), new BigIntType()));
+        assertTrue(VectorizedHashAggregator.supportsAggregate(COUNT1, null, new BigIntType()));
+        assertFalse(
+                VectorizedHashAggregator.supportsAggregate(
+                        MAX, new TimestampType(3), new TimestampType(3)));
+        assertFalse(
+                VectorizedHashAggregator.supportsAggregate(SUM, new IntType(), new FloatType()));
+        assertFalse(VectorizedHashAggregator.supportsKeyType(new TimestampType(3)));
+    }
+
+    private static VectorizedHashAggregator createAggregator(int[] grouping) {
+        return new VectorizedHashAggregator(INPUT_TYPE, grouping, KINDS, ARGS, PRODUCED_TYPE);
+    }
+
+    private static List<String> sortedResults(VectorizedHashAggregator aggregator) {
+        return aggregator.getResults().stream()
+                .map(RowData::toString)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    static VectorizedColumnBatch createBatch(List<GenericRowData> rows) {
+        HeapBytesVector keys = new HeapBytesVector(rows.size());
+        HeapIntVector ints = new HeapIntVector(rows.size());
+        HeapDoubleVector doubles = new HeapDoubleVector(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            GenericRowData row = rows.get(i);
+            if (row.isNullAt(0)) {
+                keys.setNullAt(i);
+            } else {
+                byte[] bytes = row.getString(0).toBytes();
+                keys.appendBytes(i, bytes, 0, bytes.length);
+            }
+            if (row.isNullAt(1)) {
+                ints.setNullAt(i);
+            } else {
+                ints.setInt(i, row.getInt(1));
+            }
+            if (row.isNullAt(2)) {
+                doubles.setNullAt(i);
+            } else {
+                doubles.setDouble(i, row.getDouble(2));
+            }
+        }
+        VectorizedColumnBatch batch =
+                new VectorizedColumnBatch(new ColumnVector[] {keys, ints, doubles});
+        batch.setNumRows(rows.size());
+        return batch;
+    }
+}
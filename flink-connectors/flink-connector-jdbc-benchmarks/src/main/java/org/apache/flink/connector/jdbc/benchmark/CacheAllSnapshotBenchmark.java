@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.benchmark;
+
+import org.apache.flink.connector.jdbc.internal.lookup.BinaryCacheAllSnapshot;
+import org.apache.flink.connector.jdbc.internal.lookup.CacheAllSnapshot;
+import org.apache.flink.connector.jdbc.internal.lookup.HeapCacheAllSnapshot;
+import org.apache.flink.connector.jdbc.table.LookupCacheAllStorage;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Build time and memory size of a cache all snapshot per storage.
+ *
+ * <p>The rows are converted before the benchmark, so the results only include building the
+ * snapshot. The memory size is reported as secondary result {@code snapshotBytes}. Heap snapshots
+ * don't know their size, it is estimated once per trial from the used heap after garbage
+ * collections.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(
+        value = 1,
+        jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CacheAllSnapshotBenchmark {
+
+    private static final LogicalType[] KEY_TYPES = {new IntType(false)};
+
+    @Param({"HEAP", "BINARY"})
+    public LookupCacheAllStorage storage;
+
+    @Param({"100000"})
+    public int numRows;
+
+    private RowData[] keys;
+    private RowData[] rows;
+    private long heapSnapshotBytes;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        keys = new RowData[numRows];
+        rows = new RowData[numRows];
+        for (int id = 0; id < numRows; id++) {
+            keys[id] = GenericRowData.of(id);
+            rows[id] = DerbyBenchmarkDatabase.row(id);
+        }
+        if (storage == LookupCacheAllStorage.HEAP) {
+            // loaded rows are held by heap snapshots, so the measured snapshot holds new rows
+            long before = usedHeapAfterGc();
+            CacheAllSnapshot.Builder builder = new HeapCacheAllSnapshot.Builder(-1);
+            for (int id = 0; id < numRows; id++) {
+                builder.add(GenericRowData.of(id), DerbyBenchmarkDatabase.row(id));
+            }
+            CacheAllSnapshot snapshot = builder.build();
+            heapSnapshotBytes = usedHeapAfterGc() - before;
+            // keeps the snapshot reachable until the heap is measured
+            if (snapshot.getRowCount() != numRows) {
+                throw new IllegalStateException(
+                        "Snapshot has " + snapshot.getRowCount() + " rows.");
+            }
+        }
+    }
+
+    @Benchmark
+    public CacheAllSnapshot build(SnapshotSize size) {
+        CacheAllSnapshot snapshot = build();
+        long bytes = snapshot.getMemorySizeInBytes();
+        size.snapshotBytes = bytes < 0 ? heapSnapshotBytes : bytes;
+        return snapshot;
+    }
+
+    private CacheAllSnapshot build() {
+        CacheAllSnapshot.Builder builder =
+                storage == LookupCacheAllStorage.BINARY
+                        ? new BinaryCacheAllSnapshot.Builder(
+                                KEY_TYPES, DerbyBenchmarkDatabase.ROW_TYPE)
+                        : new HeapCacheAllSnapshot.Builder(-1);
+        for (int i = 0; i < numRows; i++) {
+            builder.add(keys[i], rows[i]);
+        }
+        return builder.build();
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /** Memory size of the last built snapshot. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SnapshotSize {
+        public long snapshotBytes;
+    }
+}
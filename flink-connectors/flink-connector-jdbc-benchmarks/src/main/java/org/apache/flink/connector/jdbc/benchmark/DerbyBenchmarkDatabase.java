@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.benchmark;
+
+import org.apache.flink.connector.jdbc.internal.options.JdbcConnectorOptions;
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.data.DecimalData;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.table.types.DataType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Arrays;
+
+/**
+ * An in-memory Derby database with an {@code orders} table, which the benchmarks read from and
+ * write to. The database is dropped when it is closed.
+ */
+public class DerbyBenchmarkDatabase implements AutoCloseable {
+
+    public static final String DRIVER = "org.apache.derby.jdbc.EmbeddedDriver";
+    public static final String TABLE = "orders";
+
+    public static final String[] FIELD_NAMES = {"id", "name", "amount", "score", "ts"};
+    public static final DataType[] FIELD_TYPES = {
+        DataTypes.INT().notNull(),
+        DataTypes.VARCHAR(64),
+        DataTypes.DECIMAL(20, 4),
+        DataTypes.DOUBLE(),
+        DataTypes.TIMESTAMP(6)
+    };
+    public static final RowType ROW_TYPE =
+            RowType.of(
+                    Arrays.stream(FIELD_TYPES)
+                            .map(DataType::getLogicalType)
+                            .toArray(LogicalType[]::new),
+                    FIELD_NAMES);
+
+    private static final long BASE_TIMESTAMP = Timestamp.valueOf("2026-10-01 00:00:00").getTime();
+
+    private final String url;
+
+    public DerbyBenchmarkDatabase(String name) throws SQLException {
+        this.url = "jdbc:derby:memory:" + name;
+        try (Connection connection = DriverManager.getConnection(url + ";create=true");
+                Statement statement = connection.createStatement()) {
+            statement.execute(
+                    "CREATE TABLE "
+                            + TABLE
+                            + " (id INT NOT NULL, name VARCHAR(64), amount DECIMAL(20, 4),"
+                            + " score DOUBLE, ts TIMESTAMP)");
+        }
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public JdbcConnectorOptions getConnectorOptions() {
+        return JdbcConnectorOptions.builder()
+                .setDriverName(DRIVER)
+                .setDBUrl(url)
+                .setTableName(TABLE)
+                .build();
+    }
+
+    /** Inserts the rows with the ids {@code 0} to {@code numRows - 1}. */
+    public void insertRows(int numRows) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url);
+                PreparedStatement statement =
+                        connection.prepareStatement(
+                                "INSERT INTO " + TABLE + " VALUES (?, ?, ?, ?, ?)")) {
+            for (int id = 0; id < numRows; id++) {
+                statement.setInt(1, id);
+                statement.setString(2, "order-" + id);
+                statement.setBigDecimal(3, amount(id));
+                statement.setDouble(4, id * 0.5);
+                statement.setTimestamp(5, new Timestamp(BASE_TIMESTAMP + id * 1000L));
+                statement.addBatch();
+                if (id % 1000 == 999) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+        }
+    }
+
+    public void deleteRows() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url);
+                Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM " + TABLE);
+        }
+    }
+
+    /** Returns the row of the given id in the internal data structures of the table runtime. */
+    public static RowData row(int id) {
+        return GenericRowData.of(
+                id,
+                StringData.fromString("order-" + id),
+                DecimalData.fromBigDecimal(amount(id), 20, 4),
+                id * 0.5,
+                TimestampData.fromEpochMillis(BASE_TIMESTAMP + id * 1000L));
+    }
+
+    private static BigDecimal amount(int id) {
+        return BigDecimal.valueOf(id * 100L + 99, 4);
+    }
+
+    @Override
+    public void close() {
+        try {
+            DriverManager.getConnection(url + ";drop=true").close();
+        } catch (SQLException e) {
+            // Derby reports a successful drop as exception
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.benchmark;
+
+import org.apache.flink.connector.jdbc.internal.options.JdbcLookupOptions;
+import org.apache.flink.connector.jdbc.table.JdbcRowDataLookupFunction;
+import org.apache.flink.connector.jdbc.table.LookupCacheAllStorage;
+import org.apache.flink.streaming.util.MockStreamingRuntimeContext;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.functions.FunctionContext;
+import org.apache.flink.util.Collector;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of lookups which hit the cache all snapshot of a {@link JdbcRowDataLookupFunction}, with
+ * and without a concurrent refresh of the snapshot from the database.
+ *
+ * <p>With {@code refreshing} the snapshot is reloaded every second by the cron refresh of the
+ * function, as configured by {@code lookup.cache.all.cron}, so the lookups run concurrently to the
+ * loads of new snapshots. The function logs the load time of every snapshot.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(
+        value = 1,
+        jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JdbcLookupCacheAllBenchmark {
+
+    @Param({"HEAP", "BINARY"})
+    public LookupCacheAllStorage storage;
+
+    @Param({"10000"})
+    public int numRows;
+
+    @Param({"false", "true"})
+    public boolean refreshing;
+
+    private DerbyBenchmarkDatabase database;
+    private JdbcRowDataLookupFunction lookupFunction;
+    private CountingCollector collector;
+    private int nextKey;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        database = new DerbyBenchmarkDatabase("lookup_" + storage + "_" + refreshing);
+        database.insertRows(numRows);
+        JdbcLookupOptions.Builder lookupOptions =
+                JdbcLookupOptions.builder().setCacheAll(true).setCacheAllStorage(storage);
+        if (refreshing) {
+            lookupOptions.setCacheAllCron("* * * * * ?").setCacheAllRefreshJitterMs(0);
+        }
+        lookupFunction =
+                new JdbcRowDataLookupFunction(
+                        database.getConnectorOptions(),
+                        lookupOptions.build(),
+                        DerbyBenchmarkDatabase.FIELD_NAMES,
+                        DerbyBenchmarkDatabase.FIELD_TYPES,
+                        new String[] {"id"},
+                        DerbyBenchmarkDatabase.ROW_TYPE);
+        collector = new CountingCollector();
+        lookupFunction.setCollector(collector);
+        lookupFunction.open(new FunctionContext(new MockStreamingRuntimeContext(false, 1, 0)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        lookupFunction.close();
+        database.close();
+    }
+
+    @Benchmark
+    public long lookupHit() {
+        // a prime stride visits the keys in an order which defeats the CPU caches
+        nextKey = (nextKey + 7919) % numRows;
+        lookupFunction.eval(nextKey);
+        return collector.numRows;
+    }
+
+    private static class CountingCollector implements Collector<RowData> {
+
+        private long numRows;
+
+        @Override
+        public void collect(RowData record) {
+            numRows++;
+        }
+
+        @Override
+        public void close() {}
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.benchmark;
+
+import org.apache.flink.connector.jdbc.JdbcExecutionOptions;
+import org.apache.flink.connector.jdbc.dialect.JdbcDialectLoader;
+import org.apache.flink.connector.jdbc.internal.JdbcOutputFormat;
+import org.apache.flink.connector.jdbc.internal.options.JdbcDmlOptions;
+import org.apache.flink.connector.jdbc.table.JdbcOutputFormatBuilder;
+import org.apache.flink.streaming.util.MockStreamingRuntimeContext;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second written by a {@link JdbcOutputFormat} per statement executor.
+ *
+ * <p>Each invocation writes {@value #ROWS_PER_INVOCATION} rows and flushes the sink. Upserts cycle
+ * through {@value #NUM_KEYS} keys, so most of them update existing rows. The bulk copy executor
+ * needs PostgreSQL and is not covered.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(JdbcSinkBenchmark.ROWS_PER_INVOCATION)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JdbcSinkBenchmark {
+
+    static final int ROWS_PER_INVOCATION = 10_000;
+    static final int NUM_KEYS = 2_000;
+
+    private static final int BATCH_SIZE = 1_000;
+
+    /** Statement executors of the sink. */
+    public enum SinkExecutor {
+        /** A batch of single row inserts. */
+        APPEND,
+        /** Inserts of 100 rows per statement. */
+        APPEND_MULTI_ROW,
+        /** A batch of single row inserts, with two batches in flight. */
+        APPEND_PIPELINED,
+        /** Upserts buffered and reduced on the heap. */
+        UPSERT,
+        /** Upserts buffered and reduced in binary form. */
+        UPSERT_BINARY
+    }
+
+    @Param public SinkExecutor executor;
+
+    private DerbyBenchmarkDatabase database;
+    private RowData[] rows;
+    private JdbcOutputFormat<RowData, ?, ?> outputFormat;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        database = new DerbyBenchmarkDatabase("sink_" + executor);
+        boolean upsert = executor == SinkExecutor.UPSERT || executor == SinkExecutor.UPSERT_BINARY;
+        rows = new RowData[ROWS_PER_INVOCATION];
+        for (int i = 0; i < ROWS_PER_INVOCATION; i++) {
+            rows[i] = DerbyBenchmarkDatabase.row(upsert ? i % NUM_KEYS : i);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void openSink() throws Exception {
+        database.deleteRows();
+        JdbcExecutionOptions.Builder executionOptions =
+                JdbcExecutionOptions.builder()
+                        .withBatchSize(BATCH_SIZE)
+                        .withBatchIntervalMs(0)
+                        .withMaxRetries(0);
+        JdbcDmlOptions.JdbcDmlOptionsBuilder dmlOptions =
+                JdbcDmlOptions.builder()
+                        .withTableName(DerbyBenchmarkDatabase.TABLE)
+                        .withDialect(JdbcDialectLoader.load(database.getUrl()))
+                        .withFieldNames(DerbyBenchmarkDatabase.FIELD_NAMES);
+        switch (executor) {
+            case APPEND_MULTI_ROW:
+                dmlOptions.withMaxRowsPerStatement(100);
+                break;
+            case APPEND_PIPELINED:
+                executionOptions.withMaxInFlightBatches(2);
+                break;
+            case UPSERT:
+                dmlOptions.withKeyFields("id");
+                break;
+            case UPSERT_BINARY:
+                dmlOptions.withKeyFields("id");
+                executionOptions.withMaxBatchBytes(4 * JdbcExecutionOptions.MIN_BATCH_BYTES);
+                break;
+            default:
+        }
+        outputFormat =
+                new JdbcOutputFormatBuilder()
+                        .setJdbcOptions(database.getConnectorOptions())
+                        .setJdbcExecutionOptions(executionOptions.build())
+                        .setJdbcDmlOptions(dmlOptions.build())
+                        .setRowDataTypeInfo(InternalTypeInfo.of(DerbyBenchmarkDatabase.ROW_TYPE))
+                        .setFieldDataTypes(DerbyBenchmarkDatabase.FIELD_TYPES)
+                        .build();
+        outputFormat.setRuntimeContext(new MockStreamingRuntimeContext(false, 1, 0));
+        outputFormat.open(0, 1);
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeSink() {
+        outputFormat.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public void write() throws Exception {
+        for (RowData row : rows) {
+            outputFormat.writeRecord(row);
+        }
+        outputFormat.flush();
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.benchmark;
+
+import org.apache.flink.connector.jdbc.internal.lookup.LookupCache;
+import org.apache.flink.connector.jdbc.table.LookupCachePolicy;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and hit rate of the lookup cache per policy for Zipf distributed keys.
+ *
+ * <p>Every miss puts the key into the cache as a lookup function would after querying the database.
+ * The hits and misses are reported as secondary results {@code hits} and {@code misses}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(
+        value = 1,
+        jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+public class LookupCacheBenchmark {
+
+    private static final int NUM_SAMPLES = 1 << 20;
+
+    @Param({"LRU", "TINY_LFU"})
+    public LookupCachePolicy policy;
+
+    @Param({"1000000"})
+    public int numKeys;
+
+    @Param({"10000"})
+    public int cacheSize;
+
+    @Param({"0.9"})
+    public double skew;
+
+    private RowData[] samples;
+    private List<RowData> rows;
+    private LookupCache<RowData, List<RowData>> cache;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // the inverse of the cumulative Zipf distribution maps uniform samples to keys
+        double[] cumulative = new double[numKeys];
+        double sum = 0;
+        for (int rank = 0; rank < numKeys; rank++) {
+            sum += 1 / Math.pow(rank + 1, skew);
+            cumulative[rank] = sum;
+        }
+        Random random = new Random(42);
+        samples = new RowData[NUM_SAMPLES];
+        for (int i = 0; i < NUM_SAMPLES; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            samples[i] = GenericRowData.of(rank < 0 ? -rank - 1 : rank);
+        }
+        rows = Collections.singletonList(DerbyBenchmarkDatabase.row(0));
+        cache = LookupCache.create(policy, cacheSize, TimeUnit.HOURS.toMillis(1), -1, null);
+    }
+
+    @Benchmark
+    public List<RowData> lookup(Cursor cursor, HitRate hitRate) {
+        RowData key = samples[cursor.next()];
+        List<RowData> cachedRows = cache.getIfPresent(key);
+        if (cachedRows != null) {
+            hitRate.hits++;
+            return cachedRows;
+        }
+        hitRate.misses++;
+        cache.put(key, rows);
+        return rows;
+    }
+
+    /** Position of a thread in the key samples, threads start at different positions. */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int position = new Random().nextInt(NUM_SAMPLES);
+
+        int next() {
+            position = (position + 1) & (NUM_SAMPLES - 1);
+            return position;
+        }
+    }
+
+    /** Hits and misses of the lookups of a thread. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HitRate {
+        public long hits;
+        public long misses;
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.benchmark;
+
+import org.apache.flink.connector.jdbc.converter.AbstractJdbcRowConverter;
+import org.apache.flink.connector.jdbc.converter.JdbcRowConverter;
+import org.apache.flink.connector.jdbc.dialect.JdbcDialectLoader;
+import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.DateType;
+import org.apache.flink.table.types.logical.DecimalType;
+import org.apache.flink.table.types.logical.DoubleType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.TimestampType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Throughput of {@link JdbcRowConverter#toInternal(ResultSet)} per field type.
+ *
+ * <p>Rows have {@value #NUM_FIELDS} fields of the same type and are read from an in-memory result
+ * set, so the results don't include the cost of a JDBC driver. The result set is a dynamic proxy,
+ * its constant cost per field is included in all results.
+ *
+ * <p>Rows are converted by the converter of the Derby dialect, either with the field converters of
+ * {@link AbstractJdbcRowConverter} or with the generated conversion, as enabled by {@code
+ * row-converter.code-generation}. Generated conversions produce binary rows, which is what every
+ * row is converted to when it is shuffled, kept in state or in a binary cache, so {@link #toBinary}
+ * includes that conversion.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@OperationsPerInvocation(RowConverterBenchmark.NUM_ROWS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RowConverterBenchmark {
+
+    static final int NUM_ROWS = 1024;
+    static final int NUM_FIELDS = 8;
+
+    @Param({"INT", "BIGINT", "DOUBLE", "DECIMAL", "VARCHAR", "DATE", "TIMESTAMP"})
+    public String type;
+
+    @Param({"GENERATED", "FIELD_CONVERTERS"})
+    public String conversion;
+
+    private JdbcRowConverter converter;
+    private RowDataSerializer serializer;
+    private Object[][] rows;
+    private int cursor;
+    private ResultSet resultSet;
+
+    @Setup
+    public void setup() {
+        final LogicalType logicalType;
+        final IntFunction<Object> values;
+        switch (type) {
+            case "INT":
+                logicalType = new IntType();
+                values = i -> i;
+                break;
+            case "BIGINT":
+                logicalType = new BigIntType();
+                values = i -> (long) i << 20;
+                break;
+            case "DOUBLE":
+                logicalType = new DoubleType();
+                values = i -> i * 0.5;
+                break;
+            case "DECIMAL":
+                logicalType = new DecimalType(20, 4);
+                values = i -> BigDecimal.valueOf(i * 100L + 99, 4);
+                break;
+            case "VARCHAR":
+                logicalType = new VarCharType(64);
+                values = i -> "value-" + i;
+                break;
+            case "DATE":
+                logicalType = new DateType();
+                values = i -> Date.valueOf("2026-10-01");
+                break;
+            case "TIMESTAMP":
+                logicalType = new TimestampType(6);
+                values = i -> new Timestamp(1_790_000_000_000L + i * 1000L);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown type " + type);
+        }
+        final LogicalType[] fieldTypes = new LogicalType[NUM_FIELDS];
+        Arrays.fill(fieldTypes, logicalType);
+        final RowType rowType = RowType.of(fieldTypes);
+        final AbstractJdbcRowConverter derbyConverter =
+                (AbstractJdbcRowConverter)
+                        JdbcDialectLoader.load("jdbc:derby:memory:converter")
+                                .getRowConverter(rowType);
+        if ("GENERATED".equals(conversion)) {
+            derbyConverter.enableGeneratedConversion();
+        }
+        converter = derbyConverter;
+        serializer = new RowDataSerializer(rowType);
+        rows = new Object[NUM_ROWS][NUM_FIELDS];
+        for (int i = 0; i < NUM_ROWS; i++) {
+            for (int j = 0; j < NUM_FIELDS; j++) {
+                rows[i][j] = values.apply(i + j);
+            }
+        }
+        resultSet = createResultSet();
+    }
+
+    @Benchmark
+    public void toInternal(Blackhole blackhole) throws SQLException {
+        cursor = -1;
+        while (resultSet.next()) {
+            blackhole.consume(converter.toInternal(resultSet));
+        }
+    }
+
+    @Benchmark
+    public void toBinary(Blackhole blackhole) throws SQLException {
+        cursor = -1;
+        while (resultSet.next()) {
+            blackhole.consume(serializer.toBinaryRow(converter.toInternal(resultSet)));
+        }
+    }
+
+    /**
+     * Creates a result set which only supports {@code next()}, {@code wasNull()} and the getters by
+     * column index. The getters return the values of the current row as they are, so they must be
+     * called with the getter of the value type.
+     */
+    private ResultSet createResultSet() {
+        return (ResultSet)
+                Proxy.newProxyInstance(
+                        ResultSet.class.getClassLoader(),
+                        new Class<?>[] {ResultSet.class},
+                        (proxy, method, args) -> {
+                            switch (method.getName()) {
+                                case "next":
+                                    return ++cursor < rows.length;
+                                case "wasNull":
+                                    return false;
+                                case "getObject":
+                                case "getInt":
+                                case "getLong":
+                                case "getDouble":
+                                case "getBigDecimal":
+                                case "getString":
+                                case "getDate":
+                                case "getTimestamp":
+                                    return rows[cursor][(Integer) args[0] - 1];
+                                default:
+                                    throw new UnsupportedOperationException(method.getName());
+                            }
+                        });
+    }
+}
@@ -29,16 +29,46 @@ public class JdbcExecutionOptions implements Serializable {
     public static final int DEFAULT_MAX_RETRY_TIMES = 3;
     private static final int DEFAULT_INTERVAL_MILLIS = 0;
     public static final int DEFAULT_SIZE = 5000;
+    public static final int DEFAULT_WRITERS = 1;
+    public static final int DEFAULT_MAX_IN_FLIGHT_BATCHES = 0;
+    public static final long DEFAULT_MAX_BATCH_BYTES = 0;
+    public static final long MIN_BATCH_BYTES = 2 * 1024 * 1024L;
 
     private final long batchIntervalMs;
     private final int batchSize;
     private final int maxRetries;
-
-    private JdbcExecutionOptions(long batchIntervalMs, int batchSize, int maxRetries) {
+    private final int writers;
+    private final int maxInFlightBatches;
+    private final long maxBatchBytes;
+
+    private JdbcExecutionOptions(
+            long batchIntervalMs,
+            int batchSize,
+            int maxRetries,
+            int writers,
+            int maxInFlightBatches,
+            long maxBatchBytes) {
         Preconditions.checkArgument(maxRetries >= 0);
+        Preconditions.checkArgument(writers > 0, "The number of writers must be positive.");
+        Preconditions.checkArgument(
+                maxInFlightBatches >= 0,
+                "The max number of in-flight batches must not be negative.");
+        Preconditions.checkArgument(
+                writers == 1 || maxInFlightBatches > 0,
+                "Multiple writers require a positive max number of in-flight batches.");
+        Preconditions.checkArgument(
+                maxBatchBytes == 0 || maxBatchBytes >= MIN_BATCH_BYTES,
+                "The max batch size in bytes must be at least %s.",
+                MIN_BATCH_BYTES);
+        Preconditions.checkArgument(
+                maxBatchBytes == 0 || maxInFlightBatches == 0,
+                "The max batch size in bytes is not supported by pipelined writers.");
         this.batchIntervalMs = batchIntervalMs;
         this.batchSize = batchSize;
         this.maxRetries = maxRetries;
+        this.writers = writers;
+        this.maxInFlightBatches = maxInFlightBatches;
+        this.maxBatchBytes = maxBatchBytes;
     }
 
     public long getBatchIntervalMs() {
@@ -53,6 +83,26 @@ public class JdbcExecutionOptions implements Serializable {
         return maxRetries;
     }
 
+    public int getWriters() {
+        return writers;
+    }
+
+    public int getMaxInFlightBatches() {
+        return maxInFlightBatches;
+    }
+
+    public long getMaxBatchBytes() {
+        return maxBatchBytes;
+    }
+
+    /**
+     * Whether filled batches are written asynchronously by dedicated writer connections instead of
+     * the thread which adds the records.
+     */
+    public boolean isPipelined() {
+        return maxInFlightBatches > 0;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -64,12 +114,16 @@ public class JdbcExecutionOptions implements Serializable {
         JdbcExecutionOptions that = (JdbcExecutionOptions) o;
         return batchIntervalMs == that.batchIntervalMs
                 && batchSize == that.batchSize
-                && maxRetries == that.maxRetries;
+                && maxRetries == that.maxRetries
+                && writers == that.writers
+                && maxInFlightBatches == that.maxInFlightBatches
+                && maxBatchBytes == that.maxBatchBytes;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(batchIntervalMs, batchSize, maxRetries);
+        return Objects.hash(
+                batchIntervalMs, batchSize, maxRetries, writers, maxInFlightBatches, maxBatchBytes);
     }
 
     public static Builder builder() {
@@ -85,6 +139,9 @@ public class JdbcExecutionOptions implements Serializable {
         private long intervalMs = DEFAULT_INTERVAL_MILLIS;
         private int size = DEFAULT_SIZE;
         private int maxRetries = DEFAULT_MAX_RETRY_TIMES;
+        private int writers = DEFAULT_WRITERS;
+        private int maxInFlightBatches = DEFAULT_MAX_IN_FLIGHT_BATCHES;
+        private long maxBatchBytes = DEFAULT_MAX_BATCH_BYTES;
 
         public Builder withBatchSize(int size) {
             this.size = size;
@@ -101,8 +158,36 @@ public class JdbcExecutionOptions implements Serializable {
             return this;
         }
 
+        /**
+         * Sets the number of connections which write filled batches concurrently. Records with the
+         * same key are always written by the same connection.
+         */
+        public Builder withWriters(int writers) {
+            this.writers = writers;
+            return this;
+        }
+
+        /**
+         * Sets the max number of filled batches per writer which are queued or being written, 0
+         * writes batches synchronously when they are flushed.
+         */
+        public Builder withMaxInFlightBatches(int maxInFlightBatches) {
+            this.maxInFlightBatches = maxInFlightBatches;
+            return this;
+        }
+
+        /**
+         * Sets the max memory size of the buffered records of upsert sinks, which are flushed once
+         * their binary form reaches it, 0 only bounds the buffer by the batch size.
+         */
+        public Builder withMaxBatchBytes(long maxBatchBytes) {
+            this.maxBatchBytes = maxBatchBytes;
+            return this;
+        }
+
         public JdbcExecutionOptions build() {
-            return new JdbcExecutionOptions(intervalMs, size, maxRetries);
+            return new JdbcExecutionOptions(
+                    intervalMs, size, maxRetries, writers, maxInFlightBatches, maxBatchBytes);
         }
     }
 }
@@ -18,6 +18,7 @@
 
 package org.apache.flink.connector.jdbc.catalog;
 
+import org.apache.flink.connector.jdbc.catalog.factory.JdbcCatalogFactoryOptions;
 import org.apache.flink.connector.jdbc.table.JdbcDynamicTableFactory;
 import org.apache.flink.table.api.Schema;
 import org.apache.flink.table.api.ValidationException;
@@ -52,6 +53,9 @@ import org.apache.flink.table.types.DataType;
 import org.apache.flink.util.Preconditions;
 import org.apache.flink.util.StringUtils;
 
+import org.apache.flink.shaded.guava30.com.google.common.cache.Cache;
+import org.apache.flink.shaded.guava30.com.google.common.cache.CacheBuilder;
+
 import org.apache.commons.compress.utils.Lists;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -63,6 +67,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -70,6 +75,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.PASSWORD;
@@ -89,6 +95,13 @@ public abstract class AbstractJdbcCatalog extends AbstractCatalog {
     protected final String pwd;
     protected final String baseUrl;
     protected final String defaultUrl;
+    protected final Duration statisticsCacheTtl;
+
+    /** Cached statistics of tables, null if the statistics are not cached. */
+    private final Cache<ObjectPath, CatalogTableStatistics> tableStatisticsCache;
+
+    /** Cached statistics of table columns, null if the statistics are not cached. */
+    private final Cache<ObjectPath, CatalogColumnStatistics> columnStatisticsCache;
 
     public AbstractJdbcCatalog(
             String catalogName,
@@ -96,11 +109,30 @@ public abstract class AbstractJdbcCatalog extends AbstractCatalog {
             String username,
             String pwd,
             String baseUrl) {
+        this(
+                catalogName,
+                defaultDatabase,
+                username,
+                pwd,
+                baseUrl,
+                JdbcCatalogFactoryOptions.STATISTICS_CACHE_TTL.defaultValue());
+    }
+
+    public AbstractJdbcCatalog(
+            String catalogName,
+            String defaultDatabase,
+            String username,
+            String pwd,
+            String baseUrl,
+            Duration statisticsCacheTtl) {
         super(catalogName, defaultDatabase);
 
         checkArgument(!StringUtils.isNullOrWhitespaceOnly(username));
         checkArgument(!StringUtils.isNullOrWhitespaceOnly(pwd));
         checkArgument(!StringUtils.isNullOrWhitespaceOnly(baseUrl));
+        checkArgument(
+                statisticsCacheTtl != null && !statisticsCacheTtl.isNegative(),
+                "The statistics cache TTL must not be negative.");
 
         JdbcCatalogUtils.validateJdbcUrl(baseUrl);
 
@@ -108,6 +140,16 @@ public abstract class AbstractJdbcCatalog extends AbstractCatalog {
         this.pwd = pwd;
         this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
         this.defaultUrl = this.baseUrl + defaultDatabase;
+        this.statisticsCacheTtl = statisticsCacheTtl;
+        this.tableStatisticsCache = createStatisticsCache(statisticsCacheTtl);
+        this.columnStatisticsCache = createStatisticsCache(statisticsCacheTtl);
+    }
+
+    private static <T> Cache<ObjectPath, T> createStatisticsCache(Duration ttl) {
+        if (ttl.isZero()) {
+            return null;
+        }
+        return CacheBuilder.newBuilder().expireAfterWrite(ttl).build();
     }
 
     @Override
@@ -141,6 +183,10 @@ public abstract class AbstractJdbcCatalog extends AbstractCatalog {
         return baseUrl;
     }
 
+    public Duration getStatisticsCacheTtl() {
+        return statisticsCacheTtl;
+    }
+
     // ------ retrieve PK constraint ------
 
     protected Optional<UniqueConstraint> getPrimaryKey(
@@ -419,15 +465,58 @@ public abstract class AbstractJdbcCatalog extends AbstractCatalog {
 
     // ------ stats ------
 
+    /**
+     * Returns the statistics of the table. Statistics are read from the metadata of the database by
+     * {@link #queryTableStatistics(ObjectPath)} and cached for the statistics cache TTL of the
+     * catalog, so that planning does not query the database for every reference to the table.
+     */
     @Override
     public CatalogTableStatistics getTableStatistics(ObjectPath tablePath)
             throws TableNotExistException, CatalogException {
-        return CatalogTableStatistics.UNKNOWN;
+        return getStatistics(tableStatisticsCache, tablePath, this::queryTableStatistics);
     }
 
+    /**
+     * Returns the column statistics of the table. Statistics are read from the metadata of the
+     * database by {@link #queryColumnStatistics(ObjectPath)} and cached like the table statistics.
+     */
     @Override
     public CatalogColumnStatistics getTableColumnStatistics(ObjectPath tablePath)
             throws TableNotExistException, CatalogException {
+        return getStatistics(columnStatisticsCache, tablePath, this::queryColumnStatistics);
+    }
+
+    private <T> T getStatistics(
+            Cache<ObjectPath, T> cache, ObjectPath tablePath, Function<ObjectPath, T> query)
+            throws TableNotExistException, CatalogException {
+        T statistics = cache == null ? null : cache.getIfPresent(tablePath);
+        if (statistics == null) {
+            if (!tableExists(tablePath)) {
+                throw new TableNotExistException(getName(), tablePath);
+            }
+            statistics = query.apply(tablePath);
+            if (cache != null) {
+                cache.put(tablePath, statistics);
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * Reads the statistics of an existing table from the metadata of the database, returns {@link
+     * CatalogTableStatistics#UNKNOWN} if the database has not collected statistics for the table.
+     */
+    protected CatalogTableStatistics queryTableStatistics(ObjectPath tablePath)
+            throws CatalogException {
+        return CatalogTableStatistics.UNKNOWN;
+    }
+
+    /**
+     * Reads the column statistics of an existing table from the metadata of the database, columns
+     * without statistics are left out of the result.
+     */
+    protected CatalogColumnStatistics queryColumnStatistics(ObjectPath tablePath)
+            throws CatalogException {
         return CatalogColumnStatistics.UNKNOWN;
     }
 
@@ -513,6 +602,31 @@ public abstract class AbstractJdbcCatalog extends AbstractCatalog {
         }
     }
 
+    protected <T> List<T> extractRowsBySQL(
+            String connUrl, String sql, RowExtractor<T> rowExtractor, Object... params) {
+
+        List<T> rows = Lists.newArrayList();
+
+        try (Connection conn = DriverManager.getConnection(connUrl, username, pwd);
+                PreparedStatement ps = conn.prepareStatement(sql)) {
+            if (Objects.nonNull(params) && params.length > 0) {
+                for (int i = 0; i < params.length; i++) {
+                    ps.setObject(i + 1, params[i]);
+                }
+            }
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                rows.add(rowExtractor.extract(rs));
+            }
+            return rows;
+        } catch (Exception e) {
+            throw new CatalogException(
+                    String.format(
+                            "The following SQL query could not be executed (%s): %s", connUrl, sql),
+                    e);
+        }
+    }
+
     protected DataType fromJDBCType(ObjectPath tablePath, ResultSetMetaData metadata, int colIndex)
             throws SQLException {
         throw new UnsupportedOperationException();
@@ -529,4 +643,10 @@ public abstract class AbstractJdbcCatalog extends AbstractCatalog {
     protected String getSchemaTableName(ObjectPath tablePath) {
         throw new UnsupportedOperationException();
     }
+
+    /** Extracts a value from the current row of a {@link ResultSet}. */
+    @FunctionalInterface
+    protected interface RowExtractor<T> {
+        T extract(ResultSet rs) throws SQLException;
+    }
 }
@@ -20,16 +20,20 @@ package org.apache.flink.connector.jdbc.catalog;
 
 import org.apache.flink.annotation.PublicEvolving;
 import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.connector.jdbc.catalog.factory.JdbcCatalogFactoryOptions;
 import org.apache.flink.table.catalog.CatalogBaseTable;
 import org.apache.flink.table.catalog.CatalogDatabase;
 import org.apache.flink.table.catalog.ObjectPath;
 import org.apache.flink.table.catalog.exceptions.CatalogException;
 import org.apache.flink.table.catalog.exceptions.DatabaseNotExistException;
 import org.apache.flink.table.catalog.exceptions.TableNotExistException;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatistics;
+import org.apache.flink.table.catalog.stats.CatalogTableStatistics;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.List;
 
 /** Catalogs for relational databases via JDBC. */
@@ -46,11 +50,27 @@ public class JdbcCatalog extends AbstractJdbcCatalog {
             String username,
             String pwd,
             String baseUrl) {
-        super(catalogName, defaultDatabase, username, pwd, baseUrl);
+        this(
+                catalogName,
+                defaultDatabase,
+                username,
+                pwd,
+                baseUrl,
+                JdbcCatalogFactoryOptions.STATISTICS_CACHE_TTL.defaultValue());
+    }
+
+    public JdbcCatalog(
+            String catalogName,
+            String defaultDatabase,
+            String username,
+            String pwd,
+            String baseUrl,
+            Duration statisticsCacheTtl) {
+        super(catalogName, defaultDatabase, username, pwd, baseUrl, statisticsCacheTtl);
 
         internal =
                 JdbcCatalogUtils.createCatalog(
-                        catalogName, defaultDatabase, username, pwd, baseUrl);
+                        catalogName, defaultDatabase, username, pwd, baseUrl, statisticsCacheTtl);
     }
 
     // ------ databases -----
@@ -90,6 +110,20 @@ public class JdbcCatalog extends AbstractJdbcCatalog {
         }
     }
 
+    // ------ stats ------
+
+    @Override
+    public CatalogTableStatistics getTableStatistics(ObjectPath tablePath)
+            throws TableNotExistException, CatalogException {
+        return internal.getTableStatistics(tablePath);
+    }
+
+    @Override
+    public CatalogColumnStatistics getTableColumnStatistics(ObjectPath tablePath)
+            throws TableNotExistException, CatalogException {
+        return internal.getTableColumnStatistics(tablePath);
+    }
+
     // ------ getters ------
 
     @VisibleForTesting
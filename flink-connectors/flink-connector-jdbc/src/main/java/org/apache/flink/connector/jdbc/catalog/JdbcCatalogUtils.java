@@ -18,11 +18,14 @@
 
 package org.apache.flink.connector.jdbc.catalog;
 
+import org.apache.flink.connector.jdbc.catalog.factory.JdbcCatalogFactoryOptions;
 import org.apache.flink.connector.jdbc.dialect.JdbcDialect;
 import org.apache.flink.connector.jdbc.dialect.JdbcDialectLoader;
 import org.apache.flink.connector.jdbc.dialect.mysql.MySqlDialect;
 import org.apache.flink.connector.jdbc.dialect.psql.PostgresDialect;
 
+import java.time.Duration;
+
 import static org.apache.flink.util.Preconditions.checkArgument;
 
 /** Utils for {@link JdbcCatalog}. */
@@ -44,12 +47,34 @@ public class JdbcCatalogUtils {
             String username,
             String pwd,
             String baseUrl) {
+        return createCatalog(
+                catalogName,
+                defaultDatabase,
+                username,
+                pwd,
+                baseUrl,
+                JdbcCatalogFactoryOptions.STATISTICS_CACHE_TTL.defaultValue());
+    }
+
+    /**
+     * Create catalog instance from given information, statistics of tables are cached for the given
+     * TTL.
+     */
+    public static AbstractJdbcCatalog createCatalog(
+            String catalogName,
+            String defaultDatabase,
+            String username,
+            String pwd,
+            String baseUrl,
+            Duration statisticsCacheTtl) {
         JdbcDialect dialect = JdbcDialectLoader.load(baseUrl);
 
         if (dialect instanceof PostgresDialect) {
-            return new PostgresCatalog(catalogName, defaultDatabase, username, pwd, baseUrl);
+            return new PostgresCatalog(
+                    catalogName, defaultDatabase, username, pwd, baseUrl, statisticsCacheTtl);
         } else if (dialect instanceof MySqlDialect) {
-            return new MySqlCatalog(catalogName, defaultDatabase, username, pwd, baseUrl);
+            return new MySqlCatalog(
+                    catalogName, defaultDatabase, username, pwd, baseUrl, statisticsCacheTtl);
         } else {
             throw new UnsupportedOperationException(
                     String.format("Catalog for '%s' is not supported yet.", dialect));
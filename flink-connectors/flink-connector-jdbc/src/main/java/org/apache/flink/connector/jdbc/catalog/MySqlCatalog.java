@@ -19,11 +19,17 @@
 package org.apache.flink.connector.jdbc.catalog;
 
 import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.java.tuple.Tuple2;
+import org.apache.flink.api.java.tuple.Tuple3;
+import org.apache.flink.connector.jdbc.catalog.factory.JdbcCatalogFactoryOptions;
 import org.apache.flink.connector.jdbc.dialect.JdbcDialectTypeMapper;
 import org.apache.flink.connector.jdbc.dialect.mysql.MySqlTypeMapper;
 import org.apache.flink.table.catalog.ObjectPath;
 import org.apache.flink.table.catalog.exceptions.CatalogException;
 import org.apache.flink.table.catalog.exceptions.DatabaseNotExistException;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatistics;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataBase;
+import org.apache.flink.table.catalog.stats.CatalogTableStatistics;
 import org.apache.flink.table.types.DataType;
 import org.apache.flink.util.Preconditions;
 
@@ -35,8 +41,11 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -49,6 +58,9 @@ public class MySqlCatalog extends AbstractJdbcCatalog {
 
     private final JdbcDialectTypeMapper dialectTypeMapper;
 
+    /** Whether the database supports histograms, which have been introduced in MySQL 8.0. */
+    private final boolean supportsHistograms;
+
     private static final Set<String> builtinDatabases =
             new HashSet<String>() {
                 {
@@ -65,7 +77,23 @@ public class MySqlCatalog extends AbstractJdbcCatalog {
             String username,
             String pwd,
             String baseUrl) {
-        super(catalogName, defaultDatabase, username, pwd, baseUrl);
+        this(
+                catalogName,
+                defaultDatabase,
+                username,
+                pwd,
+                baseUrl,
+                JdbcCatalogFactoryOptions.STATISTICS_CACHE_TTL.defaultValue());
+    }
+
+    public MySqlCatalog(
+            String catalogName,
+            String defaultDatabase,
+            String username,
+            String pwd,
+            String baseUrl,
+            Duration statisticsCacheTtl) {
+        super(catalogName, defaultDatabase, username, pwd, baseUrl, statisticsCacheTtl);
 
         String driverVersion =
                 Preconditions.checkNotNull(getDriverVersion(), "Driver version must not be null.");
@@ -74,6 +102,7 @@ public class MySqlCatalog extends AbstractJdbcCatalog {
                         getDatabaseVersion(), "Database version must not be null.");
         LOG.info("Driver version: {}, database version: {}", driverVersion, databaseVersion);
         this.dialectTypeMapper = new MySqlTypeMapper(databaseVersion, driverVersion);
+        this.supportsHistograms = getMajorVersion(databaseVersion) >= 8;
     }
 
     @Override
@@ -117,6 +146,72 @@ public class MySqlCatalog extends AbstractJdbcCatalog {
                 .isEmpty();
     }
 
+    // ------ stats ------
+
+    @Override
+    protected CatalogTableStatistics queryTableStatistics(ObjectPath tablePath)
+            throws CatalogException {
+        List<CatalogTableStatistics> statistics =
+                extractRowsBySQL(
+                        baseUrl,
+                        MySqlCatalogStatistics.TABLE_STATISTICS_QUERY,
+                        rs -> {
+                            long tableRows = rs.getLong(1);
+                            return MySqlCatalogStatistics.toTableStatistics(
+                                    rs.wasNull() ? null : tableRows, rs.getLong(2));
+                        },
+                        getSchemaName(tablePath),
+                        getTableName(tablePath));
+        return statistics.isEmpty() ? CatalogTableStatistics.UNKNOWN : statistics.get(0);
+    }
+
+    @Override
+    protected CatalogColumnStatistics queryColumnStatistics(ObjectPath tablePath)
+            throws CatalogException {
+        Map<String, String> histograms = new HashMap<>();
+        if (supportsHistograms) {
+            extractRowsBySQL(
+                            baseUrl,
+                            MySqlCatalogStatistics.HISTOGRAM_QUERY,
+                            rs -> Tuple2.of(rs.getString(1), rs.getString(2)),
+                            getSchemaName(tablePath),
+                            getTableName(tablePath))
+                    .forEach(histogram -> histograms.put(histogram.f0, histogram.f1));
+        }
+
+        long rowCount = queryTableStatistics(tablePath).getRowCount();
+        // name, type and index cardinality of the columns
+        List<Tuple3<String, String, Long>> columns =
+                extractRowsBySQL(
+                        baseUrl,
+                        MySqlCatalogStatistics.COLUMN_STATISTICS_QUERY,
+                        rs -> {
+                            long cardinality = rs.getLong(3);
+                            return Tuple3.of(
+                                    rs.getString(1),
+                                    rs.getString(2),
+                                    rs.wasNull() ? null : cardinality);
+                        },
+                        getSchemaName(tablePath),
+                        getTableName(tablePath));
+
+        Map<String, CatalogColumnStatisticsDataBase> columnStatistics = new HashMap<>();
+        for (Tuple3<String, String, Long> column : columns) {
+            CatalogColumnStatisticsDataBase statistics =
+                    MySqlCatalogStatistics.toColumnStatisticsData(
+                            column.f1, rowCount, column.f2, histograms.get(column.f0));
+            if (statistics != null) {
+                columnStatistics.put(column.f0, statistics);
+            }
+        }
+        return new CatalogColumnStatistics(columnStatistics);
+    }
+
+    private static int getMajorVersion(String databaseVersion) {
+        Matcher matcher = Pattern.compile("^(\\d+)").matcher(databaseVersion);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : 0;
+    }
+
     private String getDatabaseVersion() {
         try (Connection conn = DriverManager.getConnection(defaultUrl, username, pwd)) {
             return conn.getMetaData().getDatabaseProductVersion();
@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.catalog;
+
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataBase;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataBinary;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataDate;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataDouble;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataLong;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataString;
+import org.apache.flink.table.catalog.stats.CatalogTableStatistics;
+import org.apache.flink.table.catalog.stats.Date;
+
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.JsonNode;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Converts the statistics of MySQL, which are exposed by {@code information_schema}, to catalog
+ * statistics. Row counts are estimated by the storage engine, the number of distinct values is
+ * taken from histograms created by {@code ANALYZE TABLE ... UPDATE HISTOGRAM} since MySQL 8.0 and
+ * from the cardinality of indexes otherwise.
+ */
+final class MySqlCatalogStatistics {
+
+    /** Selects the estimated row count and data size of a table by schema and table name. */
+    static final String TABLE_STATISTICS_QUERY =
+            "SELECT TABLE_ROWS, DATA_LENGTH FROM information_schema.`TABLES` "
+                    + "WHERE TABLE_SCHEMA = ? AND TABLE_NAME = ?";
+
+    /**
+     * Selects the name, type and the highest cardinality of the indexes starting with the column
+     * for all columns of a table by schema and table name.
+     */
+    static final String COLUMN_STATISTICS_QUERY =
+            "SELECT c.COLUMN_NAME, c.DATA_TYPE, MAX(s.CARDINALITY) "
+                    + "FROM information_schema.`COLUMNS` c "
+                    + "LEFT JOIN information_schema.`STATISTICS` s "
+                    + "ON s.TABLE_SCHEMA = c.TABLE_SCHEMA AND s.TABLE_NAME = c.TABLE_NAME "
+                    + "AND s.COLUMN_NAME = c.COLUMN_NAME AND s.SEQ_IN_INDEX = 1 "
+                    + "WHERE c.TABLE_SCHEMA = ? AND c.TABLE_NAME = ? "
+                    + "GROUP BY c.COLUMN_NAME, c.DATA_TYPE";
+
+    /** Selects the histograms of the columns of a table by schema and table name. */
+    static final String HISTOGRAM_QUERY =
+            "SELECT COLUMN_NAME, HISTOGRAM FROM information_schema.`COLUMN_STATISTICS` "
+                    + "WHERE SCHEMA_NAME = ? AND TABLE_NAME = ?";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private MySqlCatalogStatistics() {}
+
+    /** Returns the statistics of a table from its {@code information_schema.TABLES} entry. */
+    static CatalogTableStatistics toTableStatistics(@Nullable Long tableRows, long dataLength) {
+        if (tableRows == null) {
+            return CatalogTableStatistics.UNKNOWN;
+        }
+        return new CatalogTableStatistics(tableRows, -1, dataLength, -1);
+    }
+
+    /**
+     * Returns the statistics of a column, or null if there are no statistics for the column.
+     *
+     * @param dataType type of the column in {@code information_schema.COLUMNS}
+     * @param rowCount estimated number of rows of the table, negative if unknown
+     * @param indexCardinality highest cardinality of the indexes starting with the column
+     * @param histogram JSON histogram of the column
+     */
+    @Nullable
+    static CatalogColumnStatisticsDataBase toColumnStatisticsData(
+            String dataType,
+            long rowCount,
+            @Nullable Long indexCardinality,
+            @Nullable String histogram) {
+        JsonNode histogramNode = parseHistogram(histogram);
+        if (indexCardinality == null && histogramNode == null) {
+            return null;
+        }
+
+        Long ndv = indexCardinality;
+        Long nullCount = null;
+        JsonNode minValue = null;
+        JsonNode maxValue = null;
+        if (histogramNode != null) {
+            JsonNode buckets = histogramNode.path("buckets");
+            boolean singleton = "singleton".equals(histogramNode.path("histogram-type").asText());
+            // singleton buckets are [value, cumulative frequency], equi-height buckets are
+            // [lower bound, upper bound, cumulative frequency, number of distinct values]
+            long distinct = 0;
+            for (JsonNode bucket : buckets) {
+                distinct += singleton ? 1 : bucket.path(3).asLong();
+            }
+            ndv = distinct;
+            if (rowCount >= 0) {
+                nullCount = Math.round(histogramNode.path("null-values").asDouble() * rowCount);
+            }
+            if (buckets.size() > 0) {
+                minValue = buckets.get(0).get(0);
+                maxValue = buckets.get(buckets.size() - 1).get(singleton ? 0 : 1);
+            }
+        }
+
+        switch (dataType.toLowerCase()) {
+            case "tinyint":
+            case "smallint":
+            case "mediumint":
+            case "int":
+            case "integer":
+            case "bigint":
+            case "year":
+                return new CatalogColumnStatisticsDataLong(
+                        toLong(minValue), toLong(maxValue), ndv, nullCount);
+            case "float":
+            case "double":
+            case "real":
+            case "decimal":
+                return new CatalogColumnStatisticsDataDouble(
+                        toDouble(minValue), toDouble(maxValue), ndv, nullCount);
+            case "date":
+                return new CatalogColumnStatisticsDataDate(
+                        toDate(minValue), toDate(maxValue), ndv, nullCount);
+            case "char":
+            case "varchar":
+            case "tinytext":
+            case "text":
+            case "mediumtext":
+            case "longtext":
+            case "enum":
+            case "set":
+                return new CatalogColumnStatisticsDataString(null, null, ndv, nullCount);
+            case "binary":
+            case "varbinary":
+            case "tinyblob":
+            case "blob":
+            case "mediumblob":
+            case "longblob":
+                return nullCount == null
+                        ? null
+                        : new CatalogColumnStatisticsDataBinary(null, null, nullCount);
+            default:
+                return null;
+        }
+    }
+
+    @Nullable
+    private static JsonNode parseHistogram(@Nullable String histogram) {
+        if (histogram == null) {
+            return null;
+        }
+        try {
+            return OBJECT_MAPPER.readTree(histogram);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    @Nullable
+    private static Long toLong(@Nullable JsonNode value) {
+        return value != null && value.canConvertToLong() ? value.asLong() : null;
+    }
+
+    /** Decimals are stored as strings in histograms, floating point numbers as numbers. */
+    @Nullable
+    private static Double toDouble(@Nullable JsonNode value) {
+        if (value == null) {
+            return null;
+        }
+        if (value.isNumber()) {
+            return value.asDouble();
+        }
+        try {
+            return Double.valueOf(value.asText());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Nullable
+    private static Date toDate(@Nullable JsonNode value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new Date(LocalDate.parse(value.asText()).toEpochDay());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
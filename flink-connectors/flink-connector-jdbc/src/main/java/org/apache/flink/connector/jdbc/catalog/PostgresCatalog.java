@@ -24,6 +24,9 @@ import org.apache.flink.connector.jdbc.dialect.psql.PostgresTypeMapper;
 import org.apache.flink.table.catalog.ObjectPath;
 import org.apache.flink.table.catalog.exceptions.CatalogException;
 import org.apache.flink.table.catalog.exceptions.DatabaseNotExistException;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatistics;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataBase;
+import org.apache.flink.table.catalog.stats.CatalogTableStatistics;
 import org.apache.flink.table.types.DataType;
 import org.apache.flink.util.Preconditions;
 
@@ -34,8 +37,13 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -80,6 +88,17 @@ public class PostgresCatalog extends AbstractJdbcCatalog {
         this.dialectTypeMapper = new PostgresTypeMapper();
     }
 
+    protected PostgresCatalog(
+            String catalogName,
+            String defaultDatabase,
+            String username,
+            String pwd,
+            String baseUrl,
+            Duration statisticsCacheTtl) {
+        super(catalogName, defaultDatabase, username, pwd, baseUrl, statisticsCacheTtl);
+        this.dialectTypeMapper = new PostgresTypeMapper();
+    }
+
     // ------ databases ------
 
     @Override
@@ -159,6 +178,57 @@ public class PostgresCatalog extends AbstractJdbcCatalog {
         return tables.contains(getSchemaTableName(tablePath));
     }
 
+    // ------ stats ------
+
+    @Override
+    protected CatalogTableStatistics queryTableStatistics(ObjectPath tablePath)
+            throws CatalogException {
+        List<CatalogTableStatistics> statistics =
+                extractRowsBySQL(
+                        baseUrl + tablePath.getDatabaseName(),
+                        PostgresCatalogStatistics.TABLE_STATISTICS_QUERY,
+                        rs ->
+                                PostgresCatalogStatistics.toTableStatistics(
+                                        rs.getFloat(1), rs.getInt(2), rs.getLong(3)),
+                        getSchemaName(tablePath),
+                        getTableName(tablePath));
+        return statistics.isEmpty() ? CatalogTableStatistics.UNKNOWN : statistics.get(0);
+    }
+
+    @Override
+    protected CatalogColumnStatistics queryColumnStatistics(ObjectPath tablePath)
+            throws CatalogException {
+        List<Map.Entry<String, CatalogColumnStatisticsDataBase>> rows =
+                extractRowsBySQL(
+                        baseUrl + tablePath.getDatabaseName(),
+                        PostgresCatalogStatistics.COLUMN_STATISTICS_QUERY,
+                        rs ->
+                                new AbstractMap.SimpleImmutableEntry<>(
+                                        rs.getString(1),
+                                        PostgresCatalogStatistics.toColumnStatisticsData(
+                                                rs.getString(2),
+                                                rs.getFloat(3),
+                                                rs.getFloat(4),
+                                                rs.getFloat(5),
+                                                rs.getInt(6),
+                                                rs.getString(7),
+                                                rs.getString(8),
+                                                rs.getString(9))),
+                        getSchemaName(tablePath),
+                        getTableName(tablePath));
+
+        // the first row of a column holds the statistics of the table without inherited tables
+        Map<String, CatalogColumnStatisticsDataBase> columnStatistics = new HashMap<>();
+        for (Map.Entry<String, CatalogColumnStatisticsDataBase> row : rows) {
+            if (!columnStatistics.containsKey(row.getKey())) {
+                columnStatistics.put(row.getKey(), row.getValue());
+            }
+        }
+        // columns of types without statistics are mapped to null
+        columnStatistics.values().removeIf(Objects::isNull);
+        return new CatalogColumnStatistics(columnStatistics);
+    }
+
     @Override
     protected String getTableName(ObjectPath tablePath) {
         return PostgresTablePath.fromFlinkTableName(tablePath.getObjectName()).getPgTableName();
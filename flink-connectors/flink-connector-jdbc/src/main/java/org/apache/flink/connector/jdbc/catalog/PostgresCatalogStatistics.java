@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.catalog;
+
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataBase;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataBinary;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataBoolean;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataDate;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataDouble;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataLong;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataString;
+import org.apache.flink.table.catalog.stats.CatalogTableStatistics;
+import org.apache.flink.table.catalog.stats.Date;
+
+import javax.annotation.Nullable;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Converts the planner statistics of Postgres, which are collected by {@code ANALYZE} and exposed
+ * by {@code pg_class} and {@code pg_stats}, to catalog statistics.
+ */
+final class PostgresCatalogStatistics {
+
+    /** Selects reltuples, relpages and the size in bytes of a table by schema and table name. */
+    static final String TABLE_STATISTICS_QUERY =
+            "SELECT c.reltuples, c.relpages, pg_relation_size(c.oid) "
+                    + "FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace "
+                    + "WHERE n.nspname = ? AND c.relname = ?;";
+
+    /**
+     * Selects the column statistics of a table by schema and table name. Statistics of the table
+     * alone come before statistics which include inherited tables.
+     */
+    static final String COLUMN_STATISTICS_QUERY =
+            "SELECT s.attname, t.typname, c.reltuples, s.null_frac, s.n_distinct, s.avg_width, "
+                    + "s.histogram_bounds::text, s.most_common_vals::text, "
+                    + "s.most_common_freqs::text "
+                    + "FROM pg_stats s "
+                    + "JOIN pg_namespace n ON n.nspname = s.schemaname "
+                    + "JOIN pg_class c ON c.relnamespace = n.oid AND c.relname = s.tablename "
+                    + "JOIN pg_attribute a ON a.attrelid = c.oid AND a.attname = s.attname "
+                    + "JOIN pg_type t ON t.oid = a.atttypid "
+                    + "WHERE s.schemaname = ? AND s.tablename = ? "
+                    + "ORDER BY s.inherited;";
+
+    private PostgresCatalogStatistics() {}
+
+    /**
+     * Returns the statistics of a table from its {@code pg_class} entry. A table which has never
+     * been analyzed or vacuumed has reltuples -1, or reltuples 0 and relpages 0 before Postgres 14.
+     */
+    static CatalogTableStatistics toTableStatistics(
+            float relTuples, int relPages, long relationSize) {
+        if (relTuples < 0 || (relTuples == 0 && relPages == 0)) {
+            return CatalogTableStatistics.UNKNOWN;
+        }
+        return new CatalogTableStatistics(Math.round(relTuples), -1, relationSize, -1);
+    }
+
+    /**
+     * Returns the statistics of a column from its {@code pg_stats} entry, or null if the type of
+     * the column has no statistics.
+     *
+     * @param typeName name of the column type in {@code pg_type}
+     * @param rowCount estimated number of rows of the table
+     * @param nullFraction fraction of null values
+     * @param distinct number of distinct values, negative for a fraction of the number of rows and
+     *     zero if unknown
+     * @param avgWidth average width in bytes of non-null values
+     * @param histogramBounds array literal of the histogram bounds
+     * @param mostCommonValues array literal of the most common values
+     * @param mostCommonFrequencies array literal of the frequencies of the most common values
+     */
+    @Nullable
+    static CatalogColumnStatisticsDataBase toColumnStatisticsData(
+            String typeName,
+            double rowCount,
+            double nullFraction,
+            double distinct,
+            int avgWidth,
+            @Nullable String histogramBounds,
+            @Nullable String mostCommonValues,
+            @Nullable String mostCommonFrequencies) {
+        Long nullCount = rowCount < 0 ? null : Math.round(nullFraction * rowCount);
+        Long ndv = null;
+        if (distinct > 0) {
+            ndv = Math.round(distinct);
+        } else if (distinct < 0 && rowCount >= 0) {
+            ndv = Math.round(-distinct * rowCount);
+        }
+
+        List<String> values = new ArrayList<>(parseArray(histogramBounds));
+        values.addAll(parseArray(mostCommonValues));
+
+        switch (typeName) {
+            case "int2":
+            case "int4":
+            case "int8":
+                List<Long> longs = parseValues(values, Long::valueOf);
+                return new CatalogColumnStatisticsDataLong(min(longs), max(longs), ndv, nullCount);
+            case "float4":
+            case "float8":
+            case "numeric":
+                List<Double> doubles = parseValues(values, Double::valueOf);
+                doubles.removeIf(d -> d.isNaN() || d.isInfinite());
+                return new CatalogColumnStatisticsDataDouble(
+                        min(doubles), max(doubles), ndv, nullCount);
+            case "date":
+                List<Long> days = parseValues(values, v -> LocalDate.parse(v).toEpochDay());
+                return new CatalogColumnStatisticsDataDate(
+                        days.isEmpty() ? null : new Date(min(days)),
+                        days.isEmpty() ? null : new Date(max(days)),
+                        ndv,
+                        nullCount);
+            case "bool":
+                return toBooleanStatisticsData(
+                        rowCount,
+                        nullFraction,
+                        nullCount,
+                        parseArray(mostCommonValues),
+                        parseArray(mostCommonFrequencies));
+            case "varchar":
+            case "bpchar":
+            case "text":
+                return new CatalogColumnStatisticsDataString(
+                        null, (double) avgWidth, ndv, nullCount);
+            case "bytea":
+                return new CatalogColumnStatisticsDataBinary(null, (double) avgWidth, nullCount);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Derives the number of true and false values from the most common values, which cover all
+     * values of a boolean column unless one of them is very rare.
+     */
+    private static CatalogColumnStatisticsDataBoolean toBooleanStatisticsData(
+            double rowCount,
+            double nullFraction,
+            Long nullCount,
+            List<String> mostCommonValues,
+            List<String> mostCommonFrequencies) {
+        Double trueFraction = null;
+        Double falseFraction = null;
+        for (int i = 0; i < mostCommonValues.size() && i < mostCommonFrequencies.size(); i++) {
+            double frequency = Double.parseDouble(mostCommonFrequencies.get(i));
+            if ("t".equals(mostCommonValues.get(i))) {
+                trueFraction = frequency;
+            } else {
+                falseFraction = frequency;
+            }
+        }
+        if (trueFraction == null && falseFraction != null) {
+            trueFraction = Math.max(0, 1 - nullFraction - falseFraction);
+        } else if (falseFraction == null && trueFraction != null) {
+            falseFraction = Math.max(0, 1 - nullFraction - trueFraction);
+        }
+        if (trueFraction == null || rowCount < 0) {
+            return new CatalogColumnStatisticsDataBoolean(null, null, nullCount);
+        }
+        return new CatalogColumnStatisticsDataBoolean(
+                Math.round(trueFraction * rowCount),
+                Math.round(falseFraction * rowCount),
+                nullCount);
+    }
+
+    /**
+     * Parses the text representation of a one-dimensional Postgres array, for example {@code {1,"a
+     * \"b\"",NULL}}. Null elements are left out.
+     */
+    static List<String> parseArray(@Nullable String literal) {
+        if (literal == null || literal.length() <= 2 || literal.charAt(0) != '{') {
+            return Collections.emptyList();
+        }
+        List<String> elements = new ArrayList<>();
+        StringBuilder element = new StringBuilder();
+        boolean quoted = false;
+        boolean inQuotes = false;
+        for (int i = 1; i < literal.length(); i++) {
+            char c = literal.charAt(i);
+            if (c == '\\' && i + 1 < literal.length()) {
+                element.append(literal.charAt(++i));
+            } else if (c == '"') {
+                inQuotes = !inQuotes;
+                quoted = true;
+            } else if (inQuotes) {
+                element.append(c);
+            } else if (c == ',' || c == '}') {
+                String value = quoted ? element.toString() : element.toString().trim();
+                if (quoted || !"NULL".equals(value)) {
+                    elements.add(value);
+                }
+                element.setLength(0);
+                quoted = false;
+            } else {
+                element.append(c);
+            }
+        }
+        return elements;
+    }
+
+    private static <T> List<T> parseValues(List<String> values, Function<String, T> parser) {
+        List<T> parsed = new ArrayList<>(values.size());
+        for (String value : values) {
+            try {
+                parsed.add(parser.apply(value));
+            } catch (NumberFormatException | DateTimeParseException e) {
+                // special values like 'infinity' are not part of the range
+            }
+        }
+        return parsed;
+    }
+
+    @Nullable
+    private static <T extends Comparable<T>> T min(List<T> values) {
+        return values.isEmpty() ? null : Collections.min(values);
+    }
+
+    @Nullable
+    private static <T extends Comparable<T>> T max(List<T> values) {
+        return values.isEmpty() ? null : Collections.max(values);
+    }
+}
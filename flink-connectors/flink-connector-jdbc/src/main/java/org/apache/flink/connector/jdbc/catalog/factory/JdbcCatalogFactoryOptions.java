@@ -24,6 +24,8 @@ import org.apache.flink.configuration.ConfigOptions;
 import org.apache.flink.connector.jdbc.catalog.JdbcCatalog;
 import org.apache.flink.table.catalog.CommonCatalogOptions;
 
+import java.time.Duration;
+
 /** {@link ConfigOption}s for {@link JdbcCatalog}. */
 @Internal
 public class JdbcCatalogFactoryOptions {
@@ -44,5 +46,13 @@ public class JdbcCatalogFactoryOptions {
     public static final ConfigOption<String> BASE_URL =
             ConfigOptions.key("base-url").stringType().noDefaultValue();
 
+    public static final ConfigOption<Duration> STATISTICS_CACHE_TTL =
+            ConfigOptions.key("statistics.cache-ttl")
+                    .durationType()
+                    .defaultValue(Duration.ofMinutes(10))
+                    .withDescription(
+                            "How long table and column statistics read from the database are "
+                                    + "cached by the catalog. Zero disables the cache.");
+
     private JdbcCatalogFactoryOptions() {}
 }
@@ -18,6 +18,9 @@
 
 package org.apache.flink.connector.jdbc.converter;
 
+import org.apache.flink.connector.jdbc.internal.converter.GeneratedJdbcRowConversion;
+import org.apache.flink.connector.jdbc.internal.converter.JdbcRowConversion;
+import org.apache.flink.connector.jdbc.internal.converter.JdbcRowConversionCodeGenerator;
 import org.apache.flink.connector.jdbc.statement.FieldNamedPreparedStatement;
 import org.apache.flink.connector.jdbc.utils.JdbcTypeUtil;
 import org.apache.flink.table.data.DecimalData;
@@ -31,6 +34,9 @@ import org.apache.flink.table.types.logical.LogicalTypeRoot;
 import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.table.types.logical.TimestampType;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -43,17 +49,31 @@ import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Arrays;
 
 import static org.apache.flink.util.Preconditions.checkNotNull;
 
 /** Base class for all converters that convert between JDBC object and Flink internal object. */
 public abstract class AbstractJdbcRowConverter implements JdbcRowConverter {
 
+    private static final Logger LOG = LoggerFactory.getLogger(AbstractJdbcRowConverter.class);
+
     protected final RowType rowType;
     protected final JdbcDeserializationConverter[] toInternalConverters;
     protected final JdbcSerializationConverter[] toExternalConverters;
     protected final LogicalType[] fieldTypes;
 
+    /** Whether rows are converted by generated code, see {@link #enableGeneratedConversion()}. */
+    private boolean generatedConversionEnabled;
+
+    /**
+     * Generated conversions of all fields per thread, null if they are not enabled or some field
+     * does not support generated conversions. Created on first use.
+     */
+    private transient ThreadLocal<JdbcRowConversion> generatedConversions;
+
+    private transient volatile boolean generatedConversionsInitialized;
+
     public abstract String converterName();
 
     public AbstractJdbcRowConverter(RowType rowType) {
@@ -72,6 +92,10 @@ public abstract class AbstractJdbcRowConverter implements JdbcRowConverter {
 
     @Override
     public RowData toInternal(ResultSet resultSet) throws SQLException {
+        JdbcRowConversion generatedConversion = getGeneratedConversion();
+        if (generatedConversion != null) {
+            return generatedConversion.toInternal(resultSet);
+        }
         GenericRowData genericRowData = new GenericRowData(rowType.getFieldCount());
         for (int pos = 0; pos < rowType.getFieldCount(); pos++) {
             Object field = resultSet.getObject(pos + 1);
@@ -94,12 +118,71 @@ public abstract class AbstractJdbcRowConverter implements JdbcRowConverter {
     @Override
     public FieldNamedPreparedStatement toExternal(
             RowData rowData, FieldNamedPreparedStatement statement) throws SQLException {
+        JdbcRowConversion generatedConversion = getGeneratedConversion();
+        if (generatedConversion != null && rowData.getArity() == fieldTypes.length) {
+            generatedConversion.toExternal(rowData, statement);
+            return statement;
+        }
         for (int index = 0; index < rowData.getArity(); index++) {
             toExternalConverters[index].serialize(rowData, index, statement);
         }
         return statement;
     }
 
+    /**
+     * Returns whether fields of the given type may be converted by generated code instead of the
+     * converters of this class. Generated code reads and writes fields with the typed getters and
+     * setters of JDBC, converts them like this class does and produces binary rows. Rows are only
+     * converted by generated code if all of their fields support it.
+     *
+     * <p>Dialects must only return true for types whose conversions they don't customize and whose
+     * driver supports the typed getters, see {@link JdbcRowConversionCodeGenerator#isSupported}.
+     */
+    protected boolean supportsGeneratedConversion(LogicalType type) {
+        return false;
+    }
+
+    /**
+     * Converts rows by generated code if all fields {@link #supportsGeneratedConversion support}
+     * it. Generated conversions are disabled by default, they must be enabled before the first
+     * conversion.
+     */
+    public void enableGeneratedConversion() {
+        this.generatedConversionEnabled = true;
+    }
+
+    private JdbcRowConversion getGeneratedConversion() {
+        if (!generatedConversionsInitialized) {
+            initializeGeneratedConversions();
+        }
+        return generatedConversions == null ? null : generatedConversions.get();
+    }
+
+    private synchronized void initializeGeneratedConversions() {
+        if (generatedConversionsInitialized) {
+            return;
+        }
+        if (generatedConversionEnabled
+                && Arrays.stream(fieldTypes).allMatch(this::supportsGeneratedConversion)) {
+            ClassLoader classLoader = getClass().getClassLoader();
+            try {
+                GeneratedJdbcRowConversion generated =
+                        JdbcRowConversionCodeGenerator.generate(rowType);
+                generated.compile(classLoader);
+                generatedConversions =
+                        ThreadLocal.withInitial(() -> generated.newInstance(classLoader));
+            } catch (Exception e) {
+                LOG.warn(
+                        "Could not generate the {} row conversion of {}, falling back to the "
+                                + "field converters.",
+                        converterName(),
+                        rowType,
+                        e);
+            }
+        }
+        generatedConversionsInitialized = true;
+    }
+
     /** Runtime converter to convert JDBC field to {@link RowData} type object. */
     @FunctionalInterface
     public interface JdbcDeserializationConverter extends Serializable {
@@ -31,6 +31,7 @@ import java.util.Arrays;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static java.lang.String.format;
 
@@ -211,6 +212,135 @@ public abstract class AbstractDialect implements JdbcDialect {
         return "SELECT " + selectExpressions + " FROM " + quoteIdentifier(tableName);
     }
 
+    /**
+     * A {@code SELECT} statement for a batch of keys.
+     *
+     * <pre>{@code
+     * SELECT expression [, ...]
+     * FROM table_name
+     * WHERE (cond [, ...]) IN ((?, ...) [, ...])
+     * }</pre>
+     */
+    @Override
+    public Optional<String> getSelectFromStatementWithKeysIn(
+            String tableName, String[] selectFields, String[] conditionFields, int numKeys) {
+        return Optional.of(
+                getSelectFromStatementWithNoWhere(tableName, selectFields)
+                        + " WHERE "
+                        + getKeysInCondition(conditionFields, 0, numKeys));
+    }
+
+    /**
+     * The {@code IN} condition of the keys {@code fromKey} (inclusive) to {@code toKey} (exclusive)
+     * of a batch.
+     *
+     * <pre>{@code
+     * (cond [, ...]) IN ((?, ...) [, ...])
+     * }</pre>
+     */
+    protected String getKeysInCondition(String[] conditionFields, int fromKey, int toKey) {
+        String fieldExpressions =
+                Arrays.stream(conditionFields)
+                        .map(this::quoteIdentifier)
+                        .collect(Collectors.joining(", "));
+        String valueExpressions =
+                IntStream.range(fromKey, toKey)
+                        .mapToObj(
+                                i ->
+                                        Arrays.stream(conditionFields)
+                                                .map(f -> format(":%s_%d", f, i))
+                                                .collect(Collectors.joining(", ")))
+                        .map(values -> conditionFields.length > 1 ? "(" + values + ")" : values)
+                        .collect(Collectors.joining(", "));
+        if (conditionFields.length > 1) {
+            fieldExpressions = "(" + fieldExpressions + ")";
+        }
+        return fieldExpressions + " IN (" + valueExpressions + ")";
+    }
+
+    /**
+     * A {@code SELECT} statement that joins the table with the distinct keys changed since the
+     * given version.
+     *
+     * <pre>{@code
+     * SELECT t.expression [, ...]
+     * FROM table_name t
+     * JOIN (SELECT DISTINCT key [, ...] FROM table_name WHERE version > ?) c
+     * ON t.key = c.key [AND ...]
+     * }</pre>
+     */
+    @Override
+    public Optional<String> getSelectChangedKeysStatement(
+            String tableName, String[] selectFields, String[] keyFields, String versionField) {
+        String selectExpressions =
+                Arrays.stream(selectFields)
+                        .map(f -> "t." + quoteIdentifier(f))
+                        .collect(Collectors.joining(", "));
+        String keyExpressions =
+                Arrays.stream(keyFields)
+                        .map(this::quoteIdentifier)
+                        .collect(Collectors.joining(", "));
+        String joinCondition =
+                Arrays.stream(keyFields)
+                        .map(f -> format("t.%s = c.%s", quoteIdentifier(f), quoteIdentifier(f)))
+                        .collect(Collectors.joining(" AND "));
+        return Optional.of(
+                "SELECT "
+                        + selectExpressions
+                        + " FROM "
+                        + quoteIdentifier(tableName)
+                        + " t JOIN (SELECT DISTINCT "
+                        + keyExpressions
+                        + " FROM "
+                        + quoteIdentifier(tableName)
+                        + " WHERE "
+                        + format("%s > :%s", quoteIdentifier(versionField), versionField)
+                        + ") c ON "
+                        + joinCondition);
+    }
+
+    /**
+     * A condition on the floor modulo of an integral field.
+     *
+     * <pre>{@code
+     * MOD(MOD(field, divisor) + divisor, divisor) = remainder
+     * }</pre>
+     */
+    @Override
+    public Optional<String> getModuloCondition(String fieldName, int divisor, int remainder) {
+        return Optional.of(
+                format(
+                        "MOD(MOD(%s, %d) + %d, %d) = %d",
+                        quoteIdentifier(fieldName), divisor, divisor, divisor, remainder));
+    }
+
+    /**
+     * An {@code INSERT INTO} statement with a row value constructor per row.
+     *
+     * <pre>{@code
+     * INSERT INTO table_name (column_name [, ...])
+     * VALUES (:column_name_0 [, ...]), (:column_name_1 [, ...]) [, ...]
+     * }</pre>
+     */
+    @Override
+    public Optional<String> getMultiRowInsertIntoStatement(
+            String tableName, String[] fieldNames, int numRows) {
+        String columns =
+                Arrays.stream(fieldNames)
+                        .map(this::quoteIdentifier)
+                        .collect(Collectors.joining(", "));
+        String rows =
+                IntStream.range(0, numRows)
+                        .mapToObj(
+                                i ->
+                                        Arrays.stream(fieldNames)
+                                                .map(f -> format(":%s_%d", f, i))
+                                                .collect(Collectors.joining(", ", "(", ")")))
+                        .collect(Collectors.joining(", "));
+        return Optional.of(
+                "INSERT INTO " + quoteIdentifier(tableName) + "(" + columns + ") VALUES " + rows);
+    }
+
     /**
      * A simple {@code SELECT} statement that checks for the existence of a single row.
      *
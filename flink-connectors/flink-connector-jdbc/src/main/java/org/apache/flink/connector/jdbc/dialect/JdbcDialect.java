@@ -144,4 +144,106 @@ public interface JdbcDialect extends Serializable {
             String tableName, String[] selectFields, String[] conditionFields);
 
     String getSelectFromStatementWithNoWhere(String tableName, String[] selectFields);
+
+    /**
+     * Constructs the dialects select statement for the rows of a batch of keys. The returned string
+     * will be used as a {@link java.sql.PreparedStatement}. The condition field {@code f} of the
+     * {@code i}-th key is bound to the named parameter {@code f_i}. Fields in the statement must be
+     * in the same order as the {@code selectFields} parameter.
+     *
+     * <p>If the dialect does not support it, the asynchronous lookup queries each key on its own.
+     *
+     * @return The select statement of a batch of keys if supported, otherwise None.
+     */
+    default Optional<String> getSelectFromStatementWithKeysIn(
+            String tableName, String[] selectFields, String[] conditionFields, int numKeys) {
+        return Optional.empty();
+    }
+
+    /**
+     * Constructs the dialects select statement for all rows of the keys that have at least one row
+     * whose version field is larger than a given version. The returned string will be used as a
+     * {@link java.sql.PreparedStatement}, the version is bound to the named parameter {@code
+     * versionField}. Fields in the statement must be in the same order as the {@code selectFields}
+     * parameter.
+     *
+     * <p>If the dialect does not support it, incremental refreshes fall back to reloading the whole
+     * table.
+     *
+     * @return The select statement of the changed keys if supported, otherwise None.
+     */
+    default Optional<String> getSelectChangedKeysStatement(
+            String tableName, String[] selectFields, String[] keyFields, String versionField) {
+        return Optional.empty();
+    }
+
+    /**
+     * Constructs the dialects condition that only keeps rows whose integral field is congruent to
+     * {@code remainder} modulo {@code divisor}. The remainder is always non-negative, also for
+     * negative values of the field.
+     *
+     * @return A condition for a {@code WHERE} clause, or {@link Optional#empty()} if the dialect
+     *     can not evaluate it.
+     */
+    default Optional<String> getModuloCondition(String fieldName, int divisor, int remainder) {
+        return Optional.empty();
+    }
+
+    /**
+     * Constructs the dialects insert statement of multiple rows, such as {@code INSERT INTO ...
+     * VALUES (...), (...)}. The returned string will be used as a {@link
+     * java.sql.PreparedStatement}. The field {@code f} of the {@code i}-th row is bound to the
+     * named parameter {@code f_i}.
+     *
+     * <p>If the dialect does not support it, sinks insert every row with its own statement in a
+     * JDBC batch.
+     *
+     * @return The multi-row insert statement if supported, otherwise None.
+     */
+    default Optional<String> getMultiRowInsertIntoStatement(
+            String tableName, String[] fieldNames, int numRows) {
+        return Optional.empty();
+    }
+
+    /**
+     * Constructs the dialects upsert statement of multiple rows, the multi-row counterpart of
+     * {@link #getUpsertStatement(String, String[], String[])}. The field {@code f} of the {@code
+     * i}-th row is bound to the named parameter {@code f_i}. The rows of one statement must have
+     * distinct keys.
+     *
+     * <p>If the dialect does not support it, sinks upsert every row with its own statement in a
+     * JDBC batch.
+     *
+     * @return The multi-row upsert statement if supported, otherwise None.
+     */
+    default Optional<String> getMultiRowUpsertStatement(
+            String tableName, String[] fieldNames, String[] uniqueKeyFields, int numRows) {
+        return Optional.empty();
+    }
+
+    /**
+     * The default is 999, the smallest limit of common drivers (SQLite), dialects whose driver
+     * accepts more parameters should override it.
+     *
+     * @return the max number of parameters of a single statement which the driver of this dialect
+     *     accepts, it bounds the number of rows of multi-row statements and the number of keys of
+     *     batched lookups.
+     */
+    default int getMaxStatementParameters() {
+        return 999;
+    }
+
+    /**
+     * Constructs the dialects statement which bulk loads rows streamed from the client in CSV
+     * format, such as PostgreSQL's {@code COPY ... FROM STDIN}. Fields of the streamed rows must be
+     * in the same order as the {@code fieldNames} parameter.
+     *
+     * <p>If the dialect does not support it, sinks write rows with batched prepared statements and
+     * enabling the bulk copy of a sink is rejected.
+     *
+     * @return The bulk load statement if supported, otherwise None.
+     */
+    default Optional<String> getCopyInStatement(String tableName, String[] fieldNames) {
+        return Optional.empty();
+    }
 }
@@ -24,9 +24,12 @@ import org.apache.flink.connector.jdbc.internal.converter.DerbyRowConverter;
 import org.apache.flink.table.types.logical.LogicalTypeRoot;
 import org.apache.flink.table.types.logical.RowType;
 
+import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 class DerbyDialect extends AbstractDialect {
 
@@ -73,6 +76,35 @@ class DerbyDialect extends AbstractDialect {
         return Optional.empty();
     }
 
+    /**
+     * Derby does not support row value constructors in {@code IN} predicates, so a batch of
+     * composite keys is expanded into a disjunction.
+     */
+    @Override
+    public Optional<String> getSelectFromStatementWithKeysIn(
+            String tableName, String[] selectFields, String[] conditionFields, int numKeys) {
+        if (conditionFields.length == 1) {
+            return super.getSelectFromStatementWithKeysIn(
+                    tableName, selectFields, conditionFields, numKeys);
+        }
+        String conditionClause =
+                IntStream.range(0, numKeys)
+                        .mapToObj(
+                                i ->
+                                        Arrays.stream(conditionFields)
+                                                .map(
+                                                        f ->
+                                                                String.format(
+                                                                        "%s = :%s_%d",
+                                                                        quoteIdentifier(f), f, i))
+                                                .collect(Collectors.joining(" AND ", "(", ")")))
+                        .collect(Collectors.joining(" OR "));
+        return Optional.of(
+                getSelectFromStatementWithNoWhere(tableName, selectFields)
+                        + " WHERE "
+                        + conditionClause);
+    }
+
     @Override
     public Optional<Range> decimalPrecisionRange() {
         return Optional.of(Range.of(MIN_DECIMAL_PRECISION, MAX_DECIMAL_PRECISION));
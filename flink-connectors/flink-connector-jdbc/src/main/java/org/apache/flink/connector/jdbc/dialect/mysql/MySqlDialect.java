@@ -77,14 +77,29 @@ public class MySqlDialect extends AbstractDialect {
     @Override
     public Optional<String> getUpsertStatement(
             String tableName, String[] fieldNames, String[] uniqueKeyFields) {
+        return Optional.of(
+                getInsertIntoStatement(tableName, fieldNames) + getDuplicateKeyClause(fieldNames));
+    }
+
+    @Override
+    public Optional<String> getMultiRowUpsertStatement(
+            String tableName, String[] fieldNames, String[] uniqueKeyFields, int numRows) {
+        return getMultiRowInsertIntoStatement(tableName, fieldNames, numRows)
+                .map(insert -> insert + getDuplicateKeyClause(fieldNames));
+    }
+
+    /** MySQL Connector/J accepts up to 65535 parameters per statement. */
+    @Override
+    public int getMaxStatementParameters() {
+        return 65535;
+    }
+
+    private String getDuplicateKeyClause(String[] fieldNames) {
         String updateClause =
                 Arrays.stream(fieldNames)
                         .map(f -> quoteIdentifier(f) + "=VALUES(" + quoteIdentifier(f) + ")")
                         .collect(Collectors.joining(", "));
-        return Optional.of(
-                getInsertIntoStatement(tableName, fieldNames)
-                        + " ON DUPLICATE KEY UPDATE "
-                        + updateClause);
+        return " ON DUPLICATE KEY UPDATE " + updateClause;
     }
 
     @Override
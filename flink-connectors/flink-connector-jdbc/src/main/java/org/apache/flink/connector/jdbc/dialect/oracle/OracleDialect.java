@@ -29,6 +29,7 @@ import java.util.EnumSet;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /** JDBC dialect for Oracle. */
 class OracleDialect extends AbstractDialect {
@@ -45,6 +46,9 @@ class OracleDialect extends AbstractDialect {
     private static final int MAX_DECIMAL_PRECISION = 38;
     private static final int MIN_DECIMAL_PRECISION = 1;
 
+    // Oracle accepts at most 1000 expressions in an IN list, see ORA-01795
+    private static final int MAX_IN_LIST_SIZE = 1000;
+
     @Override
     public JdbcRowConverter getRowConverter(RowType rowType) {
         return new OracleRowConverter(rowType);
@@ -70,6 +74,35 @@ class OracleDialect extends AbstractDialect {
         return identifier;
     }
 
+    /** Oracle doesn't accept multiple row value constructors in {@code VALUES}. */
+    @Override
+    public Optional<String> getMultiRowInsertIntoStatement(
+            String tableName, String[] fieldNames, int numRows) {
+        return Optional.empty();
+    }
+
+    /**
+     * Oracle doesn't accept more than 1000 expressions in an {@code IN} list, so a larger batch of
+     * keys is split into several lists.
+     */
+    @Override
+    public Optional<String> getSelectFromStatementWithKeysIn(
+            String tableName, String[] selectFields, String[] conditionFields, int numKeys) {
+        String conditionClause =
+                IntStream.range(0, (numKeys + MAX_IN_LIST_SIZE - 1) / MAX_IN_LIST_SIZE)
+                        .mapToObj(
+                                i ->
+                                        getKeysInCondition(
+                                                conditionFields,
+                                                i * MAX_IN_LIST_SIZE,
+                                                Math.min(numKeys, (i + 1) * MAX_IN_LIST_SIZE)))
+                        .collect(Collectors.joining(" OR "));
+        return Optional.of(
+                getSelectFromStatementWithNoWhere(tableName, selectFields)
+                        + " WHERE "
+                        + conditionClause);
+    }
+
     @Override
     public Optional<String> getUpsertStatement(
             String tableName, String[] fieldNames, String[] uniqueKeyFields) {
@@ -64,6 +64,19 @@ public class PostgresDialect extends AbstractDialect {
     @Override
     public Optional<String> getUpsertStatement(
             String tableName, String[] fieldNames, String[] uniqueKeyFields) {
+        return Optional.of(
+                getInsertIntoStatement(tableName, fieldNames)
+                        + getOnConflictClause(fieldNames, uniqueKeyFields));
+    }
+
+    @Override
+    public Optional<String> getMultiRowUpsertStatement(
+            String tableName, String[] fieldNames, String[] uniqueKeyFields, int numRows) {
+        return getMultiRowInsertIntoStatement(tableName, fieldNames, numRows)
+                .map(insert -> insert + getOnConflictClause(fieldNames, uniqueKeyFields));
+    }
+
+    private String getOnConflictClause(String[] fieldNames, String[] uniqueKeyFields) {
         String uniqueColumns =
                 Arrays.stream(uniqueKeyFields)
                         .map(this::quoteIdentifier)
@@ -72,13 +85,31 @@ public class PostgresDialect extends AbstractDialect {
                 Arrays.stream(fieldNames)
                         .map(f -> quoteIdentifier(f) + "=EXCLUDED." + quoteIdentifier(f))
                         .collect(Collectors.joining(", "));
+        return " ON CONFLICT (" + uniqueColumns + ")" + " DO UPDATE SET " + updateClause;
+    }
+
+    /** pgjdbc accepts up to 32767 parameters per statement. */
+    @Override
+    public int getMaxStatementParameters() {
+        return Short.MAX_VALUE;
+    }
+
+    /**
+     * Postgres bulk load statement, which streams CSV rows to {@code COPY ... FROM STDIN}. Unquoted
+     * empty fields are NULL, so empty strings must be quoted.
+     */
+    @Override
+    public Optional<String> getCopyInStatement(String tableName, String[] fieldNames) {
+        String columns =
+                Arrays.stream(fieldNames)
+                        .map(this::quoteIdentifier)
+                        .collect(Collectors.joining(", "));
         return Optional.of(
-                getInsertIntoStatement(tableName, fieldNames)
-                        + " ON CONFLICT ("
-                        + uniqueColumns
-                        + ")"
-                        + " DO UPDATE SET "
-                        + updateClause);
+                "COPY "
+                        + quoteIdentifier(tableName)
+                        + "("
+                        + columns
+                        + ") FROM STDIN WITH (FORMAT csv)");
     }
 
     @Override
@@ -38,6 +38,7 @@ import org.apache.flink.connector.jdbc.internal.options.JdbcDmlOptions;
 import org.apache.flink.connector.jdbc.statement.FieldNamedPreparedStatementImpl;
 import org.apache.flink.connector.jdbc.utils.JdbcUtils;
 import org.apache.flink.types.Row;
+import org.apache.flink.util.InstantiationUtil;
 import org.apache.flink.util.Preconditions;
 import org.apache.flink.util.concurrent.ExecutorThreadFactory;
 import org.apache.flink.util.function.SerializableFunction;
@@ -53,7 +54,9 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -62,6 +65,7 @@ import java.util.function.Function;
 
 import static org.apache.flink.connector.jdbc.utils.JdbcUtils.setRecordToStatement;
 import static org.apache.flink.util.Preconditions.checkNotNull;
+import static org.apache.flink.util.Preconditions.checkState;
 
 /** A JDBC outputFormat that supports batching records before writing records to database. */
 @Internal
@@ -106,8 +110,10 @@ public class JdbcOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatchStatementExe
     private final JdbcExecutionOptions executionOptions;
     private final StatementExecutorFactory<JdbcExec> statementExecutorFactory;
     private final RecordExtractor<In, JdbcIn> jdbcRecordExtractor;
+    @Nullable private final RecordExtractor<JdbcIn, ?> keyExtractor;
 
     private transient JdbcExec jdbcStatementExecutor;
+    private transient PipelinedBatchWriter<JdbcIn> pipelinedBatchWriter;
     private transient int batchCount = 0;
     private transient volatile boolean closed = false;
 
@@ -120,10 +126,24 @@ public class JdbcOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatchStatementExe
             @Nonnull JdbcExecutionOptions executionOptions,
             @Nonnull StatementExecutorFactory<JdbcExec> statementExecutorFactory,
             @Nonnull RecordExtractor<In, JdbcIn> recordExtractor) {
+        this(connectionProvider, executionOptions, statementExecutorFactory, recordExtractor, null);
+    }
+
+    /**
+     * Creates a format whose records are routed to writers by the given key when batches are
+     * written by multiple writers, so that the records of each key are written in order.
+     */
+    public JdbcOutputFormat(
+            @Nonnull JdbcConnectionProvider connectionProvider,
+            @Nonnull JdbcExecutionOptions executionOptions,
+            @Nonnull StatementExecutorFactory<JdbcExec> statementExecutorFactory,
+            @Nonnull RecordExtractor<In, JdbcIn> recordExtractor,
+            @Nullable RecordExtractor<JdbcIn, ?> keyExtractor) {
         this.connectionProvider = checkNotNull(connectionProvider);
         this.executionOptions = checkNotNull(executionOptions);
         this.statementExecutorFactory = checkNotNull(statementExecutorFactory);
         this.jdbcRecordExtractor = checkNotNull(recordExtractor);
+        this.keyExtractor = keyExtractor;
     }
 
     @Override
@@ -141,7 +161,11 @@ public class JdbcOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatchStatementExe
         } catch (Exception e) {
             throw new IOException("unable to open JDBC writer", e);
         }
-        jdbcStatementExecutor = createAndOpenStatementExecutor(statementExecutorFactory);
+        if (executionOptions.isPipelined()) {
+            pipelinedBatchWriter = createAndOpenPipelinedBatchWriter();
+        } else {
+            jdbcStatementExecutor = createAndOpenStatementExecutor(statementExecutorFactory);
+        }
         if (executionOptions.getBatchIntervalMs() != 0 && executionOptions.getBatchSize() != 1) {
             this.scheduler =
                     Executors.newScheduledThreadPool(
@@ -152,6 +176,11 @@ public class JdbcOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatchStatementExe
                                 synchronized (JdbcOutputFormat.this) {
                                     if (!closed) {
                                         try {
+                                            if (pipelinedBatchWriter != null) {
+                                                checkFlushException();
+                                                pipelinedBatchWriter.submitOpenBatches();
+                                                return;
+                                            }
                                             flush();
                                         } catch (Exception e) {
                                             flushException = e;
@@ -176,9 +205,50 @@ public class JdbcOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatchStatementExe
         return exec;
     }
 
+    /**
+     * Creates the writers of the pipelined mode. The first writer uses the connection of this
+     * format, the others use copies of its connection provider which hold their own connection.
+     */
+    private PipelinedBatchWriter<JdbcIn> createAndOpenPipelinedBatchWriter() throws IOException {
+        List<JdbcConnectionProvider> connectionProviders = new ArrayList<>();
+        List<JdbcBatchStatementExecutor<JdbcIn>> statementExecutors = new ArrayList<>();
+        connectionProviders.add(connectionProvider);
+        statementExecutors.add(statementExecutorFactory.apply(getRuntimeContext()));
+        try {
+            for (int i = 1; i < executionOptions.getWriters(); i++) {
+                checkState(
+                        connectionProvider instanceof Serializable,
+                        "Multiple writers require a serializable connection provider.");
+                connectionProviders.add(
+                        (JdbcConnectionProvider)
+                                InstantiationUtil.clone((Serializable) connectionProvider));
+                statementExecutors.add(statementExecutorFactory.apply(getRuntimeContext()));
+            }
+            PipelinedBatchWriter<JdbcIn> writer =
+                    new PipelinedBatchWriter<>(
+                            connectionProviders,
+                            statementExecutors,
+                            keyExtractor,
+                            executionOptions.getBatchSize(),
+                            executionOptions.getMaxRetries(),
+                            executionOptions.getMaxInFlightBatches());
+            writer.open();
+            return writer;
+        } catch (Exception e) {
+            for (int i = 1; i < connectionProviders.size(); i++) {
+                connectionProviders.get(i).closeConnection();
+            }
+            throw new IOException("unable to open JDBC writer", e);
+        }
+    }
+
     private void checkFlushException() {
-        if (flushException != null) {
-            throw new RuntimeException("Writing records to JDBC failed.", flushException);
+        Throwable cause = flushException;
+        if (cause == null && pipelinedBatchWriter != null) {
+            cause = pipelinedBatchWriter.getFailure();
+        }
+        if (cause != null) {
+            throw new RuntimeException("Writing records to JDBC failed.", cause);
         }
     }
 
@@ -188,10 +258,17 @@ public class JdbcOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatchStatementExe
 
         try {
             In recordCopy = copyIfNecessary(record);
+            if (pipelinedBatchWriter != null) {
+                // full batches are submitted by the writer, flushes only wait for them
+                pipelinedBatchWriter.add(jdbcRecordExtractor.apply(recordCopy));
+                batchCount++;
+                return;
+            }
             addToBatch(record, jdbcRecordExtractor.apply(recordCopy));
             batchCount++;
-            if (executionOptions.getBatchSize() > 0
-                    && batchCount >= executionOptions.getBatchSize()) {
+            if ((executionOptions.getBatchSize() > 0
+                            && batchCount >= executionOptions.getBatchSize())
+                    || jdbcStatementExecutor.isBufferFull()) {
                 flush();
             }
         } catch (Exception e) {
@@ -211,6 +288,13 @@ public class JdbcOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatchStatementExe
     public synchronized void flush() throws IOException {
         checkFlushException();
 
+        if (pipelinedBatchWriter != null) {
+            pipelinedBatchWriter.flush();
+            checkFlushException();
+            batchCount = 0;
+            return;
+        }
+
         for (int i = 0; i <= executionOptions.getMaxRetries(); i++) {
             try {
                 attemptFlush();
@@ -257,21 +341,28 @@ public class JdbcOutputFormat<In, JdbcIn, JdbcExec extends JdbcBatchStatementExe
                 this.scheduler.shutdown();
             }
 
-            if (batchCount > 0) {
+            try {
+                if (batchCount > 0) {
+                    try {
+                        flush();
+                    } catch (Exception e) {
+                        LOG.warn("Writing records to JDBC failed.", e);
+                        throw new RuntimeException("Writing records to JDBC failed.", e);
+                    }
+                }
+            } finally {
+                // releases the buffers of the executor, also if the last flush failed
                 try {
-                    flush();
-                } catch (Exception e) {
-                    LOG.warn("Writing records to JDBC failed.", e);
-                    throw new RuntimeException("Writing records to JDBC failed.", e);
+                    if (jdbcStatementExecutor != null) {
+                        jdbcStatementExecutor.close();
+                    }
+                } catch (SQLException e) {
+                    LOG.warn("Close JDBC writer failed.", e);
                 }
-            }
 
-            try {
-                if (jdbcStatementExecutor != null) {
-                    jdbcStatementExecutor.closeStatements();
+                if (pipelinedBatchWriter != null) {
+                    pipelinedBatchWriter.close();
                 }
-            } catch (SQLException e) {
-                LOG.warn("Close JDBC writer failed.", e);
             }
         }
         connectionProvider.closeConnection();
@@ -0,0 +1,296 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.internal;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.connector.jdbc.internal.connection.JdbcConnectionProvider;
+import org.apache.flink.connector.jdbc.internal.executor.JdbcBatchStatementExecutor;
+import org.apache.flink.util.MathUtils;
+import org.apache.flink.util.concurrent.ExecutorThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Writes filled batches of records on a fixed number of writers, so that the thread which adds the
+ * records does not wait for the database.
+ *
+ * <p>Each writer holds its own connection and statement executor, and writes its batches one after
+ * another in the order they were submitted. Records are routed to writers by the hash of their key,
+ * so all records with the same key are written in order by the same writer. Without a key
+ * extractor, whole batches are routed to the writers in a round-robin fashion. At most {@code
+ * maxInFlightBatches} batches per writer are queued or being written, further submissions block the
+ * caller until a batch of that writer completes.
+ *
+ * <p>This class is not thread safe, records must be added and flushed by one thread at a time.
+ */
+@Internal
+class PipelinedBatchWriter<T> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PipelinedBatchWriter.class);
+
+    private final List<Writer<T>> writers;
+    @Nullable private final Function<T, ?> keyExtractor;
+    private final int batchSize;
+    private final List<CompletableFuture<Void>> inFlightBatches = new ArrayList<>();
+
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private int nextWriter;
+
+    PipelinedBatchWriter(
+            List<JdbcConnectionProvider> connectionProviders,
+            List<JdbcBatchStatementExecutor<T>> statementExecutors,
+            @Nullable Function<T, ?> keyExtractor,
+            int batchSize,
+            int maxRetries,
+            int maxInFlightBatches) {
+        checkArgument(!connectionProviders.isEmpty(), "There must be at least one writer.");
+        checkArgument(connectionProviders.size() == statementExecutors.size());
+        checkArgument(
+                maxInFlightBatches > 0, "The max number of in-flight batches must be positive.");
+        this.writers = new ArrayList<>(connectionProviders.size());
+        for (int i = 0; i < connectionProviders.size(); i++) {
+            writers.add(
+                    new Writer<>(
+                            i,
+                            connectionProviders.get(i),
+                            statementExecutors.get(i),
+                            maxRetries,
+                            maxInFlightBatches));
+        }
+        this.keyExtractor = keyExtractor;
+        this.batchSize = batchSize;
+    }
+
+    /** Connects all writers to the database and prepares their statements. */
+    void open() throws Exception {
+        for (Writer<T> writer : writers) {
+            writer.open();
+        }
+    }
+
+    /** Adds the record to the batch of its writer, and submits the batch once it is full. */
+    void add(T record) throws IOException {
+        final Writer<T> writer;
+        if (keyExtractor == null) {
+            writer = writers.get(nextWriter);
+        } else {
+            int keyHash = Objects.hashCode(keyExtractor.apply(record));
+            writer = writers.get(MathUtils.murmurHash(keyHash) % writers.size());
+        }
+        writer.batch.add(record);
+        if (batchSize > 0 && writer.batch.size() >= batchSize) {
+            submit(writer);
+        }
+    }
+
+    /** Submits the batches of all writers without waiting for them to be written. */
+    void submitOpenBatches() throws IOException {
+        for (Writer<T> writer : writers) {
+            if (!writer.batch.isEmpty()) {
+                submit(writer);
+            }
+        }
+    }
+
+    /**
+     * Submits the batches of all writers and waits until all submitted batches are written.
+     *
+     * @throws IOException if writing a batch failed, or if a batch was not written because of an
+     *     earlier failure
+     */
+    void flush() throws IOException {
+        submitOpenBatches();
+        try {
+            for (CompletableFuture<Void> inFlightBatch : inFlightBatches) {
+                inFlightBatch.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IOException("unable to flush; writing a batch failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("unable to flush; interrupted while waiting for batches", e);
+        } finally {
+            inFlightBatches.removeIf(CompletableFuture::isDone);
+        }
+    }
+
+    /** Returns the first failure of any writer, no batches are written after a failure. */
+    @Nullable
+    Throwable getFailure() {
+        return failure.get();
+    }
+
+    /** Stops the writers and closes their statements and connections. */
+    void close() {
+        for (Writer<T> writer : writers) {
+            writer.close();
+        }
+    }
+
+    @VisibleForTesting
+    int getNumberOfInFlightBatches() {
+        inFlightBatches.removeIf(CompletableFuture::isDone);
+        return inFlightBatches.size();
+    }
+
+    private void submit(Writer<T> writer) throws IOException {
+        List<T> batch = writer.batch;
+        writer.batch = new ArrayList<>();
+        try {
+            writer.inFlightPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("unable to submit batch; interrupted while waiting", e);
+        }
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            writer.executor.execute(
+                    () -> {
+                        try {
+                            Throwable previousFailure = failure.get();
+                            if (previousFailure != null) {
+                                // the batch is skipped, it must not look written to a flush
+                                future.completeExceptionally(previousFailure);
+                                return;
+                            }
+                            writer.write(batch);
+                            future.complete(null);
+                        } catch (Throwable t) {
+                            failure.compareAndSet(null, t);
+                            future.completeExceptionally(t);
+                        } finally {
+                            writer.inFlightPermits.release();
+                        }
+                    });
+        } catch (Throwable t) {
+            writer.inFlightPermits.release();
+            throw new IOException("unable to submit batch", t);
+        }
+        inFlightBatches.removeIf(CompletableFuture::isDone);
+        inFlightBatches.add(future);
+        if (keyExtractor == null) {
+            nextWriter = (nextWriter + 1) % writers.size();
+        }
+    }
+
+    /** A connection and statement executor which write batches on their own thread. */
+    private static final class Writer<T> {
+
+        private final JdbcConnectionProvider connectionProvider;
+        private final JdbcBatchStatementExecutor<T> statementExecutor;
+        private final int maxRetries;
+        private final Semaphore inFlightPermits;
+        private final ExecutorService executor;
+
+        /** The batch which is being filled, only accessed by the thread which adds records. */
+        private List<T> batch = new ArrayList<>();
+
+        private Writer(
+                int index,
+                JdbcConnectionProvider connectionProvider,
+                JdbcBatchStatementExecutor<T> statementExecutor,
+                int maxRetries,
+                int maxInFlightBatches) {
+            this.connectionProvider = connectionProvider;
+            this.statementExecutor = statementExecutor;
+            this.maxRetries = maxRetries;
+            this.inFlightPermits = new Semaphore(maxInFlightBatches);
+            this.executor =
+                    Executors.newSingleThreadExecutor(
+                            new ExecutorThreadFactory("jdbc-pipelined-batch-writer-" + index));
+        }
+
+        private void open() throws Exception {
+            statementExecutor.prepareStatements(connectionProvider.getOrEstablishConnection());
+        }
+
+        private void write(List<T> batch) throws IOException, SQLException {
+            for (T record : batch) {
+                statementExecutor.addToBatch(record);
+            }
+            for (int i = 0; i <= maxRetries; i++) {
+                try {
+                    statementExecutor.executeBatch();
+                    return;
+                } catch (SQLException e) {
+                    LOG.error("JDBC executeBatch error, retry times = {}", i, e);
+                    if (i >= maxRetries) {
+                        throw new IOException(e);
+                    }
+                    try {
+                        if (!connectionProvider.isConnectionValid()) {
+                            statementExecutor.closeStatements();
+                            statementExecutor.prepareStatements(
+                                    connectionProvider.reestablishConnection());
+                        }
+                    } catch (Exception exception) {
+                        LOG.error(
+                                "JDBC connection is not valid, and reestablish connection failed.",
+                                exception);
+                        throw new IOException("Reestablish JDBC connection failed", exception);
+                    }
+                    try {
+                        Thread.sleep(1000 * i);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException(
+                                "unable to flush; interrupted while doing another attempt", e);
+                    }
+                }
+            }
+        }
+
+        private void close() {
+            executor.shutdownNow();
+            try {
+                if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    LOG.warn("JDBC batch writer did not terminate in time.");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            try {
+                statementExecutor.close();
+            } catch (SQLException e) {
+                LOG.warn("Close JDBC writer failed.", e);
+            }
+            connectionProvider.closeConnection();
+        }
+    }
+}
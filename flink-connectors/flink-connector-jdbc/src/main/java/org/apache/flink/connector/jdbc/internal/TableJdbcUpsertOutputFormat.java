@@ -68,6 +68,9 @@ class TableJdbcUpsertOutputFormat
             StatementExecutorFactory<JdbcBatchStatementExecutor<Row>>
                     deleteStatementExecutorFactory) {
         super(connectionProvider, batchOptions, statementExecutorFactory, tuple2 -> tuple2.f1);
+        checkArgument(
+                !batchOptions.isPipelined(),
+                "Upsert output format with a delete executor doesn't support in-flight batches.");
         this.deleteStatementExecutorFactory = deleteStatementExecutorFactory;
     }
 
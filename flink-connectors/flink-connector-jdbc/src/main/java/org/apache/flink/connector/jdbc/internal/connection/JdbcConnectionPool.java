@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.internal.connection;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.connector.jdbc.JdbcConnectionOptions;
+import org.apache.flink.util.concurrent.ExecutorThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkState;
+
+/**
+ * A bounded pool of JDBC connections which runs blocking JDBC calls for asynchronous lookups.
+ *
+ * <p>Pools are shared by all functions of a TaskManager which connect to the same database with the
+ * same pool settings, and closed when the last function releases them. Each thread of the pool
+ * holds its own connection, so the pool never opens more than {@code poolSize} connections. At most
+ * {@code maxInFlight} calls are queued or running at the same time, further calls block the caller
+ * until a running call completes.
+ */
+@Internal
+@ThreadSafe
+public class JdbcConnectionPool {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JdbcConnectionPool.class);
+
+    private static final Map<List<Object>, JdbcConnectionPool> POOLS = new HashMap<>();
+
+    private final List<Object> poolKey;
+    private final JdbcConnectionOptions options;
+    private final ExecutorService executor;
+    private final Semaphore inFlightPermits;
+    private final ThreadLocal<SimpleJdbcConnectionProvider> threadConnectionProvider;
+    private final List<SimpleJdbcConnectionProvider> connectionProviders = new ArrayList<>();
+
+    /** Number of functions using this pool, guarded by the lock of {@link #POOLS}. */
+    private int refCount;
+
+    private JdbcConnectionPool(
+            List<Object> poolKey, JdbcConnectionOptions options, int poolSize, int maxInFlight) {
+        this.poolKey = poolKey;
+        this.options = options;
+        this.executor =
+                Executors.newFixedThreadPool(
+                        poolSize, new ExecutorThreadFactory("jdbc-async-lookup"));
+        this.inFlightPermits = new Semaphore(maxInFlight);
+        this.threadConnectionProvider = ThreadLocal.withInitial(this::newConnectionProvider);
+    }
+
+    /**
+     * Returns the pool of this TaskManager for the given database and settings, the pool is created
+     * if it does not exist yet. Every acquired pool must be released with {@link #release()}.
+     */
+    public static JdbcConnectionPool acquire(
+            JdbcConnectionOptions options, int poolSize, int maxInFlight) {
+        checkArgument(poolSize > 0, "The pool size must be positive.");
+        checkArgument(maxInFlight > 0, "The max number of in-flight calls must be positive.");
+        List<Object> poolKey =
+                Arrays.asList(
+                        options.getDbURL(),
+                        options.getDriverName(),
+                        options.getUsername().orElse(null),
+                        options.getPassword().orElse(null),
+                        poolSize,
+                        maxInFlight);
+        synchronized (POOLS) {
+            JdbcConnectionPool pool =
+                    POOLS.computeIfAbsent(
+                            poolKey,
+                            k -> new JdbcConnectionPool(k, options, poolSize, maxInFlight));
+            pool.refCount++;
+            return pool;
+        }
+    }
+
+    /** Releases the pool, the last release closes the threads and connections of the pool. */
+    public void release() {
+        synchronized (POOLS) {
+            checkState(refCount > 0, "The pool has already been closed.");
+            if (--refCount > 0) {
+                return;
+            }
+            POOLS.remove(poolKey);
+        }
+        executor.shutdownNow();
+        synchronized (connectionProviders) {
+            for (SimpleJdbcConnectionProvider connectionProvider : connectionProviders) {
+                connectionProvider.closeConnection();
+            }
+            connectionProviders.clear();
+        }
+        LOG.info("Closed JDBC connection pool of {}.", options.getDbURL());
+    }
+
+    /**
+     * Runs the call on a thread of the pool with the connection provider of that thread. Blocks
+     * while the max number of in-flight calls is reached.
+     *
+     * @return future completed with the result of the call
+     */
+    public <T> CompletableFuture<T> execute(ConnectionCall<T> call) throws InterruptedException {
+        inFlightPermits.acquire();
+        return submit(call);
+    }
+
+    /**
+     * Runs the call on a thread of the pool like {@link #execute(ConnectionCall)}, but never
+     * blocks.
+     *
+     * @return future completed with the result of the call, or null if the max number of in-flight
+     *     calls is reached
+     */
+    @Nullable
+    public <T> CompletableFuture<T> tryExecute(ConnectionCall<T> call) {
+        if (!inFlightPermits.tryAcquire()) {
+            return null;
+        }
+        return submit(call);
+    }
+
+    private <T> CompletableFuture<T> submit(ConnectionCall<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(
+                    () -> {
+                        try {
+                            future.complete(call.call(threadConnectionProvider.get()));
+                        } catch (Throwable t) {
+                            future.completeExceptionally(t);
+                        } finally {
+                            inFlightPermits.release();
+                        }
+                    });
+        } catch (Throwable t) {
+            inFlightPermits.release();
+            future.completeExceptionally(t);
+        }
+        return future;
+    }
+
+    private SimpleJdbcConnectionProvider newConnectionProvider() {
+        SimpleJdbcConnectionProvider connectionProvider = new SimpleJdbcConnectionProvider(options);
+        synchronized (connectionProviders) {
+            connectionProviders.add(connectionProvider);
+        }
+        return connectionProvider;
+    }
+
+    @VisibleForTesting
+    int getNumberOfConnectionProviders() {
+        synchronized (connectionProviders) {
+            return connectionProviders.size();
+        }
+    }
+
+    @VisibleForTesting
+    static int getNumberOfPools() {
+        synchronized (POOLS) {
+            return POOLS.size();
+        }
+    }
+
+    /** A blocking JDBC call that runs on a thread of the pool. */
+    @FunctionalInterface
+    public interface ConnectionCall<T> {
+
+        /**
+         * Runs the call with the connection provider owned by the current thread of the pool.
+         * Connections must not be used after the call returns.
+         */
+        T call(JdbcConnectionProvider connectionProvider) throws Exception;
+    }
+}
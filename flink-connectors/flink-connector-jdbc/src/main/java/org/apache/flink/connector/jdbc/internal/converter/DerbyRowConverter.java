@@ -19,6 +19,7 @@
 package org.apache.flink.connector.jdbc.internal.converter;
 
 import org.apache.flink.connector.jdbc.converter.AbstractJdbcRowConverter;
+import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.table.types.logical.RowType;
 
 /**
@@ -37,4 +38,9 @@ public class DerbyRowConverter extends AbstractJdbcRowConverter {
     public DerbyRowConverter(RowType rowType) {
         super(rowType);
     }
+
+    @Override
+    protected boolean supportsGeneratedConversion(LogicalType type) {
+        return JdbcRowConversionCodeGenerator.isSupported(type);
+    }
 }
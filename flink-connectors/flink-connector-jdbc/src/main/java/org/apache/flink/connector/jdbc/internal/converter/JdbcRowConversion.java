@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.internal.converter;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.connector.jdbc.statement.FieldNamedPreparedStatement;
+import org.apache.flink.table.data.RowData;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Converts rows of a fixed row type between JDBC and Flink internal data structures, implemented by
+ * code generated by {@link JdbcRowConversionCodeGenerator}. Instances are not thread-safe.
+ */
+@Internal
+public interface JdbcRowConversion {
+
+    /** Converts the current row of the {@link ResultSet} to a new {@link RowData}. */
+    RowData toInternal(ResultSet resultSet) throws SQLException;
+
+    /** Fills all fields of the {@link RowData} into the statement. */
+    void toExternal(RowData rowData, FieldNamedPreparedStatement statement) throws SQLException;
+}
@@ -0,0 +1,464 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.internal.converter;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.connector.jdbc.statement.FieldNamedPreparedStatement;
+import org.apache.flink.connector.jdbc.utils.JdbcTypeUtil;
+import org.apache.flink.table.data.DecimalData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.data.writer.BinaryRowWriter;
+import org.apache.flink.table.types.logical.DecimalType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.TimestampType;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Generates a {@link JdbcRowConversion} for a row type. The generated code reads fields with the
+ * typed getters of the {@link ResultSet} and writes them directly into a {@link BinaryRowData},
+ * which avoids boxing every field and dispatching to a converter per field.
+ *
+ * <p>The conversions are the same as the default conversions of {@link
+ * org.apache.flink.connector.jdbc.converter.AbstractJdbcRowConverter}.
+ */
+@Internal
+public final class JdbcRowConversionCodeGenerator {
+
+    /** Initial size of the variable-length part of a row per variable-length field. */
+    private static final int VARIABLE_LENGTH_SIZE_PER_FIELD = 16;
+
+    private JdbcRowConversionCodeGenerator() {}
+
+    /** Returns whether fields of the given type can be converted by generated code. */
+    public static boolean isSupported(LogicalType type) {
+        switch (type.getTypeRoot()) {
+            case BOOLEAN:
+            case TINYINT:
+            case SMALLINT:
+            case INTEGER:
+            case BIGINT:
+            case FLOAT:
+            case DOUBLE:
+            case DECIMAL:
+            case CHAR:
+            case VARCHAR:
+            case BINARY:
+            case VARBINARY:
+            case DATE:
+            case TIME_WITHOUT_TIME_ZONE:
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Generates the conversion of the given row type, all fields must be {@link
+     * #isSupported(LogicalType) supported}.
+     */
+    public static GeneratedJdbcRowConversion generate(RowType rowType) {
+        // the same row type always results in the same code, so that the compiled class is shared
+        // by all subtasks
+        String className =
+                "JdbcRowConversion$"
+                        + Integer.toHexString(rowType.asSerializableString().hashCode());
+        int fieldCount = rowType.getFieldCount();
+        int variableLengthSize = 0;
+        for (LogicalType fieldType : rowType.getChildren()) {
+            if (!isSupported(fieldType)) {
+                throw new IllegalArgumentException(
+                        "Generated JDBC conversions do not support type: " + fieldType);
+            }
+            if (!isFixedLength(fieldType)) {
+                variableLengthSize += VARIABLE_LENGTH_SIZE_PER_FIELD;
+            }
+        }
+
+        StringBuilder code = new StringBuilder();
+        code.append("public final class ")
+                .append(className)
+                .append(" implements ")
+                .append(JdbcRowConversion.class.getCanonicalName())
+                .append(" {\n\n");
+        code.append("  private final ")
+                .append(BinaryRowData.class.getCanonicalName())
+                .append(" row = new ")
+                .append(BinaryRowData.class.getCanonicalName())
+                .append("(")
+                .append(fieldCount)
+                .append(");\n");
+        code.append("  private final ")
+                .append(BinaryRowWriter.class.getCanonicalName())
+                .append(" writer = new ")
+                .append(BinaryRowWriter.class.getCanonicalName())
+                .append("(row, ")
+                .append(variableLengthSize)
+                .append(");\n\n");
+        code.append("  public ").append(className).append("(Object[] references) {}\n\n");
+
+        code.append("  public ")
+                .append(RowData.class.getCanonicalName())
+                .append(" toInternal(")
+                .append(ResultSet.class.getCanonicalName())
+                .append(" resultSet) throws ")
+                .append(SQLException.class.getCanonicalName())
+                .append(" {\n");
+        code.append("    writer.reset();\n");
+        for (int pos = 0; pos < fieldCount; pos++) {
+            generateToInternal(code, rowType.getTypeAt(pos), pos);
+        }
+        code.append("    writer.complete();\n");
+        // the writer is reused, the returned row must own its bytes
+        code.append("    return row.copy();\n");
+        code.append("  }\n\n");
+
+        code.append("  public void toExternal(")
+                .append(RowData.class.getCanonicalName())
+                .append(" rowData, ")
+                .append(FieldNamedPreparedStatement.class.getCanonicalName())
+                .append(" statement) throws ")
+                .append(SQLException.class.getCanonicalName())
+                .append(" {\n");
+        for (int pos = 0; pos < fieldCount; pos++) {
+            generateToExternal(code, rowType.getTypeAt(pos), pos);
+        }
+        code.append("  }\n");
+        code.append("}\n");
+        return new GeneratedJdbcRowConversion(className, code.toString());
+    }
+
+    private static void generateToInternal(StringBuilder code, LogicalType type, int pos) {
+        final int column = pos + 1;
+        final String field = "field" + pos;
+        switch (type.getTypeRoot()) {
+            case BOOLEAN:
+                generatePrimitiveToInternal(code, "boolean", "Boolean", pos);
+                break;
+            case TINYINT:
+                generatePrimitiveToInternal(code, "byte", "Byte", pos);
+                break;
+            case SMALLINT:
+                generatePrimitiveToInternal(code, "short", "Short", pos);
+                break;
+            case INTEGER:
+                generatePrimitiveToInternal(code, "int", "Int", pos);
+                break;
+            case BIGINT:
+                generatePrimitiveToInternal(code, "long", "Long", pos);
+                break;
+            case FLOAT:
+                generatePrimitiveToInternal(code, "float", "Float", pos);
+                break;
+            case DOUBLE:
+                generatePrimitiveToInternal(code, "double", "Double", pos);
+                break;
+            case DECIMAL:
+                final int precision = ((DecimalType) type).getPrecision();
+                final int scale = ((DecimalType) type).getScale();
+                code.append("    java.math.BigDecimal ")
+                        .append(field)
+                        .append(" = resultSet.getBigDecimal(")
+                        .append(column)
+                        .append(");\n");
+                code.append("    ")
+                        .append(DecimalData.class.getCanonicalName())
+                        .append(" ")
+                        .append(field)
+                        .append("Data = ")
+                        .append(field)
+                        .append(" == null ? null : ")
+                        .append(DecimalData.class.getCanonicalName())
+                        .append(".fromBigDecimal(")
+                        .append(field)
+                        .append(", ")
+                        .append(precision)
+                        .append(", ")
+                        .append(scale)
+                        .append(");\n");
+                code.append("    if (").append(field).append("Data == null) {\n");
+                if (DecimalData.isCompact(precision)) {
+                    code.append("      writer.setNullAt(").append(pos).append(");\n");
+                } else {
+                    // non-compact decimals keep space for a later update even if null
+                    code.append("      writer.writeDecimal(")
+                            .append(pos)
+                            .append(", null, ")
+                            .append(precision)
+                            .append(");\n");
+                }
+                code.append("    } else {\n");
+                code.append("      writer.writeDecimal(")
+                        .append(pos)
+                        .append(", ")
+                        .append(field)
+                        .append("Data, ")
+                        .append(precision)
+                        .append(");\n");
+                code.append("    }\n");
+                break;
+            case CHAR:
+            case VARCHAR:
+                // strings are stored like their UTF-8 bytes, see BinaryWriter#writeString
+                generateObjectToInternal(
+                        code,
+                        "String",
+                        "String",
+                        pos,
+                        "writer.writeBinary("
+                                + pos
+                                + ", "
+                                + field
+                                + ".getBytes(java.nio.charset.StandardCharsets.UTF_8))");
+                break;
+            case BINARY:
+            case VARBINARY:
+                generateObjectToInternal(
+                        code,
+                        "byte[]",
+                        "Bytes",
+                        pos,
+                        "writer.writeBinary(" + pos + ", " + field + ")");
+                break;
+            case DATE:
+                generateObjectToInternal(
+                        code,
+                        "java.sql.Date",
+                        "Date",
+                        pos,
+                        "writer.writeInt("
+                                + pos
+                                + ", (int) "
+                                + field
+                                + ".toLocalDate().toEpochDay())");
+                break;
+            case TIME_WITHOUT_TIME_ZONE:
+                generateObjectToInternal(
+                        code,
+                        "java.sql.Time",
+                        "Time",
+                        pos,
+                        "writer.writeInt("
+                                + pos
+                                + ", (int) ("
+                                + field
+                                + ".toLocalTime().toNanoOfDay() / 1000000L))");
+                break;
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+                final int timestampPrecision = ((TimestampType) type).getPrecision();
+                code.append("    java.sql.Timestamp ")
+                        .append(field)
+                        .append(" = resultSet.getTimestamp(")
+                        .append(column)
+                        .append(");\n");
+                code.append("    if (").append(field).append(" == null) {\n");
+                if (TimestampData.isCompact(timestampPrecision)) {
+                    code.append("      writer.setNullAt(").append(pos).append(");\n");
+                } else {
+                    // non-compact timestamps keep space for a later update even if null
+                    code.append("      writer.writeTimestamp(")
+                            .append(pos)
+                            .append(", null, ")
+                            .append(timestampPrecision)
+                            .append(");\n");
+                }
+                code.append("    } else {\n");
+                code.append("      writer.writeTimestamp(")
+                        .append(pos)
+                        .append(", ")
+                        .append(TimestampData.class.getCanonicalName())
+                        .append(".fromTimestamp(")
+                        .append(field)
+                        .append("), ")
+                        .append(timestampPrecision)
+                        .append(");\n");
+                code.append("    }\n");
+                break;
+            default:
+                throw new IllegalArgumentException(
+                        "Generated JDBC conversions do not support type: " + type);
+        }
+    }
+
+    /**
+     * Primitive getters return a default value for SQL NULL, which is checked by wasNull. The
+     * getter of the result set and the writer method are both named after the type.
+     */
+    private static void generatePrimitiveToInternal(
+            StringBuilder code, String javaType, String typeName, int pos) {
+        final String field = "field" + pos;
+        code.append("    ")
+                .append(javaType)
+                .append(" ")
+                .append(field)
+                .append(" = resultSet.get")
+                .append(typeName)
+                .append("(")
+                .append(pos + 1)
+                .append(");\n");
+        code.append("    if (resultSet.wasNull()) {\n");
+        code.append("      writer.setNullAt(").append(pos).append(");\n");
+        code.append("    } else {\n");
+        code.append("      writer.write")
+                .append(typeName)
+                .append("(")
+                .append(pos)
+                .append(", ")
+                .append(field)
+                .append(");\n");
+        code.append("    }\n");
+    }
+
+    private static void generateObjectToInternal(
+            StringBuilder code, String javaType, String getter, int pos, String write) {
+        final String field = "field" + pos;
+        code.append("    ")
+                .append(javaType)
+                .append(" ")
+                .append(field)
+                .append(" = resultSet.get")
+                .append(getter)
+                .append("(")
+                .append(pos + 1)
+                .append(");\n");
+        code.append("    if (").append(field).append(" == null) {\n");
+        code.append("      writer.setNullAt(").append(pos).append(");\n");
+        code.append("    } else {\n");
+        code.append("      ").append(write).append(";\n");
+        code.append("    }\n");
+    }
+
+    private static void generateToExternal(StringBuilder code, LogicalType type, int pos) {
+        final String value;
+        final String setter;
+        switch (type.getTypeRoot()) {
+            case BOOLEAN:
+                setter = "setBoolean";
+                value = "rowData.getBoolean(" + pos + ")";
+                break;
+            case TINYINT:
+                setter = "setByte";
+                value = "rowData.getByte(" + pos + ")";
+                break;
+            case SMALLINT:
+                setter = "setShort";
+                value = "rowData.getShort(" + pos + ")";
+                break;
+            case INTEGER:
+                setter = "setInt";
+                value = "rowData.getInt(" + pos + ")";
+                break;
+            case BIGINT:
+                setter = "setLong";
+                value = "rowData.getLong(" + pos + ")";
+                break;
+            case FLOAT:
+                setter = "setFloat";
+                value = "rowData.getFloat(" + pos + ")";
+                break;
+            case DOUBLE:
+                setter = "setDouble";
+                value = "rowData.getDouble(" + pos + ")";
+                break;
+            case DECIMAL:
+                setter = "setBigDecimal";
+                value =
+                        "rowData.getDecimal("
+                                + pos
+                                + ", "
+                                + ((DecimalType) type).getPrecision()
+                                + ", "
+                                + ((DecimalType) type).getScale()
+                                + ").toBigDecimal()";
+                break;
+            case CHAR:
+            case VARCHAR:
+                setter = "setString";
+                value = "rowData.getString(" + pos + ").toString()";
+                break;
+            case BINARY:
+            case VARBINARY:
+                setter = "setBytes";
+                value = "rowData.getBinary(" + pos + ")";
+                break;
+            case DATE:
+                setter = "setDate";
+                value =
+                        "java.sql.Date.valueOf(java.time.LocalDate.ofEpochDay(rowData.getInt("
+                                + pos
+                                + ")))";
+                break;
+            case TIME_WITHOUT_TIME_ZONE:
+                setter = "setTime";
+                value =
+                        "java.sql.Time.valueOf(java.time.LocalTime.ofNanoOfDay(rowData.getInt("
+                                + pos
+                                + ") * 1000000L))";
+                break;
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+                setter = "setTimestamp";
+                value =
+                        "rowData.getTimestamp("
+                                + pos
+                                + ", "
+                                + ((TimestampType) type).getPrecision()
+                                + ").toTimestamp()";
+                break;
+            default:
+                throw new IllegalArgumentException(
+                        "Generated JDBC conversions do not support type: " + type);
+        }
+        code.append("    if (rowData.isNullAt(").append(pos).append(")) {\n");
+        code.append("      statement.setNull(")
+                .append(pos)
+                .append(", ")
+                .append(JdbcTypeUtil.logicalTypeToSqlType(type.getTypeRoot()))
+                .append(");\n");
+        code.append("    } else {\n");
+        code.append("      statement.")
+                .append(setter)
+                .append("(")
+                .append(pos)
+                .append(", ")
+                .append(value)
+                .append(");\n");
+        code.append("    }\n");
+    }
+
+    private static boolean isFixedLength(LogicalType type) {
+        switch (type.getTypeRoot()) {
+            case CHAR:
+            case VARCHAR:
+            case BINARY:
+            case VARBINARY:
+                return false;
+            case DECIMAL:
+                return DecimalData.isCompact(((DecimalType) type).getPrecision());
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+                return TimestampData.isCompact(((TimestampType) type).getPrecision());
+            default:
+                return true;
+        }
+    }
+}
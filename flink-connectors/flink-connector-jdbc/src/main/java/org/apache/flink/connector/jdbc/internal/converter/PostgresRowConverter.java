@@ -61,6 +61,13 @@ public class PostgresRowConverter extends AbstractJdbcRowConverter {
         }
     }
 
+    @Override
+    protected boolean supportsGeneratedConversion(LogicalType type) {
+        // arrays are converted by the array converter of this class
+        return type.getTypeRoot() != LogicalTypeRoot.ARRAY
+                && JdbcRowConversionCodeGenerator.isSupported(type);
+    }
+
     @Override
     protected JdbcSerializationConverter createNullableExternalConverter(LogicalType type) {
         LogicalTypeRoot root = type.getTypeRoot();
@@ -34,12 +34,28 @@ public interface JdbcBatchStatementExecutor<T> {
 
     void addToBatch(T record) throws SQLException;
 
+    /**
+     * Returns true if the accumulated records reached the memory bound of this executor, the batch
+     * should be executed before further records are added.
+     */
+    default boolean isBufferFull() {
+        return false;
+    }
+
     /** Submits a batch of commands to the database for execution. */
     void executeBatch() throws SQLException;
 
     /** Close JDBC related statements. */
     void closeStatements() throws SQLException;
 
+    /**
+     * Closes the statements and releases all resources of this executor when the writer is closed,
+     * also if the last batch failed. Records which were not executed are discarded.
+     */
+    default void close() throws SQLException {
+        closeStatements();
+    }
+
     static <T, K> JdbcBatchStatementExecutor<T> keyed(
             String sql, Function<T, K> keyExtractor, JdbcStatementBuilder<K> statementBuilder) {
         return new KeyedBatchStatementExecutor<>(sql, keyExtractor, statementBuilder);
@@ -0,0 +1,297 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.internal.executor;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.connector.jdbc.JdbcExecutionOptions;
+import org.apache.flink.core.memory.MemorySegment;
+import org.apache.flink.runtime.io.disk.RandomAccessInputView;
+import org.apache.flink.runtime.io.disk.SimpleCollectingOutputView;
+import org.apache.flink.runtime.memory.MemoryManager;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.data.writer.BinaryRowWriter;
+import org.apache.flink.table.runtime.typeutils.BinaryRowDataSerializer;
+import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
+import org.apache.flink.table.runtime.util.LazyMemorySegmentPool;
+import org.apache.flink.table.runtime.util.collections.binary.BytesHashMap;
+import org.apache.flink.table.runtime.util.collections.binary.BytesMap;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.types.RowKind;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.function.Function;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * A memory bounded variant of {@link TableBufferReducedStatementExecutor} which keeps the buffered
+ * insert/update/delete events in binary form.
+ *
+ * <p>Every event is serialized into the pages of a record area, a {@link BytesHashMap} maps the
+ * binary key of the event to the offset of the latest event of that key. Events which are
+ * overwritten by later events of the same key stay in the record area until the next flush and are
+ * skipped when the buffer is executed. All pages are allocated from a memory manager owned by this
+ * executor, the buffer reports to be full once it uses {@code maxBufferBytes}.
+ *
+ * <p>The memory manager allocates off-heap memory outside of the managed memory of the task, as the
+ * sink function can not declare managed memory. It is sized to {@code 2 * maxBufferBytes}: the
+ * record area and the hash map may each grow to {@code maxBufferBytes} before the buffer is
+ * flushed. The memory is allocated when the first record is buffered and released when the executor
+ * is closed, it must be covered by {@code taskmanager.memory.task.off-heap.size}.
+ */
+@Internal
+public final class TableBinaryBufferReducedStatementExecutor
+        implements JdbcBatchStatementExecutor<RowData> {
+
+    private static final int PAGE_SIZE = MemoryManager.DEFAULT_PAGE_SIZE;
+
+    private final JdbcBatchStatementExecutor<RowData> upsertExecutor;
+    private final JdbcBatchStatementExecutor<RowData> deleteExecutor;
+    private final Function<RowData, RowData> keyExtractor;
+    private final RowDataSerializer keySerializer;
+    private final RowDataSerializer valueSerializer;
+    private final BinaryRowDataSerializer recordSerializer;
+    private final LogicalType[] keyTypes;
+    private final long maxBufferBytes;
+
+    // the offset of the latest event of a key in the record area
+    private final BinaryRowData offsetRow = new BinaryRowData(1);
+    private final BinaryRowWriter offsetWriter = new BinaryRowWriter(offsetRow);
+
+    private transient MemoryManager memoryManager;
+    private transient BytesHashMap reduceBuffer;
+    private transient LazyMemorySegmentPool recordPool;
+    private transient ArrayList<MemorySegment> recordSegments;
+    private transient SimpleCollectingOutputView recordOutView;
+    private transient RandomAccessInputView recordInView;
+    private transient BinaryRowData reuseRecord;
+    private int numRecords;
+
+    public TableBinaryBufferReducedStatementExecutor(
+            JdbcBatchStatementExecutor<RowData> upsertExecutor,
+            JdbcBatchStatementExecutor<RowData> deleteExecutor,
+            Function<RowData, RowData> keyExtractor,
+            LogicalType[] keyTypes,
+            LogicalType[] fieldTypes,
+            long maxBufferBytes) {
+        checkArgument(
+                maxBufferBytes >= JdbcExecutionOptions.MIN_BATCH_BYTES,
+                "The max buffer size must be at least %s bytes.",
+                JdbcExecutionOptions.MIN_BATCH_BYTES);
+        this.upsertExecutor = upsertExecutor;
+        this.deleteExecutor = deleteExecutor;
+        this.keyExtractor = keyExtractor;
+        this.keyTypes = keyTypes;
+        this.keySerializer = new RowDataSerializer(keyTypes);
+        this.valueSerializer = new RowDataSerializer(fieldTypes);
+        this.recordSerializer = new BinaryRowDataSerializer(fieldTypes.length);
+        this.maxBufferBytes = maxBufferBytes;
+    }
+
+    @Override
+    public void prepareStatements(Connection connection) throws SQLException {
+        upsertExecutor.prepareStatements(connection);
+        deleteExecutor.prepareStatements(connection);
+    }
+
+    @Override
+    public void addToBatch(RowData record) throws SQLException {
+        changeFlag(record.getRowKind());
+        if (memoryManager == null) {
+            openBuffer();
+        }
+        if (!tryAddToBuffer(record)) {
+            // the buffer was filled without being flushed, make room for the record
+            executeBatch();
+            if (!tryAddToBuffer(record)) {
+                throw new SQLException(
+                        String.format(
+                                "The record does not fit into the buffer of %s bytes.",
+                                maxBufferBytes));
+            }
+        }
+    }
+
+    private boolean tryAddToBuffer(RowData record) throws SQLException {
+        try {
+            final long offset = recordOutView.getCurrentOffset();
+            recordSerializer.serializeToPages(valueSerializer.toBinaryRow(record), recordOutView);
+            final BytesMap.LookupInfo<BinaryRowData, BinaryRowData> lookupInfo =
+                    reduceBuffer.lookup(toBinaryKey(record));
+            if (lookupInfo.isFound()) {
+                lookupInfo.getValue().setLong(0, offset);
+            } else {
+                offsetWriter.reset();
+                offsetWriter.writeLong(0, offset);
+                offsetWriter.complete();
+                reduceBuffer.append(lookupInfo, offsetRow);
+            }
+            numRecords++;
+            return true;
+        } catch (EOFException e) {
+            return false;
+        } catch (IOException e) {
+            throw new SQLException("Buffering the record failed.", e);
+        }
+    }
+
+    private BinaryRowData toBinaryKey(RowData record) {
+        final BinaryRowData key = keySerializer.toBinaryRow(keyExtractor.apply(record));
+        // keys of the same row must be equal for all row kinds
+        key.setRowKind(RowKind.INSERT);
+        return key;
+    }
+
+    /**
+     * Returns true if the row kind is INSERT or UPDATE_AFTER, returns false if the row kind is
+     * DELETE or UPDATE_BEFORE.
+     */
+    private boolean changeFlag(RowKind rowKind) {
+        switch (rowKind) {
+            case INSERT:
+            case UPDATE_AFTER:
+                return true;
+            case DELETE:
+            case UPDATE_BEFORE:
+                return false;
+            default:
+                throw new UnsupportedOperationException(
+                        String.format(
+                                "Unknown row kind, the supported row kinds is: INSERT, UPDATE_BEFORE, UPDATE_AFTER,"
+                                        + " DELETE, but get: %s.",
+                                rowKind));
+        }
+    }
+
+    @Override
+    public boolean isBufferFull() {
+        return getBufferedBytes() >= maxBufferBytes;
+    }
+
+    @Override
+    public void executeBatch() throws SQLException {
+        if (numRecords > 0) {
+            try {
+                recordInView.setReadPosition(0);
+                for (int i = 0; i < numRecords; i++) {
+                    final long offset = recordInView.getReadPosition();
+                    reuseRecord = recordSerializer.mapFromPages(reuseRecord, recordInView);
+                    final BinaryRowData key = toBinaryKey(reuseRecord);
+                    if (reduceBuffer.lookup(key).getValue().getLong(0) != offset) {
+                        // overwritten by a later event of the same key
+                        continue;
+                    }
+                    // the executors may keep the rows until they are executed
+                    if (changeFlag(reuseRecord.getRowKind())) {
+                        upsertExecutor.addToBatch(reuseRecord.copy());
+                    } else {
+                        // delete by key
+                        deleteExecutor.addToBatch(key.copy());
+                    }
+                }
+            } catch (IOException e) {
+                throw new SQLException("Reading the buffered records failed.", e);
+            }
+        }
+        upsertExecutor.executeBatch();
+        deleteExecutor.executeBatch();
+        resetBuffer();
+    }
+
+    @Override
+    public void closeStatements() throws SQLException {
+        upsertExecutor.closeStatements();
+        deleteExecutor.closeStatements();
+        // statements are also closed to reconnect, buffered records are retried afterwards
+        if (numRecords == 0) {
+            closeBuffer();
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            upsertExecutor.close();
+            deleteExecutor.close();
+        } finally {
+            numRecords = 0;
+            closeBuffer();
+        }
+    }
+
+    private void openBuffer() {
+        memoryManager = MemoryManager.create(2 * maxBufferBytes, PAGE_SIZE);
+        reduceBuffer =
+                new BytesHashMap(
+                        this,
+                        memoryManager,
+                        maxBufferBytes,
+                        keyTypes,
+                        new LogicalType[] {new BigIntType()});
+        recordPool =
+                new LazyMemorySegmentPool(this, memoryManager, (int) (maxBufferBytes / PAGE_SIZE));
+        recordSegments = new ArrayList<>();
+        recordOutView = new SimpleCollectingOutputView(recordSegments, recordPool, PAGE_SIZE);
+        recordInView = new RandomAccessInputView(recordSegments, PAGE_SIZE);
+        reuseRecord = recordSerializer.createInstance();
+    }
+
+    private void resetBuffer() {
+        if (memoryManager != null) {
+            reduceBuffer.reset();
+            recordPool.returnAll(recordSegments);
+            recordSegments.clear();
+            recordOutView.reset();
+        }
+        numRecords = 0;
+    }
+
+    private void closeBuffer() {
+        if (memoryManager != null) {
+            reduceBuffer.free();
+            memoryManager.shutdown();
+            memoryManager = null;
+            reduceBuffer = null;
+            recordPool = null;
+            recordSegments = null;
+            recordOutView = null;
+            recordInView = null;
+            reuseRecord = null;
+        }
+    }
+
+    @VisibleForTesting
+    long getBufferedBytes() {
+        return memoryManager == null
+                ? 0
+                : reduceBuffer.getUsedMemoryInBytes() + (long) recordSegments.size() * PAGE_SIZE;
+    }
+
+    @VisibleForTesting
+    int getNumBufferedRecords() {
+        return numRecords;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.internal.executor;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.table.data.DecimalData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.types.logical.DecimalType;
+import org.apache.flink.table.types.logical.LocalZonedTimestampType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.TimestampType;
+import org.apache.flink.util.StringUtils;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A {@link JdbcBatchStatementExecutor} that encodes the records as CSV rows and streams each batch
+ * to PostgreSQL's {@code COPY ... FROM STDIN}, which avoids binding every record to a {@link
+ * java.sql.PreparedStatement}. Records are encoded when they are added, so object reuse doesn't
+ * need copies. Only used in Table/SQL API.
+ */
+@Internal
+public final class TableCopyStatementExecutor implements JdbcBatchStatementExecutor<RowData> {
+
+    private final String copySql;
+    private final FieldEncoder[] fieldEncoders;
+    private final StringBuilder buffer = new StringBuilder();
+
+    private transient CopyManager copyManager;
+
+    public TableCopyStatementExecutor(String copySql, RowType rowType) {
+        this.copySql = checkNotNull(copySql);
+        this.fieldEncoders = new FieldEncoder[rowType.getFieldCount()];
+        for (int i = 0; i < fieldEncoders.length; i++) {
+            fieldEncoders[i] = createFieldEncoder(rowType.getTypeAt(i));
+        }
+    }
+
+    @Override
+    public void prepareStatements(Connection connection) throws SQLException {
+        copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+    }
+
+    @Override
+    public void addToBatch(RowData record) {
+        for (int i = 0; i < fieldEncoders.length; i++) {
+            if (i > 0) {
+                buffer.append(',');
+            }
+            // an unquoted empty field is NULL
+            if (!record.isNullAt(i)) {
+                fieldEncoders[i].encode(record, i, buffer);
+            }
+        }
+        buffer.append('\n');
+    }
+
+    @Override
+    public void executeBatch() throws SQLException {
+        if (buffer.length() == 0) {
+            return;
+        }
+        try {
+            copyManager.copyIn(copySql, new StringReader(buffer.toString()));
+        } catch (IOException e) {
+            throw new SQLException("Failed to copy rows to the database.", e);
+        }
+        // keep the rows for retries until the copy succeeded
+        buffer.setLength(0);
+    }
+
+    @Override
+    public void closeStatements() {
+        copyManager = null;
+    }
+
+    @VisibleForTesting
+    String getBufferedRows() {
+        return buffer.toString();
+    }
+
+    /** Appends the CSV field of a non-null value of a row to the buffer. */
+    @FunctionalInterface
+    private interface FieldEncoder {
+        void encode(RowData row, int pos, StringBuilder out);
+    }
+
+    private static FieldEncoder createFieldEncoder(LogicalType type) {
+        switch (type.getTypeRoot()) {
+            case BOOLEAN:
+                return (row, pos, out) -> out.append(row.getBoolean(pos));
+            case TINYINT:
+                return (row, pos, out) -> out.append(row.getByte(pos));
+            case SMALLINT:
+                return (row, pos, out) -> out.append(row.getShort(pos));
+            case INTEGER:
+                return (row, pos, out) -> out.append(row.getInt(pos));
+            case BIGINT:
+                return (row, pos, out) -> out.append(row.getLong(pos));
+            case FLOAT:
+                return (row, pos, out) -> out.append(row.getFloat(pos));
+            case DOUBLE:
+                return (row, pos, out) -> out.append(row.getDouble(pos));
+            case DECIMAL:
+                final int precision = ((DecimalType) type).getPrecision();
+                final int scale = ((DecimalType) type).getScale();
+                return (row, pos, out) -> {
+                    DecimalData decimal = row.getDecimal(pos, precision, scale);
+                    out.append(decimal.toBigDecimal().toPlainString());
+                };
+            case DATE:
+                return (row, pos, out) -> out.append(LocalDate.ofEpochDay(row.getInt(pos)));
+            case TIME_WITHOUT_TIME_ZONE:
+                return (row, pos, out) ->
+                        out.append(LocalTime.ofNanoOfDay(row.getInt(pos) * 1_000_000L));
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+                final int timestampPrecision = ((TimestampType) type).getPrecision();
+                return (row, pos, out) ->
+                        out.append(row.getTimestamp(pos, timestampPrecision).toLocalDateTime());
+            case TIMESTAMP_WITH_LOCAL_TIME_ZONE:
+                final int localZonedTimestampPrecision =
+                        ((LocalZonedTimestampType) type).getPrecision();
+                return (row, pos, out) ->
+                        out.append(row.getTimestamp(pos, localZonedTimestampPrecision).toInstant());
+            case CHAR:
+            case VARCHAR:
+                return (row, pos, out) -> appendQuoted(row.getString(pos), out);
+            case BINARY:
+            case VARBINARY:
+                // bytea hex format, backslashes aren't escapes in CSV
+                return (row, pos, out) ->
+                        out.append("\\x").append(StringUtils.byteToHexString(row.getBinary(pos)));
+            default:
+                throw new UnsupportedOperationException("Unsupported type for COPY:" + type);
+        }
+    }
+
+    private static void appendQuoted(StringData value, StringBuilder out) {
+        String string = value.toString();
+        out.append('"');
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        out.append('"');
+    }
+}
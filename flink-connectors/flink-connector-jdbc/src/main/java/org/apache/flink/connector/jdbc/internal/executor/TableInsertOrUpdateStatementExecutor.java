@@ -40,17 +40,16 @@ public final class TableInsertOrUpdateStatementExecutor
         implements JdbcBatchStatementExecutor<RowData> {
 
     private final StatementFactory existStmtFactory;
-    private final StatementFactory insertStmtFactory;
     private final StatementFactory updateStmtFactory;
 
     private final JdbcRowConverter existSetter;
-    private final JdbcRowConverter insertSetter;
     private final JdbcRowConverter updateSetter;
 
+    private final JdbcBatchStatementExecutor<RowData> insertExecutor;
+
     private final Function<RowData, RowData> keyExtractor;
 
     private transient FieldNamedPreparedStatement existStatement;
-    private transient FieldNamedPreparedStatement insertStatement;
     private transient FieldNamedPreparedStatement updateStatement;
 
     public TableInsertOrUpdateStatementExecutor(
@@ -61,19 +60,38 @@ public final class TableInsertOrUpdateStatementExecutor
             JdbcRowConverter insertSetter,
             JdbcRowConverter updateSetter,
             Function<RowData, RowData> keyExtractor) {
+        this(
+                existStmtFactory,
+                updateStmtFactory,
+                existSetter,
+                updateSetter,
+                new TableSimpleStatementExecutor(insertStmtFactory, insertSetter),
+                keyExtractor);
+    }
+
+    /**
+     * Creates an executor which adds the rows that don't exist to the given insert executor, such
+     * as a {@link TableMultiRowStatementExecutor}.
+     */
+    public TableInsertOrUpdateStatementExecutor(
+            StatementFactory existStmtFactory,
+            StatementFactory updateStmtFactory,
+            JdbcRowConverter existSetter,
+            JdbcRowConverter updateSetter,
+            JdbcBatchStatementExecutor<RowData> insertExecutor,
+            Function<RowData, RowData> keyExtractor) {
         this.existStmtFactory = checkNotNull(existStmtFactory);
-        this.insertStmtFactory = checkNotNull(insertStmtFactory);
         this.updateStmtFactory = checkNotNull(updateStmtFactory);
         this.existSetter = checkNotNull(existSetter);
-        this.insertSetter = checkNotNull(insertSetter);
         this.updateSetter = checkNotNull(updateSetter);
+        this.insertExecutor = checkNotNull(insertExecutor);
         this.keyExtractor = keyExtractor;
     }
 
     @Override
     public void prepareStatements(Connection connection) throws SQLException {
         existStatement = existStmtFactory.createStatement(connection);
-        insertStatement = insertStmtFactory.createStatement(connection);
+        insertExecutor.prepareStatements(connection);
         updateStatement = updateStmtFactory.createStatement(connection);
     }
 
@@ -87,8 +105,7 @@ public final class TableInsertOrUpdateStatementExecutor
             updateSetter.toExternal(row, updateStatement);
             updateStatement.addBatch();
         } else {
-            insertSetter.toExternal(row, insertStatement);
-            insertStatement.addBatch();
+            insertExecutor.addToBatch(row);
         }
     }
 
@@ -102,16 +119,16 @@ public final class TableInsertOrUpdateStatementExecutor
     @Override
     public void executeBatch() throws SQLException {
         updateStatement.executeBatch();
-        insertStatement.executeBatch();
+        insertExecutor.executeBatch();
     }
 
     @Override
     public void closeStatements() throws SQLException {
-        for (FieldNamedPreparedStatement s :
-                Arrays.asList(existStatement, insertStatement, updateStatement)) {
+        for (FieldNamedPreparedStatement s : Arrays.asList(existStatement, updateStatement)) {
             if (s != null) {
                 s.close();
             }
         }
+        insertExecutor.closeStatements();
     }
 }
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.internal.executor;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.connector.jdbc.converter.JdbcRowConverter;
+import org.apache.flink.connector.jdbc.statement.FieldNamedPreparedStatement;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A {@link JdbcBatchStatementExecutor} that packs up to {@code maxRows} records into a single
+ * multi-row statement, such as {@code INSERT INTO ... VALUES (...), (...)}, instead of relying on
+ * the driver to rewrite batches. Only used in Table/SQL API.
+ *
+ * <p>Full statements of {@code maxRows} records are added to the JDBC batch. The remaining records
+ * of a batch are written by statements whose row counts are the powers of two of their binary
+ * representation, so at most {@code log2(maxRows) + 1} statements are prepared and cached per row
+ * count.
+ */
+@Internal
+public final class TableMultiRowStatementExecutor implements JdbcBatchStatementExecutor<RowData> {
+
+    private final IntFunction<String> statementSql;
+    private final IntFunction<String[]> statementFieldNames;
+    private final JdbcRowConverter converter;
+    private final RowData.FieldGetter[] fieldGetters;
+    private final int maxRows;
+    private final List<RowData> pendingRows = new ArrayList<>();
+
+    private transient Connection connection;
+    private transient Map<Integer, FieldNamedPreparedStatement> statements;
+    private transient boolean hasBatch;
+
+    /**
+     * Keep in mind object reuse: records are kept until their statement is full or the batch is
+     * executed, so they must not be reused before.
+     *
+     * @param statementSql the statement of the given number of rows
+     * @param statementFieldNames the named parameters of the statement of the given number of rows
+     * @param converter the converter of a row of {@code maxRows} records
+     * @param fieldGetters the getters of the fields of a record
+     */
+    public TableMultiRowStatementExecutor(
+            IntFunction<String> statementSql,
+            IntFunction<String[]> statementFieldNames,
+            JdbcRowConverter converter,
+            RowData.FieldGetter[] fieldGetters,
+            int maxRows) {
+        checkArgument(maxRows > 0, "The max number of rows per statement must be positive.");
+        this.statementSql = checkNotNull(statementSql);
+        this.statementFieldNames = checkNotNull(statementFieldNames);
+        this.converter = checkNotNull(converter);
+        this.fieldGetters = checkNotNull(fieldGetters);
+        this.maxRows = maxRows;
+    }
+
+    @Override
+    public void prepareStatements(Connection connection) {
+        this.connection = connection;
+        this.statements = new HashMap<>();
+        this.hasBatch = false;
+    }
+
+    @Override
+    public void addToBatch(RowData record) throws SQLException {
+        pendingRows.add(record);
+        if (pendingRows.size() == maxRows) {
+            FieldNamedPreparedStatement statement = getStatement(maxRows);
+            bind(statement, 0, maxRows);
+            statement.addBatch();
+            pendingRows.clear();
+            hasBatch = true;
+        }
+    }
+
+    @Override
+    public void executeBatch() throws SQLException {
+        // the batch is consumed also on failures, buffering executors add it again on retries
+        try {
+            if (hasBatch) {
+                hasBatch = false;
+                getStatement(maxRows).executeBatch();
+            }
+            int offset = 0;
+            while (offset < pendingRows.size()) {
+                int numRows = Integer.highestOneBit(pendingRows.size() - offset);
+                FieldNamedPreparedStatement statement = getStatement(numRows);
+                bind(statement, offset, numRows);
+                statement.addBatch();
+                statement.executeBatch();
+                offset += numRows;
+            }
+        } finally {
+            pendingRows.clear();
+        }
+    }
+
+    @Override
+    public void closeStatements() throws SQLException {
+        if (statements != null) {
+            for (FieldNamedPreparedStatement statement : statements.values()) {
+                statement.close();
+            }
+            statements.clear();
+        }
+        hasBatch = false;
+    }
+
+    @VisibleForTesting
+    int getNumberOfPreparedStatements() {
+        return statements.size();
+    }
+
+    private FieldNamedPreparedStatement getStatement(int numRows) throws SQLException {
+        FieldNamedPreparedStatement statement = statements.get(numRows);
+        if (statement == null) {
+            statement =
+                    FieldNamedPreparedStatement.prepareStatement(
+                            connection,
+                            statementSql.apply(numRows),
+                            statementFieldNames.apply(numRows));
+            statements.put(numRows, statement);
+        }
+        return statement;
+    }
+
+    /** Binds the pending records of the range to the parameters of the statement. */
+    private void bind(FieldNamedPreparedStatement statement, int offset, int numRows)
+            throws SQLException {
+        GenericRowData row = new GenericRowData(numRows * fieldGetters.length);
+        for (int i = 0; i < numRows; i++) {
+            RowData record = pendingRows.get(offset + i);
+            for (int j = 0; j < fieldGetters.length; j++) {
+                row.setField(i * fieldGetters.length + j, fieldGetters[j].getFieldOrNull(record));
+            }
+        }
+        converter.toExternal(row, statement);
+    }
+}
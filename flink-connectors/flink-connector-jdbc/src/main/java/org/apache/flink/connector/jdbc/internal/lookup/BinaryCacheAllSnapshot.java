@@ -0,0 +1,431 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.internal.lookup;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.core.memory.MemorySegment;
+import org.apache.flink.core.memory.MemorySegmentFactory;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * A {@link CacheAllSnapshot} that keeps keys and rows as serialized {@link BinaryRowData} in
+ * off-heap {@link MemorySegment}s instead of java objects.
+ *
+ * <p>Records are appended to data pages. Keys are indexed by an open-addressing hash table with
+ * linear probing, similar to the BytesHashMap of the table runtime, whose buckets are stored in
+ * off-heap segments as well. All rows of a key are chained in insertion order.
+ *
+ * <p>Layouts:
+ *
+ * <ul>
+ *   <li>bucket: key record pointer (8 bytes) | key hash code (4 bytes) | number of rows (4 bytes)
+ *   <li>key record: first row pointer (8 bytes) | last row pointer (8 bytes) | key length (4 bytes)
+ *       | key bytes
+ *   <li>row record: next row pointer (8 bytes) | row length (4 bytes) | row bytes
+ * </ul>
+ *
+ * <p>A pointer holds the page index in its high 32 bits and the offset in the page in its low 32
+ * bits. Records never span pages, a record larger than {@link #PAGE_SIZE} gets a page of its own.
+ *
+ * <p>The segments are allocated as unsafe off-heap memory outside of the direct memory limit of the
+ * JVM. They are freed by {@link #release()} and {@link Builder#discard()}, and only by the garbage
+ * collector if neither is called.
+ */
+@Internal
+public class BinaryCacheAllSnapshot implements CacheAllSnapshot {
+
+    /** Default size of a data page. */
+    static final int PAGE_SIZE = 1 << 20;
+
+    private static final int BUCKET_SIZE = 16;
+    private static final int BUCKETS_PER_SEGMENT_BITS = 16;
+    private static final int BUCKETS_PER_SEGMENT = 1 << BUCKETS_PER_SEGMENT_BITS;
+    private static final int MIN_NUM_BUCKETS = 1024;
+    private static final double LOAD_FACTOR = 0.5;
+
+    private static final int KEY_HEADER_SIZE = 20;
+    private static final int KEY_LAST_ROW_OFFSET = 8;
+    private static final int KEY_LENGTH_OFFSET = 16;
+    private static final int ROW_HEADER_SIZE = 12;
+    private static final int ROW_LENGTH_OFFSET = 8;
+
+    private static final long EMPTY = -1L;
+
+    private final MemorySegment[] pages;
+    private final Buckets buckets;
+    // the serializer reuses its binary row, so every reading thread needs its own one
+    private final ThreadLocal<RowDataSerializer> keySerializer;
+    private final int rowArity;
+    private final long rowCount;
+
+    private BinaryCacheAllSnapshot(
+            MemorySegment[] pages,
+            Buckets buckets,
+            LogicalType[] keyTypes,
+            int rowArity,
+            long rowCount) {
+        this.pages = pages;
+        this.buckets = buckets;
+        this.keySerializer = ThreadLocal.withInitial(() -> new RowDataSerializer(keyTypes));
+        this.rowArity = rowArity;
+        this.rowCount = rowCount;
+    }
+
+    @Nullable
+    @Override
+    public List<RowData> get(RowData key) {
+        BinaryRowData binaryKey = toSingleSegment(keySerializer.get().toBinaryRow(key));
+        int bucket = lookupBucket(buckets, pages, binaryKey.hashCode(), binaryKey);
+        long keyPointer = buckets.pointer(bucket);
+        if (keyPointer == EMPTY) {
+            return null;
+        }
+        return readRows(keyPointer, buckets.rowCount(bucket));
+    }
+
+    @Override
+    public void forEach(BiConsumer<RowData, List<RowData>> action) {
+        for (int bucket = 0; bucket < buckets.numBuckets; bucket++) {
+            long keyPointer = buckets.pointer(bucket);
+            if (keyPointer == EMPTY) {
+                continue;
+            }
+            MemorySegment keyPage = pages[pageIndex(keyPointer)];
+            int keyOffset = pageOffset(keyPointer);
+            byte[] keyBytes = new byte[keyPage.getInt(keyOffset + KEY_LENGTH_OFFSET)];
+            keyPage.get(keyOffset + KEY_HEADER_SIZE, keyBytes);
+            BinaryRowData key = new BinaryRowData(keySerializer.get().getArity());
+            key.pointTo(MemorySegmentFactory.wrap(keyBytes), 0, keyBytes.length);
+            action.accept(key, readRows(keyPointer, buckets.rowCount(bucket)));
+        }
+    }
+
+    private List<RowData> readRows(long keyPointer, int numRows) {
+        List<RowData> rows = new ArrayList<>(numRows);
+        long rowPointer = pages[pageIndex(keyPointer)].getLong(pageOffset(keyPointer));
+        while (rowPointer != EMPTY) {
+            MemorySegment page = pages[pageIndex(rowPointer)];
+            int offset = pageOffset(rowPointer);
+            // copy the row to heap, so that emitted rows never point into the snapshot
+            byte[] bytes = new byte[page.getInt(offset + ROW_LENGTH_OFFSET)];
+            page.get(offset + ROW_HEADER_SIZE, bytes);
+            BinaryRowData row = new BinaryRowData(rowArity);
+            row.pointTo(MemorySegmentFactory.wrap(bytes), 0, bytes.length);
+            rows.add(row);
+            rowPointer = page.getLong(offset);
+        }
+        return rows;
+    }
+
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public long getMemorySizeInBytes() {
+        long size = buckets.getSizeInBytes();
+        for (MemorySegment page : pages) {
+            size += page.size();
+        }
+        return size;
+    }
+
+    @Override
+    public void release() {
+        for (MemorySegment page : pages) {
+            page.free();
+        }
+        buckets.free();
+    }
+
+    // ------------------------------------------------------------------------------------------
+
+    /**
+     * Finds the bucket of the given key, which is either the bucket holding the key or the empty
+     * bucket the key should be inserted into.
+     */
+    private static int lookupBucket(
+            Buckets buckets, MemorySegment[] pages, int hash, BinaryRowData key) {
+        MemorySegment keySegment = key.getSegments()[0];
+        int keyOffset = key.getOffset();
+        int keyLength = key.getSizeInBytes();
+        int bucket = hash & buckets.mask;
+        while (true) {
+            long pointer = buckets.pointer(bucket);
+            if (pointer == EMPTY) {
+                return bucket;
+            }
+            if (buckets.hash(bucket) == hash) {
+                MemorySegment page = pages[pageIndex(pointer)];
+                int offset = pageOffset(pointer);
+                if (page.getInt(offset + KEY_LENGTH_OFFSET) == keyLength
+                        && page.equalTo(
+                                keySegment, offset + KEY_HEADER_SIZE, keyOffset, keyLength)) {
+                    return bucket;
+                }
+            }
+            bucket = (bucket + 1) & buckets.mask;
+        }
+    }
+
+    private static MemorySegment allocateSegment(int size) {
+        return MemorySegmentFactory.allocateOffHeapUnsafeMemory(size, null, () -> {});
+    }
+
+    private static BinaryRowData toSingleSegment(BinaryRowData row) {
+        return row.getSegments().length == 1 ? row : row.copy();
+    }
+
+    private static long pointer(int pageIndex, int offset) {
+        return ((long) pageIndex << 32) | offset;
+    }
+
+    private static int pageIndex(long pointer) {
+        return (int) (pointer >>> 32);
+    }
+
+    private static int pageOffset(long pointer) {
+        return (int) pointer;
+    }
+
+    /** Bucket area of the hash index, split into off-heap segments of at most 1 MB. */
+    private static final class Buckets {
+
+        private final MemorySegment[] segments;
+        private final int numBuckets;
+        private final int mask;
+
+        private Buckets(int numBuckets) {
+            this.numBuckets = numBuckets;
+            this.mask = numBuckets - 1;
+            int bucketsPerSegment = Math.min(numBuckets, BUCKETS_PER_SEGMENT);
+            this.segments = new MemorySegment[numBuckets / bucketsPerSegment];
+            for (int i = 0; i < segments.length; i++) {
+                segments[i] = allocateSegment(bucketsPerSegment * BUCKET_SIZE);
+                for (int j = 0; j < bucketsPerSegment; j++) {
+                    segments[i].putLong(j * BUCKET_SIZE, EMPTY);
+                }
+            }
+        }
+
+        private MemorySegment segment(int bucket) {
+            return segments[bucket >>> BUCKETS_PER_SEGMENT_BITS];
+        }
+
+        private int offset(int bucket) {
+            return (bucket & (BUCKETS_PER_SEGMENT - 1)) * BUCKET_SIZE;
+        }
+
+        private long pointer(int bucket) {
+            return segment(bucket).getLong(offset(bucket));
+        }
+
+        private int hash(int bucket) {
+            return segment(bucket).getInt(offset(bucket) + 8);
+        }
+
+        private int rowCount(int bucket) {
+            return segment(bucket).getInt(offset(bucket) + 12);
+        }
+
+        private void set(int bucket, long pointer, int hash, int rowCount) {
+            MemorySegment segment = segment(bucket);
+            int offset = offset(bucket);
+            segment.putLong(offset, pointer);
+            segment.putInt(offset + 8, hash);
+            segment.putInt(offset + 12, rowCount);
+        }
+
+        private void setRowCount(int bucket, int rowCount) {
+            segment(bucket).putInt(offset(bucket) + 12, rowCount);
+        }
+
+        private long getSizeInBytes() {
+            return (long) numBuckets * BUCKET_SIZE;
+        }
+
+        private void free() {
+            for (MemorySegment segment : segments) {
+                segment.free();
+            }
+        }
+    }
+
+    /** Builder of {@link BinaryCacheAllSnapshot}. */
+    public static class Builder implements CacheAllSnapshot.Builder {
+
+        private final LogicalType[] keyTypes;
+        private final int rowArity;
+        private final RowDataSerializer keySerializer;
+        private final RowDataSerializer rowSerializer;
+
+        private MemorySegment[] pages = new MemorySegment[16];
+        private int numPages;
+        private int currentOffset;
+        private Buckets buckets = new Buckets(MIN_NUM_BUCKETS);
+        private int numKeys;
+        private long rowCount;
+
+        public Builder(LogicalType[] keyTypes, RowType rowType) {
+            this.keyTypes = keyTypes;
+            this.rowArity = rowType.getFieldCount();
+            this.keySerializer = new RowDataSerializer(keyTypes);
+            this.rowSerializer = new RowDataSerializer(rowType);
+        }
+
+        @Override
+        public void add(RowData key, RowData row) {
+            BinaryRowData binaryKey = toSingleSegment(keySerializer.toBinaryRow(key));
+            int hash = binaryKey.hashCode();
+            int bucket = lookupBucket(buckets, pages, hash, binaryKey);
+
+            BinaryRowData binaryRow = toSingleSegment(rowSerializer.toBinaryRow(row));
+            long rowPointer = allocate(ROW_HEADER_SIZE + binaryRow.getSizeInBytes());
+            MemorySegment rowPage = pages[pageIndex(rowPointer)];
+            int rowOffset = pageOffset(rowPointer);
+            rowPage.putLong(rowOffset, EMPTY);
+            rowPage.putInt(rowOffset + ROW_LENGTH_OFFSET, binaryRow.getSizeInBytes());
+            binaryRow.getSegments()[0].copyTo(
+                    binaryRow.getOffset(),
+                    rowPage,
+                    rowOffset + ROW_HEADER_SIZE,
+                    binaryRow.getSizeInBytes());
+
+            long keyPointer = buckets.pointer(bucket);
+            if (keyPointer == EMPTY) {
+                keyPointer = allocate(KEY_HEADER_SIZE + binaryKey.getSizeInBytes());
+                MemorySegment keyPage = pages[pageIndex(keyPointer)];
+                int keyOffset = pageOffset(keyPointer);
+                keyPage.putLong(keyOffset, rowPointer);
+                keyPage.putLong(keyOffset + KEY_LAST_ROW_OFFSET, rowPointer);
+                keyPage.putInt(keyOffset + KEY_LENGTH_OFFSET, binaryKey.getSizeInBytes());
+                binaryKey.getSegments()[0].copyTo(
+                        binaryKey.getOffset(),
+                        keyPage,
+                        keyOffset + KEY_HEADER_SIZE,
+                        binaryKey.getSizeInBytes());
+                buckets.set(bucket, keyPointer, hash, 1);
+                numKeys++;
+                if (numKeys > buckets.numBuckets * LOAD_FACTOR) {
+                    growBuckets();
+                }
+            } else {
+                // append the row to the tail of the row chain of the key
+                MemorySegment keyPage = pages[pageIndex(keyPointer)];
+                int keyOffset = pageOffset(keyPointer);
+                long lastRowPointer = keyPage.getLong(keyOffset + KEY_LAST_ROW_OFFSET);
+                pages[pageIndex(lastRowPointer)].putLong(pageOffset(lastRowPointer), rowPointer);
+                keyPage.putLong(keyOffset + KEY_LAST_ROW_OFFSET, rowPointer);
+                buckets.setRowCount(bucket, buckets.rowCount(bucket) + 1);
+            }
+            rowCount++;
+        }
+
+        @Override
+        public void merge(CacheAllSnapshot.Builder other) {
+            Builder otherBuilder = (Builder) other;
+            BinaryRowData key = new BinaryRowData(keyTypes.length);
+            BinaryRowData row = new BinaryRowData(rowArity);
+            for (int bucket = 0; bucket < otherBuilder.buckets.numBuckets; bucket++) {
+                long keyPointer = otherBuilder.buckets.pointer(bucket);
+                if (keyPointer == EMPTY) {
+                    continue;
+                }
+                MemorySegment keyPage = otherBuilder.pages[pageIndex(keyPointer)];
+                int keyOffset = pageOffset(keyPointer);
+                key.pointTo(
+                        keyPage,
+                        keyOffset + KEY_HEADER_SIZE,
+                        keyPage.getInt(keyOffset + KEY_LENGTH_OFFSET));
+                long rowPointer = keyPage.getLong(keyOffset);
+                while (rowPointer != EMPTY) {
+                    MemorySegment rowPage = otherBuilder.pages[pageIndex(rowPointer)];
+                    int rowOffset = pageOffset(rowPointer);
+                    row.pointTo(
+                            rowPage,
+                            rowOffset + ROW_HEADER_SIZE,
+                            rowPage.getInt(rowOffset + ROW_LENGTH_OFFSET));
+                    add(key, row);
+                    rowPointer = rowPage.getLong(rowOffset);
+                }
+            }
+            otherBuilder.discard();
+        }
+
+        @Override
+        public CacheAllSnapshot build() {
+            return new BinaryCacheAllSnapshot(
+                    Arrays.copyOf(pages, numPages), buckets, keyTypes, rowArity, rowCount);
+        }
+
+        @Override
+        public void discard() {
+            for (int i = 0; i < numPages; i++) {
+                pages[i].free();
+            }
+            numPages = 0;
+            if (buckets != null) {
+                buckets.free();
+                buckets = null;
+            }
+        }
+
+        private long allocate(int size) {
+            if (numPages == 0 || currentOffset + size > pages[numPages - 1].size()) {
+                if (numPages == pages.length) {
+                    pages = Arrays.copyOf(pages, pages.length * 2);
+                }
+                pages[numPages++] = allocateSegment(Math.max(PAGE_SIZE, size));
+                currentOffset = 0;
+            }
+            long pointer = pointer(numPages - 1, currentOffset);
+            currentOffset += size;
+            return pointer;
+        }
+
+        private void growBuckets() {
+            Buckets newBuckets = new Buckets(buckets.numBuckets * 2);
+            for (int bucket = 0; bucket < buckets.numBuckets; bucket++) {
+                long pointer = buckets.pointer(bucket);
+                if (pointer != EMPTY) {
+                    int hash = buckets.hash(bucket);
+                    int newBucket = hash & newBuckets.mask;
+                    while (newBuckets.pointer(newBucket) != EMPTY) {
+                        newBucket = (newBucket + 1) & newBuckets.mask;
+                    }
+                    newBuckets.set(newBucket, pointer, hash, buckets.rowCount(bucket));
+                }
+            }
+            buckets.free();
+            buckets = newBuckets;
+        }
+    }
+}
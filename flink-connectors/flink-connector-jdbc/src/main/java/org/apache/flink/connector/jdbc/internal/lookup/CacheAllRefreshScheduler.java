@@ -0,0 +1,283 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.internal.lookup;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.util.concurrent.ExecutorThreadFactory;
+
+import org.quartz.CronExpression;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.text.ParseException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkState;
+
+/**
+ * Runs the cron scheduled refreshes of the cache all lookup functions of a TaskManager.
+ *
+ * <p>Schedulers are shared by all functions with the same max concurrency, and closed when the last
+ * function releases them. Every function instance registers its refresh and unregisters it when it
+ * is closed, so refreshes never run into closed functions.
+ *
+ * <p>At most {@code maxConcurrency} refreshes run at the same time, further refreshes are queued. A
+ * refresh which fires while its previous refresh is still queued or running is skipped. The fire
+ * times of the parallel instances of a function are staggered over the jitter window by their
+ * subtask index, plus a random delay within the slot of the subtask, so they do not hit the
+ * database at the same moment.
+ */
+@Internal
+@ThreadSafe
+public class CacheAllRefreshScheduler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheAllRefreshScheduler.class);
+
+    private static final Map<Integer, CacheAllRefreshScheduler> SCHEDULERS = new HashMap<>();
+
+    private final int maxConcurrency;
+    private final ScheduledExecutorService timer;
+    private final ExecutorService workers;
+    private final AtomicInteger numQueued = new AtomicInteger();
+    private final AtomicInteger numRunning = new AtomicInteger();
+
+    /** Number of functions using this scheduler, guarded by the lock of {@link #SCHEDULERS}. */
+    private int refCount;
+
+    private CacheAllRefreshScheduler(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+        this.timer =
+                Executors.newSingleThreadScheduledExecutor(
+                        new ExecutorThreadFactory("jdbc-lookup-refresh-timer"));
+        this.workers =
+                Executors.newFixedThreadPool(
+                        maxConcurrency, new ExecutorThreadFactory("jdbc-lookup-refresh"));
+    }
+
+    /**
+     * Returns the scheduler of this TaskManager for the given max concurrency, the scheduler is
+     * created if it does not exist yet. Every acquired scheduler must be released with {@link
+     * #release()}.
+     */
+    public static CacheAllRefreshScheduler acquire(int maxConcurrency) {
+        checkArgument(maxConcurrency > 0, "The max concurrency must be positive.");
+        synchronized (SCHEDULERS) {
+            CacheAllRefreshScheduler scheduler =
+                    SCHEDULERS.computeIfAbsent(maxConcurrency, CacheAllRefreshScheduler::new);
+            scheduler.refCount++;
+            return scheduler;
+        }
+    }
+
+    /** Releases the scheduler, the last release stops its threads. */
+    public void release() {
+        synchronized (SCHEDULERS) {
+            checkState(refCount > 0, "The scheduler has already been closed.");
+            if (--refCount > 0) {
+                return;
+            }
+            SCHEDULERS.remove(maxConcurrency);
+        }
+        timer.shutdownNow();
+        workers.shutdownNow();
+        LOG.info("Closed cache all refresh scheduler with max concurrency {}.", maxConcurrency);
+    }
+
+    /**
+     * Registers the refresh of a function instance.
+     *
+     * @param cronExpression quartz cron expression of the refresh, or null to only refresh on
+     *     {@link Registration#trigger()}
+     * @param jitterMs window the refreshes of all subtasks are staggered over
+     * @param subtaskIndex index of the subtask of the function instance
+     * @param numSubtasks number of parallel subtasks of the function
+     * @param refresh the refresh, it should handle its own failures
+     * @return the registration, which must be unregistered when the function is closed
+     */
+    public Registration register(
+            @Nullable String cronExpression,
+            long jitterMs,
+            int subtaskIndex,
+            int numSubtasks,
+            Runnable refresh) {
+        CronExpression cron;
+        try {
+            cron = cronExpression == null ? null : new CronExpression(cronExpression);
+        } catch (ParseException e) {
+            throw new IllegalArgumentException(
+                    "Invalid cron expression of the cache all refresh: " + cronExpression, e);
+        }
+        long slotMs = jitterMs / Math.max(numSubtasks, 1);
+        Registration registration = new Registration(cron, slotMs * subtaskIndex, slotMs, refresh);
+        registration.scheduleNext();
+        return registration;
+    }
+
+    /** Returns the number of refreshes waiting for a free thread. */
+    public int getNumQueued() {
+        return numQueued.get();
+    }
+
+    /** Returns the number of running refreshes. */
+    public int getNumRunning() {
+        return numRunning.get();
+    }
+
+    @VisibleForTesting
+    static int getNumberOfSchedulers() {
+        synchronized (SCHEDULERS) {
+            return SCHEDULERS.size();
+        }
+    }
+
+    /** The refresh of a function instance registered at a {@link CacheAllRefreshScheduler}. */
+    public final class Registration {
+
+        @Nullable private final CronExpression cron;
+        private final long staggerMs;
+        private final long slotMs;
+        private final Runnable refresh;
+        private final AtomicBoolean pending = new AtomicBoolean();
+        private final AtomicLong numSkipped = new AtomicLong();
+
+        // guarded by the lock of this registration
+        private boolean unregistered;
+        private long nominalFireTime;
+        private ScheduledFuture<?> nextFire;
+
+        private Registration(
+                @Nullable CronExpression cron, long staggerMs, long slotMs, Runnable refresh) {
+            this.cron = cron;
+            this.staggerMs = staggerMs;
+            this.slotMs = slotMs;
+            this.refresh = refresh;
+            this.nominalFireTime = System.currentTimeMillis();
+        }
+
+        /** Triggers a refresh outside the cron schedule, staggered like the scheduled ones. */
+        public synchronized void trigger() {
+            if (!unregistered) {
+                timer.schedule(this::submit, staggerMs + randomDelay(), TimeUnit.MILLISECONDS);
+            }
+        }
+
+        /**
+         * Unregisters the refresh. Queued refreshes are dropped, a running refresh is not
+         * interrupted.
+         */
+        public synchronized void unregister() {
+            unregistered = true;
+            if (nextFire != null) {
+                nextFire.cancel(false);
+                nextFire = null;
+            }
+        }
+
+        /** Returns the number of refreshes skipped as the previous one was still pending. */
+        public long getNumSkipped() {
+            return numSkipped.get();
+        }
+
+        private synchronized void scheduleNext() {
+            if (unregistered || cron == null) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            // fire times missed by more than the stagger are not caught up
+            Date next =
+                    cron.getNextValidTimeAfter(
+                            new Date(Math.max(nominalFireTime, now - staggerMs - slotMs)));
+            if (next == null) {
+                LOG.info("Cron expression {} has no further fire time.", cron);
+                return;
+            }
+            nominalFireTime = next.getTime();
+            long delay = nominalFireTime + staggerMs + randomDelay() - now;
+            nextFire = timer.schedule(this::fire, Math.max(delay, 0L), TimeUnit.MILLISECONDS);
+        }
+
+        private void fire() {
+            try {
+                submit();
+            } finally {
+                scheduleNext();
+            }
+        }
+
+        private void submit() {
+            synchronized (this) {
+                if (unregistered) {
+                    return;
+                }
+            }
+            if (!pending.compareAndSet(false, true)) {
+                numSkipped.incrementAndGet();
+                LOG.warn("Skip cache all refresh, the previous refresh is still pending.");
+                return;
+            }
+            numQueued.incrementAndGet();
+            try {
+                workers.execute(this::run);
+            } catch (RejectedExecutionException e) {
+                numQueued.decrementAndGet();
+                pending.set(false);
+            }
+        }
+
+        private void run() {
+            numQueued.decrementAndGet();
+            try {
+                synchronized (this) {
+                    if (unregistered) {
+                        return;
+                    }
+                }
+                numRunning.incrementAndGet();
+                try {
+                    refresh.run();
+                } finally {
+                    numRunning.decrementAndGet();
+                }
+            } finally {
+                pending.set(false);
+            }
+        }
+
+        private long randomDelay() {
+            return slotMs > 0 ? ThreadLocalRandom.current().nextLong(slotMs) : 0L;
+        }
+    }
+}
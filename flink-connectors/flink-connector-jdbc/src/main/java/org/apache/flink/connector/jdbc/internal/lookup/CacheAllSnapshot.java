@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.internal.lookup;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.table.data.RowData;
+
+import javax.annotation.Nullable;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable snapshot of a whole JDBC table, grouped by the lookup keys. It is built once per
+ * load by a {@link Builder} and then only read, reads are thread safe.
+ */
+@Internal
+public interface CacheAllSnapshot {
+
+    /**
+     * Returns the rows of the given lookup key.
+     *
+     * @param key lookup key row
+     * @return rows of the key, or null if the table contains no row for the key
+     */
+    @Nullable
+    List<RowData> get(RowData key);
+
+    /** Returns the number of rows in this snapshot. */
+    long getRowCount();
+
+    /** Returns the number of bytes held by this snapshot, or -1 if it is unknown. */
+    long getMemorySizeInBytes();
+
+    /** Visits every lookup key of this snapshot with all rows of the key, in no specific order. */
+    void forEach(BiConsumer<RowData, List<RowData>> action);
+
+    /**
+     * Frees the memory held by this snapshot. It must only be called once no reader accesses the
+     * snapshot anymore, the snapshot must not be used afterwards.
+     */
+    default void release() {}
+
+    /** Builder of a {@link CacheAllSnapshot}, it is not thread safe. */
+    interface Builder {
+
+        /** Adds a row of the given lookup key. */
+        void add(RowData key, RowData row);
+
+        /**
+         * Adds all rows of another builder of the same kind, the other builder must not be used
+         * afterwards.
+         */
+        void merge(Builder other);
+
+        /** Finishes the snapshot, the builder must not be used afterwards. */
+        CacheAllSnapshot build();
+
+        /**
+         * Frees the memory held by an unfinished snapshot, e.g. after a failed load. The builder
+         * must not be used afterwards.
+         */
+        default void discard() {}
+    }
+}
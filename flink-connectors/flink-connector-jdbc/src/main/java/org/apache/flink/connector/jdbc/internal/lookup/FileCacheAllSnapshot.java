@@ -0,0 +1,618 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.internal.lookup;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.core.fs.FSDataInputStream;
+import org.apache.flink.core.fs.FSDataOutputStream;
+import org.apache.flink.core.fs.FileSystem;
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.core.memory.MemorySegment;
+import org.apache.flink.core.memory.MemorySegmentFactory;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.data.binary.BinarySegmentUtils;
+import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.util.IOUtils;
+
+import javax.annotation.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * A {@link CacheAllSnapshot} that is persisted to a file, so that a restarted lookup function can
+ * serve lookups without loading the whole table again.
+ *
+ * <p>Keys are serialized as {@link BinaryRowData} and sorted by their bytes. Entries are grouped
+ * into blocks of about {@link #BLOCK_SIZE} bytes, and the first key of every block is kept in a
+ * heap index. A lookup binary searches the index and scans a single block. The file is memory
+ * mapped, files on a distributed file system are copied to a local temporary file first.
+ *
+ * <p>Layout, all numbers are big endian:
+ *
+ * <ul>
+ *   <li>header: magic (4 bytes) | version (4 bytes) | descriptor length (4 bytes) | descriptor
+ *       bytes | load timestamp (8 bytes) | number of rows (8 bytes) | watermark length (4 bytes, -1
+ *       for none) | watermark bytes
+ *   <li>entry: key length (4 bytes) | rows length (4 bytes) | key bytes | number of rows (4 bytes)
+ *       | (row length (4 bytes) | row bytes) for each row
+ *   <li>index entry: block offset (8 bytes) | block length (4 bytes) | first key length (4 bytes) |
+ *       first key bytes
+ *   <li>footer: index offset (8 bytes) | number of blocks (4 bytes) | magic (4 bytes)
+ * </ul>
+ *
+ * <p>The descriptor identifies the query the snapshot was loaded with, a file with another
+ * descriptor is never restored.
+ */
+@Internal
+public class FileCacheAllSnapshot implements CacheAllSnapshot {
+
+    /** Target size of a block of entries. */
+    static final int BLOCK_SIZE = 64 << 10;
+
+    private static final int MAGIC = 0x4A434153;
+    private static final int VERSION = 1;
+    private static final int FOOTER_SIZE = 16;
+    private static final int ENTRY_HEADER_SIZE = 8;
+    // blocks never span mapped regions
+    private static final int MAX_REGION_SIZE = 1 << 30;
+
+    private final MemorySegment[] regions;
+    private final int[] blockRegions;
+    private final int[] blockOffsets;
+    private final int[] blockLengths;
+    private final byte[][] firstKeys;
+    // the serializer reuses its binary row, so every reading thread needs its own one
+    private final ThreadLocal<RowDataSerializer> keySerializer;
+    private final int rowArity;
+    private final long rowCount;
+    private final long loadTimestamp;
+    @Nullable private final byte[] watermark;
+    private final long sizeInBytes;
+
+    private FileCacheAllSnapshot(
+            MemorySegment[] regions,
+            int[] blockRegions,
+            int[] blockOffsets,
+            int[] blockLengths,
+            byte[][] firstKeys,
+            LogicalType[] keyTypes,
+            int rowArity,
+            long rowCount,
+            long loadTimestamp,
+            @Nullable byte[] watermark,
+            long sizeInBytes) {
+        this.regions = regions;
+        this.blockRegions = blockRegions;
+        this.blockOffsets = blockOffsets;
+        this.blockLengths = blockLengths;
+        this.firstKeys = firstKeys;
+        this.keySerializer = ThreadLocal.withInitial(() -> new RowDataSerializer(keyTypes));
+        this.rowArity = rowArity;
+        this.rowCount = rowCount;
+        this.loadTimestamp = loadTimestamp;
+        this.watermark = watermark;
+        this.sizeInBytes = sizeInBytes;
+    }
+
+    @Nullable
+    @Override
+    public List<RowData> get(RowData key) {
+        BinaryRowData binaryKey = keySerializer.get().toBinaryRow(key);
+        byte[] keyBytes =
+                BinarySegmentUtils.copyToBytes(
+                        binaryKey.getSegments(), binaryKey.getOffset(), binaryKey.getSizeInBytes());
+        int block = floorBlock(keyBytes);
+        if (block < 0) {
+            return null;
+        }
+
+        MemorySegment region = regions[blockRegions[block]];
+        int offset = blockOffsets[block];
+        int end = offset + blockLengths[block];
+        while (offset < end) {
+            int keyLength = region.getIntBigEndian(offset);
+            int rowsLength = region.getIntBigEndian(offset + 4);
+            int keyOffset = offset + ENTRY_HEADER_SIZE;
+            int cmp = compare(region, keyOffset, keyLength, keyBytes);
+            if (cmp == 0) {
+                return readRows(region, keyOffset + keyLength);
+            } else if (cmp > 0) {
+                // keys are sorted, so the key is not in the snapshot
+                return null;
+            }
+            offset = keyOffset + keyLength + rowsLength;
+        }
+        return null;
+    }
+
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public long getMemorySizeInBytes() {
+        return sizeInBytes;
+    }
+
+    @Override
+    public void forEach(BiConsumer<RowData, List<RowData>> action) {
+        int keyArity = keySerializer.get().getArity();
+        for (int block = 0; block < firstKeys.length; block++) {
+            MemorySegment region = regions[blockRegions[block]];
+            int offset = blockOffsets[block];
+            int end = offset + blockLengths[block];
+            while (offset < end) {
+                int keyLength = region.getIntBigEndian(offset);
+                int rowsLength = region.getIntBigEndian(offset + 4);
+                int keyOffset = offset + ENTRY_HEADER_SIZE;
+                byte[] keyBytes = new byte[keyLength];
+                region.get(keyOffset, keyBytes);
+                BinaryRowData key = new BinaryRowData(keyArity);
+                key.pointTo(MemorySegmentFactory.wrap(keyBytes), 0, keyLength);
+                action.accept(key, readRows(region, keyOffset + keyLength));
+                offset = keyOffset + keyLength + rowsLength;
+            }
+        }
+    }
+
+    /** Returns the timestamp of the load this snapshot was written by. */
+    public long getLoadTimestamp() {
+        return loadTimestamp;
+    }
+
+    /** Returns the serialized version watermark of the load, or null if there is none. */
+    @Nullable
+    public byte[] getWatermark() {
+        return watermark;
+    }
+
+    /** Returns the index of the last block whose first key is not larger than the given key. */
+    private int floorBlock(byte[] key) {
+        int low = 0;
+        int high = firstKeys.length - 1;
+        int result = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (compare(firstKeys[mid], key) <= 0) {
+                result = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return result;
+    }
+
+    private List<RowData> readRows(MemorySegment region, int offset) {
+        int numRows = region.getIntBigEndian(offset);
+        offset += 4;
+        List<RowData> rows = new ArrayList<>(numRows);
+        for (int i = 0; i < numRows; i++) {
+            int length = region.getIntBigEndian(offset);
+            // copy the row to heap, so that emitted rows never point into the mapped file
+            byte[] bytes = new byte[length];
+            region.get(offset + 4, bytes);
+            BinaryRowData row = new BinaryRowData(rowArity);
+            row.pointTo(MemorySegmentFactory.wrap(bytes), 0, length);
+            rows.add(row);
+            offset += 4 + length;
+        }
+        return rows;
+    }
+
+    // ------------------------------------------------------------------------------------------
+
+    /**
+     * Writes the given snapshot to a file. The file is written under a temporary name and renamed
+     * when it is complete, so readers never see a partially written file. The rows are spilled to a
+     * local temporary file while the keys are sorted, so only the keys are kept on heap.
+     *
+     * @param snapshot snapshot to write
+     * @param keyTypes types of the lookup keys
+     * @param rowType type of the rows
+     * @param descriptor identifies the query the snapshot was loaded with
+     * @param loadTimestamp timestamp of the load of the snapshot
+     * @param watermark serialized version watermark of the load, or null if there is none
+     * @param path path of the file
+     */
+    public static void write(
+            CacheAllSnapshot snapshot,
+            LogicalType[] keyTypes,
+            RowType rowType,
+            String descriptor,
+            long loadTimestamp,
+            @Nullable byte[] watermark,
+            Path path)
+            throws IOException {
+        // the rows are spilled to a local file in the order of the snapshot, only the keys and
+        // the positions of their rows are kept on heap and sorted
+        File spillFile = File.createTempFile("jdbc-lookup-", ".spill");
+        try (FileChannel spillChannel =
+                FileChannel.open(
+                        spillFile.toPath(),
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.DELETE_ON_CLOSE)) {
+            SpilledEntries entries = spill(snapshot, keyTypes, rowType, spillChannel);
+            writeSorted(
+                    entries,
+                    spillChannel,
+                    snapshot.getRowCount(),
+                    descriptor,
+                    loadTimestamp,
+                    watermark,
+                    path);
+        } finally {
+            Files.deleteIfExists(spillFile.toPath());
+        }
+    }
+
+    private static SpilledEntries spill(
+            CacheAllSnapshot snapshot,
+            LogicalType[] keyTypes,
+            RowType rowType,
+            FileChannel spillChannel)
+            throws IOException {
+        RowDataSerializer keySerializer = new RowDataSerializer(keyTypes);
+        RowDataSerializer rowSerializer = new RowDataSerializer(rowType);
+        SpilledEntries entries = new SpilledEntries();
+        DataOutputStream spillOut =
+                new DataOutputStream(
+                        new BufferedOutputStream(Channels.newOutputStream(spillChannel)));
+        // DataOutputStream#size() overflows at 2 GB, so the position is counted here
+        long[] position = new long[1];
+        IOException[] failure = new IOException[1];
+        snapshot.forEach(
+                (key, rows) -> {
+                    if (failure[0] != null) {
+                        return;
+                    }
+                    try {
+                        int rowsLength = 4;
+                        spillOut.writeInt(rows.size());
+                        for (RowData row : rows) {
+                            byte[] bytes = toBytes(rowSerializer.toBinaryRow(row));
+                            spillOut.writeInt(bytes.length);
+                            spillOut.write(bytes);
+                            rowsLength += 4 + bytes.length;
+                        }
+                        entries.add(
+                                toBytes(keySerializer.toBinaryRow(key)), position[0], rowsLength);
+                        position[0] += rowsLength;
+                    } catch (IOException e) {
+                        failure[0] = e;
+                    }
+                });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        spillOut.flush();
+        return entries;
+    }
+
+    private static void writeSorted(
+            SpilledEntries entries,
+            FileChannel spillChannel,
+            long rowCount,
+            String descriptor,
+            long loadTimestamp,
+            @Nullable byte[] watermark,
+            Path path)
+            throws IOException {
+        Integer[] order = new Integer[entries.size];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (i1, i2) -> compare(entries.keys[i1], entries.keys[i2]));
+
+        FileSystem fileSystem = path.getFileSystem();
+        Path inProgressPath =
+                new Path(
+                        path.getParent(),
+                        "." + path.getName() + ".inprogress." + UUID.randomUUID());
+        try (FSDataOutputStream stream =
+                        fileSystem.create(inProgressPath, FileSystem.WriteMode.NO_OVERWRITE);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+            byte[] descriptorBytes = descriptor.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(descriptorBytes.length);
+            out.write(descriptorBytes);
+            out.writeLong(loadTimestamp);
+            out.writeLong(rowCount);
+            out.writeInt(watermark == null ? -1 : watermark.length);
+            if (watermark != null) {
+                out.write(watermark);
+            }
+            long position =
+                    32L + descriptorBytes.length + (watermark == null ? 0 : watermark.length);
+
+            List<Long> blockOffsets = new ArrayList<>();
+            List<Integer> blockLengths = new ArrayList<>();
+            List<byte[]> firstKeys = new ArrayList<>();
+            int blockLength = 0;
+            ByteBuffer rowsBuffer = ByteBuffer.allocate(0);
+            for (int entry : order) {
+                byte[] key = entries.keys[entry];
+                int rowsLength = entries.rowsLengths[entry];
+                int entryLength = ENTRY_HEADER_SIZE + key.length + rowsLength;
+                if (blockLength > 0 && blockLength + entryLength > BLOCK_SIZE) {
+                    blockLengths.add(blockLength);
+                    blockLength = 0;
+                }
+                if (blockLength == 0) {
+                    blockOffsets.add(position);
+                    firstKeys.add(key);
+                }
+                if (rowsBuffer.capacity() < rowsLength) {
+                    rowsBuffer =
+                            ByteBuffer.allocate(Math.max(rowsLength, 2 * rowsBuffer.capacity()));
+                }
+                rowsBuffer.clear().limit(rowsLength);
+                readFully(spillChannel, rowsBuffer, entries.rowsOffsets[entry]);
+                out.writeInt(key.length);
+                out.writeInt(rowsLength);
+                out.write(key);
+                out.write(rowsBuffer.array(), 0, rowsLength);
+                blockLength += entryLength;
+                position += entryLength;
+            }
+            if (blockLength > 0) {
+                blockLengths.add(blockLength);
+            }
+
+            long indexOffset = position;
+            for (int i = 0; i < firstKeys.size(); i++) {
+                out.writeLong(blockOffsets.get(i));
+                out.writeInt(blockLengths.get(i));
+                out.writeInt(firstKeys.get(i).length);
+                out.write(firstKeys.get(i));
+            }
+            out.writeLong(indexOffset);
+            out.writeInt(firstKeys.size());
+            out.writeInt(MAGIC);
+        } catch (IOException e) {
+            fileSystem.delete(inProgressPath, false);
+            throw e;
+        }
+
+        if (fileSystem.exists(path)) {
+            fileSystem.delete(path, false);
+        }
+        if (!fileSystem.rename(inProgressPath, path)) {
+            fileSystem.delete(inProgressPath, false);
+            throw new IOException("Could not rename " + inProgressPath + " to " + path + ".");
+        }
+    }
+
+    /**
+     * Maps the snapshot file at the given path.
+     *
+     * @param path path of the file
+     * @param descriptor identifies the query of the lookup function
+     * @param keyTypes types of the lookup keys
+     * @param rowArity number of fields of the rows
+     * @return the snapshot, or null if there is no file or it was loaded with another descriptor
+     */
+    @Nullable
+    public static FileCacheAllSnapshot open(
+            Path path, String descriptor, LogicalType[] keyTypes, int rowArity) throws IOException {
+        FileSystem fileSystem = path.getFileSystem();
+        if (!fileSystem.exists(path)) {
+            return null;
+        }
+
+        File localFile;
+        boolean temporary = fileSystem.isDistributedFS();
+        if (temporary) {
+            localFile = File.createTempFile("jdbc-lookup-", ".snapshot");
+            try (FSDataInputStream in = fileSystem.open(path)) {
+                Files.copy(in, localFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                Files.deleteIfExists(localFile.toPath());
+                throw e;
+            }
+        } else {
+            localFile = new File(path.toUri().getPath());
+        }
+
+        try {
+            return map(localFile, descriptor, keyTypes, rowArity);
+        } finally {
+            // the mapping stays valid after the file is deleted
+            if (temporary) {
+                Files.deleteIfExists(localFile.toPath());
+            }
+        }
+    }
+
+    @Nullable
+    private static FileCacheAllSnapshot map(
+            File file, String descriptor, LogicalType[] keyTypes, int rowArity) throws IOException {
+        long loadTimestamp;
+        long rowCount;
+        byte[] watermark;
+        try (DataInputStream in =
+                new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unknown cache all snapshot file format of " + file + ".");
+            }
+            byte[] descriptorBytes = new byte[in.readInt()];
+            in.readFully(descriptorBytes);
+            if (!descriptor.equals(new String(descriptorBytes, StandardCharsets.UTF_8))) {
+                return null;
+            }
+            loadTimestamp = in.readLong();
+            rowCount = in.readLong();
+            int watermarkLength = in.readInt();
+            watermark = watermarkLength < 0 ? null : new byte[watermarkLength];
+            if (watermark != null) {
+                in.readFully(watermark);
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            MemorySegment footer =
+                    MemorySegmentFactory.wrapOffHeapMemory(
+                            channel.map(
+                                    FileChannel.MapMode.READ_ONLY,
+                                    size - FOOTER_SIZE,
+                                    FOOTER_SIZE));
+            long indexOffset = footer.getLongBigEndian(0);
+            int numBlocks = footer.getIntBigEndian(8);
+            if (footer.getIntBigEndian(12) != MAGIC) {
+                throw new IOException("Incomplete cache all snapshot file " + file + ".");
+            }
+
+            long[] blockPositions = new long[numBlocks];
+            int[] blockLengths = new int[numBlocks];
+            byte[][] firstKeys = new byte[numBlocks][];
+            try (InputStream stream = Files.newInputStream(file.toPath());
+                    DataInputStream in = new DataInputStream(new BufferedInputStream(stream))) {
+                IOUtils.skipFully(in, indexOffset);
+                for (int i = 0; i < numBlocks; i++) {
+                    blockPositions[i] = in.readLong();
+                    blockLengths[i] = in.readInt();
+                    firstKeys[i] = new byte[in.readInt()];
+                    in.readFully(firstKeys[i]);
+                }
+            }
+
+            // map consecutive blocks into regions of at most MAX_REGION_SIZE bytes
+            List<MemorySegment> regions = new ArrayList<>();
+            int[] blockRegions = new int[numBlocks];
+            int[] blockOffsets = new int[numBlocks];
+            int block = 0;
+            while (block < numBlocks) {
+                long regionStart = blockPositions[block];
+                int first = block;
+                long regionLength = 0;
+                while (block < numBlocks
+                        && (block == first
+                                || regionLength + blockLengths[block] <= MAX_REGION_SIZE)) {
+                    blockRegions[block] = regions.size();
+                    blockOffsets[block] = (int) (blockPositions[block] - regionStart);
+                    regionLength += blockLengths[block];
+                    block++;
+                }
+                regions.add(
+                        MemorySegmentFactory.wrapOffHeapMemory(
+                                channel.map(
+                                        FileChannel.MapMode.READ_ONLY, regionStart, regionLength)));
+            }
+
+            return new FileCacheAllSnapshot(
+                    regions.toArray(new MemorySegment[0]),
+                    blockRegions,
+                    blockOffsets,
+                    blockLengths,
+                    firstKeys,
+                    keyTypes,
+                    rowArity,
+                    rowCount,
+                    loadTimestamp,
+                    watermark,
+                    size);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position)
+            throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of the spilled cache all snapshot.");
+            }
+            position += read;
+        }
+    }
+
+    private static byte[] toBytes(BinaryRowData row) {
+        return BinarySegmentUtils.copyToBytes(
+                row.getSegments(), row.getOffset(), row.getSizeInBytes());
+    }
+
+    /** Compares two serialized keys by their unsigned bytes. */
+    private static int compare(byte[] key1, byte[] key2) {
+        int length = Math.min(key1.length, key2.length);
+        for (int i = 0; i < length; i++) {
+            int cmp = (key1[i] & 0xFF) - (key2[i] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return key1.length - key2.length;
+    }
+
+    private static int compare(MemorySegment segment, int offset, int length, byte[] key) {
+        int minLength = Math.min(length, key.length);
+        for (int i = 0; i < minLength; i++) {
+            int cmp = (segment.get(offset + i) & 0xFF) - (key[i] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return length - key.length;
+    }
+
+    /** The serialized keys of a snapshot and the positions of their spilled rows. */
+    private static final class SpilledEntries {
+
+        private byte[][] keys = new byte[1024][];
+        private long[] rowsOffsets = new long[1024];
+        private int[] rowsLengths = new int[1024];
+        private int size;
+
+        private void add(byte[] key, long rowsOffset, int rowsLength) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, 2 * size);
+                rowsOffsets = Arrays.copyOf(rowsOffsets, 2 * size);
+                rowsLengths = Arrays.copyOf(rowsLengths, 2 * size);
+            }
+            keys[size] = key;
+            rowsOffsets[size] = rowsOffset;
+            rowsLengths[size] = rowsLength;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.internal.lookup;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A count-min sketch of 4-bit counters which estimates the recent access frequency of keys for the
+ * admission policy of the {@link TinyLfuLookupCache}.
+ *
+ * <p>Each key is counted in four counters, its frequency is the minimum of them. After a sample of
+ * ten times the capacity has been counted, all counters are halved so that the estimates follow
+ * changes of the popularity of keys.
+ */
+@NotThreadSafe
+class FrequencySketch {
+
+    private static final long[] SEEDS = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    /** Counters of the sketch, each long holds 16 counters of 4 bits. */
+    private final long[] table;
+
+    private final int tableMask;
+    private final int sampleSize;
+    private int size;
+
+    FrequencySketch(long capacity) {
+        int tableSize = Math.max(8, nextPowerOfTwo(capacity));
+        this.table = new long[tableSize];
+        this.tableMask = tableSize - 1;
+        this.sampleSize = (int) Math.min(10L * Math.max(capacity, 1), Integer.MAX_VALUE);
+    }
+
+    /** Returns the estimated number of recent occurrences of the hash, at most 15. */
+    int frequency(int hash) {
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long index = indexOf(hash, i);
+            int counter = (int) ((table[(int) index] >>> ((index >>> 32) << 2)) & 0xfL);
+            frequency = Math.min(frequency, counter);
+        }
+        return frequency;
+    }
+
+    /** Counts an occurrence of the hash. */
+    void increment(int hash) {
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long index = indexOf(hash, i);
+            int tableIndex = (int) index;
+            int offset = (int) ((index >>> 32) << 2);
+            if (((table[tableIndex] >>> offset) & 0xfL) != 0xfL) {
+                table[tableIndex] += 1L << offset;
+                added = true;
+            }
+        }
+        if (added && ++size == sampleSize) {
+            reset();
+        }
+    }
+
+    /** Halves all counters, so that old accesses fade out. */
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size >>>= 1;
+    }
+
+    /**
+     * Returns the position of the i-th counter of the hash, the table index in the lower and the
+     * counter index within the long in the upper 32 bits.
+     */
+    private long indexOf(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h ^= h >>> 29;
+        int tableIndex = (int) h & tableMask;
+        int counterIndex = (int) (h >>> 60);
+        return ((long) counterIndex << 32) | tableIndex;
+    }
+
+    private static int nextPowerOfTwo(long value) {
+        long capped = Math.min(Math.max(value, 1), 1 << 30);
+        return Integer.highestOneBit((int) (capped - 1)) << 1;
+    }
+}
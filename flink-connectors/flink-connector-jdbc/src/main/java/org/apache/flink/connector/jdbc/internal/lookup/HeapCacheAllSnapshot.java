@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.internal.lookup;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.table.data.RowData;
+
+import org.apache.flink.shaded.guava30.com.google.common.cache.Cache;
+import org.apache.flink.shaded.guava30.com.google.common.cache.CacheBuilder;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/** A {@link CacheAllSnapshot} that keeps the rows as java objects in a Guava {@link Cache}. */
+@Internal
+public class HeapCacheAllSnapshot implements CacheAllSnapshot {
+
+    private final Cache<RowData, List<RowData>> cache;
+    private final long rowCount;
+
+    private HeapCacheAllSnapshot(Cache<RowData, List<RowData>> cache, long rowCount) {
+        this.cache = cache;
+        this.rowCount = rowCount;
+    }
+
+    @Nullable
+    @Override
+    public List<RowData> get(RowData key) {
+        return cache.getIfPresent(key);
+    }
+
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public long getMemorySizeInBytes() {
+        return -1L;
+    }
+
+    @Override
+    public void forEach(BiConsumer<RowData, List<RowData>> action) {
+        cache.asMap().forEach(action);
+    }
+
+    /** Builder of {@link HeapCacheAllSnapshot}. */
+    public static class Builder implements CacheAllSnapshot.Builder {
+
+        private final long cacheMaxSize;
+        private final Map<RowData, List<RowData>> rows = new HashMap<>();
+        private long rowCount;
+
+        /** @param cacheMaxSize max number of keys of the snapshot, -1 means unlimited. */
+        public Builder(long cacheMaxSize) {
+            this.cacheMaxSize = cacheMaxSize;
+        }
+
+        @Override
+        public void add(RowData key, RowData row) {
+            rows.computeIfAbsent(key, k -> new ArrayList<>(1)).add(row);
+            rowCount++;
+        }
+
+        @Override
+        public void merge(CacheAllSnapshot.Builder other) {
+            Builder otherBuilder = (Builder) other;
+            for (Map.Entry<RowData, List<RowData>> entry : otherBuilder.rows.entrySet()) {
+                List<RowData> keyRows = rows.putIfAbsent(entry.getKey(), entry.getValue());
+                if (keyRows != null) {
+                    keyRows.addAll(entry.getValue());
+                }
+            }
+            rowCount += otherBuilder.rowCount;
+            otherBuilder.rows.clear();
+        }
+
+        @Override
+        public CacheAllSnapshot build() {
+            Cache<RowData, List<RowData>> cache =
+                    CacheBuilder.newBuilder()
+                            .maximumSize(cacheMaxSize == -1 ? Integer.MAX_VALUE : cacheMaxSize)
+                            .build();
+            for (Map.Entry<RowData, List<RowData>> entry : rows.entrySet()) {
+                ((ArrayList<RowData>) entry.getValue()).trimToSize();
+                cache.put(entry.getKey(), entry.getValue());
+            }
+            rows.clear();
+            return new HeapCacheAllSnapshot(cache, rowCount);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.internal.lookup;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.table.data.RowData;
+
+import javax.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * A {@link CacheAllSnapshot} that overlays the rows of the keys changed since the last full load on
+ * top of the snapshot of that full load. The rows of a changed key replace all rows of the key in
+ * the full snapshot. Deleted keys are only dropped by the next full load.
+ */
+@Internal
+public class IncrementalCacheAllSnapshot implements CacheAllSnapshot {
+
+    private final CacheAllSnapshot base;
+    private final Map<RowData, List<RowData>> changes;
+    private final long rowCount;
+
+    private IncrementalCacheAllSnapshot(
+            CacheAllSnapshot base, Map<RowData, List<RowData>> changes, long rowCount) {
+        this.base = base;
+        this.changes = changes;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * Creates a new snapshot from the previous one and all rows of the changed keys. The previous
+     * snapshot is not modified.
+     */
+    public static CacheAllSnapshot merge(
+            CacheAllSnapshot previous, Map<RowData, List<RowData>> changedKeys) {
+        final CacheAllSnapshot base;
+        final Map<RowData, List<RowData>> changes;
+        if (previous instanceof IncrementalCacheAllSnapshot) {
+            base = ((IncrementalCacheAllSnapshot) previous).base;
+            changes = new HashMap<>(((IncrementalCacheAllSnapshot) previous).changes);
+        } else {
+            base = previous;
+            changes = new HashMap<>();
+        }
+
+        long rowCount = previous.getRowCount();
+        for (Map.Entry<RowData, List<RowData>> entry : changedKeys.entrySet()) {
+            List<RowData> previousRows = previous.get(entry.getKey());
+            rowCount += entry.getValue().size() - (previousRows == null ? 0 : previousRows.size());
+            changes.put(entry.getKey(), entry.getValue());
+        }
+        return new IncrementalCacheAllSnapshot(base, changes, rowCount);
+    }
+
+    @Nullable
+    @Override
+    public List<RowData> get(RowData key) {
+        List<RowData> rows = changes.get(key);
+        return rows != null ? rows : base.get(key);
+    }
+
+    @Override
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public long getMemorySizeInBytes() {
+        return base.getMemorySizeInBytes();
+    }
+
+    @Override
+    public void forEach(BiConsumer<RowData, List<RowData>> action) {
+        base.forEach(
+                (key, rows) -> {
+                    if (!changes.containsKey(key)) {
+                        action.accept(key, rows);
+                    }
+                });
+        changes.forEach(action);
+    }
+
+    /**
+     * Releases the snapshot of the full load, which is shared by all incremental snapshots merged
+     * from it.
+     */
+    @Override
+    public void release() {
+        base.release();
+    }
+
+    /** Returns the number of keys changed since the last full load. */
+    public int getNumChangedKeys() {
+        return changes.size();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.internal.lookup;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.functions.Partitioner;
+import org.apache.flink.connector.jdbc.dialect.JdbcDialect;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.LogicalTypeFamily;
+import org.apache.flink.util.MathUtils;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Partitions lookup key rows over the parallel instances of a key partitioned cache all lookup.
+ *
+ * <p>The planner partitions the probe side of the lookup join with this partitioner and each lookup
+ * function only loads the rows of its own partition, so both sides have to agree on the partition
+ * of a key. A single integral key is partitioned by its floor modulo, which can be evaluated by the
+ * database. Other keys are partitioned by a hash of the key fields, which is computed on the
+ * client.
+ */
+@Internal
+public class JdbcLookupKeyPartitioner implements Partitioner<RowData> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final RowData.FieldGetter[] fieldGetters;
+    private final boolean integralKey;
+
+    public JdbcLookupKeyPartitioner(LogicalType[] keyTypes) {
+        this.fieldGetters = new RowData.FieldGetter[keyTypes.length];
+        for (int i = 0; i < keyTypes.length; i++) {
+            checkArgument(
+                    keyTypes[i].is(LogicalTypeFamily.PREDEFINED),
+                    "Key partitioned lookup only supports keys of predefined types, but is %s.",
+                    keyTypes[i]);
+            fieldGetters[i] = RowData.createFieldGetter(keyTypes[i], i);
+        }
+        this.integralKey =
+                keyTypes.length == 1 && keyTypes[0].is(LogicalTypeFamily.INTEGER_NUMERIC);
+    }
+
+    @Override
+    public int partition(RowData key, int numPartitions) {
+        if (integralKey) {
+            Object value = fieldGetters[0].getFieldOrNull(key);
+            return value == null
+                    ? 0
+                    : (int) Math.floorMod(((Number) value).longValue(), (long) numPartitions);
+        }
+        int hash = 0;
+        for (RowData.FieldGetter fieldGetter : fieldGetters) {
+            Object value = fieldGetter.getFieldOrNull(key);
+            hash =
+                    31 * hash
+                            + (value instanceof byte[]
+                                    ? Arrays.hashCode((byte[]) value)
+                                    : value == null ? 0 : value.hashCode());
+        }
+        return MathUtils.murmurHash(hash) % numPartitions;
+    }
+
+    /**
+     * Returns the condition which lets the database only return the rows of the given partition, or
+     * {@link Optional#empty()} if the rows have to be filtered on the client.
+     */
+    public Optional<String> getPartitionCondition(
+            JdbcDialect dialect, String[] keyNames, int numPartitions, int partition) {
+        return integralKey
+                ? dialect.getModuloCondition(keyNames[0], numPartitions, partition)
+                : Optional.empty();
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.internal.lookup;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.connector.jdbc.table.LookupCachePolicy;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The cache of a JDBC lookup function which is not in cache all mode. Values are put into the cache
+ * after a cache miss has been looked up in the database.
+ */
+@Internal
+@ThreadSafe
+public interface LookupCache<K, V> {
+
+    /** Returns the value of the key, or null if the key is not cached or has expired. */
+    @Nullable
+    V getIfPresent(K key);
+
+    /** Caches the value of the key. */
+    void put(K key, V value);
+
+    /** Returns the number of cached keys, which may include expired keys. */
+    long size();
+
+    /** Removes expired keys and releases the resources of the cache. */
+    void cleanUp();
+
+    /** Records the time it took to look up the value of a cache miss in the database. */
+    void recordLoad(long loadTimeNanos);
+
+    /** Returns the number of lookups which found their key in the cache. */
+    long getHitCount();
+
+    /** Returns the number of lookups which did not find their key in the cache. */
+    long getMissCount();
+
+    /** Returns the number of keys removed from the cache because of its size or expiration. */
+    long getEvictionCount();
+
+    /** Returns the number of recorded loads. */
+    long getLoadCount();
+
+    /** Returns the total time of all recorded loads. */
+    long getTotalLoadTimeNanos();
+
+    /**
+     * Creates a lookup cache.
+     *
+     * @param policy eviction policy of the cache
+     * @param maximumSize max number of cached keys
+     * @param expireAfterWriteMs mills after which a cached key expires
+     * @param refreshAfterWriteMs mills after which a key found in the cache is reloaded in the
+     *     background, -1 never reloads keys. Only supported by {@link LookupCachePolicy#TINY_LFU}.
+     * @param reloader reloads keys which are due for a refresh, required if keys are refreshed
+     */
+    static <K, V> LookupCache<K, V> create(
+            LookupCachePolicy policy,
+            long maximumSize,
+            long expireAfterWriteMs,
+            long refreshAfterWriteMs,
+            @Nullable Reloader<K, V> reloader) {
+        switch (policy) {
+            case LRU:
+                if (refreshAfterWriteMs >= 0) {
+                    throw new IllegalArgumentException(
+                            "Refreshing cached keys is not supported by the LRU lookup cache.");
+                }
+                return new LruLookupCache<>(maximumSize, expireAfterWriteMs);
+            case TINY_LFU:
+                return new TinyLfuLookupCache<>(
+                        maximumSize, expireAfterWriteMs, refreshAfterWriteMs, reloader);
+            default:
+                throw new IllegalArgumentException("Unsupported lookup cache policy " + policy);
+        }
+    }
+
+    /** Registers the hit, miss, eviction and load time metrics of the cache in the group. */
+    static void registerMetrics(MetricGroup metricGroup, LookupCache<?, ?> cache) {
+        metricGroup.gauge("Jdbc_Lookup_Cache_Hit_Count", (Gauge<Long>) cache::getHitCount);
+        metricGroup.gauge("Jdbc_Lookup_Cache_Miss_Count", (Gauge<Long>) cache::getMissCount);
+        metricGroup.gauge(
+                "Jdbc_Lookup_Cache_Hit_Rate",
+                (Gauge<Double>)
+                        () -> {
+                            long hits = cache.getHitCount();
+                            long requests = hits + cache.getMissCount();
+                            return requests == 0 ? 1.0 : (double) hits / requests;
+                        });
+        metricGroup.gauge(
+                "Jdbc_Lookup_Cache_Eviction_Count", (Gauge<Long>) cache::getEvictionCount);
+        metricGroup.gauge("Jdbc_Lookup_Cache_Load_Count", (Gauge<Long>) cache::getLoadCount);
+        metricGroup.gauge(
+                "Jdbc_Lookup_Cache_Average_Load_Time",
+                (Gauge<Double>)
+                        () -> {
+                            long loads = cache.getLoadCount();
+                            return loads == 0
+                                    ? 0.0
+                                    : cache.getTotalLoadTimeNanos() / 1_000_000.0 / loads;
+                        });
+    }
+
+    /** Reloads the value of a cached key in the background. */
+    @FunctionalInterface
+    interface Reloader<K, V> {
+
+        /**
+         * Starts to reload the value of the key, must not block on the database.
+         *
+         * @return future completed with the new value of the key, or with null if the key should
+         *     not be cached anymore. Null if the key cannot be reloaded right now, it is then
+         *     reloaded on a later access.
+         */
+        @Nullable
+        CompletableFuture<V> reload(K key) throws Exception;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.internal.lookup;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.binary.BinaryStringData;
+import org.apache.flink.table.data.binary.BinaryStringDataUtil;
+import org.apache.flink.table.types.logical.LogicalType;
+
+import org.apache.flink.shaded.guava30.com.google.common.hash.BloomFilter;
+import org.apache.flink.shaded.guava30.com.google.common.hash.Funnel;
+import org.apache.flink.shaded.guava30.com.google.common.hash.PrimitiveSink;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * An immutable bloom filter of the lookup keys of a JDBC table. It never rejects a key which was
+ * added to it, and rejects keys which were not added with the configured false positive
+ * probability.
+ *
+ * <p>Keys are hashed by their field values, so binary and generic key rows with the same values
+ * hash to the same bits. Strings are hashed as they are, unless the filter ignores case and
+ * trailing spaces for databases which compare them padded or case insensitively, so that it does
+ * not reject keys the database finds. Other collation rules, e.g. accent insensitive ones, are not
+ * covered.
+ */
+@Internal
+@ThreadSafe
+public class LookupKeyFilter {
+
+    private final BloomFilter<RowData> bloomFilter;
+
+    private final long loadTimestamp;
+
+    private LookupKeyFilter(BloomFilter<RowData> bloomFilter, long loadTimestamp) {
+        this.bloomFilter = bloomFilter;
+        this.loadTimestamp = loadTimestamp;
+    }
+
+    /** Returns false if the key is definitely not in the table. */
+    public boolean mightContain(RowData key) {
+        return bloomFilter.mightContain(key);
+    }
+
+    /** Returns the estimated number of distinct keys added to this filter. */
+    public long getApproximateKeyCount() {
+        return bloomFilter.approximateElementCount();
+    }
+
+    /**
+     * Returns the time in mills when the keys started to be loaded into this filter, keys added to
+     * the table afterwards may be rejected.
+     */
+    public long getLoadTimestamp() {
+        return loadTimestamp;
+    }
+
+    /** Builder of a {@link LookupKeyFilter}, it is not thread safe. */
+    public static class Builder {
+
+        private final BloomFilter<RowData> bloomFilter;
+
+        private final long loadTimestamp;
+
+        /**
+         * @param keyTypes types of the fields of the key rows
+         * @param expectedKeys expected number of keys, more keys raise the false positive rate
+         * @param fpp expected false positive probability
+         * @param ignoreCaseAndTrailingSpaces whether strings are hashed in lower case and without
+         *     trailing spaces
+         */
+        public Builder(
+                LogicalType[] keyTypes,
+                long expectedKeys,
+                double fpp,
+                boolean ignoreCaseAndTrailingSpaces) {
+            checkArgument(fpp > 0 && fpp < 1, "The false positive probability must be in (0, 1).");
+            this.bloomFilter =
+                    BloomFilter.create(
+                            new KeyFunnel(keyTypes, ignoreCaseAndTrailingSpaces),
+                            Math.max(expectedKeys, 1),
+                            fpp);
+            this.loadTimestamp = System.currentTimeMillis();
+        }
+
+        /** Adds a key of the table. */
+        public void add(RowData key) {
+            bloomFilter.put(key);
+        }
+
+        /** Finishes the filter, the builder must not be used afterwards. */
+        public LookupKeyFilter build() {
+            return new LookupKeyFilter(bloomFilter, loadTimestamp);
+        }
+    }
+
+    /** Feeds the field values of a key row into the hash of the bloom filter. */
+    private static class KeyFunnel implements Funnel<RowData> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final RowData.FieldGetter[] fieldGetters;
+
+        private final boolean ignoreCaseAndTrailingSpaces;
+
+        private KeyFunnel(LogicalType[] keyTypes, boolean ignoreCaseAndTrailingSpaces) {
+            this.ignoreCaseAndTrailingSpaces = ignoreCaseAndTrailingSpaces;
+            this.fieldGetters = new RowData.FieldGetter[keyTypes.length];
+            for (int i = 0; i < keyTypes.length; i++) {
+                fieldGetters[i] = RowData.createFieldGetter(keyTypes[i], i);
+            }
+        }
+
+        @Override
+        public void funnel(RowData key, PrimitiveSink into) {
+            for (RowData.FieldGetter fieldGetter : fieldGetters) {
+                Object value = fieldGetter.getFieldOrNull(key);
+                if (value == null) {
+                    into.putByte((byte) 0);
+                } else if (value instanceof Long
+                        || value instanceof Integer
+                        || value instanceof Short
+                        || value instanceof Byte) {
+                    into.putByte((byte) 1).putLong(((Number) value).longValue());
+                } else if (value instanceof BinaryStringData) {
+                    BinaryStringData string = (BinaryStringData) value;
+                    if (ignoreCaseAndTrailingSpaces) {
+                        string = BinaryStringDataUtil.trimRight(string).toLowerCase();
+                    }
+                    byte[] bytes = string.toBytes();
+                    into.putByte((byte) 2).putInt(bytes.length).putBytes(bytes);
+                } else {
+                    // the other internal data structures hash their values
+                    into.putByte((byte) 3).putInt(value.hashCode());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.internal.lookup;
+
+import org.apache.flink.annotation.Internal;
+
+import org.apache.flink.shaded.guava30.com.google.common.cache.Cache;
+import org.apache.flink.shaded.guava30.com.google.common.cache.CacheBuilder;
+
+import javax.annotation.Nullable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/** A {@link LookupCache} which evicts the least recently used keys, backed by a Guava cache. */
+@Internal
+public class LruLookupCache<K, V> implements LookupCache<K, V> {
+
+    private final Cache<K, V> cache;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder totalLoadTimeNanos = new LongAdder();
+
+    public LruLookupCache(long maximumSize, long expireAfterWriteMs) {
+        this.cache =
+                CacheBuilder.newBuilder()
+                        .expireAfterWrite(expireAfterWriteMs, TimeUnit.MILLISECONDS)
+                        .maximumSize(maximumSize)
+                        .removalListener(
+                                notification -> {
+                                    if (notification.wasEvicted()) {
+                                        evictionCount.increment();
+                                    }
+                                })
+                        .build();
+    }
+
+    @Nullable
+    @Override
+    public V getIfPresent(K key) {
+        V value = cache.getIfPresent(key);
+        if (value == null) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+        }
+        return value;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        cache.put(key, value);
+    }
+
+    @Override
+    public long size() {
+        return cache.size();
+    }
+
+    @Override
+    public void cleanUp() {
+        cache.cleanUp();
+    }
+
+    @Override
+    public void recordLoad(long loadTimeNanos) {
+        loadCount.increment();
+        totalLoadTimeNanos.add(loadTimeNanos);
+    }
+
+    @Override
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    @Override
+    public long getLoadCount() {
+        return loadCount.sum();
+    }
+
+    @Override
+    public long getTotalLoadTimeNanos() {
+        return totalLoadTimeNanos.sum();
+    }
+}
@@ -0,0 +1,494 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.internal.lookup;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.annotation.VisibleForTesting;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * A {@link LookupCache} with the W-TinyLFU eviction policy.
+ *
+ * <p>New keys enter a small LRU window. Keys leaving the window compete with the least recently
+ * used key of the main space for admission, the key with the lower access frequency estimated by a
+ * {@link FrequencySketch} is evicted. The main space is a segmented LRU whose protected segment
+ * holds the keys accessed again after their admission. Skewed key distributions therefore keep
+ * their frequent keys cached even when many rare keys pass through the cache.
+ *
+ * <p>Values are read from a {@link ConcurrentHashMap} without locking. The policy is split into
+ * shards by key hash, each guarded by its own lock. Reads only update the policy if the lock of
+ * their shard is free, so concurrent reads never wait for each other at the price of a few lost
+ * frequency samples.
+ *
+ * <p>With a refresh interval, a read of a key written before the interval returns the cached value
+ * and reloads the key in the background, so frequently read keys are kept fresh without blocking
+ * the lookup on the database when they expire.
+ */
+@Internal
+@ThreadSafe
+public class TinyLfuLookupCache<K, V> implements LookupCache<K, V> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TinyLfuLookupCache.class);
+
+    private static final int MAX_SHARDS = 16;
+
+    /** Min number of keys of a shard, smaller shards would make the admission too coarse. */
+    private static final long MIN_SHARD_SIZE = 1024;
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+    private static final int REMOVED = 3;
+
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final Shard<K, V>[] shards;
+    private final int shardMask;
+    private final long expireAfterWriteNanos;
+    private final long refreshAfterWriteNanos;
+    @Nullable private final Reloader<K, V> reloader;
+    private final LongSupplier ticker;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder totalLoadTimeNanos = new LongAdder();
+
+    public TinyLfuLookupCache(
+            long maximumSize,
+            long expireAfterWriteMs,
+            long refreshAfterWriteMs,
+            @Nullable Reloader<K, V> reloader) {
+        this(maximumSize, expireAfterWriteMs, refreshAfterWriteMs, reloader, System::nanoTime);
+    }
+
+    @SuppressWarnings("unchecked")
+    @VisibleForTesting
+    TinyLfuLookupCache(
+            long maximumSize,
+            long expireAfterWriteMs,
+            long refreshAfterWriteMs,
+            @Nullable Reloader<K, V> reloader,
+            LongSupplier ticker) {
+        checkArgument(maximumSize > 0, "The max size of the cache must be positive.");
+        checkArgument(expireAfterWriteMs > 0, "The expiration time must be positive.");
+        checkArgument(
+                refreshAfterWriteMs < 0 || reloader != null,
+                "Refreshing keys requires a reloader.");
+        this.expireAfterWriteNanos = TimeUnit.MILLISECONDS.toNanos(expireAfterWriteMs);
+        this.refreshAfterWriteNanos =
+                refreshAfterWriteMs < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(refreshAfterWriteMs);
+        this.reloader = reloader;
+        this.ticker = ticker;
+
+        int numShards = 1;
+        while (numShards < MAX_SHARDS && maximumSize / (numShards * 2L) >= MIN_SHARD_SIZE) {
+            numShards <<= 1;
+        }
+        this.shards = new Shard[numShards];
+        this.shardMask = numShards - 1;
+        for (int i = 0; i < numShards; i++) {
+            // the remainder of the max size is spread over the first shards
+            shards[i] =
+                    new Shard<>(maximumSize / numShards + (i < maximumSize % numShards ? 1 : 0));
+        }
+    }
+
+    @Nullable
+    @Override
+    public V getIfPresent(K key) {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            missCount.increment();
+            return null;
+        }
+        V value = node.value;
+        long writeTime = node.writeTime;
+        long now = ticker.getAsLong();
+        Shard<K, V> shard = shardOf(node.hash);
+        if (now - writeTime >= expireAfterWriteNanos) {
+            missCount.increment();
+            if (shard.lock.tryLock()) {
+                try {
+                    if (node.queue != REMOVED && node.writeTime == writeTime) {
+                        evict(shard, node);
+                    }
+                } finally {
+                    shard.lock.unlock();
+                }
+            }
+            return null;
+        }
+
+        hitCount.increment();
+        // the access is only recorded if it does not need to wait for the lock
+        if (shard.lock.tryLock()) {
+            try {
+                if (node.queue != REMOVED) {
+                    shard.onAccess(node);
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        if (refreshAfterWriteNanos >= 0
+                && now - writeTime >= refreshAfterWriteNanos
+                && node.refreshing.compareAndSet(false, true)) {
+            refresh(shard, node);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        int hash = spread(key.hashCode());
+        Shard<K, V> shard = shardOf(hash);
+        shard.lock.lock();
+        try {
+            long now = ticker.getAsLong();
+            Node<K, V> node = data.get(key);
+            if (node != null) {
+                node.value = value;
+                node.writeTime = now;
+                shard.onAccess(node);
+                return;
+            }
+            node = new Node<>(key, hash, value, now);
+            data.put(key, node);
+            shard.add(node);
+            while (shard.size > shard.maximum) {
+                evict(shard, shard.selectVictim());
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /** Reloads the key in the background, the cached value is returned until it is replaced. */
+    private void refresh(Shard<K, V> shard, Node<K, V> node) {
+        CompletableFuture<V> future;
+        try {
+            future = reloader.reload(node.key);
+        } catch (Exception e) {
+            LOG.warn("Refresh of lookup key {} failed.", node.key, e);
+            node.refreshing.set(false);
+            return;
+        }
+        if (future == null) {
+            // the reloader is busy, the key is refreshed on a later access
+            node.refreshing.set(false);
+            return;
+        }
+        future.whenComplete(
+                (value, throwable) -> {
+                    if (throwable != null) {
+                        LOG.warn(
+                                "Refresh of lookup key {} failed, the cached value is kept "
+                                        + "until it expires.",
+                                node.key,
+                                throwable);
+                        node.refreshing.set(false);
+                        return;
+                    }
+                    shard.lock.lock();
+                    try {
+                        // keys evicted while they were reloaded stay evicted
+                        if (node.queue != REMOVED) {
+                            if (value == null) {
+                                shard.remove(node);
+                                data.remove(node.key, node);
+                            } else {
+                                node.value = value;
+                                node.writeTime = ticker.getAsLong();
+                            }
+                        }
+                        node.refreshing.set(false);
+                    } finally {
+                        shard.lock.unlock();
+                    }
+                });
+    }
+
+    @GuardedBy("shard.lock")
+    private void evict(Shard<K, V> shard, Node<K, V> node) {
+        shard.remove(node);
+        data.remove(node.key, node);
+        evictionCount.increment();
+    }
+
+    @Override
+    public long size() {
+        return data.size();
+    }
+
+    @Override
+    public void cleanUp() {
+        long now = ticker.getAsLong();
+        for (Shard<K, V> shard : shards) {
+            shard.lock.lock();
+            try {
+                for (AccessQueue<K, V> queue :
+                        new AccessQueue[] {shard.window, shard.probation, shard.protectedQueue}) {
+                    Node<K, V> node = queue.head.next;
+                    while (node != queue.head) {
+                        Node<K, V> next = node.next;
+                        if (now - node.writeTime >= expireAfterWriteNanos) {
+                            evict(shard, node);
+                        }
+                        node = next;
+                    }
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void recordLoad(long loadTimeNanos) {
+        loadCount.increment();
+        totalLoadTimeNanos.add(loadTimeNanos);
+    }
+
+    @Override
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    @Override
+    public long getLoadCount() {
+        return loadCount.sum();
+    }
+
+    @Override
+    public long getTotalLoadTimeNanos() {
+        return totalLoadTimeNanos.sum();
+    }
+
+    @VisibleForTesting
+    int getNumberOfShards() {
+        return shards.length;
+    }
+
+    private Shard<K, V> shardOf(int hash) {
+        return shards[(hash >>> 16) & shardMask];
+    }
+
+    private static int spread(int hashCode) {
+        int h = hashCode * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+
+    // ------------------------------------------------------------------------------------------
+
+    /** The eviction policy of the keys of a shard, guarded by the lock of the shard. */
+    private static final class Shard<K, V> {
+
+        final ReentrantLock lock = new ReentrantLock();
+        final long maximum;
+        final long windowMaximum;
+        final long protectedMaximum;
+        final FrequencySketch sketch;
+
+        final AccessQueue<K, V> window = new AccessQueue<>();
+        final AccessQueue<K, V> probation = new AccessQueue<>();
+        final AccessQueue<K, V> protectedQueue = new AccessQueue<>();
+
+        long size;
+        long windowSize;
+        long protectedSize;
+
+        Shard(long maximum) {
+            this.maximum = maximum;
+            // 1% of the keys are in the window and 80% of the main space is protected
+            this.windowMaximum = Math.max(1, maximum / 100);
+            this.protectedMaximum = (long) ((maximum - windowMaximum) * 0.8);
+            this.sketch = new FrequencySketch(maximum);
+        }
+
+        /** Adds a new key to the window, keys overflowing the window move to probation. */
+        void add(Node<K, V> node) {
+            sketch.increment(node.hash);
+            node.queue = WINDOW;
+            window.addLast(node);
+            windowSize++;
+            size++;
+            while (windowSize > windowMaximum) {
+                Node<K, V> candidate = window.first();
+                window.remove(candidate);
+                windowSize--;
+                candidate.queue = PROBATION;
+                probation.addLast(candidate);
+            }
+        }
+
+        void onAccess(Node<K, V> node) {
+            sketch.increment(node.hash);
+            switch (node.queue) {
+                case WINDOW:
+                    window.moveToLast(node);
+                    break;
+                case PROBATION:
+                    probation.remove(node);
+                    node.queue = PROTECTED;
+                    protectedQueue.addLast(node);
+                    protectedSize++;
+                    if (protectedSize > protectedMaximum) {
+                        Node<K, V> demoted = protectedQueue.first();
+                        protectedQueue.remove(demoted);
+                        protectedSize--;
+                        demoted.queue = PROBATION;
+                        probation.addLast(demoted);
+                    }
+                    break;
+                case PROTECTED:
+                    protectedQueue.moveToLast(node);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        /**
+         * Selects the key to evict. The most recent candidate of probation, which has just left the
+         * window, is admitted if it is estimated to be accessed more often than the least recently
+         * used key of probation.
+         */
+        Node<K, V> selectVictim() {
+            Node<K, V> victim = probation.first();
+            if (victim == null) {
+                return protectedQueue.first() != null ? protectedQueue.first() : window.first();
+            }
+            Node<K, V> candidate = probation.last();
+            if (candidate == victim) {
+                return victim;
+            }
+            return sketch.frequency(candidate.hash) > sketch.frequency(victim.hash)
+                    ? victim
+                    : candidate;
+        }
+
+        void remove(Node<K, V> node) {
+            switch (node.queue) {
+                case WINDOW:
+                    window.remove(node);
+                    windowSize--;
+                    break;
+                case PROBATION:
+                    probation.remove(node);
+                    break;
+                case PROTECTED:
+                    protectedQueue.remove(node);
+                    protectedSize--;
+                    break;
+                default:
+                    return;
+            }
+            node.queue = REMOVED;
+            size--;
+        }
+    }
+
+    /** A doubly linked list of nodes in access order, the first node is least recently used. */
+    private static final class AccessQueue<K, V> {
+
+        final Node<K, V> head = new Node<>(null, 0, null, 0);
+
+        AccessQueue() {
+            head.prev = head;
+            head.next = head;
+        }
+
+        @Nullable
+        Node<K, V> first() {
+            return head.next == head ? null : head.next;
+        }
+
+        @Nullable
+        Node<K, V> last() {
+            return head.prev == head ? null : head.prev;
+        }
+
+        void addLast(Node<K, V> node) {
+            node.prev = head.prev;
+            node.next = head;
+            head.prev.next = node;
+            head.prev = node;
+        }
+
+        void remove(Node<K, V> node) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+        }
+
+        void moveToLast(Node<K, V> node) {
+            remove(node);
+            addLast(node);
+        }
+    }
+
+    /** A cached key, its value is read without lock and its position is guarded by its shard. */
+    private static final class Node<K, V> {
+
+        final K key;
+        final int hash;
+        final AtomicBoolean refreshing = new AtomicBoolean();
+        volatile V value;
+        volatile long writeTime;
+
+        int queue;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, int hash, V value, long writeTime) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+            this.writeTime = writeTime;
+        }
+    }
+}
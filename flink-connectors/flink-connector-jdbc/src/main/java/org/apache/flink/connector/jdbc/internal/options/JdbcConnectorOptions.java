@@ -20,8 +20,11 @@ package org.apache.flink.connector.jdbc.internal.options;
 
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.connector.jdbc.JdbcConnectionOptions;
+import org.apache.flink.connector.jdbc.converter.AbstractJdbcRowConverter;
+import org.apache.flink.connector.jdbc.converter.JdbcRowConverter;
 import org.apache.flink.connector.jdbc.dialect.JdbcDialect;
 import org.apache.flink.connector.jdbc.dialect.JdbcDialectLoader;
+import org.apache.flink.table.types.logical.RowType;
 
 import javax.annotation.Nullable;
 
@@ -39,6 +42,7 @@ public class JdbcConnectorOptions extends JdbcConnectionOptions {
     private final String tableName;
     private final JdbcDialect dialect;
     private final @Nullable Integer parallelism;
+    private final boolean rowConverterCodeGeneration;
 
     private JdbcConnectorOptions(
             String dbURL,
@@ -48,11 +52,13 @@ public class JdbcConnectorOptions extends JdbcConnectionOptions {
             @Nullable String password,
             JdbcDialect dialect,
             @Nullable Integer parallelism,
-            int connectionCheckTimeoutSeconds) {
+            int connectionCheckTimeoutSeconds,
+            boolean rowConverterCodeGeneration) {
         super(dbURL, driverName, username, password, connectionCheckTimeoutSeconds);
         this.tableName = tableName;
         this.dialect = dialect;
         this.parallelism = parallelism;
+        this.rowConverterCodeGeneration = rowConverterCodeGeneration;
     }
 
     public String getTableName() {
@@ -67,6 +73,22 @@ public class JdbcConnectorOptions extends JdbcConnectionOptions {
         return parallelism;
     }
 
+    public boolean isRowConverterCodeGeneration() {
+        return rowConverterCodeGeneration;
+    }
+
+    /**
+     * Creates the row converter of the dialect for reading rows of the given type, which converts
+     * rows with generated code if {@link #isRowConverterCodeGeneration()}.
+     */
+    public JdbcRowConverter createReadRowConverter(RowType rowType) {
+        JdbcRowConverter rowConverter = dialect.getRowConverter(rowType);
+        if (rowConverterCodeGeneration && rowConverter instanceof AbstractJdbcRowConverter) {
+            ((AbstractJdbcRowConverter) rowConverter).enableGeneratedConversion();
+        }
+        return rowConverter;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -84,7 +106,8 @@ public class JdbcConnectorOptions extends JdbcConnectionOptions {
                             dialect.getClass().getName(), options.dialect.getClass().getName())
                     && Objects.equals(parallelism, options.parallelism)
                     && Objects.equals(
-                            connectionCheckTimeoutSeconds, options.connectionCheckTimeoutSeconds);
+                            connectionCheckTimeoutSeconds, options.connectionCheckTimeoutSeconds)
+                    && rowConverterCodeGeneration == options.rowConverterCodeGeneration;
         } else {
             return false;
         }
@@ -100,7 +123,8 @@ public class JdbcConnectorOptions extends JdbcConnectionOptions {
                 password,
                 dialect.getClass().getName(),
                 parallelism,
-                connectionCheckTimeoutSeconds);
+                connectionCheckTimeoutSeconds,
+                rowConverterCodeGeneration);
     }
 
     /** Builder of {@link JdbcConnectorOptions}. */
@@ -113,6 +137,7 @@ public class JdbcConnectorOptions extends JdbcConnectionOptions {
         private JdbcDialect dialect;
         private Integer parallelism;
         private int connectionCheckTimeoutSeconds = 60;
+        private boolean rowConverterCodeGeneration;
 
         /** required, table name. */
         public Builder setTableName(String tableName) {
@@ -167,6 +192,12 @@ public class JdbcConnectorOptions extends JdbcConnectionOptions {
             return this;
         }
 
+        /** optional, whether read rows are converted by generated code, false by default. */
+        public Builder setRowConverterCodeGeneration(boolean rowConverterCodeGeneration) {
+            this.rowConverterCodeGeneration = rowConverterCodeGeneration;
+            return this;
+        }
+
         public JdbcConnectorOptions build() {
             checkNotNull(dbURL, "No dbURL supplied.");
             checkNotNull(tableName, "No tableName supplied.");
@@ -188,7 +219,8 @@ public class JdbcConnectorOptions extends JdbcConnectionOptions {
                     password,
                     dialect,
                     parallelism,
-                    connectionCheckTimeoutSeconds);
+                    connectionCheckTimeoutSeconds,
+                    rowConverterCodeGeneration);
         }
     }
 }
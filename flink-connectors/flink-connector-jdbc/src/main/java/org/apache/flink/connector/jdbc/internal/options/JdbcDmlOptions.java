@@ -36,6 +36,8 @@ public class JdbcDmlOptions extends JdbcTypedQueryOptions {
     @Nullable private final String[] keyFields;
     private final String tableName;
     private final JdbcDialect dialect;
+    private final boolean bulkCopy;
+    private final int maxRowsPerStatement;
 
     public static JdbcDmlOptionsBuilder builder() {
         return new JdbcDmlOptionsBuilder();
@@ -46,12 +48,16 @@ public class JdbcDmlOptions extends JdbcTypedQueryOptions {
             JdbcDialect dialect,
             String[] fieldNames,
             int[] fieldTypes,
-            String[] keyFields) {
+            String[] keyFields,
+            boolean bulkCopy,
+            int maxRowsPerStatement) {
         super(fieldTypes);
         this.tableName = Preconditions.checkNotNull(tableName, "table is empty");
         this.dialect = Preconditions.checkNotNull(dialect, "dialect is empty");
         this.fieldNames = Preconditions.checkNotNull(fieldNames, "field names is empty");
         this.keyFields = keyFields;
+        this.bulkCopy = bulkCopy;
+        this.maxRowsPerStatement = maxRowsPerStatement;
     }
 
     public String getTableName() {
@@ -70,6 +76,16 @@ public class JdbcDmlOptions extends JdbcTypedQueryOptions {
         return Optional.ofNullable(keyFields);
     }
 
+    /** Whether append-only records are bulk loaded with the copy statement of the dialect. */
+    public boolean isBulkCopy() {
+        return bulkCopy;
+    }
+
+    /** The max number of rows written by a single multi-row statement, 1 disables them. */
+    public int getMaxRowsPerStatement() {
+        return maxRowsPerStatement;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -82,12 +98,14 @@ public class JdbcDmlOptions extends JdbcTypedQueryOptions {
         return Arrays.equals(fieldNames, that.fieldNames)
                 && Arrays.equals(keyFields, that.keyFields)
                 && Objects.equals(tableName, that.tableName)
-                && Objects.equals(dialect.dialectName(), that.dialect.dialectName());
+                && Objects.equals(dialect.dialectName(), that.dialect.dialectName())
+                && bulkCopy == that.bulkCopy
+                && maxRowsPerStatement == that.maxRowsPerStatement;
     }
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(tableName, dialect.dialectName());
+        int result = Objects.hash(tableName, dialect.dialectName(), bulkCopy, maxRowsPerStatement);
         result = 31 * result + Arrays.hashCode(fieldNames);
         result = 31 * result + Arrays.hashCode(keyFields);
         return result;
@@ -100,6 +118,8 @@ public class JdbcDmlOptions extends JdbcTypedQueryOptions {
         private String[] fieldNames;
         private String[] keyFields;
         private JdbcDialect dialect;
+        private boolean bulkCopy;
+        private int maxRowsPerStatement = 1;
 
         @Override
         protected JdbcDmlOptionsBuilder self() {
@@ -136,8 +156,25 @@ public class JdbcDmlOptions extends JdbcTypedQueryOptions {
             return self();
         }
 
+        public JdbcDmlOptionsBuilder withBulkCopy(boolean bulkCopy) {
+            this.bulkCopy = bulkCopy;
+            return self();
+        }
+
+        public JdbcDmlOptionsBuilder withMaxRowsPerStatement(int maxRowsPerStatement) {
+            this.maxRowsPerStatement = maxRowsPerStatement;
+            return self();
+        }
+
         public JdbcDmlOptions build() {
-            return new JdbcDmlOptions(tableName, dialect, fieldNames, fieldTypes, keyFields);
+            return new JdbcDmlOptions(
+                    tableName,
+                    dialect,
+                    fieldNames,
+                    fieldTypes,
+                    keyFields,
+                    bulkCopy,
+                    maxRowsPerStatement);
         }
 
         static String[] concat(String first, String... next) {
@@ -19,9 +19,15 @@
 package org.apache.flink.connector.jdbc.internal.options;
 
 import org.apache.flink.connector.jdbc.JdbcExecutionOptions;
+import org.apache.flink.connector.jdbc.table.LookupCacheAllStorage;
+import org.apache.flink.connector.jdbc.table.LookupCachePolicy;
+
+import javax.annotation.Nullable;
 
 import java.io.Serializable;
+import java.time.Duration;
 import java.util.Objects;
+import java.util.Optional;
 
 /** Options for the JDBC lookup. */
 public class JdbcLookupOptions implements Serializable {
@@ -31,23 +37,111 @@ public class JdbcLookupOptions implements Serializable {
     private final int maxRetryTimes;
     private final boolean cacheMissingKey;
 
+    private final LookupCachePolicy cachePolicy;
+
+    private final long cacheRefreshAfterWriteMs;
+
     private final boolean cacheAll;
 
     private final String cacheAllCron;
 
+    private final LookupCacheAllStorage cacheAllStorage;
+
+    @Nullable private final String cacheAllIncrementalColumn;
+
+    private final long cacheAllFullReloadIntervalMs;
+
+    @Nullable private final String cacheAllPartitionColumn;
+
+    private final int cacheAllPartitionNum;
+
+    private final int cacheAllPartitionParallelism;
+
+    private final boolean cacheAllKeyPartitioned;
+
+    private final boolean async;
+
+    private final int asyncPoolSize;
+
+    private final int asyncMaxInFlight;
+
+    private final int asyncBatchSize;
+
+    private final long asyncBatchIntervalMs;
+
+    @Nullable private final String cacheAllSnapshotDir;
+
+    private final int cacheAllRefreshMaxConcurrency;
+
+    private final long cacheAllRefreshJitterMs;
+
+    private final boolean bloomFilter;
+
+    private final double bloomFilterFpp;
+
+    @Nullable private final String bloomFilterCron;
+
+    private final long bloomFilterMaxStalenessMs;
+
+    private final boolean bloomFilterIgnoreCaseAndTrailingSpaces;
+
     public JdbcLookupOptions(
             long cacheMaxSize,
             long cacheExpireMs,
             int maxRetryTimes,
             boolean cacheMissingKey,
             boolean cacheAll,
-            String cacheAllCron) {
+            String cacheAllCron,
+            LookupCacheAllStorage cacheAllStorage,
+            @Nullable String cacheAllIncrementalColumn,
+            long cacheAllFullReloadIntervalMs,
+            @Nullable String cacheAllPartitionColumn,
+            int cacheAllPartitionNum,
+            int cacheAllPartitionParallelism,
+            boolean cacheAllKeyPartitioned,
+            boolean async,
+            int asyncPoolSize,
+            int asyncMaxInFlight,
+            int asyncBatchSize,
+            long asyncBatchIntervalMs,
+            @Nullable String cacheAllSnapshotDir,
+            int cacheAllRefreshMaxConcurrency,
+            long cacheAllRefreshJitterMs,
+            LookupCachePolicy cachePolicy,
+            long cacheRefreshAfterWriteMs,
+            boolean bloomFilter,
+            double bloomFilterFpp,
+            @Nullable String bloomFilterCron,
+            long bloomFilterMaxStalenessMs,
+            boolean bloomFilterIgnoreCaseAndTrailingSpaces) {
         this.cacheMaxSize = cacheMaxSize;
         this.cacheExpireMs = cacheExpireMs;
         this.maxRetryTimes = maxRetryTimes;
         this.cacheMissingKey = cacheMissingKey;
         this.cacheAll = cacheAll;
         this.cacheAllCron = cacheAllCron;
+        this.cacheAllStorage = cacheAllStorage;
+        this.cacheAllIncrementalColumn = cacheAllIncrementalColumn;
+        this.cacheAllFullReloadIntervalMs = cacheAllFullReloadIntervalMs;
+        this.cacheAllPartitionColumn = cacheAllPartitionColumn;
+        this.cacheAllPartitionNum = cacheAllPartitionNum;
+        this.cacheAllPartitionParallelism = cacheAllPartitionParallelism;
+        this.cacheAllKeyPartitioned = cacheAllKeyPartitioned;
+        this.async = async;
+        this.asyncPoolSize = asyncPoolSize;
+        this.asyncMaxInFlight = asyncMaxInFlight;
+        this.asyncBatchSize = asyncBatchSize;
+        this.asyncBatchIntervalMs = asyncBatchIntervalMs;
+        this.cacheAllSnapshotDir = cacheAllSnapshotDir;
+        this.cacheAllRefreshMaxConcurrency = cacheAllRefreshMaxConcurrency;
+        this.cacheAllRefreshJitterMs = cacheAllRefreshJitterMs;
+        this.cachePolicy = cachePolicy;
+        this.cacheRefreshAfterWriteMs = cacheRefreshAfterWriteMs;
+        this.bloomFilter = bloomFilter;
+        this.bloomFilterFpp = bloomFilterFpp;
+        this.bloomFilterCron = bloomFilterCron;
+        this.bloomFilterMaxStalenessMs = bloomFilterMaxStalenessMs;
+        this.bloomFilterIgnoreCaseAndTrailingSpaces = bloomFilterIgnoreCaseAndTrailingSpaces;
     }
 
     public long getCacheMaxSize() {
@@ -66,6 +160,14 @@ public class JdbcLookupOptions implements Serializable {
         return cacheMissingKey;
     }
 
+    public LookupCachePolicy getCachePolicy() {
+        return cachePolicy;
+    }
+
+    public long getCacheRefreshAfterWriteMs() {
+        return cacheRefreshAfterWriteMs;
+    }
+
     public boolean isCacheAll() {
         return cacheAll;
     }
@@ -74,6 +176,86 @@ public class JdbcLookupOptions implements Serializable {
         return cacheAllCron;
     }
 
+    public LookupCacheAllStorage getCacheAllStorage() {
+        return cacheAllStorage;
+    }
+
+    public Optional<String> getCacheAllIncrementalColumn() {
+        return Optional.ofNullable(cacheAllIncrementalColumn);
+    }
+
+    public long getCacheAllFullReloadIntervalMs() {
+        return cacheAllFullReloadIntervalMs;
+    }
+
+    public Optional<String> getCacheAllPartitionColumn() {
+        return Optional.ofNullable(cacheAllPartitionColumn);
+    }
+
+    public int getCacheAllPartitionNum() {
+        return cacheAllPartitionNum;
+    }
+
+    public int getCacheAllPartitionParallelism() {
+        return cacheAllPartitionParallelism;
+    }
+
+    public boolean isCacheAllKeyPartitioned() {
+        return cacheAllKeyPartitioned;
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    public int getAsyncPoolSize() {
+        return asyncPoolSize;
+    }
+
+    public int getAsyncMaxInFlight() {
+        return asyncMaxInFlight;
+    }
+
+    public int getAsyncBatchSize() {
+        return asyncBatchSize;
+    }
+
+    public long getAsyncBatchIntervalMs() {
+        return asyncBatchIntervalMs;
+    }
+
+    public Optional<String> getCacheAllSnapshotDir() {
+        return Optional.ofNullable(cacheAllSnapshotDir);
+    }
+
+    public int getCacheAllRefreshMaxConcurrency() {
+        return cacheAllRefreshMaxConcurrency;
+    }
+
+    public long getCacheAllRefreshJitterMs() {
+        return cacheAllRefreshJitterMs;
+    }
+
+    public boolean isBloomFilter() {
+        return bloomFilter;
+    }
+
+    public double getBloomFilterFpp() {
+        return bloomFilterFpp;
+    }
+
+    public Optional<String> getBloomFilterCron() {
+        return Optional.ofNullable(bloomFilterCron);
+    }
+
+    public long getBloomFilterMaxStalenessMs() {
+        return bloomFilterMaxStalenessMs;
+    }
+
+    public boolean isBloomFilterIgnoreCaseAndTrailingSpaces() {
+        return bloomFilterIgnoreCaseAndTrailingSpaces;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -86,7 +268,35 @@ public class JdbcLookupOptions implements Serializable {
                     && Objects.equals(cacheExpireMs, options.cacheExpireMs)
                     && Objects.equals(maxRetryTimes, options.maxRetryTimes)
                     && Objects.equals(cacheMissingKey, options.cacheMissingKey)
-                    && Objects.equals(cacheAll, options.cacheAll);
+                    && Objects.equals(cacheAll, options.cacheAll)
+                    && Objects.equals(cacheAllCron, options.cacheAllCron)
+                    && Objects.equals(cacheAllStorage, options.cacheAllStorage)
+                    && Objects.equals(cacheAllIncrementalColumn, options.cacheAllIncrementalColumn)
+                    && Objects.equals(
+                            cacheAllFullReloadIntervalMs, options.cacheAllFullReloadIntervalMs)
+                    && Objects.equals(cacheAllPartitionColumn, options.cacheAllPartitionColumn)
+                    && Objects.equals(cacheAllPartitionNum, options.cacheAllPartitionNum)
+                    && Objects.equals(
+                            cacheAllPartitionParallelism, options.cacheAllPartitionParallelism)
+                    && Objects.equals(cacheAllKeyPartitioned, options.cacheAllKeyPartitioned)
+                    && Objects.equals(async, options.async)
+                    && Objects.equals(asyncPoolSize, options.asyncPoolSize)
+                    && Objects.equals(asyncMaxInFlight, options.asyncMaxInFlight)
+                    && Objects.equals(asyncBatchSize, options.asyncBatchSize)
+                    && Objects.equals(asyncBatchIntervalMs, options.asyncBatchIntervalMs)
+                    && Objects.equals(cacheAllSnapshotDir, options.cacheAllSnapshotDir)
+                    && Objects.equals(
+                            cacheAllRefreshMaxConcurrency, options.cacheAllRefreshMaxConcurrency)
+                    && Objects.equals(cacheAllRefreshJitterMs, options.cacheAllRefreshJitterMs)
+                    && Objects.equals(cachePolicy, options.cachePolicy)
+                    && Objects.equals(cacheRefreshAfterWriteMs, options.cacheRefreshAfterWriteMs)
+                    && Objects.equals(bloomFilter, options.bloomFilter)
+                    && Objects.equals(bloomFilterFpp, options.bloomFilterFpp)
+                    && Objects.equals(bloomFilterCron, options.bloomFilterCron)
+                    && Objects.equals(bloomFilterMaxStalenessMs, options.bloomFilterMaxStalenessMs)
+                    && Objects.equals(
+                            bloomFilterIgnoreCaseAndTrailingSpaces,
+                            options.bloomFilterIgnoreCaseAndTrailingSpaces);
         } else {
             return false;
         }
@@ -99,10 +309,54 @@ public class JdbcLookupOptions implements Serializable {
         private int maxRetryTimes = JdbcExecutionOptions.DEFAULT_MAX_RETRY_TIMES;
         private boolean cacheMissingKey = true;
 
+        private LookupCachePolicy cachePolicy = LookupCachePolicy.LRU;
+
+        private long cacheRefreshAfterWriteMs = -1L;
+
         private boolean cacheAll = false;
 
         private String cacheAllCron;
 
+        private LookupCacheAllStorage cacheAllStorage = LookupCacheAllStorage.HEAP;
+
+        private String cacheAllIncrementalColumn;
+
+        private long cacheAllFullReloadIntervalMs = Duration.ofHours(1).toMillis();
+
+        private String cacheAllPartitionColumn;
+
+        private int cacheAllPartitionNum = 1;
+
+        private int cacheAllPartitionParallelism = 4;
+
+        private boolean cacheAllKeyPartitioned = false;
+
+        private boolean async = false;
+
+        private int asyncPoolSize = 8;
+
+        private int asyncMaxInFlight = 100;
+
+        private int asyncBatchSize = 1;
+
+        private long asyncBatchIntervalMs = 10L;
+
+        private String cacheAllSnapshotDir;
+
+        private int cacheAllRefreshMaxConcurrency = 2;
+
+        private long cacheAllRefreshJitterMs = Duration.ofSeconds(10).toMillis();
+
+        private boolean bloomFilter = false;
+
+        private double bloomFilterFpp = 0.01;
+
+        private String bloomFilterCron;
+
+        private long bloomFilterMaxStalenessMs = Duration.ofHours(1).toMillis();
+
+        private boolean bloomFilterIgnoreCaseAndTrailingSpaces = false;
+
         /** optional, lookup cache max size, over this value, the old data will be eliminated. */
         public Builder setCacheMaxSize(long cacheMaxSize) {
             this.cacheMaxSize = cacheMaxSize;
@@ -127,6 +381,21 @@ public class JdbcLookupOptions implements Serializable {
             return this;
         }
 
+        /** optional, eviction policy of the lookup cache. */
+        public Builder setCachePolicy(LookupCachePolicy cachePolicy) {
+            this.cachePolicy = cachePolicy;
+            return this;
+        }
+
+        /**
+         * optional, lookup cache refresh mills, cached rows read after this time are reloaded in
+         * the background.
+         */
+        public Builder setCacheRefreshAfterWriteMs(long cacheRefreshAfterWriteMs) {
+            this.cacheRefreshAfterWriteMs = cacheRefreshAfterWriteMs;
+            return this;
+        }
+
         public Builder setCacheAll(boolean cacheAll) {
             this.cacheAll = cacheAll;
             return this;
@@ -137,6 +406,132 @@ public class JdbcLookupOptions implements Serializable {
             return this;
         }
 
+        /** optional, storage format of the cache all snapshot. */
+        public Builder setCacheAllStorage(LookupCacheAllStorage cacheAllStorage) {
+            this.cacheAllStorage = cacheAllStorage;
+            return this;
+        }
+
+        /**
+         * optional, version or update time column, if set the cache all refresh only reloads the
+         * changed keys.
+         */
+        public Builder setCacheAllIncrementalColumn(String cacheAllIncrementalColumn) {
+            this.cacheAllIncrementalColumn = cacheAllIncrementalColumn;
+            return this;
+        }
+
+        /** optional, interval of full reloads in incremental cache all refresh mode. */
+        public Builder setCacheAllFullReloadIntervalMs(long cacheAllFullReloadIntervalMs) {
+            this.cacheAllFullReloadIntervalMs = cacheAllFullReloadIntervalMs;
+            return this;
+        }
+
+        /** optional, numeric column to split the full load of the cache all snapshot. */
+        public Builder setCacheAllPartitionColumn(String cacheAllPartitionColumn) {
+            this.cacheAllPartitionColumn = cacheAllPartitionColumn;
+            return this;
+        }
+
+        /** optional, number of range partitions of the full load. */
+        public Builder setCacheAllPartitionNum(int cacheAllPartitionNum) {
+            this.cacheAllPartitionNum = cacheAllPartitionNum;
+            return this;
+        }
+
+        /** optional, max number of partitions loaded concurrently. */
+        public Builder setCacheAllPartitionParallelism(int cacheAllPartitionParallelism) {
+            this.cacheAllPartitionParallelism = cacheAllPartitionParallelism;
+            return this;
+        }
+
+        /** optional, whether each parallel instance only holds the rows of its key partition. */
+        public Builder setCacheAllKeyPartitioned(boolean cacheAllKeyPartitioned) {
+            this.cacheAllKeyPartitioned = cacheAllKeyPartitioned;
+            return this;
+        }
+
+        /** optional, lookup async. */
+        public Builder setAsync(boolean async) {
+            this.async = async;
+            return this;
+        }
+
+        /** optional, max number of connections of the async lookup connection pool. */
+        public Builder setAsyncPoolSize(int asyncPoolSize) {
+            this.asyncPoolSize = asyncPoolSize;
+            return this;
+        }
+
+        /** optional, max number of async lookups queued or running in the connection pool. */
+        public Builder setAsyncMaxInFlight(int asyncMaxInFlight) {
+            this.asyncMaxInFlight = asyncMaxInFlight;
+            return this;
+        }
+
+        /** optional, max number of cache missing keys queried by a single async lookup. */
+        public Builder setAsyncBatchSize(int asyncBatchSize) {
+            this.asyncBatchSize = asyncBatchSize;
+            return this;
+        }
+
+        /** optional, max mills a cache missing key waits for its async lookup batch to fill. */
+        public Builder setAsyncBatchIntervalMs(long asyncBatchIntervalMs) {
+            this.asyncBatchIntervalMs = asyncBatchIntervalMs;
+            return this;
+        }
+
+        /** optional, directory the cache all snapshot is persisted to and restored from. */
+        public Builder setCacheAllSnapshotDir(String cacheAllSnapshotDir) {
+            this.cacheAllSnapshotDir = cacheAllSnapshotDir;
+            return this;
+        }
+
+        /** optional, max number of cache all refreshes running at the same time. */
+        public Builder setCacheAllRefreshMaxConcurrency(int cacheAllRefreshMaxConcurrency) {
+            this.cacheAllRefreshMaxConcurrency = cacheAllRefreshMaxConcurrency;
+            return this;
+        }
+
+        /** optional, window mills the cache all refreshes of all subtasks are staggered over. */
+        public Builder setCacheAllRefreshJitterMs(long cacheAllRefreshJitterMs) {
+            this.cacheAllRefreshJitterMs = cacheAllRefreshJitterMs;
+            return this;
+        }
+
+        /**
+         * optional, whether lookups of keys missing in the table are rejected by a bloom filter.
+         */
+        public Builder setBloomFilter(boolean bloomFilter) {
+            this.bloomFilter = bloomFilter;
+            return this;
+        }
+
+        /** optional, expected false positive probability of the bloom filter. */
+        public Builder setBloomFilterFpp(double bloomFilterFpp) {
+            this.bloomFilterFpp = bloomFilterFpp;
+            return this;
+        }
+
+        /** optional, quartz cron expression of the rebuilds of the bloom filter. */
+        public Builder setBloomFilterCron(String bloomFilterCron) {
+            this.bloomFilterCron = bloomFilterCron;
+            return this;
+        }
+
+        /** optional, max age mills of the bloom filter, older filters do not reject lookups. */
+        public Builder setBloomFilterMaxStalenessMs(long bloomFilterMaxStalenessMs) {
+            this.bloomFilterMaxStalenessMs = bloomFilterMaxStalenessMs;
+            return this;
+        }
+
+        /** optional, whether string keys are filtered in lower case and without trailing spaces. */
+        public Builder setBloomFilterIgnoreCaseAndTrailingSpaces(
+                boolean bloomFilterIgnoreCaseAndTrailingSpaces) {
+            this.bloomFilterIgnoreCaseAndTrailingSpaces = bloomFilterIgnoreCaseAndTrailingSpaces;
+            return this;
+        }
+
         public JdbcLookupOptions build() {
             return new JdbcLookupOptions(
                     cacheMaxSize,
@@ -144,7 +539,29 @@ public class JdbcLookupOptions implements Serializable {
                     maxRetryTimes,
                     cacheMissingKey,
                     cacheAll,
-                    cacheAllCron);
+                    cacheAllCron,
+                    cacheAllStorage,
+                    cacheAllIncrementalColumn,
+                    cacheAllFullReloadIntervalMs,
+                    cacheAllPartitionColumn,
+                    cacheAllPartitionNum,
+                    cacheAllPartitionParallelism,
+                    cacheAllKeyPartitioned,
+                    async,
+                    asyncPoolSize,
+                    asyncMaxInFlight,
+                    asyncBatchSize,
+                    asyncBatchIntervalMs,
+                    cacheAllSnapshotDir,
+                    cacheAllRefreshMaxConcurrency,
+                    cacheAllRefreshJitterMs,
+                    cachePolicy,
+                    cacheRefreshAfterWriteMs,
+                    bloomFilter,
+                    bloomFilterFpp,
+                    bloomFilterCron,
+                    bloomFilterMaxStalenessMs,
+                    bloomFilterIgnoreCaseAndTrailingSpaces);
         }
     }
 }
@@ -30,6 +30,8 @@ public class JdbcReadOptions implements Serializable {
     private final Long partitionLowerBound;
     private final Long partitionUpperBound;
     private final Integer numPartitions;
+    private final boolean adaptivePartitioning;
+    private final int maxRowsPerSplit;
 
     private final int fetchSize;
     private final boolean autoCommit;
@@ -40,6 +42,8 @@ public class JdbcReadOptions implements Serializable {
             Long partitionLowerBound,
             Long partitionUpperBound,
             Integer numPartitions,
+            boolean adaptivePartitioning,
+            int maxRowsPerSplit,
             int fetchSize,
             boolean autoCommit) {
         this.query = query;
@@ -47,6 +51,8 @@ public class JdbcReadOptions implements Serializable {
         this.partitionLowerBound = partitionLowerBound;
         this.partitionUpperBound = partitionUpperBound;
         this.numPartitions = numPartitions;
+        this.adaptivePartitioning = adaptivePartitioning;
+        this.maxRowsPerSplit = maxRowsPerSplit;
 
         this.fetchSize = fetchSize;
         this.autoCommit = autoCommit;
@@ -72,6 +78,14 @@ public class JdbcReadOptions implements Serializable {
         return Optional.ofNullable(numPartitions);
     }
 
+    public boolean isAdaptivePartitioning() {
+        return adaptivePartitioning;
+    }
+
+    public int getMaxRowsPerSplit() {
+        return maxRowsPerSplit;
+    }
+
     public int getFetchSize() {
         return fetchSize;
     }
@@ -93,6 +107,8 @@ public class JdbcReadOptions implements Serializable {
                     && Objects.equals(partitionLowerBound, options.partitionLowerBound)
                     && Objects.equals(partitionUpperBound, options.partitionUpperBound)
                     && Objects.equals(numPartitions, options.numPartitions)
+                    && adaptivePartitioning == options.adaptivePartitioning
+                    && maxRowsPerSplit == options.maxRowsPerSplit
                     && Objects.equals(fetchSize, options.fetchSize)
                     && Objects.equals(autoCommit, options.autoCommit);
         } else {
@@ -107,6 +123,8 @@ public class JdbcReadOptions implements Serializable {
         protected Long partitionLowerBound;
         protected Long partitionUpperBound;
         protected Integer numPartitions;
+        protected boolean adaptivePartitioning = false;
+        protected int maxRowsPerSplit = 100_000;
 
         protected int fetchSize = 0;
         protected boolean autoCommit = true;
@@ -144,6 +162,21 @@ public class JdbcReadOptions implements Serializable {
             return this;
         }
 
+        /**
+         * optional, whether the partitions are created on demand from samples of the partition
+         * column, dividing ranges with more than {@code maxRowsPerSplit} rows.
+         */
+        public Builder setAdaptivePartitioning(boolean adaptivePartitioning) {
+            this.adaptivePartitioning = adaptivePartitioning;
+            return this;
+        }
+
+        /** optional, the max number of rows of a partition of the adaptive partitioning. */
+        public Builder setMaxRowsPerSplit(int maxRowsPerSplit) {
+            this.maxRowsPerSplit = maxRowsPerSplit;
+            return this;
+        }
+
         /**
          * optional, the number of rows to fetch per round trip. default value is 0, according to
          * the jdbc api, 0 means that fetchSize hint will be ignored.
@@ -166,6 +199,8 @@ public class JdbcReadOptions implements Serializable {
                     partitionLowerBound,
                     partitionUpperBound,
                     numPartitions,
+                    adaptivePartitioning,
+                    maxRowsPerSplit,
                     fetchSize,
                     autoCommit);
         }
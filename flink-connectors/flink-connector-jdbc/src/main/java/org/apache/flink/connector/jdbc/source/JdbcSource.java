@@ -0,0 +1,386 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.source;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.connector.source.Boundedness;
+import org.apache.flink.api.connector.source.Source;
+import org.apache.flink.api.connector.source.SourceReader;
+import org.apache.flink.api.connector.source.SourceReaderContext;
+import org.apache.flink.api.connector.source.SplitEnumerator;
+import org.apache.flink.api.connector.source.SplitEnumeratorContext;
+import org.apache.flink.api.java.typeutils.ResultTypeQueryable;
+import org.apache.flink.connector.jdbc.JdbcConnectionOptions;
+import org.apache.flink.connector.jdbc.source.enumerator.JdbcPartitionSampler;
+import org.apache.flink.connector.jdbc.source.enumerator.JdbcSourceEnumerator;
+import org.apache.flink.connector.jdbc.source.enumerator.JdbcSourceEnumeratorState;
+import org.apache.flink.connector.jdbc.source.enumerator.JdbcSourceEnumeratorStateSerializer;
+import org.apache.flink.connector.jdbc.source.reader.JdbcSourceReader;
+import org.apache.flink.connector.jdbc.source.reader.JdbcSourceSplitReader;
+import org.apache.flink.connector.jdbc.source.split.JdbcSourceSplit;
+import org.apache.flink.connector.jdbc.source.split.JdbcSourceSplitSerializer;
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+
+import javax.annotation.Nullable;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Objects;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A bounded {@link Source} which reads the rows of a query from a database.
+ *
+ * <p>If a numeric partition column is configured, the enumerator samples the value range of the
+ * column and hands out range splits on demand to idle readers, bisecting ranges which hold more
+ * than {@code maxRowsPerSplit} rows.
+ *
+ * <p>The source is at-least-once: splits which were not finished when a checkpoint was taken are
+ * read again from their start after a restore, as the query does not return the rows of a split in
+ * a stable order. Splits are kept small by {@code maxRowsPerSplit} to bound the re-read rows.
+ */
+@PublicEvolving
+public class JdbcSource<T>
+        implements Source<T, JdbcSourceSplit, JdbcSourceEnumeratorState>, ResultTypeQueryable<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int DEFAULT_MIN_SPLITS = 1;
+    public static final long DEFAULT_MAX_ROWS_PER_SPLIT = 100_000;
+
+    private static final int MAX_RECORDS_PER_FETCH = 1024;
+
+    private final JdbcConnectionOptions connectionOptions;
+    private final String query;
+    @Nullable private final String filter;
+    private final Serializable[] filterParameters;
+    @Nullable private final String tableName;
+    @Nullable private final String partitionColumn;
+    @Nullable private final Long partitionLowerBound;
+    @Nullable private final Long partitionUpperBound;
+    private final int minSplits;
+    private final long maxRowsPerSplit;
+    @Nullable private final String limitClause;
+    private final int fetchSize;
+    @Nullable private final Boolean autoCommit;
+    private final JdbcResultExtractor<T> resultExtractor;
+    private final TypeInformation<T> typeInformation;
+
+    private JdbcSource(
+            JdbcConnectionOptions connectionOptions,
+            String query,
+            @Nullable String filter,
+            Serializable[] filterParameters,
+            @Nullable String tableName,
+            @Nullable String partitionColumn,
+            @Nullable Long partitionLowerBound,
+            @Nullable Long partitionUpperBound,
+            int minSplits,
+            long maxRowsPerSplit,
+            @Nullable String limitClause,
+            int fetchSize,
+            @Nullable Boolean autoCommit,
+            JdbcResultExtractor<T> resultExtractor,
+            TypeInformation<T> typeInformation) {
+        this.connectionOptions = connectionOptions;
+        this.query = query;
+        this.filter = filter;
+        this.filterParameters = filterParameters;
+        this.tableName = tableName;
+        this.partitionColumn = partitionColumn;
+        this.partitionLowerBound = partitionLowerBound;
+        this.partitionUpperBound = partitionUpperBound;
+        this.minSplits = minSplits;
+        this.maxRowsPerSplit = maxRowsPerSplit;
+        this.limitClause = limitClause;
+        this.fetchSize = fetchSize;
+        this.autoCommit = autoCommit;
+        this.resultExtractor = resultExtractor;
+        this.typeInformation = typeInformation;
+    }
+
+    @Override
+    public Boundedness getBoundedness() {
+        return Boundedness.BOUNDED;
+    }
+
+    @Override
+    public SourceReader<T, JdbcSourceSplit> createReader(SourceReaderContext readerContext) {
+        final String filterCondition = filter == null ? null : "(" + filter + ")";
+        final String splitQuery =
+                withLimit(filterCondition == null ? query : query + " WHERE " + filterCondition);
+        final String rangeQuery =
+                partitionColumn == null
+                        ? null
+                        : withLimit(
+                                query
+                                        + " WHERE "
+                                        + (filterCondition == null ? "" : filterCondition + " AND ")
+                                        + partitionColumn
+                                        + " BETWEEN ? AND ?");
+        return new JdbcSourceReader<>(
+                () ->
+                        new JdbcSourceSplitReader<>(
+                                connectionOptions,
+                                splitQuery,
+                                rangeQuery,
+                                filterParameters,
+                                resultExtractor,
+                                fetchSize,
+                                autoCommit,
+                                MAX_RECORDS_PER_FETCH),
+                readerContext);
+    }
+
+    private String withLimit(String splitQuery) {
+        return limitClause == null ? splitQuery : splitQuery + " " + limitClause;
+    }
+
+    @Override
+    public SplitEnumerator<JdbcSourceSplit, JdbcSourceEnumeratorState> createEnumerator(
+            SplitEnumeratorContext<JdbcSourceSplit> enumContext) {
+        return restoreEnumerator(enumContext, null);
+    }
+
+    @Override
+    public SplitEnumerator<JdbcSourceSplit, JdbcSourceEnumeratorState> restoreEnumerator(
+            SplitEnumeratorContext<JdbcSourceSplit> enumContext,
+            @Nullable JdbcSourceEnumeratorState checkpoint) {
+        final JdbcPartitionSampler sampler =
+                partitionColumn == null
+                        ? null
+                        : new JdbcPartitionSampler(
+                                connectionOptions,
+                                tableName,
+                                partitionColumn,
+                                partitionLowerBound,
+                                partitionUpperBound,
+                                filter,
+                                filterParameters);
+        return new JdbcSourceEnumerator(
+                enumContext, sampler, minSplits, maxRowsPerSplit, checkpoint);
+    }
+
+    @Override
+    public SimpleVersionedSerializer<JdbcSourceSplit> getSplitSerializer() {
+        return JdbcSourceSplitSerializer.INSTANCE;
+    }
+
+    @Override
+    public SimpleVersionedSerializer<JdbcSourceEnumeratorState>
+            getEnumeratorCheckpointSerializer() {
+        return JdbcSourceEnumeratorStateSerializer.INSTANCE;
+    }
+
+    @Override
+    public TypeInformation<T> getProducedType() {
+        return typeInformation;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        JdbcSource<?> that = (JdbcSource<?>) o;
+        return minSplits == that.minSplits
+                && maxRowsPerSplit == that.maxRowsPerSplit
+                && fetchSize == that.fetchSize
+                && Objects.equals(connectionOptions, that.connectionOptions)
+                && Objects.equals(query, that.query)
+                && Objects.equals(filter, that.filter)
+                && Arrays.equals(filterParameters, that.filterParameters)
+                && Objects.equals(tableName, that.tableName)
+                && Objects.equals(partitionColumn, that.partitionColumn)
+                && Objects.equals(partitionLowerBound, that.partitionLowerBound)
+                && Objects.equals(partitionUpperBound, that.partitionUpperBound)
+                && Objects.equals(limitClause, that.limitClause)
+                && Objects.equals(autoCommit, that.autoCommit)
+                && Objects.equals(typeInformation, that.typeInformation);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31
+                        * Objects.hash(
+                                connectionOptions,
+                                query,
+                                filter,
+                                tableName,
+                                partitionColumn,
+                                partitionLowerBound,
+                                partitionUpperBound,
+                                minSplits,
+                                maxRowsPerSplit,
+                                limitClause,
+                                fetchSize,
+                                autoCommit,
+                                typeInformation)
+                + Arrays.hashCode(filterParameters);
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /** Builder for a {@link JdbcSource}. */
+    public static class Builder<T> {
+        private JdbcConnectionOptions connectionOptions;
+        private String query;
+        private String filter;
+        private Serializable[] filterParameters = new Serializable[0];
+        private String tableName;
+        private String partitionColumn;
+        private Long partitionLowerBound;
+        private Long partitionUpperBound;
+        private int minSplits = DEFAULT_MIN_SPLITS;
+        private long maxRowsPerSplit = DEFAULT_MAX_ROWS_PER_SPLIT;
+        private String limitClause;
+        private int fetchSize;
+        private Boolean autoCommit;
+        private JdbcResultExtractor<T> resultExtractor;
+        private TypeInformation<T> typeInformation;
+
+        /** required, parameters of connection, such as JDBC URL. */
+        public Builder<T> setConnectionOptions(JdbcConnectionOptions connectionOptions) {
+            this.connectionOptions = connectionOptions;
+            return this;
+        }
+
+        /** required, SELECT statement without WHERE clause. */
+        public Builder<T> setQuery(String query) {
+            this.query = query;
+            return this;
+        }
+
+        /**
+         * optional, condition of the rows to read with {@code ?} placeholders, which are bound to
+         * the given parameters in order.
+         */
+        public Builder<T> setFilter(String filter, Serializable... filterParameters) {
+            this.filter = filter;
+            this.filterParameters = filterParameters;
+            return this;
+        }
+
+        /**
+         * optional, splits the query by the values of a numeric column of the given table, both
+         * names must be quoted for the database.
+         */
+        public Builder<T> setPartitionColumn(String tableName, String partitionColumn) {
+            this.tableName = tableName;
+            this.partitionColumn = partitionColumn;
+            return this;
+        }
+
+        /**
+         * optional, only reads the rows whose partition column is in the inclusive range, by
+         * default the range of the table is sampled.
+         */
+        public Builder<T> setPartitionBounds(long lowerBound, long upperBound) {
+            this.partitionLowerBound = lowerBound;
+            this.partitionUpperBound = upperBound;
+            return this;
+        }
+
+        /** optional, min number of initial splits of the partition column. */
+        public Builder<T> setMinSplits(int minSplits) {
+            this.minSplits = minSplits;
+            return this;
+        }
+
+        /** optional, splits with more rows are divided if their range allows it. */
+        public Builder<T> setMaxRowsPerSplit(long maxRowsPerSplit) {
+            this.maxRowsPerSplit = maxRowsPerSplit;
+            return this;
+        }
+
+        /** optional, LIMIT clause of the dialect which is applied to the query of each split. */
+        public Builder<T> setLimitClause(String limitClause) {
+            this.limitClause = limitClause;
+            return this;
+        }
+
+        /**
+         * optional, the number of rows to fetch per round trip. default value is 0, according to
+         * the jdbc api, 0 means that fetchSize hint will be ignored.
+         */
+        public Builder<T> setFetchSize(int fetchSize) {
+            checkArgument(
+                    fetchSize == Integer.MIN_VALUE || fetchSize >= 0,
+                    "Illegal value %s for fetchSize, has to be positive or Integer.MIN_VALUE.",
+                    fetchSize);
+            this.fetchSize = fetchSize;
+            return this;
+        }
+
+        /** optional, whether to set auto commit on the JDBC driver. */
+        public Builder<T> setAutoCommit(Boolean autoCommit) {
+            this.autoCommit = autoCommit;
+            return this;
+        }
+
+        /** required, converts the rows of the query into records. */
+        public Builder<T> setResultExtractor(JdbcResultExtractor<T> resultExtractor) {
+            this.resultExtractor = resultExtractor;
+            return this;
+        }
+
+        /** required, type of the records. */
+        public Builder<T> setTypeInformation(TypeInformation<T> typeInformation) {
+            this.typeInformation = typeInformation;
+            return this;
+        }
+
+        public JdbcSource<T> build() {
+            checkNotNull(connectionOptions, "No connection options supplied.");
+            checkNotNull(query, "No query supplied.");
+            checkNotNull(resultExtractor, "No result extractor supplied.");
+            checkNotNull(typeInformation, "No type information supplied.");
+            checkArgument(
+                    partitionLowerBound == null || partitionColumn != null,
+                    "Partition bounds require a partition column.");
+            checkArgument(minSplits > 0, "The min number of splits must be positive.");
+            checkArgument(
+                    maxRowsPerSplit > 0, "The max number of rows per split must be positive.");
+            return new JdbcSource<>(
+                    connectionOptions,
+                    query,
+                    filter,
+                    filterParameters,
+                    tableName,
+                    partitionColumn,
+                    partitionLowerBound,
+                    partitionUpperBound,
+                    minSplits,
+                    maxRowsPerSplit,
+                    limitClause,
+                    fetchSize,
+                    autoCommit,
+                    resultExtractor,
+                    typeInformation);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.source.enumerator;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.connector.jdbc.JdbcConnectionOptions;
+import org.apache.flink.connector.jdbc.internal.connection.SimpleJdbcConnectionProvider;
+
+import javax.annotation.Nullable;
+
+import java.io.Serializable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+
+/**
+ * Queries the statistics of the partition column which the {@link JdbcSourceEnumerator} uses to
+ * split the table. All queries share one connection, which is opened on the first query.
+ */
+@Internal
+public class JdbcPartitionSampler implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final JdbcConnectionOptions connectionOptions;
+    private final String sampleQuery;
+    private final String countQuery;
+    @Nullable private final Long lowerBound;
+    @Nullable private final Long upperBound;
+    private final Serializable[] filterParameters;
+
+    private transient SimpleJdbcConnectionProvider connectionProvider;
+
+    /**
+     * @param tableName quoted name of the table
+     * @param partitionColumn quoted name of the numeric partition column
+     * @param lowerBound smallest value of the partition column to read, null reads from the
+     *     smallest value of the table
+     * @param upperBound largest value of the partition column to read, null reads up to the largest
+     *     value of the table
+     * @param filter condition of the rows to read with {@code ?} placeholders, null reads all rows
+     * @param filterParameters parameters of the filter
+     */
+    public JdbcPartitionSampler(
+            JdbcConnectionOptions connectionOptions,
+            String tableName,
+            String partitionColumn,
+            @Nullable Long lowerBound,
+            @Nullable Long upperBound,
+            @Nullable String filter,
+            Serializable[] filterParameters) {
+        this.connectionOptions = connectionOptions;
+        final String filterCondition = filter == null ? "" : " AND (" + filter + ")";
+        this.sampleQuery =
+                String.format(
+                        "SELECT MIN(%s), MAX(%s), COUNT(*) FROM %s WHERE %s BETWEEN ? AND ?%s",
+                        partitionColumn,
+                        partitionColumn,
+                        tableName,
+                        partitionColumn,
+                        filterCondition);
+        this.countQuery =
+                String.format(
+                        "SELECT COUNT(*) FROM %s WHERE %s BETWEEN ? AND ?%s",
+                        tableName, partitionColumn, filterCondition);
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.filterParameters = filterParameters;
+    }
+
+    /**
+     * Returns the smallest and largest value and the number of rows of the partition column within
+     * the configured bounds, or empty if there are no such rows.
+     */
+    public synchronized Optional<PartitionStatistics> sample() throws Exception {
+        try (PreparedStatement statement = getConnection().prepareStatement(sampleQuery)) {
+            statement.setLong(1, lowerBound == null ? Long.MIN_VALUE : lowerBound);
+            statement.setLong(2, upperBound == null ? Long.MAX_VALUE : upperBound);
+            setFilterParameters(statement);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return Optional.empty();
+                }
+                final long min = resultSet.getLong(1);
+                if (resultSet.wasNull()) {
+                    return Optional.empty();
+                }
+                final long max = resultSet.getLong(2);
+                final long count = resultSet.getLong(3);
+                return Optional.of(new PartitionStatistics(min, max, count));
+            }
+        }
+    }
+
+    /** Returns the number of rows whose partition column is in the inclusive range. */
+    public synchronized long count(long lowerBound, long upperBound) throws Exception {
+        try (PreparedStatement statement = getConnection().prepareStatement(countQuery)) {
+            statement.setLong(1, lowerBound);
+            statement.setLong(2, upperBound);
+            setFilterParameters(statement);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : 0;
+            }
+        }
+    }
+
+    private void setFilterParameters(PreparedStatement statement) throws SQLException {
+        for (int i = 0; i < filterParameters.length; i++) {
+            statement.setObject(i + 3, filterParameters[i]);
+        }
+    }
+
+    private Connection getConnection() throws SQLException, ClassNotFoundException {
+        if (connectionProvider == null) {
+            connectionProvider = new SimpleJdbcConnectionProvider(connectionOptions);
+        }
+        return connectionProvider.getOrEstablishConnection();
+    }
+
+    public synchronized void close() {
+        if (connectionProvider != null) {
+            connectionProvider.closeConnection();
+            connectionProvider = null;
+        }
+    }
+
+    /** The statistics of the partition column. */
+    public static final class PartitionStatistics {
+
+        private final long min;
+        private final long max;
+        private final long rowCount;
+
+        public PartitionStatistics(long min, long max, long rowCount) {
+            this.min = min;
+            this.max = max;
+            this.rowCount = rowCount;
+        }
+
+        public long getMin() {
+            return min;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public long getRowCount() {
+            return rowCount;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.source.enumerator;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.connector.source.SplitEnumerator;
+import org.apache.flink.api.connector.source.SplitEnumeratorContext;
+import org.apache.flink.connector.jdbc.source.split.JdbcSourceSplit;
+import org.apache.flink.connector.jdbc.split.JdbcNumericBetweenParametersProvider;
+import org.apache.flink.util.FlinkRuntimeException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * The enumerator of a {@link org.apache.flink.connector.jdbc.source.JdbcSource}, which hands out
+ * splits to readers on request.
+ *
+ * <p>Without partition column the whole query is read by a single split. Otherwise the enumerator
+ * samples the smallest and largest value and the number of rows of the partition column, and
+ * divides the value range into at least {@code minSplits} ranges of equal width, so that each range
+ * holds {@code maxRowsPerSplit} rows if the values are distributed evenly. Before a range is
+ * assigned, its actual number of rows is counted and ranges with more rows are bisected, so skewed
+ * value ranges end up in several small splits instead of a single straggler split. Empty ranges are
+ * dropped.
+ *
+ * <p>Ranges are only counted while readers wait for splits, one range at a time.
+ */
+@Internal
+public class JdbcSourceEnumerator
+        implements SplitEnumerator<JdbcSourceSplit, JdbcSourceEnumeratorState> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JdbcSourceEnumerator.class);
+
+    private final SplitEnumeratorContext<JdbcSourceSplit> context;
+    @Nullable private final JdbcPartitionSampler sampler;
+    private final int minSplits;
+    private final long maxRowsPerSplit;
+
+    private final ArrayDeque<JdbcSourceSplit> unsizedSplits;
+    private final ArrayDeque<JdbcSourceSplit> assignableSplits;
+    private final LinkedHashSet<Integer> readersAwaitingSplit = new LinkedHashSet<>();
+
+    private boolean initialized;
+    private boolean sampling;
+    @Nullable private JdbcSourceSplit splitBeingSized;
+    private int nextSplitId;
+
+    /**
+     * @param sampler sampler of the partition column, null reads the query with a single split
+     * @param minSplits min number of initial splits of the partition column
+     * @param maxRowsPerSplit max number of rows of a split, unless its range can't be divided
+     * @param state restored state, null starts reading from scratch
+     */
+    public JdbcSourceEnumerator(
+            SplitEnumeratorContext<JdbcSourceSplit> context,
+            @Nullable JdbcPartitionSampler sampler,
+            int minSplits,
+            long maxRowsPerSplit,
+            @Nullable JdbcSourceEnumeratorState state) {
+        checkArgument(minSplits > 0, "The min number of splits must be positive.");
+        checkArgument(maxRowsPerSplit > 0, "The max number of rows per split must be positive.");
+        this.context = context;
+        this.sampler = sampler;
+        this.minSplits = minSplits;
+        this.maxRowsPerSplit = maxRowsPerSplit;
+        if (state == null) {
+            this.unsizedSplits = new ArrayDeque<>();
+            this.assignableSplits = new ArrayDeque<>();
+        } else {
+            this.initialized = state.isInitialized();
+            this.nextSplitId = state.getNextSplitId();
+            this.unsizedSplits = new ArrayDeque<>(state.getUnsizedSplits());
+            this.assignableSplits = new ArrayDeque<>(state.getAssignableSplits());
+        }
+    }
+
+    @Override
+    public void start() {
+        if (initialized) {
+            return;
+        }
+        if (sampler == null) {
+            assignableSplits.add(newSplit(null, null));
+            initialized = true;
+        } else {
+            sampling = true;
+            context.callAsync(sampler::sample, this::handleSample);
+        }
+    }
+
+    @Override
+    public void handleSplitRequest(int subtaskId, @Nullable String requesterHostname) {
+        readersAwaitingSplit.add(subtaskId);
+        assignSplits();
+    }
+
+    @Override
+    public void addSplitsBack(List<JdbcSourceSplit> splits, int subtaskId) {
+        LOG.debug("Adding splits {} of subtask {} back.", splits, subtaskId);
+        assignableSplits.addAll(splits);
+        assignSplits();
+    }
+
+    @Override
+    public void addReader(int subtaskId) {
+        // readers request splits when they are idle
+    }
+
+    @Override
+    public JdbcSourceEnumeratorState snapshotState(long checkpointId) {
+        final List<JdbcSourceSplit> unsized = new ArrayList<>(unsizedSplits.size() + 1);
+        if (splitBeingSized != null) {
+            unsized.add(splitBeingSized);
+        }
+        unsized.addAll(unsizedSplits);
+        return new JdbcSourceEnumeratorState(initialized, nextSplitId, unsized, assignableSplits);
+    }
+
+    @Override
+    public void close() {
+        if (sampler != null) {
+            sampler.close();
+        }
+    }
+
+    private void handleSample(
+            Optional<JdbcPartitionSampler.PartitionStatistics> statistics, Throwable t) {
+        sampling = false;
+        if (t != null) {
+            throw new FlinkRuntimeException("Sampling the partition column failed.", t);
+        }
+        if (statistics.isPresent()) {
+            final JdbcPartitionSampler.PartitionStatistics stats = statistics.get();
+            final long splitsByRows = (stats.getRowCount() + maxRowsPerSplit - 1) / maxRowsPerSplit;
+            final int numSplits =
+                    (int) Math.min(Integer.MAX_VALUE, Math.max(minSplits, splitsByRows));
+            for (Serializable[] range :
+                    new JdbcNumericBetweenParametersProvider(stats.getMin(), stats.getMax())
+                            .ofBatchNum(numSplits)
+                            .getParameterValues()) {
+                unsizedSplits.add(newSplit((Long) range[0], (Long) range[1]));
+            }
+            LOG.info(
+                    "Sampled {} rows in the range [{}, {}] of the partition column, created {} initial splits.",
+                    stats.getRowCount(),
+                    stats.getMin(),
+                    stats.getMax(),
+                    unsizedSplits.size());
+        }
+        initialized = true;
+        assignSplits();
+    }
+
+    private void handleSize(JdbcSourceSplit split, Long rowCount, Throwable t) {
+        splitBeingSized = null;
+        if (t != null) {
+            throw new FlinkRuntimeException("Counting the rows of split " + split + " failed.", t);
+        }
+        final long lowerBound = split.getLowerBound().get();
+        final long upperBound = split.getUpperBound().get();
+        if (rowCount > maxRowsPerSplit && lowerBound < upperBound) {
+            final long middle = lowerBound + (upperBound - lowerBound) / 2;
+            unsizedSplits.addFirst(newSplit(middle + 1, upperBound));
+            unsizedSplits.addFirst(newSplit(lowerBound, middle));
+            LOG.debug("Bisected split {} with {} rows.", split, rowCount);
+        } else if (rowCount > 0) {
+            assignableSplits.add(split);
+        }
+        assignSplits();
+    }
+
+    private void assignSplits() {
+        final Iterator<Integer> awaitingReaders = readersAwaitingSplit.iterator();
+        while (awaitingReaders.hasNext()) {
+            final int subtaskId = awaitingReaders.next();
+            if (!context.registeredReaders().containsKey(subtaskId)) {
+                // the reader failed since its request
+                awaitingReaders.remove();
+            } else if (!assignableSplits.isEmpty()) {
+                final JdbcSourceSplit split = assignableSplits.poll();
+                LOG.debug("Assigning split {} to subtask {}.", split, subtaskId);
+                context.assignSplit(split, subtaskId);
+                awaitingReaders.remove();
+            } else if (!unsizedSplits.isEmpty()) {
+                if (splitBeingSized == null) {
+                    sizeNextSplit();
+                }
+                return;
+            } else if (initialized && !sampling && splitBeingSized == null) {
+                context.signalNoMoreSplits(subtaskId);
+                awaitingReaders.remove();
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void sizeNextSplit() {
+        final JdbcSourceSplit split = unsizedSplits.poll();
+        splitBeingSized = split;
+        context.callAsync(
+                () -> sampler.count(split.getLowerBound().get(), split.getUpperBound().get()),
+                (rowCount, t) -> handleSize(split, rowCount, t));
+    }
+
+    private JdbcSourceSplit newSplit(@Nullable Long lowerBound, @Nullable Long upperBound) {
+        return new JdbcSourceSplit(String.valueOf(nextSplitId++), lowerBound, upperBound);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.source.enumerator;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.connector.jdbc.source.split.JdbcSourceSplit;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/** The checkpointed state of a {@link JdbcSourceEnumerator}. */
+@Internal
+public class JdbcSourceEnumeratorState {
+
+    private final boolean initialized;
+    private final int nextSplitId;
+    private final List<JdbcSourceSplit> unsizedSplits;
+    private final List<JdbcSourceSplit> assignableSplits;
+
+    /**
+     * @param initialized whether the initial splits of the table have been created
+     * @param nextSplitId id of the next created split
+     * @param unsizedSplits splits whose number of rows has not been checked yet
+     * @param assignableSplits splits which can be assigned to readers as they are
+     */
+    public JdbcSourceEnumeratorState(
+            boolean initialized,
+            int nextSplitId,
+            Collection<JdbcSourceSplit> unsizedSplits,
+            Collection<JdbcSourceSplit> assignableSplits) {
+        this.initialized = initialized;
+        this.nextSplitId = nextSplitId;
+        this.unsizedSplits = new ArrayList<>(unsizedSplits);
+        this.assignableSplits = new ArrayList<>(assignableSplits);
+    }
+
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    public int getNextSplitId() {
+        return nextSplitId;
+    }
+
+    public List<JdbcSourceSplit> getUnsizedSplits() {
+        return unsizedSplits;
+    }
+
+    public List<JdbcSourceSplit> getAssignableSplits() {
+        return assignableSplits;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        JdbcSourceEnumeratorState that = (JdbcSourceEnumeratorState) o;
+        return initialized == that.initialized
+                && nextSplitId == that.nextSplitId
+                && unsizedSplits.equals(that.unsizedSplits)
+                && assignableSplits.equals(that.assignableSplits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(initialized, nextSplitId, unsizedSplits, assignableSplits);
+    }
+}
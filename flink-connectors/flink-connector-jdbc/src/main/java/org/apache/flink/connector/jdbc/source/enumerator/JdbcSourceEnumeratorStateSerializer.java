@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.source.enumerator;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.connector.jdbc.source.split.JdbcSourceSplit;
+import org.apache.flink.connector.jdbc.source.split.JdbcSourceSplitSerializer;
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.core.memory.DataOutputView;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/** A serializer for {@link JdbcSourceEnumeratorState}. */
+@Internal
+public final class JdbcSourceEnumeratorStateSerializer
+        implements SimpleVersionedSerializer<JdbcSourceEnumeratorState> {
+
+    public static final JdbcSourceEnumeratorStateSerializer INSTANCE =
+            new JdbcSourceEnumeratorStateSerializer();
+
+    private static final int VERSION = 1;
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public byte[] serialize(JdbcSourceEnumeratorState state) throws IOException {
+        final DataOutputSerializer out = new DataOutputSerializer(256);
+        out.writeBoolean(state.isInitialized());
+        out.writeInt(state.getNextSplitId());
+        serializeSplits(state.getUnsizedSplits(), out);
+        serializeSplits(state.getAssignableSplits(), out);
+        return out.getCopyOfBuffer();
+    }
+
+    @Override
+    public JdbcSourceEnumeratorState deserialize(int version, byte[] serialized)
+            throws IOException {
+        if (version != VERSION) {
+            throw new IOException("Unknown version: " + version);
+        }
+        final DataInputDeserializer in = new DataInputDeserializer(serialized);
+        final boolean initialized = in.readBoolean();
+        final int nextSplitId = in.readInt();
+        final List<JdbcSourceSplit> unsizedSplits = deserializeSplits(in);
+        final List<JdbcSourceSplit> assignableSplits = deserializeSplits(in);
+        return new JdbcSourceEnumeratorState(
+                initialized, nextSplitId, unsizedSplits, assignableSplits);
+    }
+
+    private static void serializeSplits(List<JdbcSourceSplit> splits, DataOutputView out)
+            throws IOException {
+        out.writeInt(splits.size());
+        for (JdbcSourceSplit split : splits) {
+            JdbcSourceSplitSerializer.INSTANCE.serialize(split, out);
+        }
+    }
+
+    private static List<JdbcSourceSplit> deserializeSplits(DataInputView in) throws IOException {
+        final int size = in.readInt();
+        final List<JdbcSourceSplit> splits = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            splits.add(JdbcSourceSplitSerializer.INSTANCE.deserialize(in));
+        }
+        return splits;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.source.reader;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.connector.source.SourceReaderContext;
+import org.apache.flink.connector.base.source.reader.SingleThreadMultiplexSourceReaderBase;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitReader;
+import org.apache.flink.connector.jdbc.source.split.JdbcSourceSplit;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The reader of a {@link org.apache.flink.connector.jdbc.source.JdbcSource}, which requests a new
+ * split from the enumerator whenever it runs out of splits.
+ */
+@Internal
+public class JdbcSourceReader<T>
+        extends SingleThreadMultiplexSourceReaderBase<T, T, JdbcSourceSplit, JdbcSourceSplit> {
+
+    public JdbcSourceReader(
+            Supplier<SplitReader<T, JdbcSourceSplit>> splitReaderSupplier,
+            SourceReaderContext context) {
+        super(splitReaderSupplier, new JdbcRecordEmitter<>(), context.getConfiguration(), context);
+    }
+
+    @Override
+    public void start() {
+        // restored splits are read first
+        if (getNumberOfCurrentlyAssignedSplits() == 0) {
+            context.sendSplitRequest();
+        }
+    }
+
+    @Override
+    protected void onSplitFinished(Map<String, JdbcSourceSplit> finishedSplitIds) {
+        context.sendSplitRequest();
+    }
+
+    /** Splits are read again from their start after a restore, so they have no mutable state. */
+    @Override
+    protected JdbcSourceSplit initializedState(JdbcSourceSplit split) {
+        return split;
+    }
+
+    @Override
+    protected JdbcSourceSplit toSplitType(String splitId, JdbcSourceSplit splitState) {
+        return splitState;
+    }
+}
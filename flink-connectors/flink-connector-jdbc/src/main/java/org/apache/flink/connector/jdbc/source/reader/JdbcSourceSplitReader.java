@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.source.reader;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.connector.base.source.reader.RecordsBySplits;
+import org.apache.flink.connector.base.source.reader.RecordsWithSplitIds;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitReader;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitsAddition;
+import org.apache.flink.connector.base.source.reader.splitreader.SplitsChange;
+import org.apache.flink.connector.jdbc.JdbcConnectionOptions;
+import org.apache.flink.connector.jdbc.internal.connection.SimpleJdbcConnectionProvider;
+import org.apache.flink.connector.jdbc.source.JdbcResultExtractor;
+import org.apache.flink.connector.jdbc.source.split.JdbcSourceSplit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+
+/**
+ * Reads the rows of the assigned splits one split after another. Each fetch returns at most {@code
+ * maxRecordsPerFetch} rows, so checkpoints are not blocked by large splits. Restored splits are
+ * read from their start, see {@link JdbcSourceSplit}.
+ */
+@Internal
+public class JdbcSourceSplitReader<T> implements SplitReader<T, JdbcSourceSplit> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JdbcSourceSplitReader.class);
+
+    private final SimpleJdbcConnectionProvider connectionProvider;
+    private final String query;
+    @Nullable private final String rangeQuery;
+    private final Serializable[] parameters;
+    private final JdbcResultExtractor<T> resultExtractor;
+    private final int fetchSize;
+    @Nullable private final Boolean autoCommit;
+    private final int maxRecordsPerFetch;
+
+    private final ArrayDeque<JdbcSourceSplit> splits = new ArrayDeque<>();
+
+    @Nullable private JdbcSourceSplit currentSplit;
+    private PreparedStatement statement;
+    private ResultSet resultSet;
+
+    /**
+     * @param query query of splits without range
+     * @param rangeQuery query of range splits with the lower and upper bound as parameters
+     * @param parameters parameters of both queries, the bounds of range splits are bound behind
+     * @param autoCommit auto commit mode of the connection, null keeps the default of the driver
+     */
+    public JdbcSourceSplitReader(
+            JdbcConnectionOptions connectionOptions,
+            String query,
+            @Nullable String rangeQuery,
+            Serializable[] parameters,
+            JdbcResultExtractor<T> resultExtractor,
+            int fetchSize,
+            @Nullable Boolean autoCommit,
+            int maxRecordsPerFetch) {
+        this.connectionProvider = new SimpleJdbcConnectionProvider(connectionOptions);
+        this.query = query;
+        this.rangeQuery = rangeQuery;
+        this.parameters = parameters;
+        this.resultExtractor = resultExtractor;
+        this.fetchSize = fetchSize;
+        this.autoCommit = autoCommit;
+        this.maxRecordsPerFetch = maxRecordsPerFetch;
+    }
+
+    @Override
+    public RecordsWithSplitIds<T> fetch() throws IOException {
+        final RecordsBySplits.Builder<T> records = new RecordsBySplits.Builder<>();
+        try {
+            if (currentSplit == null && !openNextSplit()) {
+                return records.build();
+            }
+            final String splitId = currentSplit.splitId();
+            for (int i = 0; i < maxRecordsPerFetch; i++) {
+                if (!resultSet.next()) {
+                    records.addFinishedSplit(splitId);
+                    closeSplit();
+                    break;
+                }
+                records.add(splitId, resultExtractor.extract(resultSet));
+            }
+        } catch (SQLException | ClassNotFoundException e) {
+            throw new IOException("Reading split " + currentSplit + " failed.", e);
+        }
+        return records.build();
+    }
+
+    private boolean openNextSplit() throws SQLException, ClassNotFoundException {
+        currentSplit = splits.poll();
+        if (currentSplit == null) {
+            return false;
+        }
+        final Connection connection = connectionProvider.getOrEstablishConnection();
+        // set autoCommit mode only if it was explicitly configured.
+        // keep connection default otherwise.
+        if (autoCommit != null) {
+            connection.setAutoCommit(autoCommit);
+        }
+        statement =
+                connection.prepareStatement(
+                        currentSplit.isRange() ? rangeQuery : query,
+                        ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY);
+        if (fetchSize == Integer.MIN_VALUE || fetchSize > 0) {
+            statement.setFetchSize(fetchSize);
+        }
+        for (int i = 0; i < parameters.length; i++) {
+            statement.setObject(i + 1, parameters[i]);
+        }
+        if (currentSplit.isRange()) {
+            statement.setLong(parameters.length + 1, currentSplit.getLowerBound().get());
+            statement.setLong(parameters.length + 2, currentSplit.getUpperBound().get());
+        }
+        resultSet = statement.executeQuery();
+        LOG.debug("Opened split {}.", currentSplit);
+        return true;
+    }
+
+    private void closeSplit() throws SQLException {
+        try {
+            if (resultSet != null) {
+                resultSet.close();
+            }
+            if (statement != null) {
+                statement.close();
+            }
+        } finally {
+            resultSet = null;
+            statement = null;
+            currentSplit = null;
+        }
+    }
+
+    @Override
+    public void handleSplitsChanges(SplitsChange<JdbcSourceSplit> splitsChanges) {
+        if (!(splitsChanges instanceof SplitsAddition)) {
+            throw new UnsupportedOperationException(
+                    String.format(
+                            "The SplitChange type of %s is not supported.",
+                            splitsChanges.getClass()));
+        }
+        splits.addAll(splitsChanges.splits());
+    }
+
+    @Override
+    public void wakeUp() {
+        // fetches are bounded, there is no need to interrupt them
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            closeSplit();
+        } finally {
+            connectionProvider.closeConnection();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.source.split;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.api.connector.source.SourceSplit;
+
+import javax.annotation.Nullable;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * A split of a {@link org.apache.flink.connector.jdbc.source.JdbcSource}, which reads the rows of
+ * the query whose partition column is in the inclusive range {@code [lowerBound, upperBound]}. The
+ * query of a split without bounds reads the whole table.
+ *
+ * <p>The rows of a split are read in the order the database returns them, which may change between
+ * executions of the query. A split which was not finished when a checkpoint was taken is therefore
+ * read again from its start after a restore, its rows may be emitted twice.
+ */
+@PublicEvolving
+public final class JdbcSourceSplit implements SourceSplit, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String splitId;
+    @Nullable private final Long lowerBound;
+    @Nullable private final Long upperBound;
+
+    public JdbcSourceSplit(String splitId, @Nullable Long lowerBound, @Nullable Long upperBound) {
+        checkArgument(
+                (lowerBound == null) == (upperBound == null),
+                "Either both or none of the bounds must be set.");
+        checkArgument(
+                lowerBound == null || lowerBound <= upperBound,
+                "The lower bound must not be larger than the upper bound.");
+        this.splitId = splitId;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+    }
+
+    @Override
+    public String splitId() {
+        return splitId;
+    }
+
+    public Optional<Long> getLowerBound() {
+        return Optional.ofNullable(lowerBound);
+    }
+
+    public Optional<Long> getUpperBound() {
+        return Optional.ofNullable(upperBound);
+    }
+
+    public boolean isRange() {
+        return lowerBound != null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        JdbcSourceSplit that = (JdbcSourceSplit) o;
+        return splitId.equals(that.splitId)
+                && Objects.equals(lowerBound, that.lowerBound)
+                && Objects.equals(upperBound, that.upperBound);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(splitId, lowerBound, upperBound);
+    }
+
+    @Override
+    public String toString() {
+        return "JdbcSourceSplit{"
+                + "splitId='"
+                + splitId
+                + '\''
+                + ", lowerBound="
+                + lowerBound
+                + ", upperBound="
+                + upperBound
+                + '}';
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.source.split;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.core.io.SimpleVersionedSerializer;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.core.memory.DataOutputView;
+
+import java.io.IOException;
+
+/** A serializer for {@link JdbcSourceSplit}. */
+@Internal
+public final class JdbcSourceSplitSerializer implements SimpleVersionedSerializer<JdbcSourceSplit> {
+
+    public static final JdbcSourceSplitSerializer INSTANCE = new JdbcSourceSplitSerializer();
+
+    private static final int VERSION = 1;
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public byte[] serialize(JdbcSourceSplit split) throws IOException {
+        final DataOutputSerializer out = new DataOutputSerializer(32);
+        serialize(split, out);
+        return out.getCopyOfBuffer();
+    }
+
+    @Override
+    public JdbcSourceSplit deserialize(int version, byte[] serialized) throws IOException {
+        if (version != VERSION) {
+            throw new IOException("Unknown version: " + version);
+        }
+        return deserialize(new DataInputDeserializer(serialized));
+    }
+
+    /** Writes the split to the given view, used to embed splits in other serialized forms. */
+    public void serialize(JdbcSourceSplit split, DataOutputView out) throws IOException {
+        out.writeUTF(split.splitId());
+        out.writeBoolean(split.isRange());
+        if (split.isRange()) {
+            out.writeLong(split.getLowerBound().get());
+            out.writeLong(split.getUpperBound().get());
+        }
+    }
+
+    /** Reads a split written by {@link #serialize(JdbcSourceSplit, DataOutputView)}. */
+    public JdbcSourceSplit deserialize(DataInputView in) throws IOException {
+        final String splitId = in.readUTF();
+        Long lowerBound = null;
+        Long upperBound = null;
+        if (in.readBoolean()) {
+            lowerBound = in.readLong();
+            upperBound = in.readLong();
+        }
+        return new JdbcSourceSplit(splitId, lowerBound, upperBound);
+    }
+}
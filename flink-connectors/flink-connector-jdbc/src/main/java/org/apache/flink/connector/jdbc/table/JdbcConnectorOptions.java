@@ -21,6 +21,7 @@ package org.apache.flink.connector.jdbc.table;
 import org.apache.flink.annotation.PublicEvolving;
 import org.apache.flink.configuration.ConfigOption;
 import org.apache.flink.configuration.ConfigOptions;
+import org.apache.flink.configuration.MemorySize;
 import org.apache.flink.table.factories.FactoryUtil;
 
 import java.time.Duration;
@@ -67,6 +68,18 @@ public class JdbcConnectorOptions {
                     .defaultValue(Duration.ofSeconds(60))
                     .withDescription("Maximum timeout between retries.");
 
+    public static final ConfigOption<Boolean> ROW_CONVERTER_CODE_GENERATION =
+            ConfigOptions.key("row-converter.code-generation")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether scans and lookups convert rows with code generated for the "
+                                    + "row type instead of a converter per field. Generated code "
+                                    + "reads fields with the typed getters of the driver and "
+                                    + "produces binary rows. Only used by the Derby, MySQL and "
+                                    + "PostgreSQL dialects and if all fields have supported types. "
+                                    + "Sinks always use the converters per field.");
+
     public static final ConfigOption<Integer> SINK_PARALLELISM = FactoryUtil.SINK_PARALLELISM;
 
     // -----------------------------------------------------------------------------------------
@@ -97,6 +110,28 @@ public class JdbcConnectorOptions {
                     .noDefaultValue()
                     .withDescription("The largest value of the last partition.");
 
+    public static final ConfigOption<Boolean> SCAN_PARTITION_ADAPTIVE =
+            ConfigOptions.key("scan.partition.adaptive")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether the scan samples the range and the number of rows of the "
+                                    + "partition column and hands out splits on demand to idle "
+                                    + "readers, dividing ranges with more than "
+                                    + "'scan.partition.max-rows-per-split' rows. The partition "
+                                    + "bounds are optional and 'scan.partition.num' is the min "
+                                    + "number of initial splits in this mode. Splits which were "
+                                    + "not finished at a checkpoint are read again from their "
+                                    + "start after a failover, so rows may be emitted twice.");
+
+    public static final ConfigOption<Integer> SCAN_PARTITION_MAX_ROWS_PER_SPLIT =
+            ConfigOptions.key("scan.partition.max-rows-per-split")
+                    .intType()
+                    .defaultValue(100_000)
+                    .withDescription(
+                            "The max number of rows of a split of an adaptive partitioned scan, "
+                                    + "unless the range of the split can't be divided further.");
+
     public static final ConfigOption<Integer> SCAN_FETCH_SIZE =
             ConfigOptions.key("scan.fetch-size")
                     .intType()
@@ -131,6 +166,27 @@ public class JdbcConnectorOptions {
                     .defaultValue(Duration.ofSeconds(10))
                     .withDescription("The cache time to live.");
 
+    public static final ConfigOption<LookupCachePolicy> LOOKUP_CACHE_POLICY =
+            ConfigOptions.key("lookup.cache.policy")
+                    .enumType(LookupCachePolicy.class)
+                    .defaultValue(LookupCachePolicy.LRU)
+                    .withDescription(
+                            "The eviction policy of the lookup cache. 'LRU' evicts the least "
+                                    + "recently used rows, 'TINY_LFU' admits and evicts rows by "
+                                    + "their recent access frequency, which keeps more hot rows "
+                                    + "cached for skewed lookup keys.");
+
+    public static final ConfigOption<Duration> LOOKUP_CACHE_REFRESH_AFTER_WRITE =
+            ConfigOptions.key("lookup.cache.refresh-after-write")
+                    .durationType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The time after which a cached row that is looked up again is "
+                                    + "reloaded from the database in the background, the cached "
+                                    + "row is returned until the reload completes. Must be less "
+                                    + "than 'lookup.cache.ttl' and requires the 'TINY_LFU' "
+                                    + "cache policy.");
+
     public static final ConfigOption<Integer> LOOKUP_MAX_RETRIES =
             ConfigOptions.key("lookup.max-retries")
                     .intType()
@@ -143,6 +199,52 @@ public class JdbcConnectorOptions {
                     .defaultValue(true)
                     .withDescription("Flag to cache missing key. true by default");
 
+    public static final ConfigOption<Boolean> LOOKUP_ASYNC =
+            ConfigOptions.key("lookup.async")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to look up the database asynchronously. Not applied to "
+                                    + "the cache all mode, which never queries the database on "
+                                    + "lookups.");
+
+    public static final ConfigOption<Integer> LOOKUP_ASYNC_POOL_SIZE =
+            ConfigOptions.key("lookup.async.pool-size")
+                    .intType()
+                    .defaultValue(8)
+                    .withDescription(
+                            "The max number of connections of the async lookup connection pool, "
+                                    + "which is shared by all lookup functions of a TaskManager "
+                                    + "that connect to the same database.");
+
+    public static final ConfigOption<Integer> LOOKUP_ASYNC_MAX_IN_FLIGHT =
+            ConfigOptions.key("lookup.async.max-in-flight")
+                    .intType()
+                    .defaultValue(100)
+                    .withDescription(
+                            "The max number of async lookups queued or running in the connection "
+                                    + "pool, further lookups are blocked until one completes.");
+
+    public static final ConfigOption<Integer> LOOKUP_ASYNC_BATCH_SIZE =
+            ConfigOptions.key("lookup.async.batch-size")
+                    .intType()
+                    .defaultValue(1)
+                    .withDescription(
+                            "The max number of cache missing keys of the async lookup that are "
+                                    + "queried by a single 'WHERE key IN (...)' statement. "
+                                    + "The default value is 1, which queries each key on its own. "
+                                    + "The size is capped by the max number of statement "
+                                    + "parameters of the dialect.");
+
+    public static final ConfigOption<Duration> LOOKUP_ASYNC_BATCH_INTERVAL =
+            ConfigOptions.key("lookup.async.batch-interval")
+                    .durationType()
+                    .defaultValue(Duration.ofMillis(10))
+                    .withDescription(
+                            "The max time a cache missing key of the async lookup waits for other "
+                                    + "keys to fill its batch before the batch is queried. "
+                                    + "Only applied when 'lookup.async.batch-size' is larger than 1.");
+
     public static final ConfigOption<Boolean> LOOKUP_CACHE_ALL =
             ConfigOptions.key("lookup.cache.all")
                     .booleanType()
@@ -156,6 +258,154 @@ public class JdbcConnectorOptions {
                     .noDefaultValue()
                     .withDescription("Flag to cache all record, and set update cron.");
 
+    public static final ConfigOption<LookupCacheAllStorage> LOOKUP_CACHE_ALL_STORAGE =
+            ConfigOptions.key("lookup.cache.all.storage")
+                    .enumType(LookupCacheAllStorage.class)
+                    .defaultValue(LookupCacheAllStorage.HEAP)
+                    .withDescription(
+                            "The storage format of the cache all snapshot. 'HEAP' keeps rows as java "
+                                    + "objects, 'BINARY' keeps serialized rows in off-heap memory "
+                                    + "which must be covered by the task off-heap memory.");
+
+    public static final ConfigOption<String> LOOKUP_CACHE_ALL_INCREMENTAL_COLUMN =
+            ConfigOptions.key("lookup.cache.all.incremental.column")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "A monotonically increasing version or update time column. If set, "
+                                    + "the cron refresh only reloads the keys having rows changed "
+                                    + "since the last refresh and merges them into the cache.");
+
+    public static final ConfigOption<Duration> LOOKUP_CACHE_ALL_INCREMENTAL_FULL_RELOAD_INTERVAL =
+            ConfigOptions.key("lookup.cache.all.incremental.full-reload-interval")
+                    .durationType()
+                    .defaultValue(Duration.ofHours(1))
+                    .withDescription(
+                            "The interval of full reloads in incremental refresh mode. Deleted "
+                                    + "rows are only removed from the cache by a full reload.");
+
+    public static final ConfigOption<Boolean> LOOKUP_CACHE_ALL_KEY_PARTITIONED =
+            ConfigOptions.key("lookup.cache.all.key-partitioned")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether the input of the lookup join is partitioned on the lookup keys, "
+                                    + "so each parallel instance only loads and holds the rows of "
+                                    + "its own partition of the table. Requires an insert-only "
+                                    + "input of the lookup join.");
+
+    public static final ConfigOption<Integer> LOOKUP_CACHE_ALL_REFRESH_MAX_CONCURRENCY =
+            ConfigOptions.key("lookup.cache.all.refresh.max-concurrency")
+                    .intType()
+                    .defaultValue(2)
+                    .withDescription(
+                            "The max number of cache all refreshes running at the same time in a "
+                                    + "TaskManager, further refreshes are queued. A refresh that "
+                                    + "fires while its previous refresh is still pending is skipped.");
+
+    public static final ConfigOption<Duration> LOOKUP_CACHE_ALL_REFRESH_JITTER =
+            ConfigOptions.key("lookup.cache.all.refresh.jitter")
+                    .durationType()
+                    .defaultValue(Duration.ofSeconds(10))
+                    .withDescription(
+                            "The window the cron refreshes of the parallel lookup functions are "
+                                    + "staggered over, so that they do not hit the database at "
+                                    + "the same moment.");
+
+    public static final ConfigOption<String> LOOKUP_CACHE_ALL_SNAPSHOT_DIR =
+            ConfigOptions.key("lookup.cache.all.snapshot.dir")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "A local or distributed file system directory the cache all snapshot "
+                                    + "is written to after every full load. A restarted lookup "
+                                    + "function serves lookups from the snapshot file right away "
+                                    + "and refreshes it from the database in the background. "
+                                    + "Without 'lookup.cache.all.key-partitioned' all parallel "
+                                    + "instances share one file: on a distributed file system it "
+                                    + "is written by the first instance only, on a local file "
+                                    + "system every instance writes it, so that every task "
+                                    + "manager has its own copy.");
+
+    public static final ConfigOption<String> LOOKUP_CACHE_ALL_PARTITION_COLUMN =
+            ConfigOptions.key("lookup.cache.all.partition.column")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The numeric column name used for partitioning the full load of the "
+                                    + "cache all snapshot into range queries.");
+
+    public static final ConfigOption<Integer> LOOKUP_CACHE_ALL_PARTITION_NUM =
+            ConfigOptions.key("lookup.cache.all.partition.num")
+                    .intType()
+                    .noDefaultValue()
+                    .withDescription("The number of partitions of the full load.");
+
+    public static final ConfigOption<Integer> LOOKUP_CACHE_ALL_PARTITION_PARALLELISM =
+            ConfigOptions.key("lookup.cache.all.partition.parallelism")
+                    .intType()
+                    .defaultValue(4)
+                    .withDescription(
+                            "The max number of partitions loaded concurrently, each on its own "
+                                    + "connection. The connections are kept open for later "
+                                    + "reloads and shared by the lookup functions of a "
+                                    + "TaskManager which load from the same database.");
+
+    public static final ConfigOption<Boolean> LOOKUP_BLOOM_FILTER =
+            ConfigOptions.key("lookup.bloom-filter")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to load all lookup keys of the table into a bloom filter when "
+                                    + "the lookup function is opened. Keys which are definitely "
+                                    + "not in the table are then answered without querying the "
+                                    + "cache or the database. The filter must be rebuilt by "
+                                    + "'lookup.bloom-filter.cron', keys added to the table are "
+                                    + "found after the next rebuild, or once the filter is older "
+                                    + "than 'lookup.bloom-filter.max-staleness'. Not supported "
+                                    + "with the cache all mode and asynchronous lookups.");
+
+    public static final ConfigOption<Double> LOOKUP_BLOOM_FILTER_FPP =
+            ConfigOptions.key("lookup.bloom-filter.fpp")
+                    .doubleType()
+                    .defaultValue(0.01)
+                    .withDescription(
+                            "The expected false positive probability of the bloom filter. Lower "
+                                    + "values send fewer missing keys to the database at the cost "
+                                    + "of a larger filter.");
+
+    public static final ConfigOption<String> LOOKUP_BLOOM_FILTER_CRON =
+            ConfigOptions.key("lookup.bloom-filter.cron")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The quartz cron expression of the rebuilds of the bloom filter, "
+                                    + "required if 'lookup.bloom-filter' is enabled. The rebuilds "
+                                    + "share the threads and jitter of the cache all refreshes.");
+
+    public static final ConfigOption<Duration> LOOKUP_BLOOM_FILTER_MAX_STALENESS =
+            ConfigOptions.key("lookup.bloom-filter.max-staleness")
+                    .durationType()
+                    .defaultValue(Duration.ofHours(1))
+                    .withDescription(
+                            "The max age of the bloom filter, counted from the start of its "
+                                    + "build. Lookups are not filtered while the filter is older, "
+                                    + "e.g. because its rebuilds fail, so that keys added to the "
+                                    + "table are found after this time at the latest. It should "
+                                    + "be longer than the interval of 'lookup.bloom-filter.cron'.");
+
+    public static final ConfigOption<Boolean> LOOKUP_BLOOM_FILTER_IGNORE_CASE_AND_TRAILING_SPACES =
+            ConfigOptions.key("lookup.bloom-filter.ignore-case-and-trailing-spaces")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether string keys are added to and checked against the bloom "
+                                    + "filter in lower case and without trailing spaces. Enable it "
+                                    + "if the key columns are compared case insensitively or "
+                                    + "padded with spaces by the database, otherwise the filter "
+                                    + "rejects keys the database finds. Other collation rules, "
+                                    + "e.g. accent insensitive ones, are not supported.");
+
     // write config options
     public static final ConfigOption<Integer> SINK_BUFFER_FLUSH_MAX_ROWS =
             ConfigOptions.key("sink.buffer-flush.max-rows")
@@ -165,6 +415,19 @@ public class JdbcConnectorOptions {
                             "The flush max size (includes all append, upsert and delete records), over this number"
                                     + " of records, will flush data.");
 
+    public static final ConfigOption<MemorySize> SINK_BUFFER_FLUSH_MAX_BYTES =
+            ConfigOptions.key("sink.buffer-flush.max-bytes")
+                    .memoryType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The max memory size of the buffered records of upsert sinks, over "
+                                    + "this size, will flush data. The records are kept in binary "
+                                    + "form in off-heap memory allocated for the sink, it must be "
+                                    + "at least 2 mb. Each parallel sink allocates up to twice this "
+                                    + "size outside of the managed memory, which must be covered by "
+                                    + "'taskmanager.memory.task.off-heap.size'. By default only "
+                                    + "'sink.buffer-flush.max-rows' bounds the buffer.");
+
     public static final ConfigOption<Duration> SINK_BUFFER_FLUSH_INTERVAL =
             ConfigOptions.key("sink.buffer-flush.interval")
                     .durationType()
@@ -178,5 +441,47 @@ public class JdbcConnectorOptions {
                     .defaultValue(3)
                     .withDescription("The max retry times if writing records to database failed.");
 
+    public static final ConfigOption<Integer> SINK_MAX_ROWS_PER_STATEMENT =
+            ConfigOptions.key("sink.max-rows-per-statement")
+                    .intType()
+                    .defaultValue(1)
+                    .withDescription(
+                            "The max number of buffered rows which are written by a single "
+                                    + "multi-row INSERT or upsert statement, if the dialect "
+                                    + "supports them. It is further bounded by the max number of "
+                                    + "statement parameters of the driver. 1 writes every row "
+                                    + "with its own statement in a JDBC batch.");
+
+    public static final ConfigOption<Boolean> SINK_BULK_COPY =
+            ConfigOptions.key("sink.bulk-copy")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether append-only sinks stream each flushed batch to the COPY "
+                                    + "command of the database instead of executing batched "
+                                    + "INSERT statements. Only supported by PostgreSQL, and only "
+                                    + "for tables without primary key.");
+
+    public static final ConfigOption<Integer> SINK_BUFFER_FLUSH_MAX_IN_FLIGHT_BATCHES =
+            ConfigOptions.key("sink.buffer-flush.max-in-flight-batches")
+                    .intType()
+                    .defaultValue(0)
+                    .withDescription(
+                            "The max number of flushed batches per writer connection which are "
+                                    + "queued or being written while new records are buffered. "
+                                    + "Checkpoints wait for all in-flight batches. 0 writes "
+                                    + "batches synchronously when they are flushed.");
+
+    public static final ConfigOption<Integer> SINK_BUFFER_FLUSH_WRITERS =
+            ConfigOptions.key("sink.buffer-flush.writers")
+                    .intType()
+                    .defaultValue(1)
+                    .withDescription(
+                            "The number of connections per sink subtask which write in-flight "
+                                    + "batches concurrently. Records with the same primary key "
+                                    + "are always written by the same connection, so they are "
+                                    + "applied in order. Requires a positive "
+                                    + "'sink.buffer-flush.max-in-flight-batches'.");
+
     private JdbcConnectorOptions() {}
 }
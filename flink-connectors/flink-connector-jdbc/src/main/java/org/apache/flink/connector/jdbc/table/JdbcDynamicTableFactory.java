@@ -21,6 +21,7 @@ package org.apache.flink.connector.jdbc.table;
 import org.apache.flink.annotation.Internal;
 import org.apache.flink.configuration.ConfigOption;
 import org.apache.flink.configuration.ConfigOptions;
+import org.apache.flink.configuration.MemorySize;
 import org.apache.flink.configuration.ReadableConfig;
 import org.apache.flink.connector.jdbc.JdbcExecutionOptions;
 import org.apache.flink.connector.jdbc.dialect.JdbcDialect;
@@ -38,6 +39,9 @@ import org.apache.flink.table.types.DataType;
 import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.util.Preconditions;
 
+import org.quartz.CronExpression;
+
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Optional;
@@ -46,23 +50,53 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.DRIVER;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_ASYNC;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_ASYNC_BATCH_INTERVAL;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_ASYNC_BATCH_SIZE;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_ASYNC_MAX_IN_FLIGHT;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_ASYNC_POOL_SIZE;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_BLOOM_FILTER;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_BLOOM_FILTER_CRON;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_BLOOM_FILTER_FPP;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_BLOOM_FILTER_IGNORE_CASE_AND_TRAILING_SPACES;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_BLOOM_FILTER_MAX_STALENESS;
 import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_CACHE_ALL;
 import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_CACHE_ALL_CRON;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_CACHE_ALL_INCREMENTAL_COLUMN;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_CACHE_ALL_INCREMENTAL_FULL_RELOAD_INTERVAL;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_CACHE_ALL_KEY_PARTITIONED;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_CACHE_ALL_PARTITION_COLUMN;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_CACHE_ALL_PARTITION_NUM;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_CACHE_ALL_PARTITION_PARALLELISM;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_CACHE_ALL_REFRESH_JITTER;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_CACHE_ALL_REFRESH_MAX_CONCURRENCY;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_CACHE_ALL_SNAPSHOT_DIR;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_CACHE_ALL_STORAGE;
 import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_CACHE_MAX_ROWS;
 import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_CACHE_MISSING_KEY;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_CACHE_POLICY;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_CACHE_REFRESH_AFTER_WRITE;
 import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_CACHE_TTL;
 import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.LOOKUP_MAX_RETRIES;
 import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.MAX_RETRY_TIMEOUT;
 import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.PASSWORD;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.ROW_CONVERTER_CODE_GENERATION;
 import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.SCAN_AUTO_COMMIT;
 import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.SCAN_FETCH_SIZE;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.SCAN_PARTITION_ADAPTIVE;
 import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.SCAN_PARTITION_COLUMN;
 import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.SCAN_PARTITION_LOWER_BOUND;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.SCAN_PARTITION_MAX_ROWS_PER_SPLIT;
 import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.SCAN_PARTITION_NUM;
 import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.SCAN_PARTITION_UPPER_BOUND;
 import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.SINK_BUFFER_FLUSH_INTERVAL;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.SINK_BUFFER_FLUSH_MAX_BYTES;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.SINK_BUFFER_FLUSH_MAX_IN_FLIGHT_BATCHES;
 import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.SINK_BUFFER_FLUSH_MAX_ROWS;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.SINK_BUFFER_FLUSH_WRITERS;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.SINK_BULK_COPY;
 import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.SINK_MAX_RETRIES;
+import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.SINK_MAX_ROWS_PER_STATEMENT;
 import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.SINK_PARALLELISM;
 import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.TABLE_NAME;
 import static org.apache.flink.connector.jdbc.table.JdbcConnectorOptions.URL;
@@ -87,6 +121,7 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
         validateConfigOptions(config);
         validateDataTypeWithJdbcDialect(context.getPhysicalRowDataType(), config.get(URL));
         JdbcConnectorOptions jdbcOptions = getJdbcOptions(config);
+        validateBulkCopy(config, jdbcOptions, context.getPrimaryKeyIndexes());
 
         return new JdbcDynamicTableSink(
                 jdbcOptions,
@@ -94,7 +129,8 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
                 getJdbcDmlOptions(
                         jdbcOptions,
                         context.getPhysicalRowDataType(),
-                        context.getPrimaryKeyIndexes()),
+                        context.getPrimaryKeyIndexes(),
+                        config),
                 context.getPhysicalRowDataType());
     }
 
@@ -114,6 +150,28 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
                 context.getPhysicalRowDataType());
     }
 
+    private static void validateBulkCopy(
+            ReadableConfig config, JdbcConnectorOptions jdbcOptions, int[] primaryKeyIndexes) {
+        if (!config.get(SINK_BULK_COPY)) {
+            return;
+        }
+        if (!jdbcOptions
+                .getDialect()
+                .getCopyInStatement(jdbcOptions.getTableName(), new String[0])
+                .isPresent()) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The '%s' option is not supported by the %s dialect.",
+                            SINK_BULK_COPY.key(), jdbcOptions.getDialect().dialectName()));
+        }
+        if (primaryKeyIndexes.length > 0) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The '%s' option is only supported by tables without primary key.",
+                            SINK_BULK_COPY.key()));
+        }
+    }
+
     private static void validateDataTypeWithJdbcDialect(DataType dataType, String url) {
         final JdbcDialect dialect = JdbcDialectLoader.load(url);
         dialect.validate((RowType) dataType.getLogicalType());
@@ -133,6 +191,7 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
         readableConfig.getOptional(DRIVER).ifPresent(builder::setDriverName);
         readableConfig.getOptional(USERNAME).ifPresent(builder::setUsername);
         readableConfig.getOptional(PASSWORD).ifPresent(builder::setPassword);
+        builder.setRowConverterCodeGeneration(readableConfig.get(ROW_CONVERTER_CODE_GENERATION));
         return builder.build();
     }
 
@@ -142,9 +201,16 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
         final JdbcReadOptions.Builder builder = JdbcReadOptions.builder();
         if (partitionColumnName.isPresent()) {
             builder.setPartitionColumnName(partitionColumnName.get());
-            builder.setPartitionLowerBound(readableConfig.get(SCAN_PARTITION_LOWER_BOUND));
-            builder.setPartitionUpperBound(readableConfig.get(SCAN_PARTITION_UPPER_BOUND));
-            builder.setNumPartitions(readableConfig.get(SCAN_PARTITION_NUM));
+            // bounds and number of partitions are optional for adaptive partitioning
+            readableConfig
+                    .getOptional(SCAN_PARTITION_LOWER_BOUND)
+                    .ifPresent(builder::setPartitionLowerBound);
+            readableConfig
+                    .getOptional(SCAN_PARTITION_UPPER_BOUND)
+                    .ifPresent(builder::setPartitionUpperBound);
+            readableConfig.getOptional(SCAN_PARTITION_NUM).ifPresent(builder::setNumPartitions);
+            builder.setAdaptivePartitioning(readableConfig.get(SCAN_PARTITION_ADAPTIVE));
+            builder.setMaxRowsPerSplit(readableConfig.get(SCAN_PARTITION_MAX_ROWS_PER_SPLIT));
         }
         readableConfig.getOptional(SCAN_FETCH_SIZE).ifPresent(builder::setFetchSize);
         builder.setAutoCommit(readableConfig.get(SCAN_AUTO_COMMIT));
@@ -152,13 +218,59 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
     }
 
     private JdbcLookupOptions getJdbcLookupOptions(ReadableConfig readableConfig) {
-        return new JdbcLookupOptions(
-                readableConfig.get(LOOKUP_CACHE_MAX_ROWS),
-                readableConfig.get(LOOKUP_CACHE_TTL).toMillis(),
-                readableConfig.get(LOOKUP_MAX_RETRIES),
-                readableConfig.get(LOOKUP_CACHE_MISSING_KEY),
-                readableConfig.get(LOOKUP_CACHE_ALL),
-                readableConfig.get(LOOKUP_CACHE_ALL_CRON));
+        final JdbcLookupOptions.Builder builder = JdbcLookupOptions.builder();
+        readableConfig
+                .getOptional(LOOKUP_CACHE_ALL_PARTITION_COLUMN)
+                .ifPresent(
+                        column ->
+                                builder.setCacheAllPartitionColumn(column)
+                                        .setCacheAllPartitionNum(
+                                                readableConfig.get(LOOKUP_CACHE_ALL_PARTITION_NUM))
+                                        .setCacheAllPartitionParallelism(
+                                                readableConfig.get(
+                                                        LOOKUP_CACHE_ALL_PARTITION_PARALLELISM)));
+        return builder.setCacheMaxSize(readableConfig.get(LOOKUP_CACHE_MAX_ROWS))
+                .setCacheExpireMs(readableConfig.get(LOOKUP_CACHE_TTL).toMillis())
+                .setMaxRetryTimes(readableConfig.get(LOOKUP_MAX_RETRIES))
+                .setAsync(readableConfig.get(LOOKUP_ASYNC))
+                .setAsyncPoolSize(readableConfig.get(LOOKUP_ASYNC_POOL_SIZE))
+                .setAsyncMaxInFlight(readableConfig.get(LOOKUP_ASYNC_MAX_IN_FLIGHT))
+                .setAsyncBatchSize(readableConfig.get(LOOKUP_ASYNC_BATCH_SIZE))
+                .setAsyncBatchIntervalMs(readableConfig.get(LOOKUP_ASYNC_BATCH_INTERVAL).toMillis())
+                .setCacheMissingKey(readableConfig.get(LOOKUP_CACHE_MISSING_KEY))
+                .setCachePolicy(readableConfig.get(LOOKUP_CACHE_POLICY))
+                .setCacheRefreshAfterWriteMs(
+                        readableConfig
+                                .getOptional(LOOKUP_CACHE_REFRESH_AFTER_WRITE)
+                                .map(Duration::toMillis)
+                                .orElse(-1L))
+                .setCacheAll(readableConfig.get(LOOKUP_CACHE_ALL))
+                .setCacheAllCron(readableConfig.get(LOOKUP_CACHE_ALL_CRON))
+                .setCacheAllStorage(readableConfig.get(LOOKUP_CACHE_ALL_STORAGE))
+                .setCacheAllIncrementalColumn(
+                        readableConfig
+                                .getOptional(LOOKUP_CACHE_ALL_INCREMENTAL_COLUMN)
+                                .orElse(null))
+                .setCacheAllFullReloadIntervalMs(
+                        readableConfig
+                                .get(LOOKUP_CACHE_ALL_INCREMENTAL_FULL_RELOAD_INTERVAL)
+                                .toMillis())
+                .setCacheAllKeyPartitioned(readableConfig.get(LOOKUP_CACHE_ALL_KEY_PARTITIONED))
+                .setCacheAllSnapshotDir(
+                        readableConfig.getOptional(LOOKUP_CACHE_ALL_SNAPSHOT_DIR).orElse(null))
+                .setCacheAllRefreshMaxConcurrency(
+                        readableConfig.get(LOOKUP_CACHE_ALL_REFRESH_MAX_CONCURRENCY))
+                .setCacheAllRefreshJitterMs(
+                        readableConfig.get(LOOKUP_CACHE_ALL_REFRESH_JITTER).toMillis())
+                .setBloomFilter(readableConfig.get(LOOKUP_BLOOM_FILTER))
+                .setBloomFilterFpp(readableConfig.get(LOOKUP_BLOOM_FILTER_FPP))
+                .setBloomFilterCron(
+                        readableConfig.getOptional(LOOKUP_BLOOM_FILTER_CRON).orElse(null))
+                .setBloomFilterMaxStalenessMs(
+                        readableConfig.get(LOOKUP_BLOOM_FILTER_MAX_STALENESS).toMillis())
+                .setBloomFilterIgnoreCaseAndTrailingSpaces(
+                        readableConfig.get(LOOKUP_BLOOM_FILTER_IGNORE_CASE_AND_TRAILING_SPACES))
+                .build();
     }
 
     private JdbcExecutionOptions getJdbcExecutionOptions(ReadableConfig config) {
@@ -166,11 +278,18 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
         builder.withBatchSize(config.get(SINK_BUFFER_FLUSH_MAX_ROWS));
         builder.withBatchIntervalMs(config.get(SINK_BUFFER_FLUSH_INTERVAL).toMillis());
         builder.withMaxRetries(config.get(SINK_MAX_RETRIES));
+        builder.withWriters(config.get(SINK_BUFFER_FLUSH_WRITERS));
+        builder.withMaxInFlightBatches(config.get(SINK_BUFFER_FLUSH_MAX_IN_FLIGHT_BATCHES));
+        config.getOptional(SINK_BUFFER_FLUSH_MAX_BYTES)
+                .ifPresent(maxBytes -> builder.withMaxBatchBytes(maxBytes.getBytes()));
         return builder.build();
     }
 
     private JdbcDmlOptions getJdbcDmlOptions(
-            JdbcConnectorOptions jdbcOptions, DataType dataType, int[] primaryKeyIndexes) {
+            JdbcConnectorOptions jdbcOptions,
+            DataType dataType,
+            int[] primaryKeyIndexes,
+            ReadableConfig config) {
 
         String[] keyFields =
                 Arrays.stream(primaryKeyIndexes)
@@ -182,6 +301,8 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
                 .withDialect(jdbcOptions.getDialect())
                 .withFieldNames(DataType.getFieldNames(dataType).toArray(new String[0]))
                 .withKeyFields(keyFields.length > 0 ? keyFields : null)
+                .withBulkCopy(config.get(SINK_BULK_COPY))
+                .withMaxRowsPerStatement(config.get(SINK_MAX_ROWS_PER_STATEMENT))
                 .build();
     }
 
@@ -208,19 +329,49 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
         optionalOptions.add(SCAN_PARTITION_LOWER_BOUND);
         optionalOptions.add(SCAN_PARTITION_UPPER_BOUND);
         optionalOptions.add(SCAN_PARTITION_NUM);
+        optionalOptions.add(SCAN_PARTITION_ADAPTIVE);
+        optionalOptions.add(SCAN_PARTITION_MAX_ROWS_PER_SPLIT);
         optionalOptions.add(SCAN_FETCH_SIZE);
         optionalOptions.add(SCAN_AUTO_COMMIT);
         optionalOptions.add(LOOKUP_CACHE_MAX_ROWS);
         optionalOptions.add(LOOKUP_CACHE_TTL);
         optionalOptions.add(LOOKUP_MAX_RETRIES);
+        optionalOptions.add(LOOKUP_ASYNC);
+        optionalOptions.add(LOOKUP_ASYNC_POOL_SIZE);
+        optionalOptions.add(LOOKUP_ASYNC_MAX_IN_FLIGHT);
+        optionalOptions.add(LOOKUP_ASYNC_BATCH_SIZE);
+        optionalOptions.add(LOOKUP_ASYNC_BATCH_INTERVAL);
         optionalOptions.add(LOOKUP_CACHE_MISSING_KEY);
+        optionalOptions.add(LOOKUP_CACHE_POLICY);
+        optionalOptions.add(LOOKUP_CACHE_REFRESH_AFTER_WRITE);
         optionalOptions.add(LOOKUP_CACHE_ALL);
         optionalOptions.add(LOOKUP_CACHE_ALL_CRON);
+        optionalOptions.add(LOOKUP_CACHE_ALL_STORAGE);
+        optionalOptions.add(LOOKUP_CACHE_ALL_INCREMENTAL_COLUMN);
+        optionalOptions.add(LOOKUP_CACHE_ALL_INCREMENTAL_FULL_RELOAD_INTERVAL);
+        optionalOptions.add(LOOKUP_CACHE_ALL_KEY_PARTITIONED);
+        optionalOptions.add(LOOKUP_CACHE_ALL_PARTITION_COLUMN);
+        optionalOptions.add(LOOKUP_CACHE_ALL_PARTITION_NUM);
+        optionalOptions.add(LOOKUP_CACHE_ALL_PARTITION_PARALLELISM);
+        optionalOptions.add(LOOKUP_CACHE_ALL_SNAPSHOT_DIR);
+        optionalOptions.add(LOOKUP_CACHE_ALL_REFRESH_MAX_CONCURRENCY);
+        optionalOptions.add(LOOKUP_CACHE_ALL_REFRESH_JITTER);
+        optionalOptions.add(LOOKUP_BLOOM_FILTER);
+        optionalOptions.add(LOOKUP_BLOOM_FILTER_FPP);
+        optionalOptions.add(LOOKUP_BLOOM_FILTER_CRON);
+        optionalOptions.add(LOOKUP_BLOOM_FILTER_MAX_STALENESS);
+        optionalOptions.add(LOOKUP_BLOOM_FILTER_IGNORE_CASE_AND_TRAILING_SPACES);
         optionalOptions.add(SINK_BUFFER_FLUSH_MAX_ROWS);
+        optionalOptions.add(SINK_BUFFER_FLUSH_MAX_BYTES);
         optionalOptions.add(SINK_BUFFER_FLUSH_INTERVAL);
         optionalOptions.add(SINK_MAX_RETRIES);
+        optionalOptions.add(SINK_BUFFER_FLUSH_WRITERS);
+        optionalOptions.add(SINK_BULK_COPY);
+        optionalOptions.add(SINK_MAX_ROWS_PER_STATEMENT);
+        optionalOptions.add(SINK_BUFFER_FLUSH_MAX_IN_FLIGHT_BATCHES);
         optionalOptions.add(SINK_PARALLELISM);
         optionalOptions.add(MAX_RETRY_TIMEOUT);
+        optionalOptions.add(ROW_CONVERTER_CODE_GENERATION);
         return optionalOptions;
     }
 
@@ -233,17 +384,44 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
                         PASSWORD,
                         DRIVER,
                         SINK_BUFFER_FLUSH_MAX_ROWS,
+                        SINK_BUFFER_FLUSH_MAX_BYTES,
                         SINK_BUFFER_FLUSH_INTERVAL,
                         SINK_MAX_RETRIES,
+                        SINK_BUFFER_FLUSH_WRITERS,
+                        SINK_BUFFER_FLUSH_MAX_IN_FLIGHT_BATCHES,
+                        SINK_BULK_COPY,
+                        SINK_MAX_ROWS_PER_STATEMENT,
                         MAX_RETRY_TIMEOUT,
                         SCAN_FETCH_SIZE,
                         SCAN_AUTO_COMMIT,
                         LOOKUP_CACHE_MAX_ROWS,
                         LOOKUP_CACHE_TTL,
                         LOOKUP_MAX_RETRIES,
+                        LOOKUP_ASYNC,
+                        LOOKUP_ASYNC_POOL_SIZE,
+                        LOOKUP_ASYNC_MAX_IN_FLIGHT,
+                        LOOKUP_ASYNC_BATCH_SIZE,
+                        LOOKUP_ASYNC_BATCH_INTERVAL,
                         LOOKUP_CACHE_MISSING_KEY,
+                        LOOKUP_CACHE_POLICY,
+                        LOOKUP_CACHE_REFRESH_AFTER_WRITE,
                         LOOKUP_CACHE_ALL,
-                        LOOKUP_CACHE_ALL_CRON)
+                        LOOKUP_CACHE_ALL_CRON,
+                        LOOKUP_CACHE_ALL_STORAGE,
+                        LOOKUP_CACHE_ALL_INCREMENTAL_COLUMN,
+                        LOOKUP_CACHE_ALL_INCREMENTAL_FULL_RELOAD_INTERVAL,
+                        LOOKUP_CACHE_ALL_KEY_PARTITIONED,
+                        LOOKUP_CACHE_ALL_PARTITION_COLUMN,
+                        LOOKUP_CACHE_ALL_PARTITION_NUM,
+                        LOOKUP_CACHE_ALL_PARTITION_PARALLELISM,
+                        LOOKUP_CACHE_ALL_SNAPSHOT_DIR,
+                        LOOKUP_CACHE_ALL_REFRESH_MAX_CONCURRENCY,
+                        LOOKUP_CACHE_ALL_REFRESH_JITTER,
+                        LOOKUP_BLOOM_FILTER,
+                        LOOKUP_BLOOM_FILTER_FPP,
+                        LOOKUP_BLOOM_FILTER_CRON,
+                        LOOKUP_BLOOM_FILTER_MAX_STALENESS,
+                        LOOKUP_BLOOM_FILTER_IGNORE_CASE_AND_TRAILING_SPACES)
                 .collect(Collectors.toSet());
     }
 
@@ -253,14 +431,34 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
 
         checkAllOrNone(config, new ConfigOption[] {USERNAME, PASSWORD});
 
-        checkAllOrNone(
-                config,
-                new ConfigOption[] {
-                    SCAN_PARTITION_COLUMN,
-                    SCAN_PARTITION_NUM,
-                    SCAN_PARTITION_LOWER_BOUND,
-                    SCAN_PARTITION_UPPER_BOUND
-                });
+        if (config.get(SCAN_PARTITION_ADAPTIVE)) {
+            if (!config.getOptional(SCAN_PARTITION_COLUMN).isPresent()) {
+                throw new IllegalArgumentException(
+                        String.format(
+                                "The '%s' option requires the '%s' option.",
+                                SCAN_PARTITION_ADAPTIVE.key(), SCAN_PARTITION_COLUMN.key()));
+            }
+            checkAllOrNone(
+                    config,
+                    new ConfigOption[] {SCAN_PARTITION_LOWER_BOUND, SCAN_PARTITION_UPPER_BOUND});
+        } else {
+            checkAllOrNone(
+                    config,
+                    new ConfigOption[] {
+                        SCAN_PARTITION_COLUMN,
+                        SCAN_PARTITION_NUM,
+                        SCAN_PARTITION_LOWER_BOUND,
+                        SCAN_PARTITION_UPPER_BOUND
+                    });
+        }
+
+        if (config.getOptional(SCAN_PARTITION_NUM).isPresent()
+                && config.get(SCAN_PARTITION_NUM) <= 0) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The value of '%s' option should be positive, but is %s.",
+                            SCAN_PARTITION_NUM.key(), config.get(SCAN_PARTITION_NUM)));
+        }
 
         if (config.getOptional(SCAN_PARTITION_LOWER_BOUND).isPresent()
                 && config.getOptional(SCAN_PARTITION_UPPER_BOUND).isPresent()) {
@@ -279,6 +477,118 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
 
         checkAllOrNone(config, new ConfigOption[] {LOOKUP_CACHE_MAX_ROWS, LOOKUP_CACHE_TTL});
 
+        if (config.getOptional(LOOKUP_CACHE_REFRESH_AFTER_WRITE).isPresent()) {
+            Duration refreshAfterWrite = config.get(LOOKUP_CACHE_REFRESH_AFTER_WRITE);
+            if (config.get(LOOKUP_CACHE_POLICY) != LookupCachePolicy.TINY_LFU) {
+                throw new IllegalArgumentException(
+                        String.format(
+                                "The '%s' option requires the '%s' value of the '%s' option.",
+                                LOOKUP_CACHE_REFRESH_AFTER_WRITE.key(),
+                                LookupCachePolicy.TINY_LFU,
+                                LOOKUP_CACHE_POLICY.key()));
+            }
+            if (refreshAfterWrite.isNegative()
+                    || refreshAfterWrite.isZero()
+                    || refreshAfterWrite.compareTo(config.get(LOOKUP_CACHE_TTL)) >= 0) {
+                throw new IllegalArgumentException(
+                        String.format(
+                                "The value of '%s' option should be positive and less than "
+                                        + "'%s', but is %s.",
+                                LOOKUP_CACHE_REFRESH_AFTER_WRITE.key(),
+                                LOOKUP_CACHE_TTL.key(),
+                                refreshAfterWrite));
+            }
+        }
+
+        checkAllOrNone(
+                config,
+                new ConfigOption[] {
+                    LOOKUP_CACHE_ALL_PARTITION_COLUMN, LOOKUP_CACHE_ALL_PARTITION_NUM
+                });
+
+        if (config.getOptional(LOOKUP_CACHE_ALL_PARTITION_NUM).isPresent()
+                && config.get(LOOKUP_CACHE_ALL_PARTITION_NUM) <= 0) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The value of '%s' option should be positive, but is %s.",
+                            LOOKUP_CACHE_ALL_PARTITION_NUM.key(),
+                            config.get(LOOKUP_CACHE_ALL_PARTITION_NUM)));
+        }
+
+        if (config.get(LOOKUP_CACHE_ALL_PARTITION_PARALLELISM) <= 0) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The value of '%s' option should be positive, but is %s.",
+                            LOOKUP_CACHE_ALL_PARTITION_PARALLELISM.key(),
+                            config.get(LOOKUP_CACHE_ALL_PARTITION_PARALLELISM)));
+        }
+
+        for (ConfigOption<Integer> option :
+                Arrays.asList(
+                        LOOKUP_ASYNC_POOL_SIZE,
+                        LOOKUP_ASYNC_MAX_IN_FLIGHT,
+                        LOOKUP_ASYNC_BATCH_SIZE,
+                        LOOKUP_CACHE_ALL_REFRESH_MAX_CONCURRENCY,
+                        SCAN_PARTITION_MAX_ROWS_PER_SPLIT,
+                        SINK_BUFFER_FLUSH_WRITERS,
+                        SINK_MAX_ROWS_PER_STATEMENT)) {
+            if (config.get(option) <= 0) {
+                throw new IllegalArgumentException(
+                        String.format(
+                                "The value of '%s' option should be positive, but is %s.",
+                                option.key(), config.get(option)));
+            }
+        }
+
+        for (ConfigOption<String> option :
+                Arrays.asList(LOOKUP_CACHE_ALL_CRON, LOOKUP_BLOOM_FILTER_CRON)) {
+            config.getOptional(option)
+                    .ifPresent(
+                            cron -> {
+                                if (!CronExpression.isValidExpression(cron)) {
+                                    throw new IllegalArgumentException(
+                                            String.format(
+                                                    "The value of '%s' option should be a valid "
+                                                            + "quartz cron expression, but is %s.",
+                                                    option.key(), cron));
+                                }
+                            });
+        }
+
+        if (config.get(LOOKUP_BLOOM_FILTER)) {
+            for (ConfigOption<Boolean> option : Arrays.asList(LOOKUP_CACHE_ALL, LOOKUP_ASYNC)) {
+                if (config.get(option)) {
+                    throw new IllegalArgumentException(
+                            String.format(
+                                    "The '%s' option is not supported together with the '%s' "
+                                            + "option.",
+                                    LOOKUP_BLOOM_FILTER.key(), option.key()));
+                }
+            }
+            if (!config.getOptional(LOOKUP_BLOOM_FILTER_CRON).isPresent()) {
+                throw new IllegalArgumentException(
+                        String.format(
+                                "The '%s' option is required if the '%s' option is enabled.",
+                                LOOKUP_BLOOM_FILTER_CRON.key(), LOOKUP_BLOOM_FILTER.key()));
+            }
+            if (config.get(LOOKUP_BLOOM_FILTER_MAX_STALENESS).isNegative()) {
+                throw new IllegalArgumentException(
+                        String.format(
+                                "The value of '%s' option shouldn't be negative, but is %s.",
+                                LOOKUP_BLOOM_FILTER_MAX_STALENESS.key(),
+                                config.get(LOOKUP_BLOOM_FILTER_MAX_STALENESS)));
+            }
+        }
+
+        double bloomFilterFpp = config.get(LOOKUP_BLOOM_FILTER_FPP);
+        if (bloomFilterFpp <= 0 || bloomFilterFpp >= 1) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The value of '%s' option should be between 0 and 1 exclusive, but "
+                                    + "is %s.",
+                            LOOKUP_BLOOM_FILTER_FPP.key(), bloomFilterFpp));
+        }
+
         if (config.get(LOOKUP_MAX_RETRIES) < 0) {
             throw new IllegalArgumentException(
                     String.format(
@@ -293,6 +603,42 @@ public class JdbcDynamicTableFactory implements DynamicTableSourceFactory, Dynam
                             SINK_MAX_RETRIES.key(), config.get(SINK_MAX_RETRIES)));
         }
 
+        if (config.get(SINK_BUFFER_FLUSH_MAX_IN_FLIGHT_BATCHES) < 0) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The value of '%s' option shouldn't be negative, but is %s.",
+                            SINK_BUFFER_FLUSH_MAX_IN_FLIGHT_BATCHES.key(),
+                            config.get(SINK_BUFFER_FLUSH_MAX_IN_FLIGHT_BATCHES)));
+        }
+
+        if (config.get(SINK_BUFFER_FLUSH_WRITERS) > 1
+                && config.get(SINK_BUFFER_FLUSH_MAX_IN_FLIGHT_BATCHES) == 0) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The '%s' option requires a positive '%s' option.",
+                            SINK_BUFFER_FLUSH_WRITERS.key(),
+                            SINK_BUFFER_FLUSH_MAX_IN_FLIGHT_BATCHES.key()));
+        }
+
+        if (config.getOptional(SINK_BUFFER_FLUSH_MAX_BYTES).isPresent()) {
+            final long maxBytes = config.get(SINK_BUFFER_FLUSH_MAX_BYTES).getBytes();
+            if (maxBytes < JdbcExecutionOptions.MIN_BATCH_BYTES) {
+                throw new IllegalArgumentException(
+                        String.format(
+                                "The value of '%s' option should be at least %s, but is %s.",
+                                SINK_BUFFER_FLUSH_MAX_BYTES.key(),
+                                new MemorySize(JdbcExecutionOptions.MIN_BATCH_BYTES),
+                                config.get(SINK_BUFFER_FLUSH_MAX_BYTES)));
+            }
+            if (config.get(SINK_BUFFER_FLUSH_MAX_IN_FLIGHT_BATCHES) > 0) {
+                throw new IllegalArgumentException(
+                        String.format(
+                                "The '%s' option is not supported together with the '%s' option.",
+                                SINK_BUFFER_FLUSH_MAX_BYTES.key(),
+                                SINK_BUFFER_FLUSH_MAX_IN_FLIGHT_BATCHES.key()));
+            }
+        }
+
         if (config.get(MAX_RETRY_TIMEOUT).getSeconds() <= 0) {
             throw new IllegalArgumentException(
                     String.format(
@@ -19,25 +19,41 @@
 package org.apache.flink.connector.jdbc.table;
 
 import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.functions.Partitioner;
+import org.apache.flink.connector.jdbc.converter.JdbcRowConverter;
 import org.apache.flink.connector.jdbc.dialect.JdbcDialect;
+import org.apache.flink.connector.jdbc.internal.lookup.JdbcLookupKeyPartitioner;
 import org.apache.flink.connector.jdbc.internal.options.JdbcConnectorOptions;
 import org.apache.flink.connector.jdbc.internal.options.JdbcLookupOptions;
 import org.apache.flink.connector.jdbc.internal.options.JdbcReadOptions;
+import org.apache.flink.connector.jdbc.source.JdbcSource;
 import org.apache.flink.connector.jdbc.split.JdbcNumericBetweenParametersProvider;
 import org.apache.flink.table.connector.ChangelogMode;
 import org.apache.flink.table.connector.Projection;
+import org.apache.flink.table.connector.source.AsyncTableFunctionProvider;
 import org.apache.flink.table.connector.source.DynamicTableSource;
 import org.apache.flink.table.connector.source.InputFormatProvider;
 import org.apache.flink.table.connector.source.LookupTableSource;
 import org.apache.flink.table.connector.source.ScanTableSource;
+import org.apache.flink.table.connector.source.SourceProvider;
 import org.apache.flink.table.connector.source.TableFunctionProvider;
+import org.apache.flink.table.connector.source.abilities.SupportsFilterPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsLimitPushDown;
+import org.apache.flink.table.connector.source.abilities.SupportsLookupKeyPartitioning;
 import org.apache.flink.table.connector.source.abilities.SupportsProjectionPushDown;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.expressions.ResolvedExpression;
 import org.apache.flink.table.types.DataType;
+import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.util.Preconditions;
 
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 /** A {@link DynamicTableSource} for JDBC. */
 @Internal
@@ -45,7 +61,9 @@ public class JdbcDynamicTableSource
         implements ScanTableSource,
                 LookupTableSource,
                 SupportsProjectionPushDown,
-                SupportsLimitPushDown {
+                SupportsLimitPushDown,
+                SupportsFilterPushDown,
+                SupportsLookupKeyPartitioning {
 
     private final JdbcConnectorOptions options;
     private final JdbcReadOptions readOptions;
@@ -53,6 +71,7 @@ public class JdbcDynamicTableSource
     private DataType physicalRowDataType;
     private final String dialectName;
     private long limit = -1;
+    private List<ParameterizedPredicate> filters = new ArrayList<>();
 
     public JdbcDynamicTableSource(
             JdbcConnectorOptions options,
@@ -78,6 +97,19 @@ public class JdbcDynamicTableSource
         }
         final RowType rowType = (RowType) physicalRowDataType.getLogicalType();
 
+        // the cache all mode never queries the database on lookups, so it stays synchronous
+        if (lookupOptions.isAsync() && !lookupOptions.isCacheAll()) {
+            return AsyncTableFunctionProvider.of(
+                    new JdbcRowDataAsyncLookupFunction(
+                            options,
+                            lookupOptions,
+                            DataType.getFieldNames(physicalRowDataType).toArray(new String[0]),
+                            DataType.getFieldDataTypes(physicalRowDataType)
+                                    .toArray(new DataType[0]),
+                            keyNames,
+                            rowType));
+        }
+
         return TableFunctionProvider.of(
                 new JdbcRowDataLookupFunction(
                         options,
@@ -85,11 +117,28 @@ public class JdbcDynamicTableSource
                         DataType.getFieldNames(physicalRowDataType).toArray(new String[0]),
                         DataType.getFieldDataTypes(physicalRowDataType).toArray(new DataType[0]),
                         keyNames,
-                        rowType));
+                        rowType,
+                        ParameterizedPredicate.conjunction(filters).orElse(null)));
+    }
+
+    @Override
+    public Optional<Partitioner<RowData>> getLookupKeyPartitioner(LookupContext context) {
+        if (!lookupOptions.isCacheAll() || !lookupOptions.isCacheAllKeyPartitioned()) {
+            return Optional.empty();
+        }
+        final List<DataType> fieldTypes = DataType.getFieldDataTypes(physicalRowDataType);
+        final LogicalType[] keyTypes =
+                Arrays.stream(context.getKeys())
+                        .map(innerKeyArr -> fieldTypes.get(innerKeyArr[0]).getLogicalType())
+                        .toArray(LogicalType[]::new);
+        return Optional.of(new JdbcLookupKeyPartitioner(keyTypes));
     }
 
     @Override
     public ScanRuntimeProvider getScanRuntimeProvider(ScanContext runtimeProviderContext) {
+        if (readOptions.isAdaptivePartitioning()) {
+            return SourceProvider.of(createAdaptivePartitionedSource(runtimeProviderContext));
+        }
         final JdbcRowDataInputFormat.Builder builder =
                 JdbcRowDataInputFormat.builder()
                         .setDrivername(options.getDriverName())
@@ -107,30 +156,84 @@ public class JdbcDynamicTableSource
                         options.getTableName(),
                         DataType.getFieldNames(physicalRowDataType).toArray(new String[0]),
                         new String[0]);
+        final Optional<ParameterizedPredicate> filter = ParameterizedPredicate.conjunction(filters);
         if (readOptions.getPartitionColumnName().isPresent()) {
             long lowerBound = readOptions.getPartitionLowerBound().get();
             long upperBound = readOptions.getPartitionUpperBound().get();
             int numPartitions = readOptions.getNumPartitions().get();
-            builder.setParametersProvider(
+            Serializable[][] ranges =
                     new JdbcNumericBetweenParametersProvider(lowerBound, upperBound)
-                            .ofBatchNum(numPartitions));
+                            .ofBatchNum(numPartitions)
+                            .getParameterValues();
+            // the parameters of the filter are bound in front of the bounds of each partition
+            Serializable[] filterParameters =
+                    filter.map(ParameterizedPredicate::getParameters).orElse(new Serializable[0]);
+            Serializable[][] parameterValues = new Serializable[ranges.length][];
+            for (int i = 0; i < ranges.length; i++) {
+                parameterValues[i] = Arrays.copyOf(filterParameters, filterParameters.length + 2);
+                parameterValues[i][filterParameters.length] = ranges[i][0];
+                parameterValues[i][filterParameters.length + 1] = ranges[i][1];
+            }
+            builder.setParametersProvider(() -> parameterValues);
             query +=
                     " WHERE "
+                            + filter.map(f -> "(" + f.getPredicate() + ") AND ").orElse("")
                             + dialect.quoteIdentifier(readOptions.getPartitionColumnName().get())
                             + " BETWEEN ? AND ?";
+        } else if (filter.isPresent()) {
+            builder.setParametersProvider(
+                    () -> new Serializable[][] {filter.get().getParameters()});
+            query += " WHERE " + filter.get().getPredicate();
         }
         if (limit >= 0) {
             query = String.format("%s %s", query, dialect.getLimitClause(limit));
         }
         builder.setQuery(query);
         final RowType rowType = (RowType) physicalRowDataType.getLogicalType();
-        builder.setRowConverter(dialect.getRowConverter(rowType));
+        builder.setRowConverter(options.createReadRowConverter(rowType));
         builder.setRowDataTypeInfo(
                 runtimeProviderContext.createTypeInformation(physicalRowDataType));
 
         return InputFormatProvider.of(builder.build());
     }
 
+    private JdbcSource<RowData> createAdaptivePartitionedSource(
+            ScanContext runtimeProviderContext) {
+        final JdbcDialect dialect = options.getDialect();
+        final RowType rowType = (RowType) physicalRowDataType.getLogicalType();
+        final JdbcRowConverter rowConverter = options.createReadRowConverter(rowType);
+        final JdbcSource.Builder<RowData> builder =
+                JdbcSource.<RowData>builder()
+                        .setConnectionOptions(options)
+                        .setQuery(
+                                dialect.getSelectFromStatement(
+                                        options.getTableName(),
+                                        DataType.getFieldNames(physicalRowDataType)
+                                                .toArray(new String[0]),
+                                        new String[0]))
+                        .setPartitionColumn(
+                                dialect.quoteIdentifier(options.getTableName()),
+                                dialect.quoteIdentifier(readOptions.getPartitionColumnName().get()))
+                        .setMaxRowsPerSplit(readOptions.getMaxRowsPerSplit())
+                        .setFetchSize(readOptions.getFetchSize())
+                        .setAutoCommit(readOptions.getAutoCommit())
+                        .setResultExtractor(rowConverter::toInternal)
+                        .setTypeInformation(
+                                runtimeProviderContext.createTypeInformation(physicalRowDataType));
+        if (readOptions.getPartitionLowerBound().isPresent()) {
+            builder.setPartitionBounds(
+                    readOptions.getPartitionLowerBound().get(),
+                    readOptions.getPartitionUpperBound().get());
+        }
+        readOptions.getNumPartitions().ifPresent(builder::setMinSplits);
+        ParameterizedPredicate.conjunction(filters)
+                .ifPresent(f -> builder.setFilter(f.getPredicate(), f.getParameters()));
+        if (limit >= 0) {
+            builder.setLimitClause(dialect.getLimitClause(limit));
+        }
+        return builder.build();
+    }
+
     @Override
     public ChangelogMode getChangelogMode() {
         return ChangelogMode.insertOnly();
@@ -147,9 +250,32 @@ public class JdbcDynamicTableSource
         this.physicalRowDataType = Projection.of(projectedFields).project(physicalRowDataType);
     }
 
+    @Override
+    public Result applyFilters(List<ResolvedExpression> filters) {
+        final JdbcFilterPushdownPreparedStatementVisitor visitor =
+                new JdbcFilterPushdownPreparedStatementVisitor(
+                        options.getDialect()::quoteIdentifier);
+        final List<ResolvedExpression> acceptedFilters = new ArrayList<>();
+        for (ResolvedExpression filter : filters) {
+            Optional<ParameterizedPredicate> predicate = filter.accept(visitor);
+            if (predicate.isPresent()) {
+                this.filters.add(predicate.get());
+                acceptedFilters.add(filter);
+            }
+        }
+        // the database may select more rows than a filter, e.g. under a case-insensitive
+        // collation, and lookups by key don't apply the filters, so all filters remain in Flink
+        return Result.of(acceptedFilters, filters);
+    }
+
     @Override
     public DynamicTableSource copy() {
-        return new JdbcDynamicTableSource(options, readOptions, lookupOptions, physicalRowDataType);
+        JdbcDynamicTableSource copy =
+                new JdbcDynamicTableSource(
+                        options, readOptions, lookupOptions, physicalRowDataType);
+        copy.limit = limit;
+        copy.filters = new ArrayList<>(filters);
+        return copy;
     }
 
     @Override
@@ -171,13 +297,20 @@ public class JdbcDynamicTableSource
                 && Objects.equals(lookupOptions, that.lookupOptions)
                 && Objects.equals(physicalRowDataType, that.physicalRowDataType)
                 && Objects.equals(dialectName, that.dialectName)
-                && Objects.equals(limit, that.limit);
+                && Objects.equals(limit, that.limit)
+                && Objects.equals(filters, that.filters);
     }
 
     @Override
     public int hashCode() {
         return Objects.hash(
-                options, readOptions, lookupOptions, physicalRowDataType, dialectName, limit);
+                options,
+                readOptions,
+                lookupOptions,
+                physicalRowDataType,
+                dialectName,
+                limit,
+                filters);
     }
 
     @Override
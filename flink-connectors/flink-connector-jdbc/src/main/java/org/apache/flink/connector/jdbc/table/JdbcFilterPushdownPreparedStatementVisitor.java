@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.table;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.table.expressions.CallExpression;
+import org.apache.flink.table.expressions.Expression;
+import org.apache.flink.table.expressions.ExpressionDefaultVisitor;
+import org.apache.flink.table.expressions.FieldReferenceExpression;
+import org.apache.flink.table.expressions.ResolvedExpression;
+import org.apache.flink.table.expressions.ValueLiteralExpression;
+import org.apache.flink.table.functions.BuiltInFunctionDefinitions;
+import org.apache.flink.table.functions.FunctionDefinition;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.LogicalTypeFamily;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Translates filters of the planner into SQL conditions with bind parameters.
+ *
+ * <p>Supported are comparisons of columns with literals or other columns, {@code IN}, {@code IS
+ * [NOT] NULL}, {@code LIKE} and their combinations with {@code AND} and {@code OR}. The database
+ * may compare strings under a different collation than Flink, e.g. case-insensitively, so strings
+ * are only compared for equality and patterns with backslashes, which some databases treat as
+ * escape character, are not translated. Conditions may therefore select more rows than the filter,
+ * but never less; callers still evaluate the filter on the selected rows.
+ */
+@Internal
+public class JdbcFilterPushdownPreparedStatementVisitor
+        extends ExpressionDefaultVisitor<Optional<ParameterizedPredicate>> {
+
+    private static final Map<FunctionDefinition, String> COMPARISONS = new HashMap<>();
+    private static final Map<String, String> MIRRORED_COMPARISONS = new HashMap<>();
+
+    static {
+        COMPARISONS.put(BuiltInFunctionDefinitions.EQUALS, "=");
+        COMPARISONS.put(BuiltInFunctionDefinitions.NOT_EQUALS, "<>");
+        COMPARISONS.put(BuiltInFunctionDefinitions.GREATER_THAN, ">");
+        COMPARISONS.put(BuiltInFunctionDefinitions.GREATER_THAN_OR_EQUAL, ">=");
+        COMPARISONS.put(BuiltInFunctionDefinitions.LESS_THAN, "<");
+        COMPARISONS.put(BuiltInFunctionDefinitions.LESS_THAN_OR_EQUAL, "<=");
+
+        MIRRORED_COMPARISONS.put("=", "=");
+        MIRRORED_COMPARISONS.put("<>", "<>");
+        MIRRORED_COMPARISONS.put(">", "<");
+        MIRRORED_COMPARISONS.put(">=", "<=");
+        MIRRORED_COMPARISONS.put("<", ">");
+        MIRRORED_COMPARISONS.put("<=", ">=");
+    }
+
+    private final Function<String, String> quoteIdentifier;
+
+    public JdbcFilterPushdownPreparedStatementVisitor(Function<String, String> quoteIdentifier) {
+        this.quoteIdentifier = quoteIdentifier;
+    }
+
+    @Override
+    public Optional<ParameterizedPredicate> visit(CallExpression call) {
+        final FunctionDefinition function = call.getFunctionDefinition();
+        final List<ResolvedExpression> args = call.getResolvedChildren();
+        if (COMPARISONS.containsKey(function) && args.size() == 2) {
+            return visitComparison(COMPARISONS.get(function), args.get(0), args.get(1));
+        } else if (function == BuiltInFunctionDefinitions.IN) {
+            return visitIn(args);
+        } else if (function == BuiltInFunctionDefinitions.IS_NULL && args.size() == 1) {
+            return column(args.get(0)).map(c -> new ParameterizedPredicate(c + " IS NULL"));
+        } else if (function == BuiltInFunctionDefinitions.IS_NOT_NULL && args.size() == 1) {
+            return column(args.get(0)).map(c -> new ParameterizedPredicate(c + " IS NOT NULL"));
+        } else if (function == BuiltInFunctionDefinitions.LIKE && args.size() == 2) {
+            return visitLike(args.get(0), args.get(1));
+        } else if (function == BuiltInFunctionDefinitions.AND) {
+            return visitAnd(args);
+        } else if (function == BuiltInFunctionDefinitions.OR) {
+            return visitOr(args);
+        }
+        return Optional.empty();
+    }
+
+    private Optional<ParameterizedPredicate> visitComparison(
+            String operator, ResolvedExpression left, ResolvedExpression right) {
+        if (isString(left.getOutputDataType().getLogicalType()) && !operator.equals("=")) {
+            return Optional.empty();
+        }
+        final Optional<String> leftColumn = column(left);
+        final Optional<String> rightColumn = column(right);
+        if (leftColumn.isPresent() && rightColumn.isPresent()) {
+            return Optional.of(
+                    new ParameterizedPredicate(
+                            leftColumn.get() + " " + operator + " " + rightColumn.get()));
+        } else if (leftColumn.isPresent()) {
+            return parameter(right)
+                    .map(
+                            p ->
+                                    new ParameterizedPredicate(
+                                            leftColumn.get() + " " + operator + " ?", p));
+        } else if (rightColumn.isPresent()) {
+            final String mirrored = MIRRORED_COMPARISONS.get(operator);
+            return parameter(left)
+                    .map(
+                            p ->
+                                    new ParameterizedPredicate(
+                                            rightColumn.get() + " " + mirrored + " ?", p));
+        }
+        return Optional.empty();
+    }
+
+    private Optional<ParameterizedPredicate> visitIn(List<ResolvedExpression> args) {
+        if (args.size() < 2) {
+            return Optional.empty();
+        }
+        final Optional<String> column = column(args.get(0));
+        if (!column.isPresent()) {
+            return Optional.empty();
+        }
+        final Serializable[] parameters = new Serializable[args.size() - 1];
+        final StringBuilder predicate = new StringBuilder(column.get()).append(" IN (");
+        for (int i = 1; i < args.size(); i++) {
+            final Optional<Serializable> parameter = parameter(args.get(i));
+            if (!parameter.isPresent()) {
+                return Optional.empty();
+            }
+            parameters[i - 1] = parameter.get();
+            predicate.append(i == 1 ? "?" : ", ?");
+        }
+        return Optional.of(
+                new ParameterizedPredicate(predicate.append(")").toString(), parameters));
+    }
+
+    private Optional<ParameterizedPredicate> visitLike(
+            ResolvedExpression value, ResolvedExpression pattern) {
+        final Optional<String> column = column(value);
+        final Optional<Serializable> parameter = parameter(pattern);
+        if (!column.isPresent()
+                || !parameter.isPresent()
+                || ((String) parameter.get()).indexOf('\\') >= 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new ParameterizedPredicate(column.get() + " LIKE ?", parameter.get()));
+    }
+
+    private Optional<ParameterizedPredicate> visitAnd(List<ResolvedExpression> args) {
+        // the database may select more rows than the conjunction, so untranslated terms are dropped
+        final List<ParameterizedPredicate> predicates = new ArrayList<>(args.size());
+        for (ResolvedExpression arg : args) {
+            arg.accept(this).ifPresent(predicates::add);
+        }
+        return ParameterizedPredicate.conjunction(predicates);
+    }
+
+    private Optional<ParameterizedPredicate> visitOr(List<ResolvedExpression> args) {
+        final List<ParameterizedPredicate> predicates = new ArrayList<>(args.size());
+        for (ResolvedExpression arg : args) {
+            final Optional<ParameterizedPredicate> predicate = arg.accept(this);
+            if (!predicate.isPresent()) {
+                return Optional.empty();
+            }
+            predicates.add(predicate.get());
+        }
+        return predicates.isEmpty()
+                ? Optional.empty()
+                : Optional.of(ParameterizedPredicate.combine("OR", predicates));
+    }
+
+    private Optional<String> column(ResolvedExpression expression) {
+        if (expression instanceof FieldReferenceExpression) {
+            return Optional.of(
+                    quoteIdentifier.apply(((FieldReferenceExpression) expression).getName()));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Converts a literal into a parameter which the JDBC drivers bind to the type of the column.
+     */
+    private static Optional<Serializable> parameter(ResolvedExpression expression) {
+        if (!(expression instanceof ValueLiteralExpression)) {
+            return Optional.empty();
+        }
+        final ValueLiteralExpression literal = (ValueLiteralExpression) expression;
+        final LogicalType type = literal.getOutputDataType().getLogicalType();
+        switch (type.getTypeRoot()) {
+            case CHAR:
+            case VARCHAR:
+                return literal.getValueAs(String.class).map(v -> v);
+            case BOOLEAN:
+                return literal.getValueAs(Boolean.class).map(v -> v);
+            case TINYINT:
+                return literal.getValueAs(Number.class).map(Number::byteValue);
+            case SMALLINT:
+                return literal.getValueAs(Number.class).map(Number::shortValue);
+            case INTEGER:
+                return literal.getValueAs(Number.class).map(Number::intValue);
+            case BIGINT:
+                return literal.getValueAs(Number.class).map(Number::longValue);
+            case FLOAT:
+                return literal.getValueAs(Number.class).map(Number::floatValue);
+            case DOUBLE:
+                return literal.getValueAs(Number.class).map(Number::doubleValue);
+            case DECIMAL:
+                return literal.getValueAs(BigDecimal.class).map(v -> v);
+            case DATE:
+                return literal.getValueAs(LocalDate.class).map(Date::valueOf);
+            case TIME_WITHOUT_TIME_ZONE:
+                // java.sql.Time has no fractional seconds
+                return literal.getValueAs(LocalTime.class)
+                        .filter(v -> v.getNano() == 0)
+                        .map(Time::valueOf);
+            case TIMESTAMP_WITHOUT_TIME_ZONE:
+                return literal.getValueAs(LocalDateTime.class).map(Timestamp::valueOf);
+            default:
+                return Optional.empty();
+        }
+    }
+
+    private static boolean isString(LogicalType type) {
+        return type.is(LogicalTypeFamily.CHARACTER_STRING);
+    }
+
+    @Override
+    protected Optional<ParameterizedPredicate> defaultMethod(Expression expression) {
+        return Optional.empty();
+    }
+}
@@ -27,9 +27,12 @@ import org.apache.flink.connector.jdbc.dialect.JdbcDialect;
 import org.apache.flink.connector.jdbc.internal.JdbcOutputFormat;
 import org.apache.flink.connector.jdbc.internal.connection.SimpleJdbcConnectionProvider;
 import org.apache.flink.connector.jdbc.internal.executor.JdbcBatchStatementExecutor;
+import org.apache.flink.connector.jdbc.internal.executor.TableBinaryBufferReducedStatementExecutor;
 import org.apache.flink.connector.jdbc.internal.executor.TableBufferReducedStatementExecutor;
 import org.apache.flink.connector.jdbc.internal.executor.TableBufferedStatementExecutor;
+import org.apache.flink.connector.jdbc.internal.executor.TableCopyStatementExecutor;
 import org.apache.flink.connector.jdbc.internal.executor.TableInsertOrUpdateStatementExecutor;
+import org.apache.flink.connector.jdbc.internal.executor.TableMultiRowStatementExecutor;
 import org.apache.flink.connector.jdbc.internal.executor.TableSimpleStatementExecutor;
 import org.apache.flink.connector.jdbc.internal.options.JdbcConnectorOptions;
 import org.apache.flink.connector.jdbc.internal.options.JdbcDmlOptions;
@@ -42,7 +45,10 @@ import org.apache.flink.table.types.logical.RowType;
 
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
 
 import static org.apache.flink.table.data.RowData.createFieldGetter;
 import static org.apache.flink.util.Preconditions.checkArgument;
@@ -102,7 +108,31 @@ public class JdbcOutputFormatBuilder implements Serializable {
                     executionOptions,
                     ctx ->
                             createBufferReduceExecutor(
-                                    dmlOptions, ctx, rowDataTypeInformation, logicalTypes),
+                                    dmlOptions,
+                                    ctx,
+                                    rowDataTypeInformation,
+                                    logicalTypes,
+                                    executionOptions.getMaxBatchBytes()),
+                    JdbcOutputFormat.RecordExtractor.identity(),
+                    createRowKeyExtractor(logicalTypes, getPrimaryKeyFields(dmlOptions)));
+        } else if (dmlOptions.isBulkCopy()) {
+            // append only query bulk loaded by the copy statement
+            final String copySql =
+                    dmlOptions
+                            .getDialect()
+                            .getCopyInStatement(
+                                    dmlOptions.getTableName(), dmlOptions.getFieldNames())
+                            .orElseThrow(
+                                    () ->
+                                            new IllegalArgumentException(
+                                                    "The dialect "
+                                                            + dmlOptions.getDialect().dialectName()
+                                                            + " doesn't support bulk copy."));
+            final RowType rowType = RowType.of(logicalTypes, dmlOptions.getFieldNames());
+            return new JdbcOutputFormat<>(
+                    new SimpleJdbcConnectionProvider(jdbcOptions),
+                    executionOptions,
+                    ctx -> new TableCopyStatementExecutor(copySql, rowType),
                     JdbcOutputFormat.RecordExtractor.identity());
         } else {
             // append only query
@@ -118,9 +148,11 @@ public class JdbcOutputFormatBuilder implements Serializable {
                             createSimpleBufferedExecutor(
                                     ctx,
                                     dmlOptions.getDialect(),
+                                    dmlOptions.getTableName(),
                                     dmlOptions.getFieldNames(),
                                     logicalTypes,
                                     sql,
+                                    dmlOptions.getMaxRowsPerStatement(),
                                     rowDataTypeInformation),
                     JdbcOutputFormat.RecordExtractor.identity());
         }
@@ -130,17 +162,37 @@ public class JdbcOutputFormatBuilder implements Serializable {
             JdbcDmlOptions opt,
             RuntimeContext ctx,
             TypeInformation<RowData> rowDataTypeInfo,
-            LogicalType[] fieldTypes) {
+            LogicalType[] fieldTypes,
+            long maxBatchBytes) {
         checkArgument(opt.getKeyFields().isPresent());
         JdbcDialect dialect = opt.getDialect();
         String tableName = opt.getTableName();
         String[] pkNames = opt.getKeyFields().get();
-        int[] pkFields =
-                Arrays.stream(pkNames)
-                        .mapToInt(Arrays.asList(opt.getFieldNames())::indexOf)
-                        .toArray();
+        int[] pkFields = getPrimaryKeyFields(opt);
         LogicalType[] pkTypes =
                 Arrays.stream(pkFields).mapToObj(f -> fieldTypes[f]).toArray(LogicalType[]::new);
+        final JdbcBatchStatementExecutor<RowData> upsertExecutor =
+                createUpsertRowExecutor(
+                        dialect,
+                        tableName,
+                        opt.getFieldNames(),
+                        fieldTypes,
+                        opt.getMaxRowsPerStatement(),
+                        pkFields,
+                        pkNames,
+                        pkTypes);
+        final JdbcBatchStatementExecutor<RowData> deleteExecutor =
+                createDeleteExecutor(dialect, tableName, pkNames, pkTypes);
+        if (maxBatchBytes > 0) {
+            // records are serialized into the buffer, so they never need to be copied
+            return new TableBinaryBufferReducedStatementExecutor(
+                    upsertExecutor,
+                    deleteExecutor,
+                    createRowKeyExtractor(fieldTypes, pkFields),
+                    pkTypes,
+                    fieldTypes,
+                    maxBatchBytes);
+        }
         final TypeSerializer<RowData> typeSerializer =
                 rowDataTypeInfo.createSerializer(ctx.getExecutionConfig());
         final Function<RowData, RowData> valueTransform =
@@ -149,15 +201,8 @@ public class JdbcOutputFormatBuilder implements Serializable {
                         : Function.identity();
 
         return new TableBufferReducedStatementExecutor(
-                createUpsertRowExecutor(
-                        dialect,
-                        tableName,
-                        opt.getFieldNames(),
-                        fieldTypes,
-                        pkFields,
-                        pkNames,
-                        pkTypes),
-                createDeleteExecutor(dialect, tableName, pkNames, pkTypes),
+                upsertExecutor,
+                deleteExecutor,
                 createRowKeyExtractor(fieldTypes, pkFields),
                 valueTransform);
     }
@@ -165,14 +210,24 @@ public class JdbcOutputFormatBuilder implements Serializable {
     private static JdbcBatchStatementExecutor<RowData> createSimpleBufferedExecutor(
             RuntimeContext ctx,
             JdbcDialect dialect,
+            String tableName,
             String[] fieldNames,
             LogicalType[] fieldTypes,
             String sql,
+            int maxRowsPerStatement,
             TypeInformation<RowData> rowDataTypeInfo) {
         final TypeSerializer<RowData> typeSerializer =
                 rowDataTypeInfo.createSerializer(ctx.getExecutionConfig());
         return new TableBufferedStatementExecutor(
-                createSimpleRowExecutor(dialect, fieldNames, fieldTypes, sql),
+                createRowExecutor(
+                        dialect,
+                        fieldNames,
+                        fieldTypes,
+                        sql,
+                        maxRowsPerStatement,
+                        numRows ->
+                                dialect.getMultiRowInsertIntoStatement(
+                                        tableName, fieldNames, numRows)),
                 ctx.getExecutionConfig().isObjectReuseEnabled()
                         ? typeSerializer::copy
                         : Function.identity());
@@ -183,11 +238,22 @@ public class JdbcOutputFormatBuilder implements Serializable {
             String tableName,
             String[] fieldNames,
             LogicalType[] fieldTypes,
+            int maxRowsPerStatement,
             int[] pkFields,
             String[] pkNames,
             LogicalType[] pkTypes) {
         return dialect.getUpsertStatement(tableName, fieldNames, pkNames)
-                .map(sql -> createSimpleRowExecutor(dialect, fieldNames, fieldTypes, sql))
+                .map(
+                        sql ->
+                                createRowExecutor(
+                                        dialect,
+                                        fieldNames,
+                                        fieldTypes,
+                                        sql,
+                                        maxRowsPerStatement,
+                                        numRows ->
+                                                dialect.getMultiRowUpsertStatement(
+                                                        tableName, fieldNames, pkNames, numRows)))
                 .orElseGet(
                         () ->
                                 createInsertOrUpdateExecutor(
@@ -195,6 +261,7 @@ public class JdbcOutputFormatBuilder implements Serializable {
                                         tableName,
                                         fieldNames,
                                         fieldTypes,
+                                        maxRowsPerStatement,
                                         pkFields,
                                         pkNames,
                                         pkTypes));
@@ -206,6 +273,45 @@ public class JdbcOutputFormatBuilder implements Serializable {
         return createSimpleRowExecutor(dialect, pkNames, pkTypes, deleteSql);
     }
 
+    /**
+     * Creates an executor of the multi-row statement if more than one row per statement is allowed
+     * and the dialect supports the statement, otherwise an executor of the single-row statement.
+     * The rows per statement are bounded by the max number of parameters of the dialect.
+     */
+    private static JdbcBatchStatementExecutor<RowData> createRowExecutor(
+            JdbcDialect dialect,
+            String[] fieldNames,
+            LogicalType[] fieldTypes,
+            String sql,
+            int maxRowsPerStatement,
+            IntFunction<Optional<String>> multiRowSql) {
+        final int maxRows =
+                Math.min(
+                        maxRowsPerStatement,
+                        dialect.getMaxStatementParameters() / fieldNames.length);
+        if (maxRows <= 1 || !multiRowSql.apply(maxRows).isPresent()) {
+            return createSimpleRowExecutor(dialect, fieldNames, fieldTypes, sql);
+        }
+        final LogicalType[] rowsTypes = new LogicalType[maxRows * fieldTypes.length];
+        for (int i = 0; i < rowsTypes.length; i++) {
+            rowsTypes[i] = fieldTypes[i % fieldTypes.length];
+        }
+        final RowData.FieldGetter[] fieldGetters = new RowData.FieldGetter[fieldTypes.length];
+        for (int i = 0; i < fieldTypes.length; i++) {
+            fieldGetters[i] = createFieldGetter(fieldTypes[i], i);
+        }
+        return new TableMultiRowStatementExecutor(
+                numRows -> multiRowSql.apply(numRows).get(),
+                numRows ->
+                        IntStream.range(0, numRows)
+                                .boxed()
+                                .flatMap(i -> Arrays.stream(fieldNames).map(f -> f + "_" + i))
+                                .toArray(String[]::new),
+                dialect.getRowConverter(RowType.of(rowsTypes)),
+                fieldGetters,
+                maxRows);
+    }
+
     private static JdbcBatchStatementExecutor<RowData> createSimpleRowExecutor(
             JdbcDialect dialect, String[] fieldNames, LogicalType[] fieldTypes, final String sql) {
         final JdbcRowConverter rowConverter = dialect.getRowConverter(RowType.of(fieldTypes));
@@ -220,6 +326,7 @@ public class JdbcOutputFormatBuilder implements Serializable {
             String tableName,
             String[] fieldNames,
             LogicalType[] fieldTypes,
+            int maxRowsPerStatement,
             int[] pkFields,
             String[] pkNames,
             LogicalType[] pkTypes) {
@@ -230,19 +337,30 @@ public class JdbcOutputFormatBuilder implements Serializable {
                 connection ->
                         FieldNamedPreparedStatement.prepareStatement(
                                 connection, existStmt, pkNames),
-                connection ->
-                        FieldNamedPreparedStatement.prepareStatement(
-                                connection, insertStmt, fieldNames),
                 connection ->
                         FieldNamedPreparedStatement.prepareStatement(
                                 connection, updateStmt, fieldNames),
                 dialect.getRowConverter(RowType.of(pkTypes)),
                 dialect.getRowConverter(RowType.of(fieldTypes)),
-                dialect.getRowConverter(RowType.of(fieldTypes)),
+                createRowExecutor(
+                        dialect,
+                        fieldNames,
+                        fieldTypes,
+                        insertStmt,
+                        maxRowsPerStatement,
+                        numRows ->
+                                dialect.getMultiRowInsertIntoStatement(
+                                        tableName, fieldNames, numRows)),
                 createRowKeyExtractor(fieldTypes, pkFields));
     }
 
-    private static Function<RowData, RowData> createRowKeyExtractor(
+    private static int[] getPrimaryKeyFields(JdbcDmlOptions opt) {
+        return Arrays.stream(opt.getKeyFields().get())
+                .mapToInt(Arrays.asList(opt.getFieldNames())::indexOf)
+                .toArray();
+    }
+
+    private static JdbcOutputFormat.RecordExtractor<RowData, RowData> createRowKeyExtractor(
             LogicalType[] logicalTypes, int[] pkFields) {
         final RowData.FieldGetter[] fieldGetters = new RowData.FieldGetter[pkFields.length];
         for (int i = 0; i < pkFields.length; i++) {
@@ -0,0 +1,524 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.table;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.connector.jdbc.converter.JdbcRowConverter;
+import org.apache.flink.connector.jdbc.dialect.JdbcDialect;
+import org.apache.flink.connector.jdbc.internal.connection.JdbcConnectionPool;
+import org.apache.flink.connector.jdbc.internal.connection.JdbcConnectionProvider;
+import org.apache.flink.connector.jdbc.internal.lookup.LookupCache;
+import org.apache.flink.connector.jdbc.internal.options.JdbcConnectorOptions;
+import org.apache.flink.connector.jdbc.internal.options.JdbcLookupOptions;
+import org.apache.flink.connector.jdbc.statement.FieldNamedPreparedStatement;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.binary.BinaryStringData;
+import org.apache.flink.table.data.binary.BinaryStringDataUtil;
+import org.apache.flink.table.functions.AsyncTableFunction;
+import org.apache.flink.table.functions.FunctionContext;
+import org.apache.flink.table.types.DataType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.util.concurrent.ExecutorThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * An asynchronous lookup function for {@link JdbcDynamicTableSource}.
+ *
+ * <p>Lookups are run on a {@link JdbcConnectionPool} shared by all functions of the TaskManager
+ * that connect to the same database, so cache misses do not block the task thread on the database
+ * round-trip.
+ *
+ * <p>With a batch size larger than 1, cache missing keys are collected until the batch is full or
+ * the batch interval elapsed, and then queried by a single {@code WHERE key IN (...)} statement
+ * whose rows are fanned back out to the lookups of their keys. The batch size is capped by the max
+ * number of statement parameters of the dialect.
+ *
+ * <p>The rows of a batch are matched to their keys by the key values read from the rows. The
+ * database may consider a row to match a key whose value is not equal in Flink, e.g. under a
+ * case-insensitive collation or for a padded {@code CHAR} column. Such a row is matched to the keys
+ * of the batch which are equal when ignoring the case and the trailing spaces of strings. A row
+ * which matches no key this way is logged and ignored.
+ *
+ * <p>Lookups which are still pending when the function is closed are completed exceptionally.
+ */
+@Internal
+public class JdbcRowDataAsyncLookupFunction extends AsyncTableFunction<RowData> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JdbcRowDataAsyncLookupFunction.class);
+    private static final long serialVersionUID = 1L;
+
+    private final JdbcConnectorOptions options;
+    private final String query;
+    private final String[] keyNames;
+    private final long cacheMaxSize;
+    private final long cacheExpireMs;
+    private final int maxRetryTimes;
+    private final boolean cacheMissingKey;
+    private final LookupCachePolicy cachePolicy;
+    private final long cacheRefreshAfterWriteMs;
+    private final int poolSize;
+    private final int maxInFlight;
+    private final JdbcRowConverter jdbcRowConverter;
+    private final JdbcRowConverter lookupKeyRowConverter;
+    private final int batchSize;
+    private final long batchIntervalMs;
+    @Nullable private final String batchQuery;
+    private final String[] batchKeyNames;
+    private final JdbcRowConverter batchKeyRowConverter;
+    private final RowData.FieldGetter[] keyFieldGetters;
+
+    private transient JdbcConnectionPool connectionPool;
+    private transient LookupCache<RowData, List<RowData>> cache;
+    private transient Map<GenericRowData, List<CompletableFuture<Collection<RowData>>>> pendingKeys;
+    private transient ScheduledExecutorService batchScheduler;
+    private transient ScheduledFuture<?> batchFlush;
+    private transient Set<CompletableFuture<Collection<RowData>>> pendingLookups;
+    private transient volatile boolean unmatchedRowLogged;
+
+    public JdbcRowDataAsyncLookupFunction(
+            JdbcConnectorOptions options,
+            JdbcLookupOptions lookupOptions,
+            String[] fieldNames,
+            DataType[] fieldTypes,
+            String[] keyNames,
+            RowType rowType) {
+        checkNotNull(options, "No JdbcOptions supplied.");
+        checkNotNull(fieldNames, "No fieldNames supplied.");
+        checkNotNull(fieldTypes, "No fieldTypes supplied.");
+        checkNotNull(keyNames, "No keyNames supplied.");
+        this.options = options;
+        this.keyNames = keyNames;
+        List<String> nameList = Arrays.asList(fieldNames);
+        DataType[] keyTypes =
+                Arrays.stream(keyNames)
+                        .map(
+                                s -> {
+                                    checkArgument(
+                                            nameList.contains(s),
+                                            "keyName %s can't find in fieldNames %s.",
+                                            s,
+                                            nameList);
+                                    return fieldTypes[nameList.indexOf(s)];
+                                })
+                        .toArray(DataType[]::new);
+        this.cacheMaxSize = lookupOptions.getCacheMaxSize();
+        this.cacheExpireMs = lookupOptions.getCacheExpireMs();
+        this.maxRetryTimes = lookupOptions.getMaxRetryTimes();
+        this.cacheMissingKey = lookupOptions.getCacheMissingKey();
+        this.cachePolicy = lookupOptions.getCachePolicy();
+        this.cacheRefreshAfterWriteMs = lookupOptions.getCacheRefreshAfterWriteMs();
+        this.poolSize = lookupOptions.getAsyncPoolSize();
+        this.maxInFlight = lookupOptions.getAsyncMaxInFlight();
+        this.batchIntervalMs = lookupOptions.getAsyncBatchIntervalMs();
+        JdbcDialect jdbcDialect = options.getDialect();
+        this.query =
+                jdbcDialect.getSelectFromStatement(options.getTableName(), fieldNames, keyNames);
+        this.jdbcRowConverter = options.createReadRowConverter(rowType);
+        LogicalType[] keyLogicalTypes =
+                Arrays.stream(keyTypes).map(DataType::getLogicalType).toArray(LogicalType[]::new);
+        this.lookupKeyRowConverter = options.createReadRowConverter(RowType.of(keyLogicalTypes));
+        int maxBatchSize = Math.max(1, jdbcDialect.getMaxStatementParameters() / keyNames.length);
+        int cappedBatchSize = Math.min(lookupOptions.getAsyncBatchSize(), maxBatchSize);
+        this.batchQuery =
+                cappedBatchSize > 1
+                        ? jdbcDialect
+                                .getSelectFromStatementWithKeysIn(
+                                        options.getTableName(),
+                                        fieldNames,
+                                        keyNames,
+                                        cappedBatchSize)
+                                .orElse(null)
+                        : null;
+        this.batchSize = batchQuery == null ? 1 : cappedBatchSize;
+        // the batch is padded to a fixed size, so a single statement serves all batches
+        this.batchKeyNames = new String[batchSize * keyNames.length];
+        LogicalType[] batchKeyTypes = new LogicalType[batchKeyNames.length];
+        for (int i = 0; i < batchSize; i++) {
+            for (int j = 0; j < keyNames.length; j++) {
+                batchKeyNames[i * keyNames.length + j] = keyNames[j] + "_" + i;
+                batchKeyTypes[i * keyNames.length + j] = keyLogicalTypes[j];
+            }
+        }
+        this.batchKeyRowConverter = options.createReadRowConverter(RowType.of(batchKeyTypes));
+        this.keyFieldGetters = new RowData.FieldGetter[keyNames.length];
+        for (int i = 0; i < keyNames.length; i++) {
+            int pos = nameList.indexOf(keyNames[i]);
+            keyFieldGetters[i] = RowData.createFieldGetter(rowType.getTypeAt(pos), pos);
+        }
+    }
+
+    @Override
+    public void open(FunctionContext context) throws Exception {
+        this.connectionPool = JdbcConnectionPool.acquire(options, poolSize, maxInFlight);
+        this.pendingLookups = ConcurrentHashMap.newKeySet();
+        if (cacheMaxSize != -1 && cacheExpireMs != -1) {
+            this.cache =
+                    LookupCache.create(
+                            cachePolicy,
+                            cacheMaxSize,
+                            cacheExpireMs,
+                            cacheRefreshAfterWriteMs,
+                            cacheRefreshAfterWriteMs < 0 ? null : this::reload);
+            LookupCache.registerMetrics(context.getMetricGroup(), cache);
+        }
+        if (batchSize > 1) {
+            this.pendingKeys = new LinkedHashMap<>();
+            this.batchScheduler =
+                    Executors.newSingleThreadScheduledExecutor(
+                            new ExecutorThreadFactory("jdbc-async-lookup-batcher"));
+        }
+        context.getMetricGroup()
+                .gauge(
+                        "Jdbc_Lookup_Cache_Size",
+                        (Gauge<Long>) () -> cache == null ? 0L : cache.size());
+    }
+
+    /**
+     * This is a lookup method which is called by Flink framework in runtime.
+     *
+     * @param future the future to complete with the rows of the keys
+     * @param keys lookup keys
+     */
+    public void eval(CompletableFuture<Collection<RowData>> future, Object... keys)
+            throws InterruptedException {
+        GenericRowData keyRow = GenericRowData.of(keys);
+        if (cache != null) {
+            List<RowData> cachedRows = cache.getIfPresent(keyRow);
+            if (cachedRows != null) {
+                future.complete(cachedRows);
+                return;
+            }
+        }
+
+        pendingLookups.add(future);
+        future.whenComplete((rows, throwable) -> pendingLookups.remove(future));
+        if (batchSize > 1) {
+            addToBatch(keyRow, future);
+            return;
+        }
+
+        // close() clears the field while lookups may still complete
+        LookupCache<RowData, List<RowData>> lookupCache = cache;
+        long start = System.nanoTime();
+        connectionPool
+                .execute(connectionProvider -> lookup(connectionProvider, keyRow))
+                .whenComplete(
+                        (rows, throwable) -> {
+                            if (throwable != null) {
+                                future.completeExceptionally(throwable);
+                                return;
+                            }
+                            if (lookupCache != null) {
+                                if (!rows.isEmpty() || cacheMissingKey) {
+                                    lookupCache.put(keyRow, rows);
+                                }
+                                lookupCache.recordLoad(System.nanoTime() - start);
+                            }
+                            future.complete(rows);
+                        });
+    }
+
+    /**
+     * Reloads a cached key on a thread of the pool. Keys without rows are removed from the cache
+     * unless missing keys are cached.
+     */
+    @Nullable
+    private CompletableFuture<List<RowData>> reload(RowData keyRow) {
+        // close() clears the field while reloads may still complete
+        LookupCache<RowData, List<RowData>> reloadedCache = cache;
+        long start = System.nanoTime();
+        // the refresh runs on the task thread, it is skipped rather than blocking the lookups
+        // while all in-flight permits of the shared pool are taken
+        CompletableFuture<List<RowData>> future =
+                connectionPool.tryExecute(connectionProvider -> lookup(connectionProvider, keyRow));
+        if (future == null) {
+            return null;
+        }
+        return future.thenApply(
+                rows -> {
+                    reloadedCache.recordLoad(System.nanoTime() - start);
+                    return rows.isEmpty() && !cacheMissingKey ? null : rows;
+                });
+    }
+
+    /** Adds a cache missing key to the pending batch, the batch is queried once it is full. */
+    private void addToBatch(GenericRowData keyRow, CompletableFuture<Collection<RowData>> future)
+            throws InterruptedException {
+        Map<GenericRowData, List<CompletableFuture<Collection<RowData>>>> batch = null;
+        synchronized (this) {
+            pendingKeys.computeIfAbsent(keyRow, k -> new ArrayList<>()).add(future);
+            if (pendingKeys.size() >= batchSize) {
+                batch = takePendingKeys();
+            } else if (batchFlush == null) {
+                batchFlush =
+                        batchScheduler.schedule(
+                                this::flushPendingKeys, batchIntervalMs, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (batch != null) {
+            lookupBatch(batch);
+        }
+    }
+
+    /** Queries the pending batch once the batch interval elapsed. */
+    private void flushPendingKeys() {
+        Map<GenericRowData, List<CompletableFuture<Collection<RowData>>>> batch;
+        synchronized (this) {
+            batchFlush = null;
+            batch = takePendingKeys();
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            lookupBatch(batch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            batch.values().stream()
+                    .flatMap(List::stream)
+                    .forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private Map<GenericRowData, List<CompletableFuture<Collection<RowData>>>> takePendingKeys() {
+        if (batchFlush != null) {
+            batchFlush.cancel(false);
+            batchFlush = null;
+        }
+        Map<GenericRowData, List<CompletableFuture<Collection<RowData>>>> batch = pendingKeys;
+        pendingKeys = new LinkedHashMap<>();
+        return batch;
+    }
+
+    private void lookupBatch(
+            Map<GenericRowData, List<CompletableFuture<Collection<RowData>>>> batch)
+            throws InterruptedException {
+        List<GenericRowData> batchKeys = new ArrayList<>(batch.keySet());
+        // close() clears the field while lookups may still complete
+        LookupCache<RowData, List<RowData>> lookupCache = cache;
+        long start = System.nanoTime();
+        connectionPool
+                .execute(connectionProvider -> lookupBatch(connectionProvider, batchKeys))
+                .whenComplete(
+                        (rowsByKey, throwable) -> {
+                            if (throwable == null && lookupCache != null) {
+                                lookupCache.recordLoad(System.nanoTime() - start);
+                            }
+                            batch.forEach(
+                                    (keyRow, futures) -> {
+                                        if (throwable != null) {
+                                            futures.forEach(
+                                                    future ->
+                                                            future.completeExceptionally(
+                                                                    throwable));
+                                            return;
+                                        }
+                                        List<RowData> rows =
+                                                rowsByKey.getOrDefault(
+                                                        keyRow, Collections.emptyList());
+                                        if (lookupCache != null
+                                                && (!rows.isEmpty() || cacheMissingKey)) {
+                                            lookupCache.put(keyRow, rows);
+                                        }
+                                        futures.forEach(future -> future.complete(rows));
+                                    });
+                        });
+    }
+
+    /** Runs the batch query on a thread of the pool and groups the rows by their keys. */
+    private Map<RowData, List<RowData>> lookupBatch(
+            JdbcConnectionProvider connectionProvider, List<GenericRowData> batchKeys)
+            throws SQLException, ClassNotFoundException {
+        GenericRowData batchKeyRow = new GenericRowData(batchKeyNames.length);
+        for (int i = 0; i < batchSize; i++) {
+            // pads the batch by repeating its last key
+            GenericRowData keyRow = batchKeys.get(Math.min(i, batchKeys.size() - 1));
+            for (int j = 0; j < keyNames.length; j++) {
+                batchKeyRow.setField(i * keyNames.length + j, keyRow.getField(j));
+            }
+        }
+        Set<GenericRowData> requestedKeys = new HashSet<>(batchKeys);
+        Map<GenericRowData, List<GenericRowData>> requestedKeysIgnoringCase = null;
+        Map<RowData, List<RowData>> rowsByKey = new HashMap<>();
+        for (RowData row :
+                query(
+                        connectionProvider,
+                        batchQuery,
+                        batchKeyNames,
+                        batchKeyRowConverter,
+                        batchKeyRow)) {
+            GenericRowData keyRow = new GenericRowData(keyFieldGetters.length);
+            for (int i = 0; i < keyFieldGetters.length; i++) {
+                keyRow.setField(i, keyFieldGetters[i].getFieldOrNull(row));
+            }
+            if (requestedKeys.contains(keyRow)) {
+                rowsByKey.computeIfAbsent(keyRow, k -> new ArrayList<>()).add(row);
+                continue;
+            }
+            // the database compares the keys differently, e.g. under its collation
+            if (requestedKeysIgnoringCase == null) {
+                requestedKeysIgnoringCase = new HashMap<>();
+                for (GenericRowData requestedKey : batchKeys) {
+                    requestedKeysIgnoringCase
+                            .computeIfAbsent(
+                                    ignoreCaseAndTrailingSpaces(requestedKey),
+                                    k -> new ArrayList<>())
+                            .add(requestedKey);
+                }
+            }
+            List<GenericRowData> matchedKeys =
+                    requestedKeysIgnoringCase.get(ignoreCaseAndTrailingSpaces(keyRow));
+            if (matchedKeys == null) {
+                if (!unmatchedRowLogged) {
+                    unmatchedRowLogged = true;
+                    LOG.warn(
+                            "The batch lookup returned a row of key {} which matches none of the "
+                                    + "looked up keys, such rows are ignored.",
+                            keyRow);
+                }
+                continue;
+            }
+            for (GenericRowData matchedKey : matchedKeys) {
+                rowsByKey.computeIfAbsent(matchedKey, k -> new ArrayList<>()).add(row);
+            }
+        }
+        return rowsByKey;
+    }
+
+    private static GenericRowData ignoreCaseAndTrailingSpaces(GenericRowData keyRow) {
+        GenericRowData normalizedKeyRow = new GenericRowData(keyRow.getArity());
+        for (int i = 0; i < keyRow.getArity(); i++) {
+            Object field = keyRow.getField(i);
+            if (field instanceof BinaryStringData) {
+                field = BinaryStringDataUtil.trimRight((BinaryStringData) field).toLowerCase();
+            }
+            normalizedKeyRow.setField(i, field);
+        }
+        return normalizedKeyRow;
+    }
+
+    /** Runs the lookup query on a thread of the pool. */
+    private List<RowData> lookup(JdbcConnectionProvider connectionProvider, RowData keyRow)
+            throws SQLException, ClassNotFoundException {
+        return query(connectionProvider, query, keyNames, lookupKeyRowConverter, keyRow);
+    }
+
+    private List<RowData> query(
+            JdbcConnectionProvider connectionProvider,
+            String sql,
+            String[] parameterNames,
+            JdbcRowConverter parameterConverter,
+            RowData parameters)
+            throws SQLException, ClassNotFoundException {
+        for (int retry = 0; ; retry++) {
+            try (FieldNamedPreparedStatement statement =
+                    FieldNamedPreparedStatement.prepareStatement(
+                            connectionProvider.getOrEstablishConnection(), sql, parameterNames)) {
+                parameterConverter.toExternal(parameters, statement);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    ArrayList<RowData> rows = new ArrayList<>();
+                    while (resultSet.next()) {
+                        rows.add(jdbcRowConverter.toInternal(resultSet));
+                    }
+                    rows.trimToSize();
+                    return rows;
+                }
+            } catch (SQLException e) {
+                LOG.error(String.format("JDBC executeBatch error, retry times = %d", retry), e);
+                if (retry >= maxRetryTimes) {
+                    throw e;
+                }
+                if (!connectionProvider.isConnectionValid()) {
+                    connectionProvider.reestablishConnection();
+                }
+                try {
+                    Thread.sleep(1000L * retry);
+                } catch (InterruptedException e1) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted while retrying the lookup.", e1);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (batchScheduler != null) {
+            batchScheduler.shutdownNow();
+            batchScheduler = null;
+            synchronized (this) {
+                takePendingKeys();
+            }
+        }
+        if (pendingLookups != null) {
+            // the batches being filled and the lookups queued on the shared pool would otherwise
+            // never complete
+            CancellationException closed =
+                    new CancellationException("The JDBC lookup function was closed.");
+            for (CompletableFuture<Collection<RowData>> future : new ArrayList<>(pendingLookups)) {
+                future.completeExceptionally(closed);
+            }
+            pendingLookups = null;
+        }
+        if (cache != null) {
+            cache.cleanUp();
+            cache = null;
+        }
+        if (connectionPool != null) {
+            connectionPool.release();
+            connectionPool = null;
+        }
+    }
+
+    @VisibleForTesting
+    public LookupCache<RowData, List<RowData>> getCache() {
+        return cache;
+    }
+}
@@ -23,12 +23,24 @@ import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.connector.jdbc.converter.JdbcRowConverter;
 import org.apache.flink.connector.jdbc.dialect.JdbcDialect;
 import org.apache.flink.connector.jdbc.dialect.JdbcDialectLoader;
+import org.apache.flink.connector.jdbc.internal.connection.JdbcConnectionPool;
 import org.apache.flink.connector.jdbc.internal.connection.JdbcConnectionProvider;
 import org.apache.flink.connector.jdbc.internal.connection.SimpleJdbcConnectionProvider;
+import org.apache.flink.connector.jdbc.internal.lookup.BinaryCacheAllSnapshot;
+import org.apache.flink.connector.jdbc.internal.lookup.CacheAllRefreshScheduler;
+import org.apache.flink.connector.jdbc.internal.lookup.CacheAllSnapshot;
+import org.apache.flink.connector.jdbc.internal.lookup.FileCacheAllSnapshot;
+import org.apache.flink.connector.jdbc.internal.lookup.HeapCacheAllSnapshot;
+import org.apache.flink.connector.jdbc.internal.lookup.IncrementalCacheAllSnapshot;
+import org.apache.flink.connector.jdbc.internal.lookup.JdbcLookupKeyPartitioner;
+import org.apache.flink.connector.jdbc.internal.lookup.LookupCache;
+import org.apache.flink.connector.jdbc.internal.lookup.LookupKeyFilter;
 import org.apache.flink.connector.jdbc.internal.options.JdbcConnectorOptions;
 import org.apache.flink.connector.jdbc.internal.options.JdbcLookupOptions;
+import org.apache.flink.connector.jdbc.split.JdbcNumericBetweenParametersProvider;
 import org.apache.flink.connector.jdbc.statement.FieldNamedPreparedStatement;
-import org.apache.flink.connector.jdbc.utils.CronUtils;
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.metrics.Counter;
 import org.apache.flink.metrics.Gauge;
 import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.data.RowData;
@@ -37,26 +49,62 @@ import org.apache.flink.table.functions.TableFunction;
 import org.apache.flink.table.types.DataType;
 import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.table.types.logical.RowType;
-
-import org.apache.flink.shaded.guava30.com.google.common.cache.Cache;
-import org.apache.flink.shaded.guava30.com.google.common.cache.CacheBuilder;
+import org.apache.flink.util.InstantiationUtil;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 import java.io.IOException;
+import java.io.Serializable;
+import java.math.BigInteger;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.apache.flink.util.Preconditions.checkArgument;
 import static org.apache.flink.util.Preconditions.checkNotNull;
 
-/** A lookup function for {@link JdbcDynamicTableSource}. */
+/**
+ * A lookup function for {@link JdbcDynamicTableSource}.
+ *
+ * <p>In cache all mode the whole table is loaded into an immutable snapshot. Reloads run on a
+ * dedicated connection and build a new snapshot off the task thread, the snapshot is then published
+ * with a single volatile write. Lookups keep hitting the previous snapshot until the new one is
+ * completely loaded, a failed reload keeps the previous snapshot.
+ *
+ * <p>If a snapshot directory is configured, every full load is also written to a {@link
+ * FileCacheAllSnapshot}. A restarted function maps that file and serves lookups from it right away,
+ * while the file is refreshed from the database in the background.
+ *
+ * <p>Otherwise looked up keys are cached by a {@link LookupCache}. If cached keys are refreshed
+ * after write, the refreshes run on their own connection of a {@link JdbcConnectionPool}, so they
+ * never block the task thread. A refresh which finds the pool busy is skipped and retried on a
+ * later access of the key.
+ *
+ * <p>With a bloom filter, all keys of the table are loaded into a {@link LookupKeyFilter} on the
+ * reload connection when the function is opened, and again on every scheduled rebuild. Keys
+ * rejected by the filter are answered without rows, without querying the cache or the database. A
+ * filter older than its max staleness, e.g. because its rebuilds fail, rejects no keys.
+ *
+ * <p>Filters pushed into the source restrict the full loads of the snapshot. Lookups by key and the
+ * changed keys of incremental refreshes are not filtered, the planner filters the joined rows.
+ */
 @Internal
 public class JdbcRowDataLookupFunction extends TableFunction<RowData> {
 
@@ -64,22 +112,82 @@ public class JdbcRowDataLookupFunction extends TableFunction<RowData> {
     private static final long serialVersionUID = 2L;
 
     private final String query;
+    @Nullable private final String changedKeysQuery;
+    @Nullable private final String partitionBoundsQuery;
+    @Nullable private final String partitionRangeCondition;
+    @Nullable private final String partitionNullCondition;
+    @Nullable private final ParameterizedPredicate filter;
+    private final int partitionNum;
+    private final int partitionParallelism;
+    private final JdbcConnectorOptions options;
     private final JdbcConnectionProvider connectionProvider;
+    private final JdbcConnectionProvider reloadConnectionProvider;
     private final DataType[] keyTypes;
     private final String[] keyNames;
     private final long cacheMaxSize;
     private final long cacheExpireMs;
     private final int maxRetryTimes;
     private final boolean cacheMissingKey;
+    private final LookupCachePolicy cachePolicy;
+    private final long cacheRefreshAfterWriteMs;
     private final boolean cacheAll;
     private final String cacheAllCron;
-    private long lookupCacheLine;
+    private final LookupCacheAllStorage cacheAllStorage;
+    @Nullable private final String incrementalColumn;
+    private final int incrementalColumnIndex;
+    private final long fullReloadIntervalMs;
+    @Nullable private final String snapshotDir;
+    private final int refreshMaxConcurrency;
+    private final long refreshJitterMs;
+    private final RowType rowType;
     private final JdbcDialect jdbcDialect;
     private final JdbcRowConverter jdbcRowConverter;
     private final JdbcRowConverter lookupKeyRowConverter;
+    @Nullable private final JdbcLookupKeyPartitioner keyPartitioner;
+    @Nullable private final String keyFilterQuery;
+    @Nullable private final String keyCountQuery;
+    private final double bloomFilterFpp;
+    @Nullable private final String bloomFilterCron;
+    private final long bloomFilterMaxStalenessMs;
+    private final boolean bloomFilterIgnoreCaseAndTrailingSpaces;
 
     private transient FieldNamedPreparedStatement statement;
-    private transient Cache<RowData, List<RowData>> cache;
+    private transient LookupCache<RowData, List<RowData>> cache;
+    @Nullable private transient JdbcConnectionPool refreshPool;
+    @Nullable private transient JdbcConnectionPool partitionPool;
+    private transient volatile CacheAllSnapshot cacheAllSnapshot;
+    // held for reading by lookups in the snapshot, a replaced snapshot is released once the lock
+    // could be held for writing after the new snapshot was published
+    private transient ReadWriteLock cacheAllSnapshotLock;
+    @Nullable private transient volatile LookupKeyFilter keyFilter;
+    private transient Counter rejectedKeyCounter;
+
+    // key partition held by this instance, only set if the input is partitioned on the keys
+    private transient int numKeyPartitions;
+    private transient int keyPartition;
+    @Nullable private transient String keyPartitionCondition;
+
+    // file the snapshot is persisted to, only set if a snapshot directory is configured
+    @Nullable private transient Path snapshotPath;
+    private transient String snapshotDescriptor;
+    private transient boolean writesSnapshot;
+
+    // refreshes of the snapshot, only set if it is refreshed by a cron or after a restore
+    @Nullable private transient CacheAllRefreshScheduler refreshScheduler;
+    @Nullable private transient CacheAllRefreshScheduler.Registration refreshRegistration;
+
+    // set by close(), refreshes starting after it under the lock of the reloads do not run
+    private transient boolean closed;
+
+    // state of the incremental refresh, only accessed under the lock of the reloads
+    private transient Object versionWatermark;
+    private transient long lastFullReloadTimestamp;
+
+    // metrics of the last successful cache all reload
+    private transient volatile long lookupCacheLine;
+    private transient volatile long lookupCacheMemorySize;
+    private transient volatile long lastReloadDurationMs;
+    private transient volatile long lastReloadSuccessTimestamp;
 
     public JdbcRowDataLookupFunction(
             JdbcConnectorOptions options,
@@ -88,11 +196,25 @@ public class JdbcRowDataLookupFunction extends TableFunction<RowData> {
             DataType[] fieldTypes,
             String[] keyNames,
             RowType rowType) {
+        this(options, lookupOptions, fieldNames, fieldTypes, keyNames, rowType, null);
+    }
+
+    /** @param filter condition of the rows loaded in cache all mode, null loads the whole table */
+    public JdbcRowDataLookupFunction(
+            JdbcConnectorOptions options,
+            JdbcLookupOptions lookupOptions,
+            String[] fieldNames,
+            DataType[] fieldTypes,
+            String[] keyNames,
+            RowType rowType,
+            @Nullable ParameterizedPredicate filter) {
         checkNotNull(options, "No JdbcOptions supplied.");
         checkNotNull(fieldNames, "No fieldNames supplied.");
         checkNotNull(fieldTypes, "No fieldTypes supplied.");
         checkNotNull(keyNames, "No keyNames supplied.");
+        this.options = options;
         this.connectionProvider = new SimpleJdbcConnectionProvider(options);
+        this.reloadConnectionProvider = new SimpleJdbcConnectionProvider(options);
         this.keyNames = keyNames;
         List<String> nameList = Arrays.asList(fieldNames);
         this.keyTypes =
@@ -111,42 +233,178 @@ public class JdbcRowDataLookupFunction extends TableFunction<RowData> {
         this.cacheExpireMs = lookupOptions.getCacheExpireMs();
         this.maxRetryTimes = lookupOptions.getMaxRetryTimes();
         this.cacheMissingKey = lookupOptions.getCacheMissingKey();
+        this.cachePolicy = lookupOptions.getCachePolicy();
+        this.cacheRefreshAfterWriteMs = lookupOptions.getCacheRefreshAfterWriteMs();
         this.cacheAll = lookupOptions.isCacheAll();
         this.cacheAllCron = lookupOptions.getCacheAllCron();
+        this.cacheAllStorage = lookupOptions.getCacheAllStorage();
+        this.incrementalColumn = lookupOptions.getCacheAllIncrementalColumn().orElse(null);
+        // the version column is selected behind all fields, so it never shifts the row fields
+        this.incrementalColumnIndex = fieldNames.length + 1;
+        this.fullReloadIntervalMs = lookupOptions.getCacheAllFullReloadIntervalMs();
+        this.snapshotDir = lookupOptions.getCacheAllSnapshotDir().orElse(null);
+        this.refreshMaxConcurrency = lookupOptions.getCacheAllRefreshMaxConcurrency();
+        this.refreshJitterMs = lookupOptions.getCacheAllRefreshJitterMs();
+        this.rowType = rowType;
+        String[] cacheAllFields =
+                incrementalColumn == null
+                        ? fieldNames
+                        : Stream.concat(Arrays.stream(fieldNames), Stream.of(incrementalColumn))
+                                .toArray(String[]::new);
         this.query =
                 lookupOptions.isCacheAll()
                         ? options.getDialect()
                                 .getSelectFromStatementWithNoWhere(
-                                        options.getTableName(), fieldNames)
+                                        options.getTableName(), cacheAllFields)
                         : options.getDialect()
                                 .getSelectFromStatement(
                                         options.getTableName(), fieldNames, keyNames);
+        this.changedKeysQuery =
+                lookupOptions.isCacheAll() && incrementalColumn != null
+                        ? options.getDialect()
+                                .getSelectChangedKeysStatement(
+                                        options.getTableName(),
+                                        cacheAllFields,
+                                        keyNames,
+                                        incrementalColumn)
+                                .orElse(null)
+                        : null;
+        String partitionColumn =
+                lookupOptions.isCacheAll()
+                        ? lookupOptions.getCacheAllPartitionColumn().orElse(null)
+                        : null;
+        if (partitionColumn != null) {
+            String quotedColumn = options.getDialect().quoteIdentifier(partitionColumn);
+            this.partitionBoundsQuery =
+                    String.format(
+                            "SELECT MIN(%s), MAX(%s) FROM %s",
+                            quotedColumn,
+                            quotedColumn,
+                            options.getDialect().quoteIdentifier(options.getTableName()));
+            this.partitionRangeCondition = quotedColumn + " BETWEEN ? AND ?";
+            this.partitionNullCondition = quotedColumn + " IS NULL";
+        } else {
+            this.partitionBoundsQuery = null;
+            this.partitionRangeCondition = null;
+            this.partitionNullCondition = null;
+        }
+        this.filter = lookupOptions.isCacheAll() ? filter : null;
+        this.partitionNum = lookupOptions.getCacheAllPartitionNum();
+        this.partitionParallelism = lookupOptions.getCacheAllPartitionParallelism();
         String dbURL = options.getDbURL();
         this.jdbcDialect = JdbcDialectLoader.load(dbURL);
-        this.jdbcRowConverter = jdbcDialect.getRowConverter(rowType);
+        this.jdbcRowConverter = options.createReadRowConverter(rowType);
         this.lookupKeyRowConverter =
-                jdbcDialect.getRowConverter(
+                options.createReadRowConverter(
                         RowType.of(
                                 Arrays.stream(keyTypes)
                                         .map(DataType::getLogicalType)
                                         .toArray(LogicalType[]::new)));
+        if (lookupOptions.isBloomFilter() && !lookupOptions.isCacheAll()) {
+            this.keyFilterQuery =
+                    options.getDialect()
+                            .getSelectFromStatementWithNoWhere(options.getTableName(), keyNames);
+            this.keyCountQuery =
+                    String.format(
+                            "SELECT COUNT(*) FROM %s",
+                            options.getDialect().quoteIdentifier(options.getTableName()));
+        } else {
+            this.keyFilterQuery = null;
+            this.keyCountQuery = null;
+        }
+        this.bloomFilterFpp = lookupOptions.getBloomFilterFpp();
+        this.bloomFilterCron = lookupOptions.getBloomFilterCron().orElse(null);
+        this.bloomFilterMaxStalenessMs = lookupOptions.getBloomFilterMaxStalenessMs();
+        this.bloomFilterIgnoreCaseAndTrailingSpaces =
+                lookupOptions.isBloomFilterIgnoreCaseAndTrailingSpaces();
+        this.keyPartitioner =
+                lookupOptions.isCacheAll() && lookupOptions.isCacheAllKeyPartitioned()
+                        ? new JdbcLookupKeyPartitioner(
+                                Arrays.stream(keyTypes)
+                                        .map(DataType::getLogicalType)
+                                        .toArray(LogicalType[]::new))
+                        : null;
     }
 
     @Override
     public void open(FunctionContext context) throws Exception {
         try {
-            establishConnectionAndStatement();
             if (cacheAll) {
-                initCacheAll();
-                CronUtils.runCron(this::initCacheAll, cacheAllCron);
+                this.cacheAllSnapshotLock = new ReentrantReadWriteLock();
+                if (keyPartitioner != null && context.getNumberOfParallelSubtasks() > 1) {
+                    // the planner partitions the input with the same partitioner, so this
+                    // instance only needs the rows of its own partition
+                    this.numKeyPartitions = context.getNumberOfParallelSubtasks();
+                    this.keyPartition = context.getIndexOfThisSubtask();
+                    this.keyPartitionCondition =
+                            keyPartitioner
+                                    .getPartitionCondition(
+                                            options.getDialect(),
+                                            keyNames,
+                                            numKeyPartitions,
+                                            keyPartition)
+                                    .orElse(null);
+                }
+                if (snapshotDir != null) {
+                    initSnapshotFile(context.getIndexOfThisSubtask());
+                }
+                boolean restored = restoreSnapshotFile();
+                if (!restored) {
+                    reloadCacheAll();
+                }
+                if (cacheAllCron != null || restored) {
+                    this.refreshScheduler = CacheAllRefreshScheduler.acquire(refreshMaxConcurrency);
+                    this.refreshRegistration =
+                            refreshScheduler.register(
+                                    cacheAllCron,
+                                    refreshJitterMs,
+                                    context.getIndexOfThisSubtask(),
+                                    context.getNumberOfParallelSubtasks(),
+                                    this::scheduledReloadCacheAll);
+                    if (restored) {
+                        // the restored snapshot may be stale, so it is refreshed in the background
+                        refreshRegistration.trigger();
+                    }
+                }
             } else {
-                this.cache =
-                        cacheMaxSize == -1 || cacheExpireMs == -1
-                                ? null
-                                : CacheBuilder.newBuilder()
-                                        .expireAfterWrite(cacheExpireMs, TimeUnit.MILLISECONDS)
-                                        .maximumSize(cacheMaxSize)
-                                        .build();
+                establishConnectionAndStatement();
+                if (cacheMaxSize != -1 && cacheExpireMs != -1) {
+                    this.cache =
+                            LookupCache.create(
+                                    cachePolicy,
+                                    cacheMaxSize,
+                                    cacheExpireMs,
+                                    cacheRefreshAfterWriteMs,
+                                    cacheRefreshAfterWriteMs < 0 ? null : this::reload);
+                    LookupCache.registerMetrics(context.getMetricGroup(), cache);
+                }
+                if (keyFilterQuery != null) {
+                    reloadKeyFilter();
+                    if (bloomFilterCron != null) {
+                        this.refreshScheduler =
+                                CacheAllRefreshScheduler.acquire(refreshMaxConcurrency);
+                        this.refreshRegistration =
+                                refreshScheduler.register(
+                                        bloomFilterCron,
+                                        refreshJitterMs,
+                                        context.getIndexOfThisSubtask(),
+                                        context.getNumberOfParallelSubtasks(),
+                                        this::scheduledReloadKeyFilter);
+                    }
+                    this.rejectedKeyCounter =
+                            context.getMetricGroup().counter("Jdbc_Lookup_Bloom_Filter_Rejected");
+                    context.getMetricGroup()
+                            .gauge(
+                                    "Jdbc_Lookup_Bloom_Filter_Keys",
+                                    (Gauge<Long>)
+                                            () -> {
+                                                // close() clears the filter
+                                                LookupKeyFilter filter = keyFilter;
+                                                return filter == null
+                                                        ? 0L
+                                                        : filter.getApproximateKeyCount();
+                                            });
+                }
             }
         } catch (SQLException sqe) {
             throw new IllegalArgumentException("open() failed.", sqe);
@@ -155,38 +413,544 @@ public class JdbcRowDataLookupFunction extends TableFunction<RowData> {
         }
         context.getMetricGroup()
                 .gauge("Jdbc_Lookup_Cache_Size", (Gauge<Long>) this::getLookupCacheLine);
+        if (cacheAll) {
+            context.getMetricGroup()
+                    .gauge(
+                            "Jdbc_Lookup_Cache_Reload_Duration",
+                            (Gauge<Long>) () -> lastReloadDurationMs);
+            context.getMetricGroup()
+                    .gauge(
+                            "Jdbc_Lookup_Cache_Last_Reload_Timestamp",
+                            (Gauge<Long>) () -> lastReloadSuccessTimestamp);
+            context.getMetricGroup()
+                    .gauge(
+                            "Jdbc_Lookup_Cache_Memory_Size",
+                            (Gauge<Long>) () -> lookupCacheMemorySize);
+            context.getMetricGroup()
+                    .gauge(
+                            "Jdbc_Lookup_Cache_Refresh_Queued",
+                            (Gauge<Integer>)
+                                    () ->
+                                            refreshScheduler == null
+                                                    ? 0
+                                                    : refreshScheduler.getNumQueued());
+            context.getMetricGroup()
+                    .gauge(
+                            "Jdbc_Lookup_Cache_Refresh_Running",
+                            (Gauge<Integer>)
+                                    () ->
+                                            refreshScheduler == null
+                                                    ? 0
+                                                    : refreshScheduler.getNumRunning());
+            context.getMetricGroup()
+                    .gauge(
+                            "Jdbc_Lookup_Cache_Refresh_Skipped",
+                            (Gauge<Long>)
+                                    () ->
+                                            refreshRegistration == null
+                                                    ? 0L
+                                                    : refreshRegistration.getNumSkipped());
+        }
     }
 
-    private synchronized void initCacheAll() {
-        Cache<RowData, List<RowData>> initCache =
-                CacheBuilder.newBuilder()
-                        .maximumSize(cacheMaxSize == -1 ? Integer.MAX_VALUE : cacheMaxSize)
-                        .build();
+    private void scheduledReloadKeyFilter() {
         try {
-            // 初始化数据
-            ResultSet resultSet = statement.executeQuery();
-            long line = 0L;
+            reloadKeyFilter();
+        } catch (Exception e) {
+            LOG.error(
+                    "Reload of the lookup key bloom filter failed, keep using the previous one.",
+                    e);
+        }
+    }
+
+    /**
+     * Loads all keys of the table into a new bloom filter on the reload connection and publishes
+     * it. The filter is sized by the row count of the table, lookups keep using the previous filter
+     * until the new one is completely loaded.
+     */
+    @VisibleForTesting
+    synchronized void reloadKeyFilter() throws SQLException, ClassNotFoundException {
+        if (closed) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Connection reloadConnection = getOrReestablishReloadConnection();
+        long rowCount = 0;
+        try (PreparedStatement countStatement = reloadConnection.prepareStatement(keyCountQuery);
+                ResultSet resultSet = countStatement.executeQuery()) {
+            if (resultSet.next()) {
+                rowCount = resultSet.getLong(1);
+            }
+        }
+        // the converter of the lookups is used by the task thread
+        JdbcRowConverter keyConverter =
+                options.createReadRowConverter(RowType.of(getKeyLogicalTypes()));
+        LookupKeyFilter.Builder builder =
+                new LookupKeyFilter.Builder(
+                        getKeyLogicalTypes(),
+                        rowCount,
+                        bloomFilterFpp,
+                        bloomFilterIgnoreCaseAndTrailingSpaces);
+        try (PreparedStatement keysStatement = reloadConnection.prepareStatement(keyFilterQuery);
+                ResultSet resultSet = keysStatement.executeQuery()) {
             while (resultSet.next()) {
-                // 生成对应的key
-                RowData key = jdbcRowConverter.toInternal(keyNames, resultSet);
-                // 获取对应的数据
-                RowData row = jdbcRowConverter.toInternal(resultSet);
-                // 保存到cache
-                List<RowData> dataList = initCache.getIfPresent(key);
-                if (dataList == null) {
-                    dataList = new ArrayList<>();
+                builder.add(keyConverter.toInternal(resultSet));
+            }
+        }
+        this.keyFilter = builder.build();
+        LOG.info(
+                "loaded the lookup keys of {} rows into the bloom filter in {} ms",
+                rowCount,
+                System.currentTimeMillis() - start);
+    }
+
+    private void scheduledReloadCacheAll() {
+        try {
+            refreshCacheAll();
+        } catch (Exception e) {
+            LOG.error("Reload cache all data failed, keep using the previous snapshot.", e);
+        }
+    }
+
+    /**
+     * Refreshes the snapshot. In incremental mode only the keys changed since the last refresh are
+     * reloaded, unless the full reload interval has elapsed.
+     */
+    @VisibleForTesting
+    synchronized void refreshCacheAll() throws SQLException, ClassNotFoundException {
+        if (closed) {
+            return;
+        }
+        if (changedKeysQuery != null
+                && versionWatermark != null
+                && System.currentTimeMillis() - lastFullReloadTimestamp < fullReloadIntervalMs) {
+            reloadChangedKeys();
+        } else {
+            reloadCacheAll();
+        }
+    }
+
+    /**
+     * Loads a new snapshot of the whole table on the reload connection and publishes it. The
+     * previous snapshot stays visible to lookups until the new one is completely loaded.
+     */
+    @VisibleForTesting
+    synchronized void reloadCacheAll() throws SQLException, ClassNotFoundException {
+        if (closed) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Connection reloadConnection = getOrReestablishReloadConnection();
+        PartitionLoad load;
+        if (partitionBoundsQuery != null) {
+            load = loadPartitions(reloadConnection);
+        } else {
+            load = new PartitionLoad(createSnapshotBuilder());
+            try (PreparedStatement reloadStatement =
+                    reloadConnection.prepareStatement(cacheAllQuery(null))) {
+                setFilterParameters(reloadStatement);
+                load.load(reloadStatement);
+            } catch (Exception e) {
+                load.snapshotBuilder.discard();
+                throw e;
+            }
+        }
+        CacheAllSnapshot previousSnapshot = cacheAllSnapshot;
+        CacheAllSnapshot snapshot = load.snapshotBuilder.build();
+        publishSnapshot(snapshot, start);
+        releaseSnapshot(previousSnapshot);
+        this.versionWatermark = load.watermark;
+        this.lastFullReloadTimestamp = start;
+        if (snapshotPath != null && writesSnapshot) {
+            writeSnapshotFile(snapshot, load.watermark, start);
+        }
+    }
+
+    /**
+     * Derives the snapshot file of this instance from the query and the key partition, so a file is
+     * only restored by functions loading the same rows. Without key partitioning all instances load
+     * the same rows and share one file. On a distributed file system it is only written by the
+     * first instance, on a local file system every instance writes it, so that every task manager
+     * running an instance has a copy.
+     */
+    private void initSnapshotFile(int indexOfThisSubtask) throws IOException {
+        this.snapshotDescriptor =
+                String.join(
+                        "\n",
+                        cacheAllQuery(null),
+                        filter == null ? "" : Arrays.toString(filter.getParameters()),
+                        String.join(",", keyNames),
+                        rowType.asSummaryString(),
+                        numKeyPartitions + "/" + keyPartition);
+        this.snapshotPath =
+                new Path(
+                        snapshotDir,
+                        String.format("jdbc-lookup-%08x.snapshot", snapshotDescriptor.hashCode()));
+        this.writesSnapshot =
+                numKeyPartitions > 1
+                        || indexOfThisSubtask == 0
+                        || !snapshotPath.getFileSystem().isDistributedFS();
+    }
+
+    /** Restores the snapshot from the snapshot file, returns false if there is none to restore. */
+    private boolean restoreSnapshotFile() {
+        if (snapshotPath == null) {
+            return false;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            FileCacheAllSnapshot snapshot =
+                    FileCacheAllSnapshot.open(
+                            snapshotPath,
+                            snapshotDescriptor,
+                            getKeyLogicalTypes(),
+                            rowType.getFieldCount());
+            if (snapshot == null) {
+                LOG.info("no cache all snapshot to restore at {}", snapshotPath);
+                return false;
+            }
+            publishSnapshot(snapshot, start);
+            this.versionWatermark =
+                    snapshot.getWatermark() == null
+                            ? null
+                            : InstantiationUtil.deserializeObject(
+                                    snapshot.getWatermark(), getClass().getClassLoader());
+            this.lastFullReloadTimestamp = snapshot.getLoadTimestamp();
+            LOG.info("restored cache all snapshot from {}", snapshotPath);
+            return true;
+        } catch (IOException | ClassNotFoundException e) {
+            LOG.warn(
+                    "Restore cache all snapshot from {} failed, load it from the database.",
+                    snapshotPath,
+                    e);
+            return false;
+        }
+    }
+
+    private void writeSnapshotFile(
+            CacheAllSnapshot snapshot, @Nullable Object watermark, long loadTimestamp) {
+        try {
+            FileCacheAllSnapshot.write(
+                    snapshot,
+                    getKeyLogicalTypes(),
+                    rowType,
+                    snapshotDescriptor,
+                    loadTimestamp,
+                    watermark == null ? null : InstantiationUtil.serializeObject(watermark),
+                    snapshotPath);
+            LOG.info("wrote cache all snapshot to {}", snapshotPath);
+        } catch (IOException e) {
+            // the snapshot file only speeds up restarts, so the loaded snapshot is still used
+            LOG.warn("Write cache all snapshot to {} failed.", snapshotPath, e);
+        }
+    }
+
+    /**
+     * Splits the full load into range queries on the partition column and runs them concurrently on
+     * a connection pool. The pool is shared by the functions of the TaskManager which load the same
+     * database with the same parallelism, and its connections are reused by later reloads. Rows
+     * with a null partition column are loaded by an extra query.
+     */
+    private PartitionLoad loadPartitions(Connection reloadConnection)
+            throws SQLException, ClassNotFoundException {
+        List<Serializable[]> ranges = new ArrayList<>();
+        try (PreparedStatement boundsStatement =
+                        reloadConnection.prepareStatement(partitionBoundsQuery);
+                ResultSet resultSet = boundsStatement.executeQuery()) {
+            if (resultSet.next()) {
+                long min = resultSet.getLong(1);
+                boolean empty = resultSet.wasNull();
+                long max = resultSet.getLong(2);
+                if (!empty) {
+                    ranges.addAll(splitPartitionRange(min, max, partitionNum));
+                }
+            }
+        }
+        // the null partition has no parameters
+        ranges.add(null);
+
+        if (partitionPool == null) {
+            partitionPool =
+                    JdbcConnectionPool.acquire(options, partitionParallelism, Integer.MAX_VALUE);
+        }
+        // queued partitions of a failed reload are skipped
+        AtomicBoolean failed = new AtomicBoolean();
+        List<CompletableFuture<PartitionLoad>> futures = new ArrayList<>(ranges.size());
+        try {
+            for (Serializable[] range : ranges) {
+                futures.add(
+                        partitionPool.execute(
+                                connectionProvider ->
+                                        failed.get()
+                                                ? null
+                                                : loadPartition(connectionProvider, range)));
+            }
+            PartitionLoad result = null;
+            for (CompletableFuture<PartitionLoad> future : futures) {
+                PartitionLoad partition = future.get();
+                if (result == null) {
+                    result = partition;
+                } else {
+                    result.merge(partition);
                 }
-                dataList.add(row);
-                ((ArrayList<?>) dataList).trimToSize();
-                initCache.put(key, dataList);
-                line++;
             }
-            LOG.info("init all cache, size is: {} line", line);
-            this.lookupCacheLine = line;
+            LOG.info("loaded cache all snapshot from {} partitions", ranges.size());
+            return result;
+        } catch (ExecutionException e) {
+            failed.set(true);
+            discardPartitionLoads(futures);
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            } else if (cause instanceof ClassNotFoundException) {
+                throw (ClassNotFoundException) cause;
+            }
+            throw new SQLException("Load partition of cache all snapshot failed.", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed.set(true);
+            discardPartitionLoads(futures);
+            throw new SQLException("Interrupted while loading cache all snapshot.", e);
+        }
+    }
+
+    /**
+     * Splits the values between min and max into at most {@code partitionNum} ranges. If the number
+     * of values exceeds a long, the range is split into {@code partitionNum} ranges of the same
+     * width.
+     */
+    @VisibleForTesting
+    static List<Serializable[]> splitPartitionRange(long min, long max, int partitionNum) {
+        long numValues;
+        try {
+            numValues = Math.addExact(Math.subtractExact(max, min), 1L);
+        } catch (ArithmeticException e) {
+            List<Serializable[]> ranges = new ArrayList<>(partitionNum);
+            BigInteger first = BigInteger.valueOf(min);
+            BigInteger width = BigInteger.valueOf(max).subtract(first).add(BigInteger.ONE);
+            long start = min;
+            for (int i = 1; i <= partitionNum; i++) {
+                long end =
+                        first.add(
+                                        width.multiply(BigInteger.valueOf(i))
+                                                .divide(BigInteger.valueOf(partitionNum)))
+                                .subtract(BigInteger.ONE)
+                                .longValueExact();
+                ranges.add(new Long[] {start, end});
+                start = end + 1;
+            }
+            return ranges;
+        }
+        return Arrays.asList(
+                new JdbcNumericBetweenParametersProvider(min, max)
+                        .ofBatchNum((int) Math.min(partitionNum, numValues))
+                        .getParameterValues());
+    }
+
+    /**
+     * Frees the memory of the partitions loaded by a failed full reload, partitions which are still
+     * loading are freed once they are loaded.
+     */
+    private static void discardPartitionLoads(List<CompletableFuture<PartitionLoad>> futures) {
+        for (CompletableFuture<PartitionLoad> future : futures) {
+            // merged partitions were already discarded by the merge, that is a no-op
+            future.thenAccept(
+                    partition -> {
+                        if (partition != null) {
+                            partition.snapshotBuilder.discard();
+                        }
+                    });
+        }
+    }
+
+    private PartitionLoad loadPartition(
+            JdbcConnectionProvider connectionProvider, @Nullable Serializable[] range)
+            throws SQLException, ClassNotFoundException {
+        if (connectionProvider.getConnection() != null && !connectionProvider.isConnectionValid()) {
+            connectionProvider.reestablishConnection();
+        }
+        Connection connection = connectionProvider.getOrEstablishConnection();
+        PartitionLoad load = new PartitionLoad(createSnapshotBuilder());
+        try (PreparedStatement partitionStatement =
+                connection.prepareStatement(
+                        cacheAllQuery(
+                                range == null
+                                        ? partitionNullCondition
+                                        : partitionRangeCondition))) {
+            int numFilterParameters = setFilterParameters(partitionStatement);
+            if (range != null) {
+                partitionStatement.setObject(numFilterParameters + 1, range[0]);
+                partitionStatement.setObject(numFilterParameters + 2, range[1]);
+            }
+            load.load(partitionStatement);
         } catch (Exception e) {
-            LOG.error("init cache all data error, please check.", e);
+            load.snapshotBuilder.discard();
+            throw e;
+        }
+        return load;
+    }
+
+    /** Rows and version watermark loaded by one query of a full reload. */
+    private final class PartitionLoad {
+
+        private final CacheAllSnapshot.Builder snapshotBuilder;
+        private Object watermark;
+
+        private PartitionLoad(CacheAllSnapshot.Builder snapshotBuilder) {
+            this.snapshotBuilder = snapshotBuilder;
+        }
+
+        private void load(PreparedStatement statement) throws SQLException {
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    // 生成对应的key
+                    RowData key = jdbcRowConverter.toInternal(keyNames, resultSet);
+                    if (!isKeyOfThisPartition(key)) {
+                        continue;
+                    }
+                    // 获取对应的数据
+                    RowData row = jdbcRowConverter.toInternal(resultSet);
+                    snapshotBuilder.add(key, row);
+                    if (incrementalColumn != null) {
+                        watermark = maxVersion(watermark, resultSet);
+                    }
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void merge(PartitionLoad other) {
+            snapshotBuilder.merge(other.snapshotBuilder);
+            if (other.watermark != null
+                    && (watermark == null
+                            || ((Comparable<Object>) other.watermark).compareTo(watermark) > 0)) {
+                watermark = other.watermark;
+            }
         }
-        this.cache = initCache;
+    }
+
+    /**
+     * Reloads all rows of the keys which have rows changed since the last refresh and merges them
+     * into the current snapshot.
+     */
+    private void reloadChangedKeys() throws SQLException, ClassNotFoundException {
+        long start = System.currentTimeMillis();
+        Object newWatermark = versionWatermark;
+        Map<RowData, List<RowData>> changedKeys = new HashMap<>();
+        Connection reloadConnection = getOrReestablishReloadConnection();
+        try (FieldNamedPreparedStatement changedKeysStatement =
+                FieldNamedPreparedStatement.prepareStatement(
+                        reloadConnection, changedKeysQuery, new String[] {incrementalColumn})) {
+            changedKeysStatement.setObject(0, versionWatermark);
+            try (ResultSet resultSet = changedKeysStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    RowData key = jdbcRowConverter.toInternal(keyNames, resultSet);
+                    if (!isKeyOfThisPartition(key)) {
+                        continue;
+                    }
+                    RowData row = jdbcRowConverter.toInternal(resultSet);
+                    changedKeys.computeIfAbsent(key, k -> new ArrayList<>(1)).add(row);
+                    newWatermark = maxVersion(newWatermark, resultSet);
+                }
+            }
+        }
+        LOG.info("reload {} changed keys since version {}", changedKeys.size(), versionWatermark);
+        publishSnapshot(IncrementalCacheAllSnapshot.merge(cacheAllSnapshot, changedKeys), start);
+        this.versionWatermark = newWatermark;
+    }
+
+    /**
+     * Returns the full load query restricted by the pushed filter, the given condition and the
+     * condition of the key partition of this instance. The parameters of the filter come first.
+     */
+    private String cacheAllQuery(@Nullable String condition) {
+        String where =
+                Stream.of(
+                                filter == null ? null : "(" + filter.getPredicate() + ")",
+                                condition,
+                                keyPartitionCondition)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.joining(" AND "));
+        return where.isEmpty() ? query : query + " WHERE " + where;
+    }
+
+    /** Binds the parameters of the pushed filter, returns the number of bound parameters. */
+    private int setFilterParameters(PreparedStatement statement) throws SQLException {
+        if (filter == null) {
+            return 0;
+        }
+        Serializable[] parameters = filter.getParameters();
+        for (int i = 0; i < parameters.length; i++) {
+            statement.setObject(i + 1, parameters[i]);
+        }
+        return parameters.length;
+    }
+
+    private boolean isKeyOfThisPartition(RowData key) {
+        // rows are also filtered on the client if the database already evaluates the condition,
+        // the changed keys query of the incremental refresh is never restricted to the partition
+        return numKeyPartitions <= 1
+                || keyPartitioner.partition(key, numKeyPartitions) == keyPartition;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object maxVersion(Object watermark, ResultSet resultSet) throws SQLException {
+        Object version = resultSet.getObject(incrementalColumnIndex);
+        if (version == null) {
+            return watermark;
+        }
+        return watermark == null || ((Comparable<Object>) version).compareTo(watermark) > 0
+                ? version
+                : watermark;
+    }
+
+    private void publishSnapshot(CacheAllSnapshot snapshot, long start) {
+        // publish the new snapshot with a single volatile write
+        this.cacheAllSnapshot = snapshot;
+        this.lookupCacheLine = snapshot.getRowCount();
+        this.lookupCacheMemorySize = snapshot.getMemorySizeInBytes();
+        this.lastReloadDurationMs = System.currentTimeMillis() - start;
+        this.lastReloadSuccessTimestamp = System.currentTimeMillis();
+        LOG.info(
+                "init all cache, size is: {} line, cost {} ms",
+                lookupCacheLine,
+                lastReloadDurationMs);
+    }
+
+    /**
+     * Releases a snapshot replaced by a full reload. Lookups read the snapshot reference under the
+     * read lock, so once the write lock is acquired no lookup uses the replaced snapshot anymore.
+     */
+    private void releaseSnapshot(@Nullable CacheAllSnapshot snapshot) {
+        if (snapshot == null) {
+            return;
+        }
+        cacheAllSnapshotLock.writeLock().lock();
+        cacheAllSnapshotLock.writeLock().unlock();
+        snapshot.release();
+    }
+
+    private CacheAllSnapshot.Builder createSnapshotBuilder() {
+        switch (cacheAllStorage) {
+            case BINARY:
+                return new BinaryCacheAllSnapshot.Builder(getKeyLogicalTypes(), rowType);
+            case HEAP:
+            default:
+                return new HeapCacheAllSnapshot.Builder(cacheMaxSize);
+        }
+    }
+
+    private LogicalType[] getKeyLogicalTypes() {
+        return Arrays.stream(keyTypes).map(DataType::getLogicalType).toArray(LogicalType[]::new);
+    }
+
+    private Connection getOrReestablishReloadConnection()
+            throws SQLException, ClassNotFoundException {
+        if (reloadConnectionProvider.getConnection() != null
+                && !reloadConnectionProvider.isConnectionValid()) {
+            return reloadConnectionProvider.reestablishConnection();
+        }
+        return reloadConnectionProvider.getOrEstablishConnection();
     }
 
     /**
@@ -204,7 +968,15 @@ public class JdbcRowDataLookupFunction extends TableFunction<RowData> {
 
     public void lookupWithAll(Object... keys) {
         RowData keyRow = GenericRowData.of(keys);
-        List<RowData> rows = cache.getIfPresent(keyRow);
+        List<RowData> rows;
+        cacheAllSnapshotLock.readLock().lock();
+        try {
+            // read the volatile snapshot reference only once per lookup, the returned rows are
+            // copies which stay valid after the snapshot is released
+            rows = cacheAllSnapshot.get(keyRow);
+        } finally {
+            cacheAllSnapshotLock.readLock().unlock();
+        }
         if (rows != null) {
             for (RowData row : rows) {
                 collect(row);
@@ -214,6 +986,16 @@ public class JdbcRowDataLookupFunction extends TableFunction<RowData> {
 
     public void lookup(Object... keys) {
         RowData keyRow = GenericRowData.of(keys);
+        // a stale filter may reject keys added to the table since, those are looked up
+        LookupKeyFilter filter = keyFilter;
+        if (filter != null
+                && System.currentTimeMillis() - filter.getLoadTimestamp()
+                        <= bloomFilterMaxStalenessMs
+                && !filter.mightContain(keyRow)) {
+            rejectedKeyCounter.inc();
+            return;
+        }
+        long start = System.nanoTime();
         if (cache != null) {
             List<RowData> cachedRows = cache.getIfPresent(keyRow);
             if (cachedRows != null) {
@@ -244,6 +1026,7 @@ public class JdbcRowDataLookupFunction extends TableFunction<RowData> {
                         if (!rows.isEmpty() || cacheMissingKey) {
                             cache.put(keyRow, rows);
                         }
+                        cache.recordLoad(System.nanoTime() - start);
                     }
                 }
                 break;
@@ -275,6 +1058,52 @@ public class JdbcRowDataLookupFunction extends TableFunction<RowData> {
         }
     }
 
+    /**
+     * Reloads a cached key on the refresh connection. Keys without rows are removed from the cache
+     * unless missing keys are cached.
+     */
+    @Nullable
+    private CompletableFuture<List<RowData>> reload(RowData keyRow) {
+        if (refreshPool == null) {
+            refreshPool =
+                    JdbcConnectionPool.acquire(
+                            options, 1, (int) Math.min(cacheMaxSize, Integer.MAX_VALUE));
+        }
+        // close() clears the field while reloads may still complete
+        LookupCache<RowData, List<RowData>> reloadedCache = cache;
+        long start = System.nanoTime();
+        // the pool is shared with the other functions of the TaskManager, so the refresh is
+        // skipped rather than blocking the task thread while all in-flight permits are taken
+        CompletableFuture<List<RowData>> future =
+                refreshPool.tryExecute(
+                        refreshConnectionProvider -> query(refreshConnectionProvider, keyRow));
+        if (future == null) {
+            return null;
+        }
+        return future.thenApply(
+                rows -> {
+                    reloadedCache.recordLoad(System.nanoTime() - start);
+                    return rows.isEmpty() && !cacheMissingKey ? null : rows;
+                });
+    }
+
+    private List<RowData> query(JdbcConnectionProvider connectionProvider, RowData keyRow)
+            throws SQLException, ClassNotFoundException {
+        try (FieldNamedPreparedStatement refreshStatement =
+                FieldNamedPreparedStatement.prepareStatement(
+                        connectionProvider.getOrEstablishConnection(), query, keyNames)) {
+            lookupKeyRowConverter.toExternal(keyRow, refreshStatement);
+            try (ResultSet resultSet = refreshStatement.executeQuery()) {
+                ArrayList<RowData> rows = new ArrayList<>();
+                while (resultSet.next()) {
+                    rows.add(jdbcRowConverter.toInternal(resultSet));
+                }
+                rows.trimToSize();
+                return rows;
+            }
+        }
+    }
+
     public long getLookupCacheLine() {
         return lookupCacheLine;
     }
@@ -284,12 +1113,42 @@ public class JdbcRowDataLookupFunction extends TableFunction<RowData> {
         statement = FieldNamedPreparedStatement.prepareStatement(dbConn, query, keyNames);
     }
 
+    /**
+     * Closes the function. The scheduled refreshes are unregistered first, a refresh which is
+     * already running is waited for, as it uses the reload connection closed here.
+     */
     @Override
     public void close() throws IOException {
+        if (refreshRegistration != null) {
+            refreshRegistration.unregister();
+            refreshRegistration = null;
+        }
+        // blocks until a running refresh has finished, later refreshes see the flag and return
+        synchronized (this) {
+            closed = true;
+        }
+        if (refreshScheduler != null) {
+            refreshScheduler.release();
+            refreshScheduler = null;
+        }
         if (cache != null) {
             cache.cleanUp();
             cache = null;
         }
+        if (refreshPool != null) {
+            refreshPool.release();
+            refreshPool = null;
+        }
+        if (partitionPool != null) {
+            partitionPool.release();
+            partitionPool = null;
+        }
+        // lookups run on the calling thread, so none of them uses the snapshot anymore
+        if (cacheAllSnapshot != null) {
+            cacheAllSnapshot.release();
+            cacheAllSnapshot = null;
+        }
+        keyFilter = null;
         if (statement != null) {
             try {
                 statement.close();
@@ -301,6 +1160,7 @@ public class JdbcRowDataLookupFunction extends TableFunction<RowData> {
         }
 
         connectionProvider.closeConnection();
+        reloadConnectionProvider.closeConnection();
     }
 
     @VisibleForTesting
@@ -309,7 +1169,18 @@ public class JdbcRowDataLookupFunction extends TableFunction<RowData> {
     }
 
     @VisibleForTesting
-    public Cache<RowData, List<RowData>> getCache() {
+    public LookupCache<RowData, List<RowData>> getCache() {
         return cache;
     }
+
+    @VisibleForTesting
+    @Nullable
+    LookupKeyFilter getKeyFilter() {
+        return keyFilter;
+    }
+
+    @VisibleForTesting
+    CacheAllSnapshot getCacheAllSnapshot() {
+        return cacheAllSnapshot;
+    }
 }
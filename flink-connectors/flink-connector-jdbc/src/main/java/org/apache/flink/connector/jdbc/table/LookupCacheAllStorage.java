@@ -16,20 +16,20 @@
  * limitations under the License.
  */
 
-package org.apache.flink.connector.jdbc.utils;
+package org.apache.flink.connector.jdbc.table;
 
-import com.cronutils.model.CronType;
-import top.amazingwu.concurrent.CronScheduledThreadPoolExecutor;
+import org.apache.flink.annotation.PublicEvolving;
 
-/** Utils for jdbc connectors. */
-public class CronUtils {
-    private static CronScheduledThreadPoolExecutor cron;
+/** Storage format of the snapshot loaded in {@code lookup.cache.all} mode. */
+@PublicEvolving
+public enum LookupCacheAllStorage {
 
-    static {
-        cron = new CronScheduledThreadPoolExecutor(Runtime.getRuntime().availableProcessors());
-    }
+    /** Rows are kept as java objects on the heap. */
+    HEAP,
 
-    public static void runCron(Runnable command, String cron) {
-        CronUtils.cron.scheduleWithCron(command, cron, CronType.QUARTZ);
-    }
+    /**
+     * Rows are kept as serialized binary rows in off-heap memory segments, indexed by a binary hash
+     * table. The memory is accounted as direct memory of the task manager.
+     */
+    BINARY
 }
@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.table;
+
+import org.apache.flink.annotation.PublicEvolving;
+
+/** Eviction policy of the lookup cache, which is used unless {@code lookup.cache.all} is set. */
+@PublicEvolving
+public enum LookupCachePolicy {
+
+    /** Evicts the least recently used rows. */
+    LRU,
+
+    /**
+     * Admits rows by their estimated access frequency and evicts the least frequently used rows
+     * (W-TinyLFU), which keeps a higher hit ratio than LRU for skewed key distributions and scans.
+     * Supports refreshing rows asynchronously after they have been written.
+     */
+    TINY_LFU
+}
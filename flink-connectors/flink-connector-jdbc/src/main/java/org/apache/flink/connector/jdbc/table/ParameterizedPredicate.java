@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.table;
+
+import org.apache.flink.annotation.Internal;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/** A SQL condition with {@code ?} placeholders and the parameters bound to them in order. */
+@Internal
+public final class ParameterizedPredicate implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String predicate;
+    private final Serializable[] parameters;
+
+    public ParameterizedPredicate(String predicate, Serializable... parameters) {
+        this.predicate = predicate;
+        this.parameters = parameters;
+    }
+
+    public String getPredicate() {
+        return predicate;
+    }
+
+    public Serializable[] getParameters() {
+        return parameters;
+    }
+
+    /** Combines the predicates with the given operator, e.g. {@code AND} or {@code OR}. */
+    public static ParameterizedPredicate combine(
+            String operator, List<ParameterizedPredicate> predicates) {
+        if (predicates.size() == 1) {
+            return predicates.get(0);
+        }
+        final List<Serializable> parameters = new ArrayList<>();
+        for (ParameterizedPredicate predicate : predicates) {
+            parameters.addAll(Arrays.asList(predicate.parameters));
+        }
+        return new ParameterizedPredicate(
+                predicates.stream()
+                        .map(predicate -> "(" + predicate.predicate + ")")
+                        .collect(Collectors.joining(" " + operator + " ")),
+                parameters.toArray(new Serializable[0]));
+    }
+
+    /** Returns the conjunction of the predicates, or empty if there are none. */
+    public static Optional<ParameterizedPredicate> conjunction(
+            List<ParameterizedPredicate> predicates) {
+        return predicates.isEmpty() ? Optional.empty() : Optional.of(combine("AND", predicates));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ParameterizedPredicate that = (ParameterizedPredicate) o;
+        return Objects.equals(predicate, that.predicate)
+                && Arrays.equals(parameters, that.parameters);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hash(predicate) + Arrays.hashCode(parameters);
+    }
+
+    @Override
+    public String toString() {
+        return predicate + " " + Arrays.toString(parameters);
+    }
+}
@@ -204,6 +204,10 @@ public class JdbcXaSinkFunction<T> extends AbstractRichFunction
                 outputFormat.getExecutionOptions().getMaxRetries() == 0,
                 "JDBC XA sink requires maxRetries equal to 0, otherwise it could "
                         + "cause duplicates. See issue FLINK-22311 for details.");
+        Preconditions.checkArgument(
+                !outputFormat.getExecutionOptions().isPipelined(),
+                "JDBC XA sink writes each transaction on a single connection, "
+                        + "so it doesn't support in-flight batches.");
 
         this.xaFacade = Preconditions.checkNotNull(xaFacade);
         this.xidGenerator = Preconditions.checkNotNull(xidGenerator);
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.catalog;
+
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataDate;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataDouble;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataLong;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataString;
+import org.apache.flink.table.catalog.stats.CatalogTableStatistics;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/** Test for {@link MySqlCatalogStatistics}. */
+public class MySqlCatalogStatisticsTest {
+
+    @Test
+    public void testTableStatistics() {
+        CatalogTableStatistics statistics = MySqlCatalogStatistics.toTableStatistics(1000L, 16384);
+        assertEquals(1000, statistics.getRowCount());
+        assertEquals(16384, statistics.getTotalSize());
+
+        assertSame(
+                CatalogTableStatistics.UNKNOWN, MySqlCatalogStatistics.toTableStatistics(null, 0));
+    }
+
+    @Test
+    public void testSingletonHistogram() {
+        String histogram =
+                "{\"buckets\": [[1, 0.2], [2, 0.5], [7, 0.9]], \"data-type\": \"int\", "
+                        + "\"null-values\": 0.1, \"histogram-type\": \"singleton\"}";
+        CatalogColumnStatisticsDataLong statistics =
+                (CatalogColumnStatisticsDataLong)
+                        MySqlCatalogStatistics.toColumnStatisticsData("int", 1000, 5L, histogram);
+        assertEquals(3L, (long) statistics.getNdv());
+        assertEquals(100L, (long) statistics.getNullCount());
+        assertEquals(1L, (long) statistics.getMin());
+        assertEquals(7L, (long) statistics.getMax());
+    }
+
+    @Test
+    public void testEquiHeightHistogram() {
+        String histogram =
+                "{\"buckets\": [[\"0.50\", \"2.00\", 0.5, 10], [\"2.50\", \"9.75\", 1.0, 15]], "
+                        + "\"data-type\": \"decimal\", \"null-values\": 0.0, "
+                        + "\"histogram-type\": \"equi-height\"}";
+        CatalogColumnStatisticsDataDouble statistics =
+                (CatalogColumnStatisticsDataDouble)
+                        MySqlCatalogStatistics.toColumnStatisticsData(
+                                "decimal", 100, null, histogram);
+        assertEquals(25L, (long) statistics.getNdv());
+        assertEquals(0L, (long) statistics.getNullCount());
+        assertEquals(0.5, statistics.getMin(), 0);
+        assertEquals(9.75, statistics.getMax(), 0);
+    }
+
+    @Test
+    public void testDateHistogram() {
+        String histogram =
+                "{\"buckets\": [[\"2020-01-01\", 0.5], [\"2020-03-01\", 1.0]], "
+                        + "\"data-type\": \"date\", \"null-values\": 0.0, "
+                        + "\"histogram-type\": \"singleton\"}";
+        CatalogColumnStatisticsDataDate statistics =
+                (CatalogColumnStatisticsDataDate)
+                        MySqlCatalogStatistics.toColumnStatisticsData("date", 10, null, histogram);
+        assertEquals(
+                LocalDate.of(2020, 1, 1).toEpochDay(), statistics.getMin().getDaysSinceEpoch());
+        assertEquals(
+                LocalDate.of(2020, 3, 1).toEpochDay(), statistics.getMax().getDaysSinceEpoch());
+    }
+
+    @Test
+    public void testIndexCardinality() {
+        CatalogColumnStatisticsDataString statistics =
+                (CatalogColumnStatisticsDataString)
+                        MySqlCatalogStatistics.toColumnStatisticsData("varchar", 1000, 42L, null);
+        assertEquals(42L, (long) statistics.getNdv());
+        assertNull(statistics.getNullCount());
+    }
+
+    @Test
+    public void testNoStatistics() {
+        assertNull(MySqlCatalogStatistics.toColumnStatisticsData("int", 1000, null, null));
+        assertNull(MySqlCatalogStatistics.toColumnStatisticsData("datetime", 1000, 10L, null));
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.catalog;
+
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataBoolean;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataDate;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataDouble;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataLong;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataString;
+import org.apache.flink.table.catalog.stats.CatalogTableStatistics;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/** Test for {@link PostgresCatalogStatistics}. */
+public class PostgresCatalogStatisticsTest {
+
+    @Test
+    public void testParseArray() {
+        assertEquals(
+                Arrays.asList("1", "5", "10"), PostgresCatalogStatistics.parseArray("{1,5,10}"));
+        assertEquals(
+                Arrays.asList("a \"b\", c", "NULL", "d\\e"),
+                PostgresCatalogStatistics.parseArray("{\"a \\\"b\\\", c\",\"NULL\",NULL,d\\\\e}"));
+        assertEquals(Collections.emptyList(), PostgresCatalogStatistics.parseArray("{}"));
+        assertEquals(Collections.emptyList(), PostgresCatalogStatistics.parseArray(null));
+    }
+
+    @Test
+    public void testTableStatistics() {
+        CatalogTableStatistics statistics =
+                PostgresCatalogStatistics.toTableStatistics(1000f, 5, 40960);
+        assertEquals(1000, statistics.getRowCount());
+        assertEquals(40960, statistics.getTotalSize());
+
+        assertSame(
+                CatalogTableStatistics.UNKNOWN,
+                PostgresCatalogStatistics.toTableStatistics(-1f, 0, 0));
+        assertSame(
+                CatalogTableStatistics.UNKNOWN,
+                PostgresCatalogStatistics.toTableStatistics(0f, 0, 0));
+    }
+
+    @Test
+    public void testLongStatistics() {
+        CatalogColumnStatisticsDataLong statistics =
+                (CatalogColumnStatisticsDataLong)
+                        PostgresCatalogStatistics.toColumnStatisticsData(
+                                "int4", 1000, 0.1, -0.9, 4, "{1,100,500,999}", "{1000}", "{0.01}");
+        assertEquals(900L, (long) statistics.getNdv());
+        assertEquals(100L, (long) statistics.getNullCount());
+        assertEquals(1L, (long) statistics.getMin());
+        assertEquals(1000L, (long) statistics.getMax());
+    }
+
+    @Test
+    public void testDoubleStatistics() {
+        CatalogColumnStatisticsDataDouble statistics =
+                (CatalogColumnStatisticsDataDouble)
+                        PostgresCatalogStatistics.toColumnStatisticsData(
+                                "numeric", 1000, 0, 20, 8, "{-1.5,2.25,NaN}", null, null);
+        assertEquals(20L, (long) statistics.getNdv());
+        assertEquals(0L, (long) statistics.getNullCount());
+        assertEquals(-1.5, statistics.getMin(), 0);
+        assertEquals(2.25, statistics.getMax(), 0);
+    }
+
+    @Test
+    public void testDateStatistics() {
+        CatalogColumnStatisticsDataDate statistics =
+                (CatalogColumnStatisticsDataDate)
+                        PostgresCatalogStatistics.toColumnStatisticsData(
+                                "date",
+                                100,
+                                0,
+                                3,
+                                4,
+                                null,
+                                "{2020-01-02,2020-01-01,infinity}",
+                                "{0.5,0.3,0.2}");
+        assertEquals(
+                LocalDate.of(2020, 1, 1).toEpochDay(), statistics.getMin().getDaysSinceEpoch());
+        assertEquals(
+                LocalDate.of(2020, 1, 2).toEpochDay(), statistics.getMax().getDaysSinceEpoch());
+    }
+
+    @Test
+    public void testBooleanStatistics() {
+        CatalogColumnStatisticsDataBoolean statistics =
+                (CatalogColumnStatisticsDataBoolean)
+                        PostgresCatalogStatistics.toColumnStatisticsData(
+                                "bool", 1000, 0.1, 2, 1, null, "{t}", "{0.6}");
+        assertEquals(600L, (long) statistics.getTrueCount());
+        assertEquals(300L, (long) statistics.getFalseCount());
+        assertEquals(100L, (long) statistics.getNullCount());
+    }
+
+    @Test
+    public void testStringStatistics() {
+        CatalogColumnStatisticsDataString statistics =
+                (CatalogColumnStatisticsDataString)
+                        PostgresCatalogStatistics.toColumnStatisticsData(
+                                "varchar", 1000, 0, 0, 12, "{\"a\",\"b\"}", null, null);
+        assertNull(statistics.getNdv());
+        assertEquals(12.0, statistics.getAvgLength(), 0);
+    }
+
+    @Test
+    public void testUnsupportedType() {
+        assertNull(
+                PostgresCatalogStatistics.toColumnStatisticsData(
+                        "timestamp", 1000, 0, -1, 8, null, null, null));
+    }
+}
@@ -23,6 +23,9 @@ import org.apache.flink.table.catalog.CatalogBaseTable;
 import org.apache.flink.table.catalog.ObjectPath;
 import org.apache.flink.table.catalog.exceptions.DatabaseNotExistException;
 import org.apache.flink.table.catalog.exceptions.TableNotExistException;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatistics;
+import org.apache.flink.table.catalog.stats.CatalogColumnStatisticsDataLong;
+import org.apache.flink.table.catalog.stats.CatalogTableStatistics;
 
 import org.junit.Test;
 
@@ -31,6 +34,7 @@ import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 /** Test for {@link PostgresCatalog}. */
@@ -167,6 +171,45 @@ public class PostgresCatalogTest extends PostgresCatalogTestBase {
         assertEquals(getArrayTable().schema, table.getUnresolvedSchema());
     }
 
+    // ------ stats ------
+
+    @Test
+    public void testTableStatistics() throws Exception {
+        ObjectPath tablePath = new ObjectPath(PostgresCatalog.DEFAULT_DATABASE, TABLE4);
+        executeSQL(
+                PostgresCatalog.DEFAULT_DATABASE,
+                String.format(
+                        "insert into %s select case when i %% 10 = 0 then null else i end "
+                                + "from generate_series(1, 1000) i;",
+                        TABLE4));
+        executeSQL(PostgresCatalog.DEFAULT_DATABASE, String.format("analyze %s;", TABLE4));
+
+        CatalogTableStatistics tableStatistics = catalog.getTableStatistics(tablePath);
+        assertEquals(1000, tableStatistics.getRowCount());
+
+        CatalogColumnStatistics columnStatistics = catalog.getTableColumnStatistics(tablePath);
+        CatalogColumnStatisticsDataLong idStatistics =
+                (CatalogColumnStatisticsDataLong)
+                        columnStatistics.getColumnStatisticsData().get("id");
+        assertEquals(900L, (long) idStatistics.getNdv());
+        assertEquals(100L, (long) idStatistics.getNullCount());
+        assertEquals(1L, (long) idStatistics.getMin());
+        assertEquals(999L, (long) idStatistics.getMax());
+
+        // statistics are cached until the cache TTL expires
+        executeSQL(
+                PostgresCatalog.DEFAULT_DATABASE,
+                String.format("insert into %s select generate_series(1, 1000);", TABLE4));
+        executeSQL(PostgresCatalog.DEFAULT_DATABASE, String.format("analyze %s;", TABLE4));
+        assertSame(tableStatistics, catalog.getTableStatistics(tablePath));
+    }
+
+    @Test
+    public void testTableStatistics_TableNotExistException() throws TableNotExistException {
+        exception.expect(TableNotExistException.class);
+        catalog.getTableStatistics(new ObjectPath(TEST_DB, "nonexist"));
+    }
+
     @Test
     public void testSerialDataTypes() throws TableNotExistException {
         CatalogBaseTable table =
@@ -92,5 +92,6 @@ public class JdbcCatalogFactoryTest {
         assertEquals(c1.getUsername(), c2.getUsername());
         assertEquals(c1.getPassword(), c2.getPassword());
         assertEquals(c1.getBaseUrl(), c2.getBaseUrl());
+        assertEquals(c1.getStatisticsCacheTtl(), c2.getStatisticsCacheTtl());
     }
 }
@@ -18,18 +18,38 @@
 
 package org.apache.flink.connector.jdbc.converter;
 
+import org.apache.flink.connector.jdbc.statement.FieldNamedPreparedStatement;
+import org.apache.flink.table.data.DecimalData;
+import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.DateType;
+import org.apache.flink.table.types.logical.DecimalType;
+import org.apache.flink.table.types.logical.DoubleType;
 import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.LogicalTypeRoot;
 import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.table.types.logical.TimestampType;
+import org.apache.flink.table.types.logical.VarCharType;
 
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import java.math.BigDecimal;
+import java.sql.Date;
 import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /** Test for {@link AbstractJdbcRowConverter}. */
 public class AbstractJdbcRowConverterTest {
@@ -59,4 +79,136 @@ public class AbstractJdbcRowConverterTest {
                 LocalDateTime.parse("2021-04-07T00:00:05.999"),
                 res.getTimestamp(1, 3).toLocalDateTime());
     }
+
+    @Test
+    public void testGeneratedConversionToInternal() throws Exception {
+        RowType rowType =
+                RowType.of(
+                        new IntType(),
+                        new BigIntType(),
+                        new DoubleType(),
+                        new DecimalType(10, 2),
+                        new DecimalType(30, 4),
+                        new VarCharType(10),
+                        new DateType(),
+                        new TimestampType(3),
+                        new TimestampType(9));
+        AbstractJdbcRowConverter rowConverter = new GeneratedTestRowConverter(rowType, true);
+        rowConverter.enableGeneratedConversion();
+
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        Mockito.when(resultSet.getInt(1)).thenReturn(123);
+        Mockito.when(resultSet.getLong(2)).thenReturn(0L);
+        Mockito.when(resultSet.wasNull()).thenReturn(false, true, false);
+        Mockito.when(resultSet.getDouble(3)).thenReturn(1.5d);
+        Mockito.when(resultSet.getBigDecimal(4)).thenReturn(new BigDecimal("12.34"));
+        Mockito.when(resultSet.getBigDecimal(5)).thenReturn(null);
+        Mockito.when(resultSet.getString(6)).thenReturn("flink");
+        Mockito.when(resultSet.getDate(7)).thenReturn(Date.valueOf("2021-04-07"));
+        Mockito.when(resultSet.getTimestamp(8))
+                .thenReturn(Timestamp.valueOf("2021-04-07 00:00:05.999"));
+        Mockito.when(resultSet.getTimestamp(9))
+                .thenReturn(Timestamp.valueOf("2021-04-07 00:00:05.123456789"));
+        RowData res = rowConverter.toInternal(resultSet);
+
+        assertTrue(res instanceof BinaryRowData);
+        assertEquals(123, res.getInt(0));
+        assertTrue(res.isNullAt(1));
+        assertEquals(1.5d, res.getDouble(2), 0d);
+        assertEquals(new BigDecimal("12.34"), res.getDecimal(3, 10, 2).toBigDecimal());
+        assertTrue(res.isNullAt(4));
+        assertEquals("flink", res.getString(5).toString());
+        assertEquals(LocalDate.parse("2021-04-07").toEpochDay(), res.getInt(6));
+        assertEquals(
+                LocalDateTime.parse("2021-04-07T00:00:05.999"),
+                res.getTimestamp(7, 3).toLocalDateTime());
+        assertEquals(
+                LocalDateTime.parse("2021-04-07T00:00:05.123456789"),
+                res.getTimestamp(8, 9).toLocalDateTime());
+
+        // rows of later calls do not share the bytes of earlier rows
+        Mockito.when(resultSet.getInt(1)).thenReturn(456);
+        assertEquals(456, rowConverter.toInternal(resultSet).getInt(0));
+        assertEquals(123, res.getInt(0));
+    }
+
+    @Test
+    public void testGeneratedConversionToExternal() throws Exception {
+        RowType rowType =
+                RowType.of(
+                        new IntType(),
+                        new VarCharType(10),
+                        new DecimalType(10, 2),
+                        new TimestampType(6));
+        AbstractJdbcRowConverter rowConverter = new GeneratedTestRowConverter(rowType, true);
+        rowConverter.enableGeneratedConversion();
+
+        FieldNamedPreparedStatement statement = Mockito.mock(FieldNamedPreparedStatement.class);
+        RowData row =
+                GenericRowData.of(
+                        7,
+                        null,
+                        DecimalData.fromBigDecimal(new BigDecimal("12.34"), 10, 2),
+                        TimestampData.fromLocalDateTime(
+                                LocalDateTime.parse("2021-04-07T00:00:05.123456")));
+        rowConverter.toExternal(row, statement);
+
+        Mockito.verify(statement).setInt(0, 7);
+        Mockito.verify(statement).setNull(1, Types.VARCHAR);
+        Mockito.verify(statement).setBigDecimal(2, new BigDecimal("12.34"));
+        Mockito.verify(statement).setTimestamp(3, Timestamp.valueOf("2021-04-07 00:00:05.123456"));
+        Mockito.verifyNoMoreInteractions(statement);
+    }
+
+    @Test
+    public void testUnsupportedGeneratedConversion() throws Exception {
+        RowType rowType = RowType.of(new IntType(), new VarCharType(10));
+        AbstractJdbcRowConverter rowConverter = new GeneratedTestRowConverter(rowType, false);
+        rowConverter.enableGeneratedConversion();
+
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        Mockito.when(resultSet.getObject(1)).thenReturn(123);
+        Mockito.when(resultSet.getObject(2)).thenReturn("flink");
+        RowData res = rowConverter.toInternal(resultSet);
+
+        assertFalse(res instanceof BinaryRowData);
+        assertEquals(GenericRowData.of(123, StringData.fromString("flink")), res);
+    }
+
+    @Test
+    public void testGeneratedConversionDisabledByDefault() throws Exception {
+        RowType rowType = RowType.of(new IntType(), new VarCharType(10));
+        JdbcRowConverter rowConverter = new GeneratedTestRowConverter(rowType, true);
+
+        ResultSet resultSet = Mockito.mock(ResultSet.class);
+        Mockito.when(resultSet.getObject(1)).thenReturn(123);
+        Mockito.when(resultSet.getObject(2)).thenReturn("flink");
+        RowData res = rowConverter.toInternal(resultSet);
+
+        assertFalse(res instanceof BinaryRowData);
+        assertEquals(GenericRowData.of(123, StringData.fromString("flink")), res);
+    }
+
+    /** Converter which supports generated conversions of all types but strings, if enabled. */
+    private static class GeneratedTestRowConverter extends AbstractJdbcRowConverter {
+
+        private static final long serialVersionUID = 1L;
+
+        private final boolean supportStrings;
+
+        private GeneratedTestRowConverter(RowType rowType, boolean supportStrings) {
+            super(rowType);
+            this.supportStrings = supportStrings;
+        }
+
+        @Override
+        public String converterName() {
+            return "test";
+        }
+
+        @Override
+        protected boolean supportsGeneratedConversion(LogicalType type) {
+            return supportStrings || type.getTypeRoot() != LogicalTypeRoot.VARCHAR;
+        }
+    }
 }
@@ -27,6 +27,8 @@ import org.junit.Test;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
@@ -146,6 +148,21 @@ public class OraclePreparedStatementTest {
                 .matches(selectStmt);
     }
 
+    @Test
+    public void testSelectKeysInStatement() {
+        String selectStmt =
+                dialect.getSelectFromStatementWithKeysIn(
+                                tableName, new String[] {"id", "name"}, new String[] {"id"}, 1001)
+                        .get();
+        String firstList =
+                IntStream.range(0, 1000)
+                        .mapToObj(i -> ":id_" + i)
+                        .collect(Collectors.joining(", "));
+        assertEquals(
+                "SELECT id, name FROM tbl WHERE id IN (" + firstList + ") OR id IN (:id_1000)",
+                selectStmt);
+    }
+
     private static class NamedStatementMatcher {
         private String parsedSql;
         private Map<String, List<Integer>> parameterMap = new HashMap<>();
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.internal;
+
+import org.apache.flink.connector.jdbc.internal.connection.JdbcConnectionProvider;
+import org.apache.flink.connector.jdbc.internal.executor.JdbcBatchStatementExecutor;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/** Tests for the {@link PipelinedBatchWriter}. */
+public class PipelinedBatchWriterTest {
+
+    @Test(timeout = 10000)
+    public void testBatchesAfterFailureFailFlush() throws Exception {
+        CountDownLatch writeStarted = new CountDownLatch(1);
+        CountDownLatch failWrite = new CountDownLatch(1);
+        SQLException writeFailure = new SQLException("write failed");
+        TestStatementExecutor executor =
+                new TestStatementExecutor(
+                        () -> {
+                            writeStarted.countDown();
+                            failWrite.await();
+                            throw writeFailure;
+                        });
+        PipelinedBatchWriter<Integer> writer = createWriter(executor);
+        writer.open();
+        try {
+            writer.add(1);
+            writeStarted.await();
+            // queued behind the failing batch, they must not be written
+            writer.add(2);
+            writer.add(3);
+            failWrite.countDown();
+            while (writer.getFailure() == null) {
+                Thread.sleep(10);
+            }
+            // submitting another batch drops the completed futures of the failed batch
+            writer.add(4);
+
+            try {
+                writer.flush();
+                fail("Expected exception is not thrown.");
+            } catch (IOException e) {
+                assertNotNull(e.getCause());
+                assertSame(writeFailure, e.getCause().getCause());
+            }
+            assertEquals(1, executor.executedBatches.get());
+            assertEquals(0, writer.getNumberOfInFlightBatches());
+        } finally {
+            writer.close();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testThreadNamesContainWriterIndex() throws Exception {
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        List<JdbcBatchStatementExecutor<Integer>> executors = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            executors.add(
+                    new TestStatementExecutor(
+                            () -> threadNames.add(Thread.currentThread().getName())));
+        }
+        PipelinedBatchWriter<Integer> writer =
+                new PipelinedBatchWriter<>(
+                        Arrays.asList(new TestConnectionProvider(), new TestConnectionProvider()),
+                        executors,
+                        null,
+                        1,
+                        0,
+                        10);
+        writer.open();
+        try {
+            writer.add(1);
+            writer.add(2);
+            writer.flush();
+        } finally {
+            writer.close();
+        }
+
+        Set<String> writerNames = new HashSet<>();
+        for (String threadName : threadNames) {
+            writerNames.add(threadName.substring(0, threadName.indexOf("-thread-")));
+        }
+        assertEquals(
+                new HashSet<>(
+                        Arrays.asList(
+                                "jdbc-pipelined-batch-writer-0", "jdbc-pipelined-batch-writer-1")),
+                writerNames);
+    }
+
+    private static PipelinedBatchWriter<Integer> createWriter(TestStatementExecutor executor) {
+        return new PipelinedBatchWriter<>(
+                Arrays.asList(new TestConnectionProvider()),
+                Arrays.asList(executor),
+                null,
+                1,
+                0,
+                10);
+    }
+
+    /** The action run for each executed batch. */
+    private interface BatchAction {
+        void run() throws Exception;
+    }
+
+    private static final class TestStatementExecutor
+            implements JdbcBatchStatementExecutor<Integer> {
+
+        private final BatchAction batchAction;
+        private final AtomicInteger executedBatches = new AtomicInteger();
+
+        private TestStatementExecutor(BatchAction batchAction) {
+            this.batchAction = batchAction;
+        }
+
+        @Override
+        public void prepareStatements(Connection connection) {}
+
+        @Override
+        public void addToBatch(Integer record) {}
+
+        @Override
+        public void executeBatch() throws SQLException {
+            executedBatches.incrementAndGet();
+            try {
+                batchAction.run();
+            } catch (SQLException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new SQLException(e);
+            }
+        }
+
+        @Override
+        public void closeStatements() {}
+    }
+
+    private static final class TestConnectionProvider implements JdbcConnectionProvider {
+
+        @Override
+        public Connection getConnection() {
+            return null;
+        }
+
+        @Override
+        public boolean isConnectionValid() {
+            return true;
+        }
+
+        @Override
+        public Connection getOrEstablishConnection() {
+            return null;
+        }
+
+        @Override
+        public void closeConnection() {}
+
+        @Override
+        public Connection reestablishConnection() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.internal.executor;
+
+import org.apache.flink.connector.jdbc.JdbcExecutionOptions;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.VarCharType;
+import org.apache.flink.types.RowKind;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link TableBinaryBufferReducedStatementExecutor}. */
+public class TableBinaryBufferReducedStatementExecutorTest {
+
+    private static final LogicalType[] FIELD_TYPES =
+            new LogicalType[] {new BigIntType(), new VarCharType(VarCharType.MAX_LENGTH)};
+
+    private final CollectingExecutor upsertExecutor = new CollectingExecutor();
+    private final CollectingExecutor deleteExecutor = new CollectingExecutor();
+    private final TableBinaryBufferReducedStatementExecutor executor =
+            new TableBinaryBufferReducedStatementExecutor(
+                    upsertExecutor,
+                    deleteExecutor,
+                    row -> GenericRowData.of(row.getLong(0)),
+                    new LogicalType[] {new BigIntType()},
+                    FIELD_TYPES,
+                    JdbcExecutionOptions.MIN_BATCH_BYTES);
+
+    @After
+    public void after() throws Exception {
+        executor.close();
+    }
+
+    @Test
+    public void testReduceByKey() throws Exception {
+        executor.addToBatch(row(RowKind.INSERT, 1, "a"));
+        executor.addToBatch(row(RowKind.INSERT, 2, "b"));
+        executor.addToBatch(row(RowKind.UPDATE_BEFORE, 1, "a"));
+        executor.addToBatch(row(RowKind.UPDATE_AFTER, 1, "c"));
+        executor.addToBatch(row(RowKind.DELETE, 2, "b"));
+        executor.addToBatch(row(RowKind.INSERT, 3, "d"));
+        assertEquals(6, executor.getNumBufferedRecords());
+
+        executor.executeBatch();
+
+        assertEquals(0, executor.getNumBufferedRecords());
+        assertEquals(2, upsertExecutor.executed.size());
+        assertEquals(1L, upsertExecutor.executed.get(0).getLong(0));
+        assertEquals("c", upsertExecutor.executed.get(0).getString(1).toString());
+        assertEquals(3L, upsertExecutor.executed.get(1).getLong(0));
+        assertEquals("d", upsertExecutor.executed.get(1).getString(1).toString());
+        assertEquals(1, deleteExecutor.executed.size());
+        assertEquals(2L, deleteExecutor.executed.get(0).getLong(0));
+
+        // the buffer is reused after a flush
+        executor.addToBatch(row(RowKind.INSERT, 1, "e"));
+        executor.executeBatch();
+        assertEquals(3, upsertExecutor.executed.size());
+        assertEquals("e", upsertExecutor.executed.get(2).getString(1).toString());
+    }
+
+    @Test
+    public void testBufferFullByBytes() throws Exception {
+        String payload = new String(new char[16 * 1024]).replace('\0', 'x');
+        long key = 0;
+        while (!executor.isBufferFull()) {
+            executor.addToBatch(row(RowKind.INSERT, key++, payload));
+        }
+        assertTrue(executor.getBufferedBytes() >= JdbcExecutionOptions.MIN_BATCH_BYTES);
+
+        // records which don't fit anymore flush the buffer themselves
+        while (upsertExecutor.executed.isEmpty()) {
+            executor.addToBatch(row(RowKind.INSERT, key++, payload));
+        }
+        assertEquals(1, executor.getNumBufferedRecords());
+
+        executor.executeBatch();
+        assertFalse(executor.isBufferFull());
+        assertEquals(key, upsertExecutor.executed.size());
+        for (int i = 0; i < key; i++) {
+            assertEquals(i, upsertExecutor.executed.get(i).getLong(0));
+        }
+    }
+
+    @Test
+    public void testCloseReleasesUnflushedBuffer() throws Exception {
+        executor.addToBatch(row(RowKind.INSERT, 1, "a"));
+
+        // closing the statements to reconnect keeps the records for the retry
+        executor.closeStatements();
+        assertEquals(1, executor.getNumBufferedRecords());
+        assertTrue(executor.getBufferedBytes() > 0);
+
+        // closing the writer after a failed flush discards them
+        executor.close();
+        assertEquals(0, executor.getNumBufferedRecords());
+        assertEquals(0L, executor.getBufferedBytes());
+        assertTrue(upsertExecutor.executed.isEmpty());
+    }
+
+    private static RowData row(RowKind kind, long id, String name) {
+        return GenericRowData.ofKind(kind, id, StringData.fromString(name));
+    }
+
+    /** Collects the executed rows. */
+    private static class CollectingExecutor implements JdbcBatchStatementExecutor<RowData> {
+
+        private final List<RowData> batch = new ArrayList<>();
+        private final List<RowData> executed = new ArrayList<>();
+
+        @Override
+        public void prepareStatements(Connection connection) {}
+
+        @Override
+        public void addToBatch(RowData record) {
+            batch.add(record);
+        }
+
+        @Override
+        public void executeBatch() {
+            executed.addAll(batch);
+            batch.clear();
+        }
+
+        @Override
+        public void closeStatements() {}
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.internal.executor;
+
+import org.apache.flink.connector.jdbc.dialect.psql.PostgresDialect;
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.data.DecimalData;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.TimestampData;
+import org.apache.flink.table.types.logical.RowType;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.Assert.assertEquals;
+
+/** Tests for {@link TableCopyStatementExecutor}. */
+public class TableCopyStatementExecutorTest {
+
+    private static final String[] FIELD_NAMES =
+            new String[] {"id", "name", "price", "day", "ts", "payload", "flag"};
+
+    private static final RowType ROW_TYPE =
+            (RowType)
+                    DataTypes.ROW(
+                                    DataTypes.FIELD(FIELD_NAMES[0], DataTypes.BIGINT()),
+                                    DataTypes.FIELD(FIELD_NAMES[1], DataTypes.STRING()),
+                                    DataTypes.FIELD(FIELD_NAMES[2], DataTypes.DECIMAL(10, 2)),
+                                    DataTypes.FIELD(FIELD_NAMES[3], DataTypes.DATE()),
+                                    DataTypes.FIELD(FIELD_NAMES[4], DataTypes.TIMESTAMP(3)),
+                                    DataTypes.FIELD(FIELD_NAMES[5], DataTypes.BYTES()),
+                                    DataTypes.FIELD(FIELD_NAMES[6], DataTypes.BOOLEAN()))
+                            .getLogicalType();
+
+    @Test
+    public void testCopyInStatement() {
+        assertEquals(
+                "COPY tbl(id, name, price, day, ts, payload, flag) FROM STDIN WITH (FORMAT csv)",
+                new PostgresDialect().getCopyInStatement("tbl", FIELD_NAMES).get());
+    }
+
+    @Test
+    public void testEncodeRows() {
+        TableCopyStatementExecutor executor =
+                new TableCopyStatementExecutor(
+                        new PostgresDialect().getCopyInStatement("tbl", FIELD_NAMES).get(),
+                        ROW_TYPE);
+
+        executor.addToBatch(
+                GenericRowData.of(
+                        1L,
+                        StringData.fromString("say \"hi\", bye\nnext line"),
+                        DecimalData.fromBigDecimal(new BigDecimal("12.30"), 10, 2),
+                        (int) LocalDate.of(2022, 3, 4).toEpochDay(),
+                        TimestampData.fromLocalDateTime(
+                                LocalDateTime.of(2022, 3, 4, 5, 6, 7, 8_000_000)),
+                        new byte[] {0x01, (byte) 0xab},
+                        true));
+        executor.addToBatch(
+                GenericRowData.of(2L, StringData.fromString(""), null, null, null, null, false));
+        executor.addToBatch(new GenericRowData(FIELD_NAMES.length));
+
+        assertEquals(
+                "1,\"say \"\"hi\"\", bye\nnext line\",12.30,2022-03-04,2022-03-04T05:06:07.008,"
+                        + "\\x01ab,true\n"
+                        + "2,\"\",,,,,false\n"
+                        + ",,,,,,\n",
+                executor.getBufferedRows());
+    }
+}
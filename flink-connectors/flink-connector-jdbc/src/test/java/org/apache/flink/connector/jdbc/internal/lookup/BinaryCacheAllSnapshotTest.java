@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.internal.lookup;
+
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/** Tests for {@link BinaryCacheAllSnapshot}. */
+public class BinaryCacheAllSnapshotTest {
+
+    private static final LogicalType[] KEY_TYPES =
+            new LogicalType[] {new IntType(), new VarCharType(VarCharType.MAX_LENGTH)};
+    private static final RowType ROW_TYPE =
+            RowType.of(
+                    new IntType(),
+                    new VarCharType(VarCharType.MAX_LENGTH),
+                    new VarCharType(VarCharType.MAX_LENGTH));
+
+    @Test
+    public void testMultipleRowsPerKey() {
+        BinaryCacheAllSnapshot.Builder builder =
+                new BinaryCacheAllSnapshot.Builder(KEY_TYPES, ROW_TYPE);
+        builder.add(key(1, "a"), row(1, "a", "v1"));
+        builder.add(key(2, "b"), row(2, "b", "v1"));
+        builder.add(key(1, "a"), row(1, "a", "v2"));
+        builder.add(key(1, "a"), row(1, "a", null));
+        CacheAllSnapshot snapshot = builder.build();
+
+        assertEquals(4, snapshot.getRowCount());
+        assertEquals(
+                Arrays.asList("+I(1,a,v1)", "+I(1,a,v2)", "+I(1,a,null)"),
+                toStrings(snapshot.get(key(1, "a"))));
+        assertEquals(Collections.singletonList("+I(2,b,v1)"), toStrings(snapshot.get(key(2, "b"))));
+        assertNull(snapshot.get(key(1, "b")));
+        assertNull(snapshot.get(key(3, "a")));
+    }
+
+    @Test
+    public void testMerge() {
+        BinaryCacheAllSnapshot.Builder builder =
+                new BinaryCacheAllSnapshot.Builder(KEY_TYPES, ROW_TYPE);
+        builder.add(key(1, "a"), row(1, "a", "v1"));
+        BinaryCacheAllSnapshot.Builder other =
+                new BinaryCacheAllSnapshot.Builder(KEY_TYPES, ROW_TYPE);
+        other.add(key(1, "a"), row(1, "a", "v2"));
+        other.add(key(2, "b"), row(2, "b", "v1"));
+        builder.merge(other);
+        CacheAllSnapshot snapshot = builder.build();
+
+        assertEquals(3, snapshot.getRowCount());
+        assertEquals(
+                Arrays.asList("+I(1,a,v1)", "+I(1,a,v2)"), toStrings(snapshot.get(key(1, "a"))));
+        assertEquals(Collections.singletonList("+I(2,b,v1)"), toStrings(snapshot.get(key(2, "b"))));
+    }
+
+    @Test
+    public void testGrowAndLargeRecords() {
+        BinaryCacheAllSnapshot.Builder builder =
+                new BinaryCacheAllSnapshot.Builder(KEY_TYPES, ROW_TYPE);
+        char[] chars = new char[BinaryCacheAllSnapshot.PAGE_SIZE + 10];
+        Arrays.fill(chars, 'x');
+        String large = new String(chars);
+
+        int numKeys = 100_000;
+        for (int i = 0; i < numKeys; i++) {
+            builder.add(key(i, "k" + i), row(i, "k" + i, i == 42 ? large : "v" + i));
+        }
+        CacheAllSnapshot snapshot = builder.build();
+
+        assertEquals(numKeys, snapshot.getRowCount());
+        for (int i = 0; i < numKeys; i++) {
+            List<RowData> rows = snapshot.get(key(i, "k" + i));
+            assertEquals(1, rows.size());
+            assertEquals(i == 42 ? large : "v" + i, rows.get(0).getString(2).toString());
+        }
+        assertNull(snapshot.get(key(numKeys, "k" + numKeys)));
+        snapshot.release();
+    }
+
+    @Test
+    public void testRelease() {
+        BinaryCacheAllSnapshot.Builder builder =
+                new BinaryCacheAllSnapshot.Builder(KEY_TYPES, ROW_TYPE);
+        builder.add(key(1, "a"), row(1, "a", "v1"));
+        CacheAllSnapshot snapshot = builder.build();
+        List<RowData> rows = snapshot.get(key(1, "a"));
+
+        snapshot.release();
+
+        // rows read before the release are copies on the heap
+        assertEquals(Collections.singletonList("+I(1,a,v1)"), toStrings(rows));
+        try {
+            snapshot.get(key(1, "a"));
+            fail("exception expected");
+        } catch (IllegalStateException e) {
+            // the segments of the snapshot are freed
+        }
+    }
+
+    private static RowData key(int id, String name) {
+        return GenericRowData.of(id, StringData.fromString(name));
+    }
+
+    private static RowData row(int id, String name, String value) {
+        return GenericRowData.of(
+                id,
+                StringData.fromString(name),
+                value == null ? null : StringData.fromString(value));
+    }
+
+    private static List<String> toStrings(List<RowData> rows) {
+        List<String> result = new ArrayList<>();
+        for (RowData row : rows) {
+            result.add(
+                    String.format(
+                            "%s(%s,%s,%s)",
+                            row.getRowKind().shortString(),
+                            row.getInt(0),
+                            row.getString(1),
+                            row.isNullAt(2) ? null : row.getString(2)));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.internal.lookup;
+
+import org.apache.flink.core.testutils.OneShotLatch;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link CacheAllRefreshScheduler}. */
+public class CacheAllRefreshSchedulerTest {
+
+    @Test
+    public void testSharedAndReleased() {
+        CacheAllRefreshScheduler scheduler = CacheAllRefreshScheduler.acquire(3);
+        assertSame(scheduler, CacheAllRefreshScheduler.acquire(3));
+        assertEquals(1, CacheAllRefreshScheduler.getNumberOfSchedulers());
+
+        scheduler.release();
+        assertEquals(1, CacheAllRefreshScheduler.getNumberOfSchedulers());
+        scheduler.release();
+        assertEquals(0, CacheAllRefreshScheduler.getNumberOfSchedulers());
+    }
+
+    @Test
+    public void testCronRefresh() throws Exception {
+        CacheAllRefreshScheduler scheduler = CacheAllRefreshScheduler.acquire(1);
+        CountDownLatch refreshes = new CountDownLatch(2);
+        CacheAllRefreshScheduler.Registration registration =
+                scheduler.register("* * * * * ?", 0L, 0, 1, refreshes::countDown);
+
+        assertTrue(refreshes.await(10, TimeUnit.SECONDS));
+        registration.unregister();
+        scheduler.release();
+    }
+
+    @Test
+    public void testSkipAndQueuePendingRefreshes() throws Exception {
+        CacheAllRefreshScheduler scheduler = CacheAllRefreshScheduler.acquire(1);
+        OneShotLatch running = new OneShotLatch();
+        OneShotLatch blocker = new OneShotLatch();
+        CacheAllRefreshScheduler.Registration blocking =
+                scheduler.register(
+                        null,
+                        0L,
+                        0,
+                        1,
+                        () -> {
+                            running.trigger();
+                            try {
+                                blocker.await();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        });
+        AtomicInteger numQueuedRefreshes = new AtomicInteger();
+        CacheAllRefreshScheduler.Registration queued =
+                scheduler.register(null, 0L, 0, 1, numQueuedRefreshes::incrementAndGet);
+
+        blocking.trigger();
+        running.await();
+        assertEquals(1, scheduler.getNumRunning());
+
+        // the previous refresh is still running
+        blocking.trigger();
+        waitUntil(() -> blocking.getNumSkipped() == 1);
+
+        // the only thread is busy, so the refresh waits in the queue
+        queued.trigger();
+        waitUntil(() -> scheduler.getNumQueued() == 1);
+
+        // an unregistered refresh is dropped from the queue
+        queued.unregister();
+        blocker.trigger();
+        waitUntil(() -> scheduler.getNumQueued() == 0 && scheduler.getNumRunning() == 0);
+        assertEquals(0, numQueuedRefreshes.get());
+
+        blocking.unregister();
+        scheduler.release();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue("Condition not met in time.", System.currentTimeMillis() < deadline);
+            Thread.sleep(10L);
+        }
+    }
+}
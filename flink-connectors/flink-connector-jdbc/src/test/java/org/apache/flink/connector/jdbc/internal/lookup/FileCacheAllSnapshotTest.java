@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.internal.lookup;
+
+import org.apache.flink.core.fs.Path;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/** Tests for {@link FileCacheAllSnapshot}. */
+public class FileCacheAllSnapshotTest {
+
+    private static final LogicalType[] KEY_TYPES =
+            new LogicalType[] {new IntType(), new VarCharType(VarCharType.MAX_LENGTH)};
+    private static final RowType ROW_TYPE =
+            RowType.of(
+                    new IntType(),
+                    new VarCharType(VarCharType.MAX_LENGTH),
+                    new VarCharType(VarCharType.MAX_LENGTH));
+
+    @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testWriteAndOpen() throws Exception {
+        HeapCacheAllSnapshot.Builder builder = new HeapCacheAllSnapshot.Builder(-1);
+        int numKeys = 20_000;
+        for (int i = 0; i < numKeys; i++) {
+            builder.add(key(i * 2, "k" + i), row(i * 2, "k" + i, "v" + i));
+            if (i % 3 == 0) {
+                builder.add(key(i * 2, "k" + i), row(i * 2, "k" + i, null));
+            }
+        }
+        CacheAllSnapshot heapSnapshot = builder.build();
+        Path path = new Path(temporaryFolder.newFolder().toURI().toString(), "snapshot");
+        FileCacheAllSnapshot.write(
+                heapSnapshot, KEY_TYPES, ROW_TYPE, "query", 42L, new byte[] {1, 2}, path);
+
+        FileCacheAllSnapshot snapshot =
+                FileCacheAllSnapshot.open(path, "query", KEY_TYPES, ROW_TYPE.getFieldCount());
+
+        assertEquals(heapSnapshot.getRowCount(), snapshot.getRowCount());
+        assertEquals(42L, snapshot.getLoadTimestamp());
+        assertArrayEquals(new byte[] {1, 2}, snapshot.getWatermark());
+        for (int i = 0; i < numKeys; i++) {
+            List<String> expected = new ArrayList<>();
+            expected.add(String.format("+I(%s,k%s,v%s)", i * 2, i, i));
+            if (i % 3 == 0) {
+                expected.add(String.format("+I(%s,k%s,null)", i * 2, i));
+            }
+            assertEquals(expected, toStrings(snapshot.get(key(i * 2, "k" + i))));
+            // keys before, between and after the stored keys
+            assertNull(snapshot.get(key(i * 2 + 1, "k" + i)));
+            assertNull(snapshot.get(key(i * 2, "k" + i + "0")));
+        }
+        assertNull(snapshot.get(key(-1, "k0")));
+
+        AtomicLong rowCount = new AtomicLong();
+        snapshot.forEach((key, rows) -> rowCount.addAndGet(rows.size()));
+        assertEquals(snapshot.getRowCount(), rowCount.get());
+    }
+
+    @Test
+    public void testOpenWithOtherDescriptor() throws Exception {
+        HeapCacheAllSnapshot.Builder builder = new HeapCacheAllSnapshot.Builder(-1);
+        builder.add(key(1, "a"), row(1, "a", "v1"));
+        Path path = new Path(temporaryFolder.newFolder().toURI().toString(), "snapshot");
+        FileCacheAllSnapshot.write(builder.build(), KEY_TYPES, ROW_TYPE, "query", 0L, null, path);
+
+        assertNull(
+                FileCacheAllSnapshot.open(
+                        path, "other query", KEY_TYPES, ROW_TYPE.getFieldCount()));
+        assertNull(
+                FileCacheAllSnapshot.open(
+                        new Path(path.getParent(), "missing"),
+                        "query",
+                        KEY_TYPES,
+                        ROW_TYPE.getFieldCount()));
+        assertEquals(
+                Arrays.asList("+I(1,a,v1)"),
+                toStrings(
+                        FileCacheAllSnapshot.open(
+                                        path, "query", KEY_TYPES, ROW_TYPE.getFieldCount())
+                                .get(key(1, "a"))));
+    }
+
+    @Test
+    public void testEmptySnapshot() throws Exception {
+        Path path = new Path(temporaryFolder.newFolder().toURI().toString(), "snapshot");
+        FileCacheAllSnapshot.write(
+                new HeapCacheAllSnapshot.Builder(-1).build(),
+                KEY_TYPES,
+                ROW_TYPE,
+                "query",
+                0L,
+                null,
+                path);
+
+        FileCacheAllSnapshot snapshot =
+                FileCacheAllSnapshot.open(path, "query", KEY_TYPES, ROW_TYPE.getFieldCount());
+        assertEquals(0L, snapshot.getRowCount());
+        assertNull(snapshot.getWatermark());
+        assertNull(snapshot.get(key(1, "a")));
+    }
+
+    private static RowData key(int id, String name) {
+        return GenericRowData.of(id, StringData.fromString(name));
+    }
+
+    private static RowData row(int id, String name, String value) {
+        return GenericRowData.of(
+                id,
+                StringData.fromString(name),
+                value == null ? null : StringData.fromString(value));
+    }
+
+    private static List<String> toStrings(List<RowData> rows) {
+        List<String> result = new ArrayList<>();
+        for (RowData row : rows) {
+            result.add(
+                    String.format(
+                            "%s(%s,%s,%s)",
+                            row.getRowKind().shortString(),
+                            row.getInt(0),
+                            row.getString(1),
+                            row.isNullAt(2) ? null : row.getString(2)));
+        }
+        return result;
+    }
+}
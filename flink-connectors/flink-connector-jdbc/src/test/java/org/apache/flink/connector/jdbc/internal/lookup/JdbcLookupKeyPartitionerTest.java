@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.internal.lookup;
+
+import org.apache.flink.connector.jdbc.dialect.JdbcDialect;
+import org.apache.flink.connector.jdbc.dialect.JdbcDialectLoader;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import org.junit.Test;
+
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+
+/** Tests for {@link JdbcLookupKeyPartitioner}. */
+public class JdbcLookupKeyPartitionerTest {
+
+    private final JdbcDialect dialect = JdbcDialectLoader.load("jdbc:mysql://localhost:3306/test");
+
+    @Test
+    public void testIntegralKey() {
+        JdbcLookupKeyPartitioner partitioner =
+                new JdbcLookupKeyPartitioner(new LogicalType[] {new BigIntType()});
+
+        assertEquals(2, partitioner.partition(GenericRowData.of(7L), 5));
+        assertEquals(3, partitioner.partition(GenericRowData.of(-7L), 5));
+        assertEquals(
+                Optional.of("MOD(MOD(`id`, 5) + 5, 5) = 3"),
+                partitioner.getPartitionCondition(dialect, new String[] {"id"}, 5, 3));
+    }
+
+    @Test
+    public void testCompositeKey() {
+        LogicalType[] keyTypes =
+                new LogicalType[] {new IntType(), new VarCharType(VarCharType.MAX_LENGTH)};
+        JdbcLookupKeyPartitioner partitioner = new JdbcLookupKeyPartitioner(keyTypes);
+        RowDataSerializer serializer = new RowDataSerializer(keyTypes);
+
+        for (int i = 0; i < 100; i++) {
+            RowData key = GenericRowData.of(i, StringData.fromString("k" + i));
+            // the planner partitions binary key rows, the lookup function generic key rows
+            assertEquals(
+                    partitioner.partition(key, 7),
+                    partitioner.partition(serializer.toBinaryRow(key).copy(), 7));
+        }
+        assertEquals(
+                Optional.empty(),
+                partitioner.getPartitionCondition(dialect, new String[] {"id", "name"}, 7, 0));
+    }
+}
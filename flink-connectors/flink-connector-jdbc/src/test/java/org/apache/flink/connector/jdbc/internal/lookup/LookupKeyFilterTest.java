@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.internal.lookup;
+
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.VarCharType;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link LookupKeyFilter}. */
+public class LookupKeyFilterTest {
+
+    private static final LogicalType[] KEY_TYPES = {
+        new BigIntType(), new VarCharType(VarCharType.MAX_LENGTH)
+    };
+
+    @Test
+    public void testNoFalseNegatives() {
+        LookupKeyFilter.Builder builder =
+                new LookupKeyFilter.Builder(KEY_TYPES, 10_000, 0.01, false);
+        for (long i = 0; i < 10_000; i++) {
+            builder.add(key(i));
+        }
+        LookupKeyFilter filter = builder.build();
+
+        RowDataSerializer serializer = new RowDataSerializer(KEY_TYPES);
+        for (long i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain(key(i)));
+            // the planner may look up binary key rows
+            assertTrue(filter.mightContain(serializer.toBinaryRow(key(i)).copy()));
+        }
+    }
+
+    @Test
+    public void testFalsePositiveProbability() {
+        LookupKeyFilter.Builder builder =
+                new LookupKeyFilter.Builder(KEY_TYPES, 10_000, 0.01, false);
+        for (long i = 0; i < 10_000; i++) {
+            builder.add(key(i));
+        }
+        LookupKeyFilter filter = builder.build();
+
+        int falsePositives = 0;
+        for (long i = 10_000; i < 110_000; i++) {
+            if (filter.mightContain(key(i))) {
+                falsePositives++;
+            }
+        }
+        assertTrue("False positives: " + falsePositives, falsePositives < 2_000);
+        long keyCount = filter.getApproximateKeyCount();
+        assertTrue("Approximate key count: " + keyCount, keyCount > 9_000 && keyCount < 11_000);
+    }
+
+    @Test
+    public void testNullFields() {
+        LookupKeyFilter.Builder builder = new LookupKeyFilter.Builder(KEY_TYPES, 10, 0.01, false);
+        builder.add(GenericRowData.of(null, StringData.fromString("a")));
+        LookupKeyFilter filter = builder.build();
+
+        assertTrue(filter.mightContain(GenericRowData.of(null, StringData.fromString("a"))));
+    }
+
+    @Test
+    public void testStringsComparedExactly() {
+        LookupKeyFilter.Builder builder = new LookupKeyFilter.Builder(KEY_TYPES, 10, 0.01, false);
+        builder.add(GenericRowData.of(1L, StringData.fromString("Key")));
+        LookupKeyFilter filter = builder.build();
+
+        assertTrue(filter.mightContain(GenericRowData.of(1L, StringData.fromString("Key"))));
+        assertFalse(filter.mightContain(GenericRowData.of(1L, StringData.fromString("key"))));
+        assertFalse(filter.mightContain(GenericRowData.of(1L, StringData.fromString("Key "))));
+    }
+
+    @Test
+    public void testStringsIgnoringCaseAndTrailingSpaces() {
+        LookupKeyFilter.Builder builder = new LookupKeyFilter.Builder(KEY_TYPES, 10, 0.01, true);
+        builder.add(GenericRowData.of(1L, StringData.fromString("Key  ")));
+        LookupKeyFilter filter = builder.build();
+
+        assertTrue(filter.mightContain(GenericRowData.of(1L, StringData.fromString("key"))));
+        assertTrue(filter.mightContain(GenericRowData.of(1L, StringData.fromString("KEY "))));
+    }
+
+    private static RowData key(long i) {
+        return GenericRowData.of(i, StringData.fromString("key-" + i));
+    }
+}
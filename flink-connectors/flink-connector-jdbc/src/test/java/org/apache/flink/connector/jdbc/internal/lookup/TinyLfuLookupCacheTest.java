@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.internal.lookup;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link TinyLfuLookupCache}. */
+public class TinyLfuLookupCacheTest {
+
+    private final AtomicLong ticker = new AtomicLong();
+
+    @Test
+    public void testMaximumSize() {
+        TinyLfuLookupCache<Integer, String> cache =
+                new TinyLfuLookupCache<>(100, 60000, -1, null, ticker::get);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, "v" + i);
+        }
+
+        assertEquals(100L, cache.size());
+        assertEquals(900L, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testNumberOfShards() {
+        assertEquals(1, new TinyLfuLookupCache<>(100, 60000, -1, null).getNumberOfShards());
+        assertEquals(2, new TinyLfuLookupCache<>(2048, 60000, -1, null).getNumberOfShards());
+        assertEquals(16, new TinyLfuLookupCache<>(1 << 20, 60000, -1, null).getNumberOfShards());
+    }
+
+    @Test
+    public void testFrequentKeysSurviveScan() {
+        TinyLfuLookupCache<Integer, String> cache =
+                new TinyLfuLookupCache<>(100, 60000, -1, null, ticker::get);
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 50; i++) {
+                if (cache.getIfPresent(i) == null) {
+                    cache.put(i, "v" + i);
+                }
+            }
+        }
+
+        // a scan over many keys read only once does not flush the frequent keys
+        for (int i = 1000; i < 2000; i++) {
+            cache.put(i, "v" + i);
+        }
+        for (int i = 0; i < 50; i++) {
+            assertEquals("v" + i, cache.getIfPresent(i));
+        }
+    }
+
+    @Test
+    public void testHitRateOfSkewedKeys() {
+        LookupCache<Integer, String> tinyLfuCache =
+                new TinyLfuLookupCache<>(500, 60000, -1, null, ticker::get);
+        LookupCache<Integer, String> lruCache = new LruLookupCache<>(500, 60000);
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            // half of the reads hit a few hot keys, the others are spread over many rare keys
+            int key =
+                    random.nextBoolean()
+                            ? (int) (Math.pow(random.nextDouble(), 2) * 1000)
+                            : 1000 + random.nextInt(100_000);
+            for (LookupCache<Integer, String> cache : new LookupCache[] {tinyLfuCache, lruCache}) {
+                if (cache.getIfPresent(key) == null) {
+                    cache.put(key, "v" + key);
+                }
+            }
+        }
+
+        assertEquals(200_000L, tinyLfuCache.getHitCount() + tinyLfuCache.getMissCount());
+        assertTrue(tinyLfuCache.size() <= 500);
+        assertTrue(
+                String.format(
+                        "TinyLFU hits %d, LRU hits %d",
+                        tinyLfuCache.getHitCount(), lruCache.getHitCount()),
+                tinyLfuCache.getHitCount() > lruCache.getHitCount());
+    }
+
+    @Test
+    public void testExpireAfterWrite() {
+        TinyLfuLookupCache<Integer, String> cache =
+                new TinyLfuLookupCache<>(100, 1000, -1, null, ticker::get);
+        cache.put(1, "a");
+        cache.put(2, "b");
+        ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        cache.put(2, "c");
+        assertEquals("a", cache.getIfPresent(1));
+
+        ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertNull(cache.getIfPresent(1));
+        assertEquals("c", cache.getIfPresent(2));
+        assertEquals(1L, cache.size());
+
+        ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        cache.cleanUp();
+        assertEquals(0L, cache.size());
+        assertEquals(2L, cache.getEvictionCount());
+        assertEquals(2L, cache.getHitCount());
+        assertEquals(1L, cache.getMissCount());
+    }
+
+    @Test
+    public void testRefreshAfterWrite() {
+        AtomicInteger reloads = new AtomicInteger();
+        CompletableFuture<String> pendingReload = new CompletableFuture<>();
+        TinyLfuLookupCache<Integer, String> cache =
+                new TinyLfuLookupCache<>(
+                        100,
+                        1000,
+                        100,
+                        key -> {
+                            reloads.incrementAndGet();
+                            return pendingReload;
+                        },
+                        ticker::get);
+        cache.put(1, "a");
+        assertEquals("a", cache.getIfPresent(1));
+        assertEquals(0, reloads.get());
+
+        // the stale value is returned and reloaded once while the reload is running
+        ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals("a", cache.getIfPresent(1));
+        assertEquals("a", cache.getIfPresent(1));
+        assertEquals(1, reloads.get());
+
+        pendingReload.complete("b");
+        assertEquals("b", cache.getIfPresent(1));
+
+        // the reload reset the write time, so the key does not expire with its first write
+        ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(950));
+        assertEquals("b", cache.getIfPresent(1));
+    }
+
+    @Test
+    public void testRefreshRemovesMissingKey() {
+        TinyLfuLookupCache<Integer, String> cache =
+                new TinyLfuLookupCache<>(
+                        100,
+                        1000,
+                        100,
+                        key -> CompletableFuture.completedFuture(null),
+                        ticker::get);
+        cache.put(1, "a");
+        ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertEquals("a", cache.getIfPresent(1));
+        assertNull(cache.getIfPresent(1));
+        assertEquals(0L, cache.size());
+    }
+
+    @Test
+    public void testFailedRefreshKeepsValue() {
+        AtomicInteger reloads = new AtomicInteger();
+        TinyLfuLookupCache<Integer, String> cache =
+                new TinyLfuLookupCache<>(
+                        100,
+                        1000,
+                        100,
+                        key -> {
+                            reloads.incrementAndGet();
+                            CompletableFuture<String> future = new CompletableFuture<>();
+                            future.completeExceptionally(new RuntimeException("expected"));
+                            return future;
+                        },
+                        ticker::get);
+        cache.put(1, "a");
+        ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertEquals("a", cache.getIfPresent(1));
+        assertEquals("a", cache.getIfPresent(1));
+        assertEquals(2, reloads.get());
+
+        ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(900));
+        assertNull(cache.getIfPresent(1));
+    }
+
+    @Test
+    public void testBusyReloaderKeepsValue() {
+        AtomicInteger reloads = new AtomicInteger();
+        TinyLfuLookupCache<Integer, String> cache =
+                new TinyLfuLookupCache<>(
+                        100,
+                        1000,
+                        100,
+                        key -> reloads.incrementAndGet() == 1 ? null : completedFuture("b"),
+                        ticker::get);
+        cache.put(1, "a");
+        ticker.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        // the busy reloader skips the refresh, the next access retries it
+        assertEquals("a", cache.getIfPresent(1));
+        assertEquals("a", cache.getIfPresent(1));
+        assertEquals(2, reloads.get());
+        assertEquals("b", cache.getIfPresent(1));
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.source.enumerator;
+
+import org.apache.flink.api.connector.source.ReaderInfo;
+import org.apache.flink.api.connector.source.SplitsAssignment;
+import org.apache.flink.api.connector.source.mocks.MockSplitEnumeratorContext;
+import org.apache.flink.connector.jdbc.JdbcConnectionOptions;
+import org.apache.flink.connector.jdbc.source.split.JdbcSourceSplit;
+
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link JdbcSourceEnumerator}. */
+public class JdbcSourceEnumeratorTest {
+
+    @Test
+    public void testSingleSplitWithoutPartitionColumn() throws Throwable {
+        try (MockSplitEnumeratorContext<JdbcSourceSplit> context =
+                new MockSplitEnumeratorContext<>(1)) {
+            context.registerReader(new ReaderInfo(0, "localhost"));
+            JdbcSourceEnumerator enumerator = new JdbcSourceEnumerator(context, null, 1, 100, null);
+            enumerator.start();
+            List<JdbcSourceSplit> splits = readAllSplits(context, enumerator);
+
+            assertEquals(Collections.singletonList(new JdbcSourceSplit("0", null, null)), splits);
+        }
+    }
+
+    @Test
+    public void testSkewedRangesAreBisected() throws Throwable {
+        // eight rows are packed into the lowest values, one row at the top of the range
+        List<Long> values = Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 1000L);
+        try (MockSplitEnumeratorContext<JdbcSourceSplit> context =
+                new MockSplitEnumeratorContext<>(1)) {
+            context.registerReader(new ReaderInfo(0, "localhost"));
+            JdbcSourceEnumerator enumerator =
+                    new JdbcSourceEnumerator(context, new InMemorySampler(values), 1, 4, null);
+            enumerator.start();
+            List<JdbcSourceSplit> splits = readAllSplits(context, enumerator);
+
+            long rows = 0;
+            for (JdbcSourceSplit split : splits) {
+                long count = count(values, split);
+                assertTrue(split + " holds " + count + " rows.", count > 0 && count <= 4);
+                rows += count;
+            }
+            assertEquals(values.size(), rows);
+        }
+    }
+
+    @Test
+    public void testRangeOfSingleValueIsNotDivided() throws Throwable {
+        List<Long> values = Arrays.asList(7L, 7L, 7L, 7L, 7L);
+        try (MockSplitEnumeratorContext<JdbcSourceSplit> context =
+                new MockSplitEnumeratorContext<>(1)) {
+            context.registerReader(new ReaderInfo(0, "localhost"));
+            JdbcSourceEnumerator enumerator =
+                    new JdbcSourceEnumerator(context, new InMemorySampler(values), 1, 2, null);
+            enumerator.start();
+            List<JdbcSourceSplit> splits = readAllSplits(context, enumerator);
+
+            assertEquals(1, splits.size());
+            assertEquals(5, count(values, splits.get(0)));
+        }
+    }
+
+    @Test
+    public void testRestoreUnsizedSplits() throws Throwable {
+        List<Long> values = new ArrayList<>();
+        for (long i = 0; i < 100; i++) {
+            values.add(i);
+        }
+        JdbcSourceEnumeratorState state;
+        try (MockSplitEnumeratorContext<JdbcSourceSplit> context =
+                new MockSplitEnumeratorContext<>(1)) {
+            context.registerReader(new ReaderInfo(0, "localhost"));
+            JdbcSourceEnumerator enumerator =
+                    new JdbcSourceEnumerator(context, new InMemorySampler(values), 4, 100, null);
+            enumerator.start();
+            context.runNextOneTimeCallable();
+            enumerator.handleSplitRequest(0, null);
+            state =
+                    JdbcSourceEnumeratorStateSerializer.INSTANCE.deserialize(
+                            JdbcSourceEnumeratorStateSerializer.INSTANCE.getVersion(),
+                            JdbcSourceEnumeratorStateSerializer.INSTANCE.serialize(
+                                    enumerator.snapshotState(1L)));
+        }
+        assertTrue(state.isInitialized());
+        assertEquals(4, state.getUnsizedSplits().size());
+
+        try (MockSplitEnumeratorContext<JdbcSourceSplit> context =
+                new MockSplitEnumeratorContext<>(1)) {
+            context.registerReader(new ReaderInfo(0, "localhost"));
+            JdbcSourceEnumerator enumerator =
+                    new JdbcSourceEnumerator(context, new InMemorySampler(values), 4, 100, state);
+            enumerator.start();
+            List<JdbcSourceSplit> splits = readAllSplits(context, enumerator);
+
+            assertEquals(4, splits.size());
+            long rows = 0;
+            for (JdbcSourceSplit split : splits) {
+                rows += count(values, split);
+            }
+            assertEquals(values.size(), rows);
+        }
+    }
+
+    /** Requests splits for a single reader until the enumerator has no more splits. */
+    private static List<JdbcSourceSplit> readAllSplits(
+            MockSplitEnumeratorContext<JdbcSourceSplit> context, JdbcSourceEnumerator enumerator)
+            throws Throwable {
+        List<JdbcSourceSplit> splits = new ArrayList<>();
+        enumerator.handleSplitRequest(0, null);
+        while (true) {
+            int numAssignments = context.getSplitsAssignmentSequence().size();
+            if (numAssignments > 0) {
+                for (SplitsAssignment<JdbcSourceSplit> assignment :
+                        context.getSplitsAssignmentSequence()) {
+                    splits.addAll(assignment.assignment().get(0));
+                }
+                context.getSplitsAssignmentSequence().clear();
+                enumerator.handleSplitRequest(0, null);
+            } else if (!context.getOneTimeCallables().isEmpty()) {
+                context.runNextOneTimeCallable();
+            } else {
+                return splits;
+            }
+        }
+    }
+
+    private static long count(List<Long> values, JdbcSourceSplit split) {
+        return values.stream()
+                .filter(
+                        v ->
+                                !split.isRange()
+                                        || (v >= split.getLowerBound().get()
+                                                && v <= split.getUpperBound().get()))
+                .count();
+    }
+
+    /** A {@link JdbcPartitionSampler} over values in memory. */
+    private static class InMemorySampler extends JdbcPartitionSampler {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<Long> values;
+
+        InMemorySampler(List<Long> values) {
+            super(
+                    new JdbcConnectionOptions.JdbcConnectionOptionsBuilder()
+                            .withUrl("jdbc:unused")
+                            .build(),
+                    "t",
+                    "id",
+                    null,
+                    null,
+                    null,
+                    new Serializable[0]);
+            this.values = values;
+        }
+
+        @Override
+        public synchronized Optional<PartitionStatistics> sample() {
+            if (values.isEmpty()) {
+                return Optional.empty();
+            }
+            return Optional.of(
+                    new PartitionStatistics(
+                            Collections.min(values), Collections.max(values), values.size()));
+        }
+
+        @Override
+        public synchronized long count(long lowerBound, long upperBound) {
+            return values.stream().filter(v -> v >= lowerBound && v <= upperBound).count();
+        }
+    }
+}
@@ -144,6 +144,65 @@ public class FieldNamedPreparedStatementImplTest {
                 .matches(selectStmt);
     }
 
+    @Test
+    public void testSelectChangedKeysStatement() {
+        String selectStmt =
+                dialect.getSelectChangedKeysStatement(
+                                tableName, new String[] {"id", "name", "ts"}, keyFields, "ts")
+                        .get();
+        assertEquals(
+                "SELECT t.`id`, t.`name`, t.`ts` FROM `tbl` t "
+                        + "JOIN (SELECT DISTINCT `id`, `__field_3__` FROM `tbl` WHERE `ts` > :ts) c "
+                        + "ON t.`id` = c.`id` AND t.`__field_3__` = c.`__field_3__`",
+                selectStmt);
+        NamedStatementMatcher.parsedSql(
+                        "SELECT t.`id`, t.`name`, t.`ts` FROM `tbl` t "
+                                + "JOIN (SELECT DISTINCT `id`, `__field_3__` FROM `tbl` WHERE `ts` > ?) c "
+                                + "ON t.`id` = c.`id` AND t.`__field_3__` = c.`__field_3__`")
+                .parameter("ts", singletonList(1))
+                .matches(selectStmt);
+    }
+
+    @Test
+    public void testSelectKeysInStatement() {
+        String selectStmt =
+                dialect.getSelectFromStatementWithKeysIn(
+                                tableName, new String[] {"id", "name"}, keyFields, 2)
+                        .get();
+        assertEquals(
+                "SELECT `id`, `name` FROM `tbl` WHERE (`id`, `__field_3__`) "
+                        + "IN ((:id_0, :__field_3___0), (:id_1, :__field_3___1))",
+                selectStmt);
+        NamedStatementMatcher.parsedSql(
+                        "SELECT `id`, `name` FROM `tbl` WHERE (`id`, `__field_3__`) "
+                                + "IN ((?, ?), (?, ?))")
+                .parameter("id_0", singletonList(1))
+                .parameter("__field_3___0", singletonList(2))
+                .parameter("id_1", singletonList(3))
+                .parameter("__field_3___1", singletonList(4))
+                .matches(selectStmt);
+    }
+
+    @Test
+    public void testMultiRowUpsertStatement() {
+        String upsertStmt =
+                dialect.getMultiRowUpsertStatement(
+                                tableName, new String[] {"id", "name"}, new String[] {"id"}, 2)
+                        .get();
+        assertEquals(
+                "INSERT INTO `tbl`(`id`, `name`) VALUES (:id_0, :name_0), (:id_1, :name_1) "
+                        + "ON DUPLICATE KEY UPDATE `id`=VALUES(`id`), `name`=VALUES(`name`)",
+                upsertStmt);
+        NamedStatementMatcher.parsedSql(
+                        "INSERT INTO `tbl`(`id`, `name`) VALUES (?, ?), (?, ?) "
+                                + "ON DUPLICATE KEY UPDATE `id`=VALUES(`id`), `name`=VALUES(`name`)")
+                .parameter("id_0", singletonList(1))
+                .parameter("name_0", singletonList(2))
+                .parameter("id_1", singletonList(3))
+                .parameter("name_1", singletonList(4))
+                .matches(upsertStmt);
+    }
+
     private static class NamedStatementMatcher {
         private String parsedSql;
         private Map<String, List<Integer>> parameterMap = new HashMap<>();
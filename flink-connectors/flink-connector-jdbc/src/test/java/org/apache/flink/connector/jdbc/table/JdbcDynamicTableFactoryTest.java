@@ -33,6 +33,7 @@ import org.apache.flink.util.ExceptionUtils;
 
 import org.junit.Test;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -161,6 +162,9 @@ public class JdbcDynamicTableFactoryTest {
         properties.put("lookup.cache.max-rows", "1000");
         properties.put("lookup.cache.ttl", "10s");
         properties.put("lookup.max-retries", "10");
+        properties.put("lookup.async", "true");
+        properties.put("lookup.async.pool-size", "4");
+        properties.put("lookup.async.max-in-flight", "50");
 
         DynamicTableSource actual = createTableSource(SCHEMA, properties);
 
@@ -174,6 +178,113 @@ public class JdbcDynamicTableFactoryTest {
                         .setCacheMaxSize(1000)
                         .setCacheExpireMs(10_000)
                         .setMaxRetryTimes(10)
+                        .setAsync(true)
+                        .setAsyncPoolSize(4)
+                        .setAsyncMaxInFlight(50)
+                        .build();
+        JdbcDynamicTableSource expected =
+                new JdbcDynamicTableSource(
+                        options,
+                        JdbcReadOptions.builder().build(),
+                        lookupOptions,
+                        SCHEMA.toPhysicalRowDataType());
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testJdbcLookupCachePolicyProperties() {
+        Map<String, String> properties = getAllOptions();
+        properties.put("lookup.cache.max-rows", "1000");
+        properties.put("lookup.cache.ttl", "10s");
+        properties.put("lookup.cache.policy", "tiny_lfu");
+        properties.put("lookup.cache.refresh-after-write", "5s");
+
+        DynamicTableSource actual = createTableSource(SCHEMA, properties);
+
+        JdbcConnectorOptions options =
+                JdbcConnectorOptions.builder()
+                        .setDBUrl("jdbc:derby:memory:mydb")
+                        .setTableName("mytable")
+                        .build();
+        JdbcLookupOptions lookupOptions =
+                JdbcLookupOptions.builder()
+                        .setCacheMaxSize(1000)
+                        .setCacheExpireMs(10_000)
+                        .setCachePolicy(LookupCachePolicy.TINY_LFU)
+                        .setCacheRefreshAfterWriteMs(5_000)
+                        .build();
+        JdbcDynamicTableSource expected =
+                new JdbcDynamicTableSource(
+                        options,
+                        JdbcReadOptions.builder().build(),
+                        lookupOptions,
+                        SCHEMA.toPhysicalRowDataType());
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testJdbcLookupBloomFilterProperties() {
+        Map<String, String> properties = getAllOptions();
+        properties.put("lookup.bloom-filter", "true");
+        properties.put("lookup.bloom-filter.fpp", "0.001");
+        properties.put("lookup.bloom-filter.cron", "0 0 * * * ?");
+        properties.put("lookup.bloom-filter.max-staleness", "2h");
+        properties.put("lookup.bloom-filter.ignore-case-and-trailing-spaces", "true");
+
+        DynamicTableSource actual = createTableSource(SCHEMA, properties);
+
+        JdbcConnectorOptions options =
+                JdbcConnectorOptions.builder()
+                        .setDBUrl("jdbc:derby:memory:mydb")
+                        .setTableName("mytable")
+                        .build();
+        JdbcLookupOptions lookupOptions =
+                JdbcLookupOptions.builder()
+                        .setCacheExpireMs(10_000)
+                        .setBloomFilter(true)
+                        .setBloomFilterFpp(0.001)
+                        .setBloomFilterCron("0 0 * * * ?")
+                        .setBloomFilterMaxStalenessMs(Duration.ofHours(2).toMillis())
+                        .setBloomFilterIgnoreCaseAndTrailingSpaces(true)
+                        .build();
+        JdbcDynamicTableSource expected =
+                new JdbcDynamicTableSource(
+                        options,
+                        JdbcReadOptions.builder().build(),
+                        lookupOptions,
+                        SCHEMA.toPhysicalRowDataType());
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testJdbcLookupCacheAllProperties() {
+        Map<String, String> properties = getAllOptions();
+        properties.put("lookup.cache.all", "true");
+        properties.put("lookup.cache.all.cron", "0 0 * * * ?");
+        properties.put("lookup.cache.all.storage", "binary");
+        properties.put("lookup.cache.all.partition.column", "bbb");
+        properties.put("lookup.cache.all.partition.num", "8");
+        properties.put("lookup.cache.all.snapshot.dir", "file:///tmp/lookup");
+
+        DynamicTableSource actual = createTableSource(SCHEMA, properties);
+
+        JdbcConnectorOptions options =
+                JdbcConnectorOptions.builder()
+                        .setDBUrl("jdbc:derby:memory:mydb")
+                        .setTableName("mytable")
+                        .build();
+        JdbcLookupOptions lookupOptions =
+                JdbcLookupOptions.builder()
+                        .setCacheExpireMs(10_000)
+                        .setCacheAll(true)
+                        .setCacheAllCron("0 0 * * * ?")
+                        .setCacheAllStorage(LookupCacheAllStorage.BINARY)
+                        .setCacheAllPartitionColumn("bbb")
+                        .setCacheAllPartitionNum(8)
+                        .setCacheAllSnapshotDir("file:///tmp/lookup")
                         .build();
         JdbcDynamicTableSource expected =
                 new JdbcDynamicTableSource(
@@ -191,6 +302,8 @@ public class JdbcDynamicTableFactoryTest {
         properties.put("sink.buffer-flush.max-rows", "1000");
         properties.put("sink.buffer-flush.interval", "2min");
         properties.put("sink.max-retries", "5");
+        properties.put("sink.buffer-flush.writers", "4");
+        properties.put("sink.buffer-flush.max-in-flight-batches", "2");
 
         DynamicTableSink actual = createTableSink(SCHEMA, properties);
 
@@ -204,6 +317,8 @@ public class JdbcDynamicTableFactoryTest {
                         .withBatchSize(1000)
                         .withBatchIntervalMs(120_000)
                         .withMaxRetries(5)
+                        .withWriters(4)
+                        .withMaxInFlightBatches(2)
                         .build();
         JdbcDmlOptions dmlOptions =
                 JdbcDmlOptions.builder()
@@ -360,6 +475,106 @@ public class JdbcDynamicTableFactoryTest {
                             .isPresent());
         }
 
+        // lookup cache refresh requires the tiny lfu policy
+        try {
+            Map<String, String> properties = getAllOptions();
+            properties.put("lookup.cache.max-rows", "10");
+            properties.put("lookup.cache.ttl", "10s");
+            properties.put("lookup.cache.refresh-after-write", "5s");
+            createTableSource(SCHEMA, properties);
+            fail("exception expected");
+        } catch (Throwable t) {
+            assertTrue(
+                    ExceptionUtils.findThrowableWithMessage(
+                                    t,
+                                    "The 'lookup.cache.refresh-after-write' option requires the "
+                                            + "'TINY_LFU' value of the 'lookup.cache.policy' option.")
+                            .isPresent());
+        }
+
+        // lookup cache refresh should be less than the cache ttl
+        try {
+            Map<String, String> properties = getAllOptions();
+            properties.put("lookup.cache.max-rows", "10");
+            properties.put("lookup.cache.ttl", "10s");
+            properties.put("lookup.cache.policy", "tiny_lfu");
+            properties.put("lookup.cache.refresh-after-write", "10s");
+            createTableSource(SCHEMA, properties);
+            fail("exception expected");
+        } catch (Throwable t) {
+            assertTrue(
+                    ExceptionUtils.findThrowableWithMessage(
+                                    t,
+                                    "The value of 'lookup.cache.refresh-after-write' option should "
+                                            + "be positive and less than 'lookup.cache.ttl', but is "
+                                            + "PT10S.")
+                            .isPresent());
+        }
+
+        // lookup bloom filter is not supported in cache all mode
+        try {
+            Map<String, String> properties = getAllOptions();
+            properties.put("lookup.cache.all", "true");
+            properties.put("lookup.bloom-filter", "true");
+            createTableSource(SCHEMA, properties);
+            fail("exception expected");
+        } catch (Throwable t) {
+            assertTrue(
+                    ExceptionUtils.findThrowableWithMessage(
+                                    t,
+                                    "The 'lookup.bloom-filter' option is not supported together "
+                                            + "with the 'lookup.cache.all' option.")
+                            .isPresent());
+        }
+
+        // lookup bloom filter requires a cron of its rebuilds
+        try {
+            Map<String, String> properties = getAllOptions();
+            properties.put("lookup.bloom-filter", "true");
+            createTableSource(SCHEMA, properties);
+            fail("exception expected");
+        } catch (Throwable t) {
+            assertTrue(
+                    ExceptionUtils.findThrowableWithMessage(
+                                    t,
+                                    "The 'lookup.bloom-filter.cron' option is required if the "
+                                            + "'lookup.bloom-filter' option is enabled.")
+                            .isPresent());
+        }
+
+        // lookup bloom filter fpp should be a probability
+        try {
+            Map<String, String> properties = getAllOptions();
+            properties.put("lookup.bloom-filter", "true");
+            properties.put("lookup.bloom-filter.cron", "0 0 * * * ?");
+            properties.put("lookup.bloom-filter.fpp", "1.0");
+            createTableSource(SCHEMA, properties);
+            fail("exception expected");
+        } catch (Throwable t) {
+            assertTrue(
+                    ExceptionUtils.findThrowableWithMessage(
+                                    t,
+                                    "The value of 'lookup.bloom-filter.fpp' option should be "
+                                            + "between 0 and 1 exclusive, but is 1.0.")
+                            .isPresent());
+        }
+
+        // lookup cache all cron should be a valid quartz cron expression
+        try {
+            Map<String, String> properties = getAllOptions();
+            properties.put("lookup.cache.all", "true");
+            properties.put("lookup.cache.all.cron", "0 0 * * *");
+            createTableSource(SCHEMA, properties);
+            fail("exception expected");
+        } catch (Throwable t) {
+            assertTrue(
+                    ExceptionUtils.findThrowableWithMessage(
+                                    t,
+                                    "The value of 'lookup.cache.all.cron' option should be a valid "
+                                            + "quartz cron expression, but is 0 0 * * *.")
+                            .isPresent());
+        }
+
         // sink retries shouldn't be negative
         try {
             Map<String, String> properties = getAllOptions();
@@ -374,6 +589,64 @@ public class JdbcDynamicTableFactoryTest {
                             .isPresent());
         }
 
+        // bulk copy requires a dialect with a copy statement
+        try {
+            Map<String, String> properties = getAllOptions();
+            properties.put("sink.bulk-copy", "true");
+            createTableSink(SCHEMA, properties);
+            fail("exception expected");
+        } catch (Throwable t) {
+            assertTrue(
+                    ExceptionUtils.findThrowableWithMessage(
+                                    t,
+                                    "The 'sink.bulk-copy' option is not supported by the Derby dialect.")
+                            .isPresent());
+        }
+
+        // multiple sink writers require in-flight batches
+        try {
+            Map<String, String> properties = getAllOptions();
+            properties.put("sink.buffer-flush.writers", "2");
+            createTableSink(SCHEMA, properties);
+            fail("exception expected");
+        } catch (Throwable t) {
+            assertTrue(
+                    ExceptionUtils.findThrowableWithMessage(
+                                    t,
+                                    "The 'sink.buffer-flush.writers' option requires a positive "
+                                            + "'sink.buffer-flush.max-in-flight-batches' option.")
+                            .isPresent());
+        }
+
+        // the memory bound of the sink buffer must hold at least 2 mb
+        try {
+            Map<String, String> properties = getAllOptions();
+            properties.put("sink.buffer-flush.max-bytes", "1mb");
+            createTableSink(SCHEMA, properties);
+            fail("exception expected");
+        } catch (Throwable t) {
+            assertTrue(
+                    ExceptionUtils.findThrowableWithMessage(
+                                    t,
+                                    "The value of 'sink.buffer-flush.max-bytes' option should be at least 2 mb, but is 1 mb.")
+                            .isPresent());
+        }
+
+        // adaptive partitioning requires the partition column
+        try {
+            Map<String, String> properties = getAllOptions();
+            properties.put("scan.partition.adaptive", "true");
+            createTableSource(SCHEMA, properties);
+            fail("exception expected");
+        } catch (Throwable t) {
+            assertTrue(
+                    ExceptionUtils.findThrowableWithMessage(
+                                    t,
+                                    "The 'scan.partition.adaptive' option requires the "
+                                            + "'scan.partition.column' option.")
+                            .isPresent());
+        }
+
         // connection.max-retry-timeout shouldn't be smaller than 1 second
         try {
             Map<String, String> properties = getAllOptions();
@@ -36,6 +36,7 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -191,6 +192,91 @@ public class JdbcDynamicTableSourceITCase extends AbstractTestBase {
         assertEquals(expected, result);
     }
 
+    @Test
+    public void testAdaptivePartitionedScan() throws Exception {
+        tEnv.executeSql(
+                "CREATE TABLE "
+                        + INPUT_TABLE
+                        + "("
+                        + "id BIGINT,"
+                        + "timestamp6_col TIMESTAMP(6),"
+                        + "timestamp9_col TIMESTAMP(9),"
+                        + "time_col TIME,"
+                        + "real_col FLOAT,"
+                        + "double_col DOUBLE,"
+                        + "decimal_col DECIMAL(10, 4)"
+                        + ") WITH ("
+                        + "  'connector'='jdbc',"
+                        + "  'url'='"
+                        + DB_URL
+                        + "',"
+                        + "  'table-name'='"
+                        + INPUT_TABLE
+                        + "',"
+                        + "  'scan.partition.column'='id',"
+                        + "  'scan.partition.adaptive'='true',"
+                        + "  'scan.partition.max-rows-per-split'='1'"
+                        + ")");
+
+        Iterator<Row> collected =
+                tEnv.executeSql("SELECT id,timestamp6_col,decimal_col FROM " + INPUT_TABLE)
+                        .collect();
+        List<String> result =
+                CollectionUtil.iteratorToList(collected).stream()
+                        .map(Row::toString)
+                        .sorted()
+                        .collect(Collectors.toList());
+        List<String> expected =
+                Stream.of(
+                                "+I[1, 2020-01-01T15:35:00.123456, 100.1234]",
+                                "+I[2, 2020-01-01T15:36:01.123456, 101.1234]")
+                        .sorted()
+                        .collect(Collectors.toList());
+        assertEquals(expected, result);
+    }
+
+    @Test
+    public void testFilterPushdown() throws Exception {
+        tEnv.executeSql(
+                "CREATE TABLE "
+                        + INPUT_TABLE
+                        + "("
+                        + "id BIGINT,"
+                        + "timestamp6_col TIMESTAMP(6),"
+                        + "timestamp9_col TIMESTAMP(9),"
+                        + "time_col TIME,"
+                        + "real_col FLOAT,"
+                        + "double_col DOUBLE,"
+                        + "decimal_col DECIMAL(10, 4)"
+                        + ") WITH ("
+                        + "  'connector'='jdbc',"
+                        + "  'url'='"
+                        + DB_URL
+                        + "',"
+                        + "  'table-name'='"
+                        + INPUT_TABLE
+                        + "',"
+                        + "  'scan.partition.column'='id',"
+                        + "  'scan.partition.num'='2',"
+                        + "  'scan.partition.lower-bound'='0',"
+                        + "  'scan.partition.upper-bound'='100'"
+                        + ")");
+
+        Iterator<Row> collected =
+                tEnv.executeSql(
+                                "SELECT id,timestamp6_col,decimal_col FROM "
+                                        + INPUT_TABLE
+                                        + " WHERE id > 1 AND (time_col IS NOT NULL OR id IN (5, 6))")
+                        .collect();
+        List<String> result =
+                CollectionUtil.iteratorToList(collected).stream()
+                        .map(Row::toString)
+                        .sorted()
+                        .collect(Collectors.toList());
+        assertEquals(
+                Collections.singletonList("+I[2, 2020-01-01T15:36:01.123456, 101.1234]"), result);
+    }
+
     @Test
     public void testLimit() throws Exception {
         tEnv.executeSql(
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.table;
+
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.expressions.CallExpression;
+import org.apache.flink.table.expressions.FieldReferenceExpression;
+import org.apache.flink.table.expressions.ResolvedExpression;
+import org.apache.flink.table.expressions.ValueLiteralExpression;
+import org.apache.flink.table.functions.BuiltInFunctionDefinition;
+import org.apache.flink.table.functions.BuiltInFunctionDefinitions;
+
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/** Tests for {@link JdbcFilterPushdownPreparedStatementVisitor}. */
+public class JdbcFilterPushdownPreparedStatementVisitorTest {
+
+    private static final FieldReferenceExpression ID =
+            new FieldReferenceExpression("id", DataTypes.BIGINT(), 0, 0);
+    private static final FieldReferenceExpression NAME =
+            new FieldReferenceExpression("name", DataTypes.STRING(), 0, 1);
+    private static final FieldReferenceExpression DT =
+            new FieldReferenceExpression("dt", DataTypes.DATE(), 0, 2);
+
+    @Test
+    public void testComparisons() {
+        assertPredicate(
+                "\"id\" = ?",
+                new Serializable[] {1L},
+                call(BuiltInFunctionDefinitions.EQUALS, ID, literal(1L)));
+        assertPredicate(
+                "\"id\" > ?",
+                new Serializable[] {1L},
+                call(BuiltInFunctionDefinitions.GREATER_THAN, ID, literal(1L)));
+        // literals on the left mirror the comparison
+        assertPredicate(
+                "\"id\" > ?",
+                new Serializable[] {1L},
+                call(BuiltInFunctionDefinitions.LESS_THAN, literal(1L), ID));
+        assertPredicate(
+                "\"dt\" <= ?",
+                new Serializable[] {Date.valueOf("2026-10-01")},
+                call(
+                        BuiltInFunctionDefinitions.LESS_THAN_OR_EQUAL,
+                        DT,
+                        literal(LocalDate.of(2026, 10, 1))));
+        assertPredicate(
+                "\"name\" = ?",
+                new Serializable[] {"a"},
+                call(BuiltInFunctionDefinitions.EQUALS, NAME, literal("a")));
+    }
+
+    @Test
+    public void testInNullAndLike() {
+        assertPredicate(
+                "\"id\" IN (?, ?)",
+                new Serializable[] {1L, 2L},
+                call(BuiltInFunctionDefinitions.IN, ID, literal(1L), literal(2L)));
+        assertPredicate(
+                "\"name\" IS NULL",
+                new Serializable[0],
+                call(BuiltInFunctionDefinitions.IS_NULL, NAME));
+        assertPredicate(
+                "\"name\" IS NOT NULL",
+                new Serializable[0],
+                call(BuiltInFunctionDefinitions.IS_NOT_NULL, NAME));
+        assertPredicate(
+                "\"name\" LIKE ?",
+                new Serializable[] {"a%"},
+                call(BuiltInFunctionDefinitions.LIKE, NAME, literal("a%")));
+    }
+
+    @Test
+    public void testAndOr() {
+        assertPredicate(
+                "(\"id\" = ?) OR (\"name\" IS NULL)",
+                new Serializable[] {1L},
+                call(
+                        BuiltInFunctionDefinitions.OR,
+                        call(BuiltInFunctionDefinitions.EQUALS, ID, literal(1L)),
+                        call(BuiltInFunctionDefinitions.IS_NULL, NAME)));
+        // unsupported terms of a conjunction are left to Flink
+        assertPredicate(
+                "\"id\" = ?",
+                new Serializable[] {1L},
+                call(
+                        BuiltInFunctionDefinitions.AND,
+                        call(BuiltInFunctionDefinitions.EQUALS, ID, literal(1L)),
+                        call(BuiltInFunctionDefinitions.GREATER_THAN, NAME, literal("a"))));
+        // but a disjunction is only translated as a whole
+        assertUnsupported(
+                call(
+                        BuiltInFunctionDefinitions.OR,
+                        call(BuiltInFunctionDefinitions.EQUALS, ID, literal(1L)),
+                        call(BuiltInFunctionDefinitions.GREATER_THAN, NAME, literal("a"))));
+    }
+
+    @Test
+    public void testUnsupportedFilters() {
+        // the database may order and compare strings under a different collation
+        assertUnsupported(call(BuiltInFunctionDefinitions.GREATER_THAN, NAME, literal("a")));
+        assertUnsupported(call(BuiltInFunctionDefinitions.NOT_EQUALS, NAME, literal("a")));
+        // some databases treat backslashes as escape character
+        assertUnsupported(call(BuiltInFunctionDefinitions.LIKE, NAME, literal("a\\%")));
+        assertUnsupported(
+                call(
+                        BuiltInFunctionDefinitions.NOT,
+                        call(BuiltInFunctionDefinitions.EQUALS, ID, literal(1L))));
+        assertUnsupported(
+                call(
+                        BuiltInFunctionDefinitions.EQUALS,
+                        call(BuiltInFunctionDefinitions.UPPER, NAME),
+                        literal("A")));
+    }
+
+    private static void assertPredicate(
+            String predicate, Serializable[] parameters, ResolvedExpression filter) {
+        assertEquals(
+                Optional.of(new ParameterizedPredicate(predicate, parameters)), translate(filter));
+    }
+
+    private static void assertUnsupported(ResolvedExpression filter) {
+        assertFalse(translate(filter).isPresent());
+    }
+
+    private static Optional<ParameterizedPredicate> translate(ResolvedExpression filter) {
+        return filter.accept(
+                new JdbcFilterPushdownPreparedStatementVisitor(name -> "\"" + name + "\""));
+    }
+
+    private static CallExpression call(
+            BuiltInFunctionDefinition function, ResolvedExpression... args) {
+        return CallExpression.permanent(function, Arrays.asList(args), DataTypes.BOOLEAN());
+    }
+
+    private static ValueLiteralExpression literal(Object value) {
+        return new ValueLiteralExpression(value);
+    }
+}
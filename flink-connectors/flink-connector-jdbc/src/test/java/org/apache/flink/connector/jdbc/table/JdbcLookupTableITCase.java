@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.table;
+
+import org.apache.flink.api.common.typeinfo.Types;
+import org.apache.flink.streaming.api.datastream.DataStream;
+import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
+import org.apache.flink.table.api.Table;
+import org.apache.flink.table.api.bridge.java.StreamTableEnvironment;
+import org.apache.flink.types.Row;
+import org.apache.flink.util.CollectionUtil;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.apache.flink.table.api.Expressions.$;
+import static org.junit.Assert.assertEquals;
+
+/** ITCase for lookup joins on a {@link JdbcDynamicTableSource}. */
+public class JdbcLookupTableITCase extends JdbcLookupTestBase {
+
+    private StreamExecutionEnvironment env;
+    private StreamTableEnvironment tEnv;
+
+    @Before
+    public void setup() {
+        env = StreamExecutionEnvironment.getExecutionEnvironment();
+        env.setParallelism(2);
+        tEnv = StreamTableEnvironment.create(env);
+
+        DataStream<Row> probeStream =
+                env.fromCollection(
+                                Arrays.asList(
+                                        Row.of(1, "1"),
+                                        Row.of(2, "3"),
+                                        Row.of(2, "5"),
+                                        Row.of(3, "8"),
+                                        Row.of(4, "9"),
+                                        Row.of(-1, "1"),
+                                        Row.of(1, "1")),
+                                Types.ROW(Types.INT, Types.STRING))
+                        // spreads the probe rows over both subtasks of the lookup join
+                        .rebalance()
+                        .map(row -> row)
+                        .returns(Types.ROW(Types.INT, Types.STRING));
+        Table probe = tEnv.fromDataStream(probeStream, $("f0"), $("f1"), $("proctime").proctime());
+        tEnv.createTemporaryView("probe", probe);
+        tEnv.executeSql(
+                "CREATE TABLE lookup ("
+                        + "id1 INT,"
+                        + "id2 STRING,"
+                        + "comment1 STRING,"
+                        + "comment2 STRING"
+                        + ") WITH ("
+                        + "  'connector'='jdbc',"
+                        + "  'url'='"
+                        + DB_URL
+                        + "',"
+                        + "  'table-name'='"
+                        + LOOKUP_TABLE
+                        + "',"
+                        + "  'lookup.cache.all'='true',"
+                        + "  'lookup.cache.all.key-partitioned'='true'"
+                        + ")");
+    }
+
+    @Test
+    public void testKeyPartitionedLookupOnIntegralKey() {
+        List<String> result =
+                collect(
+                        "SELECT p.f0, p.f1, l.comment1 FROM probe AS p "
+                                + "JOIN lookup FOR SYSTEM_TIME AS OF p.proctime AS l "
+                                + "ON p.f0 = l.id1");
+
+        assertEquals(
+                Arrays.asList(
+                        "+I[1, 1, 11-c1-v1]",
+                        "+I[1, 1, 11-c1-v1]",
+                        "+I[1, 1, 11-c1-v2]",
+                        "+I[1, 1, 11-c1-v2]",
+                        "+I[2, 3, 25-c1]",
+                        "+I[2, 3, null]",
+                        "+I[2, 5, 25-c1]",
+                        "+I[2, 5, null]",
+                        "+I[3, 8, 38-c1]"),
+                result);
+    }
+
+    @Test
+    public void testKeyPartitionedLookupOnCompositeKey() {
+        List<String> result =
+                collect(
+                        "SELECT p.f0, p.f1, l.comment2 FROM probe AS p "
+                                + "JOIN lookup FOR SYSTEM_TIME AS OF p.proctime AS l "
+                                + "ON p.f0 = l.id1 AND p.f1 = l.id2");
+
+        assertEquals(
+                Arrays.asList(
+                        "+I[1, 1, 11-c2-v1]",
+                        "+I[1, 1, 11-c2-v1]",
+                        "+I[1, 1, 11-c2-v2]",
+                        "+I[1, 1, 11-c2-v2]",
+                        "+I[2, 3, 23-c2]",
+                        "+I[2, 5, 25-c2]",
+                        "+I[3, 8, 38-c2]"),
+                result);
+    }
+
+    private List<String> collect(String query) {
+        return CollectionUtil.iteratorToList(tEnv.executeSql(query).collect()).stream()
+                .map(Row::toString)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+}
@@ -29,6 +29,7 @@ import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
 import org.apache.flink.table.types.DataType;
 import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.types.RowKind;
 
 import org.junit.After;
 import org.junit.Test;
@@ -497,6 +498,178 @@ public class JdbcOutputFormatTest extends JdbcDataTestBase {
         }
     }
 
+    @Test
+    public void testPipelinedUpsert() throws IOException, SQLException {
+        JdbcConnectorOptions jdbcOptions =
+                JdbcConnectorOptions.builder()
+                        .setDriverName(DERBY_EBOOKSHOP_DB.getDriverClass())
+                        .setDBUrl(DERBY_EBOOKSHOP_DB.getUrl())
+                        .setTableName(OUTPUT_TABLE)
+                        .build();
+        JdbcDmlOptions dmlOptions =
+                JdbcDmlOptions.builder()
+                        .withTableName(jdbcOptions.getTableName())
+                        .withDialect(jdbcOptions.getDialect())
+                        .withFieldNames(fieldNames)
+                        .withKeyFields(fieldNames[0])
+                        .build();
+        JdbcExecutionOptions executionOptions =
+                JdbcExecutionOptions.builder()
+                        .withBatchSize(2)
+                        .withWriters(3)
+                        .withMaxInFlightBatches(1)
+                        .build();
+
+        outputFormat =
+                new JdbcOutputFormatBuilder()
+                        .setJdbcOptions(jdbcOptions)
+                        .setFieldDataTypes(fieldDataTypes)
+                        .setJdbcDmlOptions(dmlOptions)
+                        .setJdbcExecutionOptions(executionOptions)
+                        .setRowDataTypeInfo(rowDataTypeInfo)
+                        .build();
+        setRuntimeContext(outputFormat, true);
+        outputFormat.open(0, 1);
+
+        // every key is updated in later batches, which must be applied after its insert
+        for (int qty = 0; qty < 3; qty++) {
+            for (TestEntry entry : TEST_DATA) {
+                outputFormat.writeRecord(
+                        buildGenericData(entry.id, entry.title, entry.author, entry.price, qty));
+            }
+        }
+        outputFormat.flush();
+
+        try (Connection dbConn = DriverManager.getConnection(DERBY_EBOOKSHOP_DB.getUrl());
+                PreparedStatement statement =
+                        dbConn.prepareStatement(SELECT_ALL_NEWBOOKS + " ORDER BY id");
+                ResultSet resultSet = statement.executeQuery()) {
+            int recordCount = 0;
+            while (resultSet.next()) {
+                assertEquals(TEST_DATA[recordCount].id, resultSet.getObject("id"));
+                assertEquals(TEST_DATA[recordCount].title, resultSet.getObject("title"));
+                assertEquals(2, resultSet.getObject("qty"));
+                recordCount++;
+            }
+            assertEquals(TEST_DATA.length, recordCount);
+        }
+    }
+
+    @Test
+    public void testMultiRowStatements() throws IOException, SQLException {
+        JdbcConnectorOptions jdbcOptions =
+                JdbcConnectorOptions.builder()
+                        .setDriverName(DERBY_EBOOKSHOP_DB.getDriverClass())
+                        .setDBUrl(DERBY_EBOOKSHOP_DB.getUrl())
+                        .setTableName(OUTPUT_TABLE)
+                        .build();
+        // derby has no upsert statement, rows which don't exist are inserted by multi-row inserts
+        JdbcDmlOptions dmlOptions =
+                JdbcDmlOptions.builder()
+                        .withTableName(jdbcOptions.getTableName())
+                        .withDialect(jdbcOptions.getDialect())
+                        .withFieldNames(fieldNames)
+                        .withKeyFields(fieldNames[0])
+                        .withMaxRowsPerStatement(4)
+                        .build();
+
+        outputFormat =
+                new JdbcOutputFormatBuilder()
+                        .setJdbcOptions(jdbcOptions)
+                        .setFieldDataTypes(fieldDataTypes)
+                        .setJdbcDmlOptions(dmlOptions)
+                        .setJdbcExecutionOptions(
+                                JdbcExecutionOptions.builder().withBatchSize(7).build())
+                        .setRowDataTypeInfo(rowDataTypeInfo)
+                        .build();
+        setRuntimeContext(outputFormat, true);
+        outputFormat.open(0, 1);
+
+        for (int qty = 0; qty < 2; qty++) {
+            for (TestEntry entry : TEST_DATA) {
+                outputFormat.writeRecord(
+                        buildGenericData(entry.id, entry.title, entry.author, entry.price, qty));
+            }
+        }
+        outputFormat.close();
+
+        try (Connection dbConn = DriverManager.getConnection(DERBY_EBOOKSHOP_DB.getUrl());
+                PreparedStatement statement =
+                        dbConn.prepareStatement(SELECT_ALL_NEWBOOKS + " ORDER BY id");
+                ResultSet resultSet = statement.executeQuery()) {
+            int recordCount = 0;
+            while (resultSet.next()) {
+                assertEquals(TEST_DATA[recordCount].id, resultSet.getObject("id"));
+                assertEquals(TEST_DATA[recordCount].title, resultSet.getObject("title"));
+                assertEquals(TEST_DATA[recordCount].author, resultSet.getObject("author"));
+                assertEquals(TEST_DATA[recordCount].price, resultSet.getObject("price"));
+                assertEquals(1, resultSet.getObject("qty"));
+                recordCount++;
+            }
+            assertEquals(TEST_DATA.length, recordCount);
+        }
+    }
+
+    @Test
+    public void testBinaryBufferedUpsert() throws IOException, SQLException {
+        JdbcConnectorOptions jdbcOptions =
+                JdbcConnectorOptions.builder()
+                        .setDriverName(DERBY_EBOOKSHOP_DB.getDriverClass())
+                        .setDBUrl(DERBY_EBOOKSHOP_DB.getUrl())
+                        .setTableName(OUTPUT_TABLE)
+                        .build();
+        JdbcDmlOptions dmlOptions =
+                JdbcDmlOptions.builder()
+                        .withTableName(jdbcOptions.getTableName())
+                        .withDialect(jdbcOptions.getDialect())
+                        .withFieldNames(fieldNames)
+                        .withKeyFields(fieldNames[0])
+                        .build();
+        JdbcExecutionOptions executionOptions =
+                JdbcExecutionOptions.builder()
+                        .withBatchSize(0)
+                        .withMaxBatchBytes(JdbcExecutionOptions.MIN_BATCH_BYTES)
+                        .build();
+
+        outputFormat =
+                new JdbcOutputFormatBuilder()
+                        .setJdbcOptions(jdbcOptions)
+                        .setFieldDataTypes(fieldDataTypes)
+                        .setJdbcDmlOptions(dmlOptions)
+                        .setJdbcExecutionOptions(executionOptions)
+                        .setRowDataTypeInfo(rowDataTypeInfo)
+                        .build();
+        setRuntimeContext(outputFormat, true);
+        outputFormat.open(0, 1);
+
+        for (int qty = 0; qty < 3; qty++) {
+            for (TestEntry entry : TEST_DATA) {
+                outputFormat.writeRecord(
+                        buildGenericData(entry.id, entry.title, entry.author, entry.price, qty));
+            }
+        }
+        TestEntry deleted = TEST_DATA[0];
+        RowData delete =
+                buildGenericData(deleted.id, deleted.title, deleted.author, deleted.price, 2);
+        delete.setRowKind(RowKind.DELETE);
+        outputFormat.writeRecord(delete);
+        outputFormat.close();
+
+        try (Connection dbConn = DriverManager.getConnection(DERBY_EBOOKSHOP_DB.getUrl());
+                PreparedStatement statement =
+                        dbConn.prepareStatement(SELECT_ALL_NEWBOOKS + " ORDER BY id");
+                ResultSet resultSet = statement.executeQuery()) {
+            int recordCount = 1;
+            while (resultSet.next()) {
+                assertEquals(TEST_DATA[recordCount].id, resultSet.getObject("id"));
+                assertEquals(TEST_DATA[recordCount].title, resultSet.getObject("title"));
+                assertEquals(2, resultSet.getObject("qty"));
+                recordCount++;
+            }
+            assertEquals(TEST_DATA.length, recordCount);
+        }
+    }
+
     @After
     public void clearOutputTable() throws Exception {
         Class.forName(DERBY_EBOOKSHOP_DB.getDriverClass());
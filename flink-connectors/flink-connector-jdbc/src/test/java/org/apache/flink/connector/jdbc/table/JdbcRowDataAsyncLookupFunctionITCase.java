@@ -0,0 +1,318 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.connector.jdbc.table;
+
+import org.apache.flink.connector.jdbc.internal.connection.JdbcConnectionPool;
+import org.apache.flink.connector.jdbc.internal.options.JdbcConnectorOptions;
+import org.apache.flink.connector.jdbc.internal.options.JdbcLookupOptions;
+import org.apache.flink.streaming.util.MockStreamingRuntimeContext;
+import org.apache.flink.table.api.DataTypes;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.functions.FunctionContext;
+import org.apache.flink.table.types.DataType;
+import org.apache.flink.table.types.logical.LogicalType;
+import org.apache.flink.table.types.logical.RowType;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+import static org.apache.flink.connector.jdbc.JdbcTestFixture.DERBY_EBOOKSHOP_DB;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/** Test suite for {@link JdbcRowDataAsyncLookupFunction}. */
+public class JdbcRowDataAsyncLookupFunctionITCase extends JdbcLookupTestBase {
+
+    private static final String[] fieldNames = new String[] {"id1", "id2", "comment1", "comment2"};
+    private static final DataType[] fieldDataTypes =
+            new DataType[] {
+                DataTypes.INT(), DataTypes.STRING(), DataTypes.STRING(), DataTypes.STRING()
+            };
+
+    private static final String[] lookupKeys = new String[] {"id1", "id2"};
+
+    @Test
+    public void testEval() throws Exception {
+        JdbcLookupOptions lookupOptions =
+                JdbcLookupOptions.builder()
+                        .setAsync(true)
+                        .setAsyncPoolSize(2)
+                        .setAsyncMaxInFlight(2)
+                        .build();
+        JdbcRowDataAsyncLookupFunction lookupFunction = buildAsyncLookupFunction(lookupOptions);
+        lookupFunction.open(new FunctionContext(new MockStreamingRuntimeContext(false, 1, 0)));
+
+        List<String> result = lookupAll(lookupFunction);
+
+        List<String> expected = new ArrayList<>();
+        expected.add("+I(1,1,11-c1-v1,11-c2-v1)");
+        expected.add("+I(1,1,11-c1-v2,11-c2-v2)");
+        expected.add("+I(2,3,null,23-c2)");
+        Collections.sort(expected);
+
+        assertEquals(expected, result);
+        lookupFunction.close();
+    }
+
+    @Test
+    public void testEvalWithBatch() throws Exception {
+        // the first two keys fill a batch, the last one is flushed by the batch interval
+        JdbcLookupOptions lookupOptions =
+                JdbcLookupOptions.builder()
+                        .setAsync(true)
+                        .setAsyncBatchSize(2)
+                        .setAsyncBatchIntervalMs(10)
+                        .build();
+        JdbcRowDataAsyncLookupFunction lookupFunction = buildAsyncLookupFunction(lookupOptions);
+        lookupFunction.open(new FunctionContext(new MockStreamingRuntimeContext(false, 1, 0)));
+
+        List<String> result = lookupAll(lookupFunction);
+
+        List<String> expected = new ArrayList<>();
+        expected.add("+I(1,1,11-c1-v1,11-c2-v1)");
+        expected.add("+I(1,1,11-c1-v2,11-c2-v2)");
+        expected.add("+I(2,3,null,23-c2)");
+        Collections.sort(expected);
+
+        assertEquals(expected, result);
+        lookupFunction.close();
+    }
+
+    @Test
+    public void testEvalWithBatchOnPaddedKeys() throws Exception {
+        // Derby pads the CHAR column, so the rows do not carry the keys that were looked up
+        insert("CREATE TABLE padded_table (id CHAR(5) NOT NULL, comment1 VARCHAR(20))");
+        try {
+            insert("INSERT INTO padded_table (id, comment1) VALUES ('a', 'a-c1'), ('b', 'b-c1')");
+            JdbcLookupOptions lookupOptions =
+                    JdbcLookupOptions.builder()
+                            .setAsync(true)
+                            .setAsyncBatchSize(2)
+                            .setAsyncBatchIntervalMs(10)
+                            .build();
+            String[] paddedFieldNames = new String[] {"id", "comment1"};
+            DataType[] paddedFieldTypes = new DataType[] {DataTypes.STRING(), DataTypes.STRING()};
+            JdbcRowDataAsyncLookupFunction lookupFunction =
+                    new JdbcRowDataAsyncLookupFunction(
+                            JdbcConnectorOptions.builder()
+                                    .setDriverName(DERBY_EBOOKSHOP_DB.getDriverClass())
+                                    .setDBUrl(DB_URL)
+                                    .setTableName("padded_table")
+                                    .build(),
+                            lookupOptions,
+                            paddedFieldNames,
+                            paddedFieldTypes,
+                            new String[] {"id"},
+                            RowType.of(
+                                    new LogicalType[] {
+                                        paddedFieldTypes[0].getLogicalType(),
+                                        paddedFieldTypes[1].getLogicalType()
+                                    },
+                                    paddedFieldNames));
+            lookupFunction.open(new FunctionContext(new MockStreamingRuntimeContext(false, 1, 0)));
+
+            CompletableFuture<Collection<RowData>> futureA = new CompletableFuture<>();
+            CompletableFuture<Collection<RowData>> futureB = new CompletableFuture<>();
+            lookupFunction.eval(futureA, fromString("a"));
+            lookupFunction.eval(futureB, fromString("b"));
+
+            assertEquals(
+                    Collections.singletonList("a-c1"),
+                    futureA.get().stream()
+                            .map(row -> row.getString(1).toString())
+                            .collect(Collectors.toList()));
+            assertEquals(
+                    Collections.singletonList("b-c1"),
+                    futureB.get().stream()
+                            .map(row -> row.getString(1).toString())
+                            .collect(Collectors.toList()));
+            lookupFunction.close();
+        } finally {
+            insert("DROP TABLE padded_table");
+        }
+    }
+
+    @Test
+    public void testCloseCompletesPendingBatch() throws Exception {
+        JdbcLookupOptions lookupOptions =
+                JdbcLookupOptions.builder()
+                        .setAsync(true)
+                        .setAsyncBatchSize(2)
+                        .setAsyncBatchIntervalMs(60_000)
+                        .build();
+        JdbcRowDataAsyncLookupFunction lookupFunction = buildAsyncLookupFunction(lookupOptions);
+        lookupFunction.open(new FunctionContext(new MockStreamingRuntimeContext(false, 1, 0)));
+
+        // the batch is neither full nor due when the function is closed
+        CompletableFuture<Collection<RowData>> future = new CompletableFuture<>();
+        lookupFunction.eval(future, 1, fromString("1"));
+        lookupFunction.close();
+
+        assertTrue(future.isCompletedExceptionally());
+        try {
+            future.get();
+            fail("Expected exception is not thrown.");
+        } catch (CancellationException e) {
+            assertEquals("The JDBC lookup function was closed.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testEvalWithCache() throws Exception {
+        JdbcLookupOptions lookupOptions =
+                JdbcLookupOptions.builder()
+                        .setAsync(true)
+                        .setCacheMaxSize(100)
+                        .setCacheExpireMs(60_000)
+                        .build();
+        JdbcRowDataAsyncLookupFunction lookupFunction = buildAsyncLookupFunction(lookupOptions);
+        lookupFunction.open(new FunctionContext(new MockStreamingRuntimeContext(false, 1, 0)));
+
+        lookupAll(lookupFunction);
+        assertNotNull(
+                lookupFunction.getCache().getIfPresent(GenericRowData.of(4, fromString("9"))));
+
+        // rows are served from the cache until they expire
+        insert(
+                "INSERT INTO "
+                        + LOOKUP_TABLE
+                        + " (id1, id2, comment1, comment2) VALUES (4, '9', '49-c1', '49-c2')");
+        assertEquals(Collections.emptyList(), lookup(lookupFunction, 4, fromString("9")));
+        lookupFunction.close();
+    }
+
+    @Test(timeout = 60000)
+    public void testEvalWithCacheRefreshOnFullPool() throws Exception {
+        JdbcLookupOptions lookupOptions =
+                JdbcLookupOptions.builder()
+                        .setAsync(true)
+                        .setAsyncPoolSize(1)
+                        .setAsyncMaxInFlight(1)
+                        .setCacheMaxSize(100)
+                        .setCacheExpireMs(60_000)
+                        .setCachePolicy(LookupCachePolicy.TINY_LFU)
+                        .setCacheRefreshAfterWriteMs(50)
+                        .build();
+        JdbcRowDataAsyncLookupFunction lookupFunction = buildAsyncLookupFunction(lookupOptions);
+        lookupFunction.open(new FunctionContext(new MockStreamingRuntimeContext(false, 1, 0)));
+
+        List<String> expected = Collections.singletonList("+I(2,3,null,23-c2)");
+        assertEquals(expected, lookup(lookupFunction, 2, fromString("3")));
+
+        // the function shares this pool, whose only in-flight permit is taken by the call
+        JdbcConnectionPool pool = JdbcConnectionPool.acquire(buildJdbcOptions(), 1, 1);
+        CountDownLatch poolReleased = new CountDownLatch(1);
+        CompletableFuture<Object> blockingCall =
+                pool.execute(
+                        connectionProvider -> {
+                            poolReleased.await();
+                            return null;
+                        });
+        try {
+            Thread.sleep(100);
+            // the due refresh is skipped rather than blocking the lookup of the cached key
+            assertEquals(expected, lookup(lookupFunction, 2, fromString("3")));
+            assertEquals(1L, lookupFunction.getCache().getLoadCount());
+        } finally {
+            poolReleased.countDown();
+            blockingCall.get();
+            pool.release();
+            lookupFunction.close();
+        }
+    }
+
+    private static List<String> lookupAll(JdbcRowDataAsyncLookupFunction lookupFunction)
+            throws Exception {
+        List<CompletableFuture<Collection<RowData>>> futures = new ArrayList<>();
+        for (Object[] keys :
+                new Object[][] {{1, fromString("1")}, {2, fromString("3")}, {4, fromString("9")}}) {
+            CompletableFuture<Collection<RowData>> future = new CompletableFuture<>();
+            lookupFunction.eval(future, keys);
+            futures.add(future);
+        }
+        List<String> result = new ArrayList<>();
+        for (CompletableFuture<Collection<RowData>> future : futures) {
+            future.get().stream()
+                    .map(JdbcRowDataAsyncLookupFunctionITCase::toGenericRowString)
+                    .forEach(result::add);
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    private static List<String> lookup(
+            JdbcRowDataAsyncLookupFunction lookupFunction, Object... keys) throws Exception {
+        CompletableFuture<Collection<RowData>> future = new CompletableFuture<>();
+        lookupFunction.eval(future, keys);
+        return future.get().stream()
+                .map(JdbcRowDataAsyncLookupFunctionITCase::toGenericRowString)
+                .collect(Collectors.toList());
+    }
+
+    private static String toGenericRowString(RowData row) {
+        GenericRowData genericRow = new GenericRowData(row.getRowKind(), row.getArity());
+        for (int i = 0; i < fieldDataTypes.length; i++) {
+            genericRow.setField(
+                    i,
+                    RowData.createFieldGetter(fieldDataTypes[i].getLogicalType(), i)
+                            .getFieldOrNull(row));
+        }
+        return genericRow.toString();
+    }
+
+    private static StringData fromString(String str) {
+        return StringData.fromString(str);
+    }
+
+    private static JdbcConnectorOptions buildJdbcOptions() {
+        return JdbcConnectorOptions.builder()
+                .setDriverName(DERBY_EBOOKSHOP_DB.getDriverClass())
+                .setDBUrl(DB_URL)
+                .setTableName(LOOKUP_TABLE)
+                .build();
+    }
+
+    private static JdbcRowDataAsyncLookupFunction buildAsyncLookupFunction(
+            JdbcLookupOptions lookupOptions) {
+        JdbcConnectorOptions jdbcOptions = buildJdbcOptions();
+
+        RowType rowType =
+                RowType.of(
+                        Arrays.stream(fieldDataTypes)
+                                .map(DataType::getLogicalType)
+                                .toArray(LogicalType[]::new),
+                        fieldNames);
+
+        return new JdbcRowDataAsyncLookupFunction(
+                jdbcOptions, lookupOptions, fieldNames, fieldDataTypes, lookupKeys, rowType);
+    }
+}
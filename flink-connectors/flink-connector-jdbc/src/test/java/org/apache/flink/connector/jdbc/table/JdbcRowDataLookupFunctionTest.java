@@ -18,21 +18,33 @@
 
 package org.apache.flink.connector.jdbc.table;
 
+import org.apache.flink.connector.jdbc.internal.lookup.CacheAllSnapshot;
+import org.apache.flink.connector.jdbc.internal.lookup.FileCacheAllSnapshot;
+import org.apache.flink.connector.jdbc.internal.lookup.IncrementalCacheAllSnapshot;
+import org.apache.flink.connector.jdbc.internal.lookup.JdbcLookupKeyPartitioner;
+import org.apache.flink.connector.jdbc.internal.lookup.LookupCache;
 import org.apache.flink.connector.jdbc.internal.options.JdbcConnectorOptions;
 import org.apache.flink.connector.jdbc.internal.options.JdbcLookupOptions;
+import org.apache.flink.streaming.util.MockStreamingRuntimeContext;
 import org.apache.flink.table.api.DataTypes;
 import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.functions.FunctionContext;
 import org.apache.flink.table.types.DataType;
 import org.apache.flink.table.types.logical.LogicalType;
 import org.apache.flink.table.types.logical.RowType;
 import org.apache.flink.util.Collector;
 
-import org.apache.flink.shaded.guava30.com.google.common.cache.Cache;
-
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.Serializable;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -41,6 +53,10 @@ import java.util.stream.Collectors;
 
 import static org.apache.flink.connector.jdbc.JdbcTestFixture.DERBY_EBOOKSHOP_DB;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /** Test suite for {@link JdbcRowDataLookupFunction}. */
 public class JdbcRowDataLookupFunctionTest extends JdbcLookupTestBase {
@@ -53,6 +69,8 @@ public class JdbcRowDataLookupFunctionTest extends JdbcLookupTestBase {
 
     private static String[] lookupKeys = new String[] {"id1", "id2"};
 
+    @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void testEval() throws Exception {
 
@@ -62,7 +80,7 @@ public class JdbcRowDataLookupFunctionTest extends JdbcLookupTestBase {
         ListOutputCollector collector = new ListOutputCollector();
         lookupFunction.setCollector(collector);
 
-        lookupFunction.open(null);
+        lookupFunction.open(new FunctionContext(new MockStreamingRuntimeContext(false, 1, 0)));
 
         lookupFunction.eval(1, StringData.fromString("1"));
 
@@ -73,7 +91,10 @@ public class JdbcRowDataLookupFunctionTest extends JdbcLookupTestBase {
 
         List<String> result =
                 new ArrayList<>(collector.getOutputs())
-                        .stream().map(RowData::toString).sorted().collect(Collectors.toList());
+                        .stream()
+                                .map(JdbcRowDataLookupFunctionTest::toGenericRowString)
+                                .sorted()
+                                .collect(Collectors.toList());
 
         List<String> expected = new ArrayList<>();
         expected.add("+I(1,1,11-c1-v1,11-c2-v1)");
@@ -99,12 +120,12 @@ public class JdbcRowDataLookupFunctionTest extends JdbcLookupTestBase {
         ListOutputCollector collector = new ListOutputCollector();
         lookupFunction.setCollector(collector);
 
-        lookupFunction.open(null);
+        lookupFunction.open(new FunctionContext(new MockStreamingRuntimeContext(false, 1, 0)));
 
         lookupFunction.eval(4, StringData.fromString("9"));
         RowData keyRow = GenericRowData.of(4, StringData.fromString("9"));
 
-        Cache<RowData, List<RowData>> cache = lookupFunction.getCache();
+        LookupCache<RowData, List<RowData>> cache = lookupFunction.getCache();
 
         // empty data should cache
         assertEquals(cache.getIfPresent(keyRow), Collections.<RowData>emptyList());
@@ -135,12 +156,12 @@ public class JdbcRowDataLookupFunctionTest extends JdbcLookupTestBase {
         ListOutputCollector collector = new ListOutputCollector();
         lookupFunction.setCollector(collector);
 
-        lookupFunction.open(null);
+        lookupFunction.open(new FunctionContext(new MockStreamingRuntimeContext(false, 1, 0)));
 
         lookupFunction.eval(5, StringData.fromString("1"));
         RowData keyRow = GenericRowData.of(5, StringData.fromString("1"));
 
-        Cache<RowData, List<RowData>> cache = lookupFunction.getCache();
+        LookupCache<RowData, List<RowData>> cache = lookupFunction.getCache();
 
         // empty data should not get cached
         assert cache.getIfPresent(keyRow) == null;
@@ -153,24 +174,710 @@ public class JdbcRowDataLookupFunctionTest extends JdbcLookupTestBase {
                         + " (id1, id2, comment1, comment2) VALUES (5, '1', '51-c1', '51-c2')");
 
         lookupFunction.eval(5, StringData.fromString("1"));
-        List<RowData> expectedOutput = new ArrayList<>();
-        expectedOutput.add(
-                GenericRowData.of(
-                        5,
-                        StringData.fromString("1"),
-                        StringData.fromString("51-c1"),
-                        StringData.fromString("51-c2")));
-        assertEquals(cache.getIfPresent(keyRow), expectedOutput);
+        List<String> expectedOutput = Collections.singletonList("+I(5,1,51-c1,51-c2)");
+        assertEquals(
+                cache.getIfPresent(keyRow).stream()
+                        .map(JdbcRowDataLookupFunctionTest::toGenericRowString)
+                        .collect(Collectors.toList()),
+                expectedOutput);
     }
 
-    private JdbcRowDataLookupFunction buildRowDataLookupFunction(JdbcLookupOptions lookupOptions) {
+    @Test
+    public void testEvalWithCacheRefreshAfterWrite() throws Exception {
+        JdbcLookupOptions lookupOptions =
+                JdbcLookupOptions.builder()
+                        .setCacheExpireMs(60000)
+                        .setCacheMaxSize(10)
+                        .setCachePolicy(LookupCachePolicy.TINY_LFU)
+                        .setCacheRefreshAfterWriteMs(100)
+                        .build();
+
+        JdbcRowDataLookupFunction lookupFunction = buildRowDataLookupFunction(lookupOptions);
+
+        ListOutputCollector collector = new ListOutputCollector();
+        lookupFunction.setCollector(collector);
+
+        lookupFunction.open(new FunctionContext(new MockStreamingRuntimeContext(false, 1, 0)));
+
+        lookupFunction.eval(3, StringData.fromString("8"));
+        RowData keyRow = GenericRowData.of(3, StringData.fromString("8"));
+        LookupCache<RowData, List<RowData>> cache = lookupFunction.getCache();
+
+        insert("UPDATE " + LOOKUP_TABLE + " SET comment1 = '38-c1-v2' WHERE id1 = 3");
+        Thread.sleep(200);
+
+        // the stale rows are served while the key is refreshed in the background
+        lookupFunction.eval(3, StringData.fromString("8"));
+        List<String> expectedOutput = Arrays.asList("+I(3,8,38-c1,38-c2)", "+I(3,8,38-c1,38-c2)");
+        assertEquals(
+                expectedOutput,
+                collector.getOutputs().stream()
+                        .map(JdbcRowDataLookupFunctionTest::toGenericRowString)
+                        .collect(Collectors.toList()));
+
+        List<String> refreshedOutput = Collections.singletonList("+I(3,8,38-c1-v2,38-c2)");
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!refreshedOutput.equals(
+                        cache.getIfPresent(keyRow).stream()
+                                .map(JdbcRowDataLookupFunctionTest::toGenericRowString)
+                                .collect(Collectors.toList()))
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(
+                refreshedOutput,
+                cache.getIfPresent(keyRow).stream()
+                        .map(JdbcRowDataLookupFunctionTest::toGenericRowString)
+                        .collect(Collectors.toList()));
+        assertEquals(1L, cache.getMissCount());
+        // the initial load and at least one refresh
+        assertTrue(cache.getLoadCount() >= 2L);
+        lookupFunction.close();
+    }
+
+    @Test
+    public void testEvalWithBloomFilter() throws Exception {
+        JdbcLookupOptions lookupOptions =
+                JdbcLookupOptions.builder()
+                        .setCacheMissingKey(true)
+                        .setCacheExpireMs(60000)
+                        .setCacheMaxSize(10)
+                        .setBloomFilter(true)
+                        .build();
+
+        JdbcRowDataLookupFunction lookupFunction = buildRowDataLookupFunction(lookupOptions);
+
+        ListOutputCollector collector = new ListOutputCollector();
+        lookupFunction.setCollector(collector);
+
+        lookupFunction.open(new FunctionContext(new MockStreamingRuntimeContext(false, 1, 0)));
+
+        lookupFunction.eval(1, StringData.fromString("1"));
+        lookupFunction.eval(2, StringData.fromString("3"));
+
+        // keys rejected by the filter neither query the cache nor get cached
+        lookupFunction.eval(9, StringData.fromString("9"));
+        RowData missingKey = GenericRowData.of(9, StringData.fromString("9"));
+        assertFalse(lookupFunction.getKeyFilter().mightContain(missingKey));
+        assertEquals(2L, lookupFunction.getCache().getMissCount());
+        assertEquals(2L, lookupFunction.getCache().size());
+
+        List<String> expected = new ArrayList<>();
+        expected.add("+I(1,1,11-c1-v1,11-c2-v1)");
+        expected.add("+I(1,1,11-c1-v2,11-c2-v2)");
+        expected.add("+I(2,3,null,23-c2)");
+        assertEquals(
+                expected,
+                collector.getOutputs().stream()
+                        .map(JdbcRowDataLookupFunctionTest::toGenericRowString)
+                        .sorted()
+                        .collect(Collectors.toList()));
+
+        // added keys are found after the filter is rebuilt
+        insert(
+                "INSERT INTO "
+                        + LOOKUP_TABLE
+                        + " (id1, id2, comment1, comment2) VALUES (9, '9', '99-c1', '99-c2')");
+        lookupFunction.reloadKeyFilter();
+        lookupFunction.eval(9, StringData.fromString("9"));
+        expected.add("+I(9,9,99-c1,99-c2)");
+        assertEquals(
+                expected,
+                collector.getOutputs().stream()
+                        .map(JdbcRowDataLookupFunctionTest::toGenericRowString)
+                        .sorted()
+                        .collect(Collectors.toList()));
+        lookupFunction.close();
+    }
+
+    @Test
+    public void testEvalWithStaleBloomFilter() throws Exception {
+        JdbcLookupOptions lookupOptions =
+                JdbcLookupOptions.builder()
+                        .setBloomFilter(true)
+                        .setBloomFilterMaxStalenessMs(50)
+                        .build();
+
+        JdbcRowDataLookupFunction lookupFunction = buildRowDataLookupFunction(lookupOptions);
+
+        ListOutputCollector collector = new ListOutputCollector();
+        lookupFunction.setCollector(collector);
+
+        lookupFunction.open(new FunctionContext(new MockStreamingRuntimeContext(false, 1, 0)));
+
+        insert(
+                "INSERT INTO "
+                        + LOOKUP_TABLE
+                        + " (id1, id2, comment1, comment2) VALUES (9, '9', '99-c1', '99-c2')");
+        RowData addedKey = GenericRowData.of(9, StringData.fromString("9"));
+        assertFalse(lookupFunction.getKeyFilter().mightContain(addedKey));
+
+        // once the filter is stale, the keys it rejects are looked up in the database
+        Thread.sleep(100);
+        lookupFunction.eval(9, StringData.fromString("9"));
+        assertEquals(
+                Collections.singletonList("+I(9,9,99-c1,99-c2)"),
+                collector.getOutputs().stream()
+                        .map(JdbcRowDataLookupFunctionTest::toGenericRowString)
+                        .collect(Collectors.toList()));
+        lookupFunction.close();
+    }
+
+    @Test
+    public void testEvalWithBloomFilterOnCaseInsensitiveKey() throws Exception {
+        String dbUrl = "jdbc:derby:memory:lookup_ci";
+        // the database compares the strings of the key case insensitively
+        try (Connection conn =
+                        DriverManager.getConnection(
+                                dbUrl
+                                        + ";create=true;territory=en_US;"
+                                        + "collation=TERRITORY_BASED:SECONDARY");
+                Statement stat = conn.createStatement()) {
+            stat.executeUpdate(
+                    "CREATE TABLE "
+                            + LOOKUP_TABLE
+                            + " (id1 INT NOT NULL, id2 VARCHAR(20) NOT NULL,"
+                            + " comment1 VARCHAR(1000), comment2 VARCHAR(1000))");
+            stat.executeUpdate(
+                    "INSERT INTO " + LOOKUP_TABLE + " VALUES (1, 'Key', '1K-c1', '1K-c2')");
+        }
+        try {
+            JdbcLookupOptions lookupOptions =
+                    JdbcLookupOptions.builder()
+                            .setBloomFilter(true)
+                            .setBloomFilterIgnoreCaseAndTrailingSpaces(true)
+                            .build();
+            JdbcRowDataLookupFunction lookupFunction =
+                    buildRowDataLookupFunction(lookupOptions, dbUrl);
+            ListOutputCollector collector = new ListOutputCollector();
+            lookupFunction.setCollector(collector);
+            lookupFunction.open(new FunctionContext(new MockStreamingRuntimeContext(false, 1, 0)));
+
+            // keys the database finds are never rejected by the filter
+            lookupFunction.eval(1, StringData.fromString("KEY"));
+            lookupFunction.eval(1, StringData.fromString("key "));
+            assertEquals(
+                    Arrays.asList("+I(1,Key,1K-c1,1K-c2)", "+I(1,Key,1K-c1,1K-c2)"),
+                    collector.getOutputs().stream()
+                            .map(JdbcRowDataLookupFunctionTest::toGenericRowString)
+                            .collect(Collectors.toList()));
+            lookupFunction.close();
+        } finally {
+            try (Connection conn = DriverManager.getConnection(dbUrl);
+                    Statement stat = conn.createStatement()) {
+                stat.execute("DROP TABLE " + LOOKUP_TABLE);
+            }
+        }
+    }
+
+    @Test
+    public void testEvalWithCacheAll() throws Exception {
+        JdbcLookupOptions lookupOptions = JdbcLookupOptions.builder().setCacheAll(true).build();
+        JdbcRowDataLookupFunction lookupFunction = buildRowDataLookupFunction(lookupOptions);
+
+        ListOutputCollector collector = new ListOutputCollector();
+        lookupFunction.setCollector(collector);
+
+        lookupFunction.open(new FunctionContext(new MockStreamingRuntimeContext(false, 1, 0)));
+
+        assertEquals(5L, lookupFunction.getLookupCacheLine());
+
+        lookupFunction.eval(1, StringData.fromString("1"));
+        lookupFunction.eval(2, StringData.fromString("3"));
+        lookupFunction.eval(4, StringData.fromString("9"));
+
+        List<String> result =
+                new ArrayList<>(collector.getOutputs())
+                        .stream()
+                                .map(JdbcRowDataLookupFunctionTest::toGenericRowString)
+                                .sorted()
+                                .collect(Collectors.toList());
+
+        List<String> expected = new ArrayList<>();
+        expected.add("+I(1,1,11-c1-v1,11-c2-v1)");
+        expected.add("+I(1,1,11-c1-v2,11-c2-v2)");
+        expected.add("+I(2,3,null,23-c2)");
+        Collections.sort(expected);
+
+        assertEquals(expected, result);
+        lookupFunction.close();
+    }
+
+    @Test
+    public void testEvalWithCacheAllPartitionedLoad() throws Exception {
+        JdbcLookupOptions lookupOptions =
+                JdbcLookupOptions.builder()
+                        .setCacheAll(true)
+                        .setCacheAllPartitionColumn("id1")
+                        .setCacheAllPartitionNum(2)
+                        .setCacheAllPartitionParallelism(2)
+                        .build();
+        JdbcRowDataLookupFunction lookupFunction = buildRowDataLookupFunction(lookupOptions);
+
+        ListOutputCollector collector = new ListOutputCollector();
+        lookupFunction.setCollector(collector);
+
+        lookupFunction.open(new FunctionContext(new MockStreamingRuntimeContext(false, 1, 0)));
+
+        assertEquals(5L, lookupFunction.getLookupCacheLine());
+
+        lookupFunction.eval(1, StringData.fromString("1"));
+        lookupFunction.eval(2, StringData.fromString("3"));
+        lookupFunction.eval(4, StringData.fromString("9"));
+
+        List<String> result =
+                new ArrayList<>(collector.getOutputs())
+                        .stream()
+                                .map(JdbcRowDataLookupFunctionTest::toGenericRowString)
+                                .sorted()
+                                .collect(Collectors.toList());
+
+        List<String> expected = new ArrayList<>();
+        expected.add("+I(1,1,11-c1-v1,11-c2-v1)");
+        expected.add("+I(1,1,11-c1-v2,11-c2-v2)");
+        expected.add("+I(2,3,null,23-c2)");
+        Collections.sort(expected);
+
+        assertEquals(expected, result);
+        lookupFunction.close();
+    }
+
+    @Test
+    public void testEvalWithCacheAllPartitionedLoadOnFullLongRange() throws Exception {
+        String dbUrl = "jdbc:derby:memory:lookup_long_range";
+        try (Connection conn = DriverManager.getConnection(dbUrl + ";create=true");
+                Statement stat = conn.createStatement()) {
+            stat.executeUpdate(
+                    "CREATE TABLE "
+                            + LOOKUP_TABLE
+                            + " (id1 INT NOT NULL, id2 VARCHAR(20) NOT NULL,"
+                            + " comment1 VARCHAR(1000), comment2 VARCHAR(1000), version BIGINT)");
+            stat.executeUpdate(
+                    "INSERT INTO "
+                            + LOOKUP_TABLE
+                            + " VALUES (1, '1', '11-c1', '11-c2', "
+                            + Long.MIN_VALUE
+                            + "), (2, '2', '22-c1', '22-c2', 0), (3, '3', '33-c1', '33-c2', "
+                            + Long.MAX_VALUE
+                            + ")");
+        }
+        try {
+            // the number of values between the bounds of the partition column exceeds a long
+            JdbcLookupOptions lookupOptions =
+                    JdbcLookupOptions.builder()
+                            .setCacheAll(true)
+                            .setCacheAllPartitionColumn("version")
+                            .setCacheAllPartitionNum(3)
+                            .setCacheAllPartitionParallelism(2)
+                            .build();
+            JdbcRowDataLookupFunction lookupFunction =
+                    buildRowDataLookupFunction(lookupOptions, dbUrl);
+            ListOutputCollector collector = new ListOutputCollector();
+            lookupFunction.setCollector(collector);
+            lookupFunction.open(new FunctionContext(new MockStreamingRuntimeContext(false, 1, 0)));
+            assertEquals(3L, lookupFunction.getLookupCacheLine());
+
+            // the reload runs on the connections of the first load
+            lookupFunction.reloadCacheAll();
+            assertEquals(3L, lookupFunction.getLookupCacheLine());
+
+            lookupFunction.eval(1, StringData.fromString("1"));
+            lookupFunction.eval(3, StringData.fromString("3"));
+            assertEquals(
+                    Arrays.asList("+I(1,1,11-c1,11-c2)", "+I(3,3,33-c1,33-c2)"),
+                    collector.getOutputs().stream()
+                            .map(JdbcRowDataLookupFunctionTest::toGenericRowString)
+                            .collect(Collectors.toList()));
+            lookupFunction.close();
+        } finally {
+            try (Connection conn = DriverManager.getConnection(dbUrl);
+                    Statement stat = conn.createStatement()) {
+                stat.execute("DROP TABLE " + LOOKUP_TABLE);
+            }
+        }
+    }
+
+    @Test
+    public void testSplitPartitionRange() {
+        List<Serializable[]> ranges =
+                JdbcRowDataLookupFunction.splitPartitionRange(Long.MIN_VALUE, Long.MAX_VALUE, 3);
+        assertEquals(3, ranges.size());
+        assertEquals(Long.MIN_VALUE, ranges.get(0)[0]);
+        for (int i = 1; i < ranges.size(); i++) {
+            assertEquals((long) ranges.get(i - 1)[1] + 1, ranges.get(i)[0]);
+        }
+        assertEquals(Long.MAX_VALUE, ranges.get(2)[1]);
+
+        // fewer values than partitions
+        assertEquals(2, JdbcRowDataLookupFunction.splitPartitionRange(5, 6, 3).size());
+    }
+
+    @Test
+    public void testEvalWithCacheAllFilteredLoad() throws Exception {
+        JdbcLookupOptions lookupOptions =
+                JdbcLookupOptions.builder()
+                        .setCacheAll(true)
+                        .setCacheAllPartitionColumn("id1")
+                        .setCacheAllPartitionNum(2)
+                        .setCacheAllPartitionParallelism(2)
+                        .build();
+        JdbcRowDataLookupFunction lookupFunction =
+                buildRowDataLookupFunction(
+                        lookupOptions,
+                        DB_URL,
+                        new ParameterizedPredicate("comment1 IS NOT NULL AND id1 >= ?", 2));
+
+        ListOutputCollector collector = new ListOutputCollector();
+        lookupFunction.setCollector(collector);
+
+        lookupFunction.open(new FunctionContext(new MockStreamingRuntimeContext(false, 1, 0)));
+
+        // only the rows of the filter are loaded
+        assertEquals(2L, lookupFunction.getLookupCacheLine());
+
+        lookupFunction.eval(1, StringData.fromString("1"));
+        lookupFunction.eval(2, StringData.fromString("3"));
+        lookupFunction.eval(2, StringData.fromString("5"));
+
+        List<String> result =
+                new ArrayList<>(collector.getOutputs())
+                        .stream()
+                                .map(JdbcRowDataLookupFunctionTest::toGenericRowString)
+                                .sorted()
+                                .collect(Collectors.toList());
+
+        assertEquals(Collections.singletonList("+I(2,5,25-c1,25-c2)"), result);
+        lookupFunction.close();
+    }
+
+    @Test
+    public void testEvalWithCacheAllKeyPartitioned() throws Exception {
+        JdbcLookupOptions lookupOptions =
+                JdbcLookupOptions.builder()
+                        .setCacheAll(true)
+                        .setCacheAllKeyPartitioned(true)
+                        .build();
+        JdbcLookupKeyPartitioner partitioner =
+                new JdbcLookupKeyPartitioner(
+                        new LogicalType[] {
+                            DataTypes.INT().getLogicalType(), DataTypes.STRING().getLogicalType()
+                        });
+        int parallelism = 2;
+
+        ListOutputCollector collector = new ListOutputCollector();
+        long totalCacheLines = 0;
+        for (int subtask = 0; subtask < parallelism; subtask++) {
+            JdbcRowDataLookupFunction lookupFunction = buildRowDataLookupFunction(lookupOptions);
+            lookupFunction.setCollector(collector);
+            lookupFunction.open(
+                    new FunctionContext(
+                            new MockStreamingRuntimeContext(false, parallelism, subtask)));
+            totalCacheLines += lookupFunction.getLookupCacheLine();
+
+            // only the keys routed to this subtask are looked up by it
+            for (Object[] keys :
+                    new Object[][] {
+                        {1, StringData.fromString("1")},
+                        {2, StringData.fromString("3")},
+                        {4, StringData.fromString("9")}
+                    }) {
+                if (partitioner.partition(GenericRowData.of(keys), parallelism) == subtask) {
+                    lookupFunction.eval(keys);
+                }
+            }
+            lookupFunction.close();
+        }
+
+        assertEquals(5L, totalCacheLines);
+
+        List<String> result =
+                new ArrayList<>(collector.getOutputs())
+                        .stream()
+                                .map(JdbcRowDataLookupFunctionTest::toGenericRowString)
+                                .sorted()
+                                .collect(Collectors.toList());
+
+        List<String> expected = new ArrayList<>();
+        expected.add("+I(1,1,11-c1-v1,11-c2-v1)");
+        expected.add("+I(1,1,11-c1-v2,11-c2-v2)");
+        expected.add("+I(2,3,null,23-c2)");
+        Collections.sort(expected);
+
+        assertEquals(expected, result);
+    }
+
+    @Test
+    public void testEvalWithCacheAllBinaryStorage() throws Exception {
+        JdbcLookupOptions lookupOptions =
+                JdbcLookupOptions.builder()
+                        .setCacheAll(true)
+                        .setCacheAllStorage(LookupCacheAllStorage.BINARY)
+                        .build();
+        JdbcRowDataLookupFunction lookupFunction = buildRowDataLookupFunction(lookupOptions);
+
+        ListOutputCollector collector = new ListOutputCollector();
+        lookupFunction.setCollector(collector);
+
+        lookupFunction.open(new FunctionContext(new MockStreamingRuntimeContext(false, 1, 0)));
+
+        assertEquals(5L, lookupFunction.getLookupCacheLine());
+
+        lookupFunction.eval(1, StringData.fromString("1"));
+        lookupFunction.eval(2, StringData.fromString("3"));
+        lookupFunction.eval(4, StringData.fromString("9"));
+
+        List<String> result =
+                new ArrayList<>(collector.getOutputs())
+                        .stream()
+                                .map(JdbcRowDataLookupFunctionTest::toGenericRowString)
+                                .sorted()
+                                .collect(Collectors.toList());
+
+        List<String> expected = new ArrayList<>();
+        expected.add("+I(1,1,11-c1-v1,11-c2-v1)");
+        expected.add("+I(1,1,11-c1-v2,11-c2-v2)");
+        expected.add("+I(2,3,null,23-c2)");
+        Collections.sort(expected);
+
+        assertEquals(expected, result);
+
+        // a full reload releases the replaced snapshot
+        CacheAllSnapshot previousSnapshot = lookupFunction.getCacheAllSnapshot();
+        lookupFunction.reloadCacheAll();
+        assertEquals(5L, lookupFunction.getLookupCacheLine());
+        try {
+            previousSnapshot.get(GenericRowData.of(1, StringData.fromString("1")));
+            fail("exception expected");
+        } catch (IllegalStateException e) {
+            // the segments of the snapshot are freed
+        }
+        lookupFunction.close();
+    }
+
+    @Test
+    public void testCacheAllSnapshotRestore() throws Exception {
+        JdbcLookupOptions lookupOptions =
+                JdbcLookupOptions.builder()
+                        .setCacheAll(true)
+                        .setCacheAllSnapshotDir(temporaryFolder.getRoot().getAbsolutePath())
+                        .build();
+        JdbcRowDataLookupFunction lookupFunction = buildRowDataLookupFunction(lookupOptions);
+        lookupFunction.open(new FunctionContext(new MockStreamingRuntimeContext(false, 1, 0)));
+        lookupFunction.close();
+
+        // the restored function serves lookups from the snapshot file, its background refresh
+        // fails on the unavailable database and keeps the restored snapshot
+        JdbcRowDataLookupFunction restoredFunction =
+                buildRowDataLookupFunction(lookupOptions, "jdbc:derby:memory:unavailable");
+        ListOutputCollector collector = new ListOutputCollector();
+        restoredFunction.setCollector(collector);
+        restoredFunction.open(new FunctionContext(new MockStreamingRuntimeContext(false, 1, 0)));
+
+        assertTrue(restoredFunction.getCacheAllSnapshot() instanceof FileCacheAllSnapshot);
+        assertEquals(5L, restoredFunction.getLookupCacheLine());
+
+        restoredFunction.eval(1, StringData.fromString("1"));
+        restoredFunction.eval(2, StringData.fromString("3"));
+        restoredFunction.eval(4, StringData.fromString("9"));
+
+        List<String> result =
+                new ArrayList<>(collector.getOutputs())
+                        .stream()
+                                .map(JdbcRowDataLookupFunctionTest::toGenericRowString)
+                                .sorted()
+                                .collect(Collectors.toList());
+
+        List<String> expected = new ArrayList<>();
+        expected.add("+I(1,1,11-c1-v1,11-c2-v1)");
+        expected.add("+I(1,1,11-c1-v2,11-c2-v2)");
+        expected.add("+I(2,3,null,23-c2)");
+        Collections.sort(expected);
+
+        assertEquals(expected, result);
+        restoredFunction.close();
+    }
+
+    @Test
+    public void testCacheAllReloadSwapsSnapshot() throws Exception {
+        JdbcLookupOptions lookupOptions = JdbcLookupOptions.builder().setCacheAll(true).build();
+        JdbcRowDataLookupFunction lookupFunction = buildRowDataLookupFunction(lookupOptions);
+
+        ListOutputCollector collector = new ListOutputCollector();
+        lookupFunction.setCollector(collector);
+
+        lookupFunction.open(new FunctionContext(new MockStreamingRuntimeContext(false, 1, 0)));
+        CacheAllSnapshot oldSnapshot = lookupFunction.getCacheAllSnapshot();
+
+        insert(
+                "INSERT INTO "
+                        + LOOKUP_TABLE
+                        + " (id1, id2, comment1, comment2) VALUES (4, '9', '49-c1', '49-c2')");
+
+        // rows inserted after the load are invisible until the next reload
+        lookupFunction.eval(4, StringData.fromString("9"));
+        assertEquals(0, collector.getOutputs().size());
+
+        lookupFunction.reloadCacheAll();
+
+        // the previous snapshot is never mutated by a reload
+        RowData keyRow = GenericRowData.of(4, StringData.fromString("9"));
+        assertEquals(null, oldSnapshot.get(keyRow));
+        assertEquals(6L, lookupFunction.getLookupCacheLine());
+
+        lookupFunction.eval(4, StringData.fromString("9"));
+        assertEquals(1, collector.getOutputs().size());
+        assertEquals("+I(4,9,49-c1,49-c2)", toGenericRowString(collector.getOutputs().get(0)));
+        lookupFunction.close();
+    }
+
+    @Test
+    public void testCacheAllRefreshAfterClose() throws Exception {
+        JdbcLookupOptions lookupOptions = JdbcLookupOptions.builder().setCacheAll(true).build();
+        JdbcRowDataLookupFunction lookupFunction = buildRowDataLookupFunction(lookupOptions);
+
+        lookupFunction.open(new FunctionContext(new MockStreamingRuntimeContext(false, 1, 0)));
+        lookupFunction.close();
+
+        // a refresh which was queued before close neither reopens the connection nor loads rows
+        lookupFunction.refreshCacheAll();
+        lookupFunction.reloadCacheAll();
+        assertNull(lookupFunction.getCacheAllSnapshot());
+    }
+
+    @Test
+    public void testCacheAllIncrementalRefresh() throws Exception {
+        insert("ALTER TABLE " + LOOKUP_TABLE + " ADD COLUMN version BIGINT DEFAULT 0");
+        JdbcLookupOptions lookupOptions =
+                JdbcLookupOptions.builder()
+                        .setCacheAll(true)
+                        .setCacheAllIncrementalColumn("version")
+                        .build();
+        JdbcRowDataLookupFunction lookupFunction = buildRowDataLookupFunction(lookupOptions);
+
+        ListOutputCollector collector = new ListOutputCollector();
+        lookupFunction.setCollector(collector);
+
+        lookupFunction.open(new FunctionContext(new MockStreamingRuntimeContext(false, 1, 0)));
+
+        insert(
+                "UPDATE "
+                        + LOOKUP_TABLE
+                        + " SET comment1 = '23-c1', version = 1 WHERE id1 = 2 AND id2 = '3'");
+        insert(
+                "INSERT INTO "
+                        + LOOKUP_TABLE
+                        + " (id1, id2, comment1, comment2, version) VALUES (1, '1', '11-c1-v3', '11-c2-v3', 2)");
+        // deletes are only visible after the next full reload
+        insert("DELETE FROM " + LOOKUP_TABLE + " WHERE id1 = 3");
+
+        lookupFunction.refreshCacheAll();
+
+        assertEquals(
+                2,
+                ((IncrementalCacheAllSnapshot) lookupFunction.getCacheAllSnapshot())
+                        .getNumChangedKeys());
+        assertEquals(6L, lookupFunction.getLookupCacheLine());
+
+        lookupFunction.eval(1, StringData.fromString("1"));
+        lookupFunction.eval(2, StringData.fromString("3"));
+        lookupFunction.eval(3, StringData.fromString("8"));
+
+        List<String> result =
+                new ArrayList<>(collector.getOutputs())
+                        .stream()
+                                .map(JdbcRowDataLookupFunctionTest::toGenericRowString)
+                                .sorted()
+                                .collect(Collectors.toList());
+
+        List<String> expected = new ArrayList<>();
+        expected.add("+I(1,1,11-c1-v1,11-c2-v1)");
+        expected.add("+I(1,1,11-c1-v2,11-c2-v2)");
+        expected.add("+I(1,1,11-c1-v3,11-c2-v3)");
+        expected.add("+I(2,3,23-c1,23-c2)");
+        expected.add("+I(3,8,38-c1,38-c2)");
+        Collections.sort(expected);
+        assertEquals(expected, result);
+
+        // nothing changed since the last refresh
+        lookupFunction.refreshCacheAll();
+        assertEquals(
+                2,
+                ((IncrementalCacheAllSnapshot) lookupFunction.getCacheAllSnapshot())
+                        .getNumChangedKeys());
+
+        lookupFunction.reloadCacheAll();
+        assertEquals(5L, lookupFunction.getLookupCacheLine());
+        lookupFunction.close();
+    }
+
+    @Test
+    public void testEvalWithRowConverterCodeGeneration() throws Exception {
         JdbcConnectorOptions jdbcOptions =
                 JdbcConnectorOptions.builder()
                         .setDriverName(DERBY_EBOOKSHOP_DB.getDriverClass())
                         .setDBUrl(DB_URL)
                         .setTableName(LOOKUP_TABLE)
+                        .setRowConverterCodeGeneration(true)
+                        .build();
+        JdbcRowDataLookupFunction lookupFunction =
+                buildRowDataLookupFunction(
+                        JdbcLookupOptions.builder()
+                                .setCacheExpireMs(60000)
+                                .setCacheMaxSize(10)
+                                .build(),
+                        jdbcOptions,
+                        null);
+
+        ListOutputCollector collector = new ListOutputCollector();
+        lookupFunction.setCollector(collector);
+        lookupFunction.open(new FunctionContext(new MockStreamingRuntimeContext(false, 1, 0)));
+
+        lookupFunction.eval(1, StringData.fromString("1"));
+        lookupFunction.eval(2, StringData.fromString("3"));
+        // served by the cache, which keeps the converted rows
+        lookupFunction.eval(1, StringData.fromString("1"));
+
+        assertTrue(collector.getOutputs().stream().allMatch(row -> row instanceof BinaryRowData));
+        List<String> result =
+                collector.getOutputs().stream()
+                        .map(JdbcRowDataLookupFunctionTest::toGenericRowString)
+                        .sorted()
+                        .collect(Collectors.toList());
+        assertEquals(
+                Arrays.asList(
+                        "+I(1,1,11-c1-v1,11-c2-v1)",
+                        "+I(1,1,11-c1-v1,11-c2-v1)",
+                        "+I(1,1,11-c1-v2,11-c2-v2)",
+                        "+I(1,1,11-c1-v2,11-c2-v2)",
+                        "+I(2,3,null,23-c2)"),
+                result);
+        lookupFunction.close();
+    }
+
+    private JdbcRowDataLookupFunction buildRowDataLookupFunction(JdbcLookupOptions lookupOptions) {
+        return buildRowDataLookupFunction(lookupOptions, DB_URL);
+    }
+
+    private JdbcRowDataLookupFunction buildRowDataLookupFunction(
+            JdbcLookupOptions lookupOptions, String dbUrl) {
+        return buildRowDataLookupFunction(lookupOptions, dbUrl, null);
+    }
+
+    private JdbcRowDataLookupFunction buildRowDataLookupFunction(
+            JdbcLookupOptions lookupOptions, String dbUrl, ParameterizedPredicate filter) {
+        JdbcConnectorOptions jdbcOptions =
+                JdbcConnectorOptions.builder()
+                        .setDriverName(DERBY_EBOOKSHOP_DB.getDriverClass())
+                        .setDBUrl(dbUrl)
+                        .setTableName(LOOKUP_TABLE)
                         .build();
+        return buildRowDataLookupFunction(lookupOptions, jdbcOptions, filter);
+    }
 
+    private JdbcRowDataLookupFunction buildRowDataLookupFunction(
+            JdbcLookupOptions lookupOptions,
+            JdbcConnectorOptions jdbcOptions,
+            ParameterizedPredicate filter) {
         RowType rowType =
                 RowType.of(
                         Arrays.stream(fieldDataTypes)
@@ -185,11 +892,23 @@ public class JdbcRowDataLookupFunctionTest extends JdbcLookupTestBase {
                         fieldNames,
                         fieldDataTypes,
                         lookupKeys,
-                        rowType);
+                        rowType,
+                        filter);
 
         return lookupFunction;
     }
 
+    private static String toGenericRowString(RowData row) {
+        GenericRowData genericRow = new GenericRowData(row.getRowKind(), row.getArity());
+        for (int i = 0; i < fieldDataTypes.length; i++) {
+            genericRow.setField(
+                    i,
+                    RowData.createFieldGetter(fieldDataTypes[i].getLogicalType(), i)
+                            .getFieldOrNull(row));
+        }
+        return genericRow.toString();
+    }
+
     private static final class ListOutputCollector implements Collector<RowData> {
 
         private final List<RowData> output = new ArrayList<>();
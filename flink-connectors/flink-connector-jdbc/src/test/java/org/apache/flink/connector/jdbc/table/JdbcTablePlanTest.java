@@ -18,13 +18,20 @@
 
 package org.apache.flink.connector.jdbc.table;
 
+import org.apache.flink.table.api.ExplainDetail;
 import org.apache.flink.table.api.TableConfig;
+import org.apache.flink.table.api.TableException;
+import org.apache.flink.table.planner.utils.JavaScalaConversionUtil;
 import org.apache.flink.table.planner.utils.StreamTableTestUtil;
 import org.apache.flink.table.planner.utils.TableTestBase;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
 /** Plan tests for JDBC connector, for example, testing projection push down. */
 public class JdbcTablePlanTest extends TableTestBase {
 
@@ -58,4 +65,53 @@ public class JdbcTablePlanTest extends TableTestBase {
     public void testLimitPushDown() {
         util.verifyExecPlan("SELECT id, time_col FROM jdbc LIMIT 3");
     }
+
+    @Test
+    public void testKeyPartitionedLookupJoin() {
+        createKeyPartitionedLookupJoinTables("I");
+        verifyLookupJoin();
+    }
+
+    @Test
+    public void testKeyPartitionedLookupJoinOnUpdatingInput() {
+        createKeyPartitionedLookupJoinTables("I,UA,UB,D");
+        assertThatThrownBy(this::verifyLookupJoin)
+                .isInstanceOf(TableException.class)
+                .hasMessageContaining("requires an insert-only input");
+    }
+
+    private void verifyLookupJoin() {
+        util.verifyExplain(
+                "SELECT p.id, j.decimal_col FROM probe AS p "
+                        + "JOIN jdbc_lookup FOR SYSTEM_TIME AS OF p.proctime AS j ON p.id = j.id",
+                JavaScalaConversionUtil.toScala(
+                        Collections.singletonList(ExplainDetail.JSON_EXECUTION_PLAN)));
+    }
+
+    private void createKeyPartitionedLookupJoinTables(String changelogMode) {
+        util.tableEnv()
+                .executeSql(
+                        "CREATE TABLE probe ("
+                                + "id BIGINT,"
+                                + "name STRING,"
+                                + "proctime AS PROCTIME()"
+                                + ") WITH ("
+                                + "  'connector'='values',"
+                                + "  'changelog-mode'='"
+                                + changelogMode
+                                + "'"
+                                + ")");
+        util.tableEnv()
+                .executeSql(
+                        "CREATE TABLE jdbc_lookup ("
+                                + "id BIGINT,"
+                                + "decimal_col DECIMAL(10, 4)"
+                                + ") WITH ("
+                                + "  'connector'='jdbc',"
+                                + "  'url'='jdbc:derby:memory:test',"
+                                + "  'table-name'='test_table',"
+                                + "  'lookup.cache.all'='true',"
+                                + "  'lookup.cache.all.key-partitioned'='true'"
+                                + ")");
+    }
 }
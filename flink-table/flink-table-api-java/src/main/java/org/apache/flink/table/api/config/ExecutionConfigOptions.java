@@ -323,6 +323,16 @@ public class ExecutionConfigOptions {
                     .withDescription(
                             "The async timeout for the asynchronous operation to complete.");
 
+    @Documentation.TableOption(execMode = Documentation.ExecMode.BATCH_STREAMING)
+    public static final ConfigOption<AsyncOutputMode> TABLE_EXEC_ASYNC_LOOKUP_OUTPUT_MODE =
+            key("table.exec.async-lookup.output-mode")
+                    .enumType(AsyncOutputMode.class)
+                    .defaultValue(AsyncOutputMode.ORDERED)
+                    .withDescription(
+                            "Output mode for asynchronous operations which will convert to {@see AsyncDataStream.OutputMode}, "
+                                    + "ORDERED by default. If set to ALLOW_UNORDERED, will attempt to use {@see AsyncDataStream.OutputMode.UNORDERED} "
+                                    + "when it does not affect the correctness of the result, otherwise ORDERED will be still used.");
+
     // ------------------------------------------------------------------------
     //  MiniBatch Options
     // ------------------------------------------------------------------------
@@ -436,6 +446,19 @@ public class ExecutionConfigOptions {
                                     + "to reduce state access. Cache size is the number of records "
                                     + "in each ranking task.");
 
+    @Documentation.TableOption(execMode = Documentation.ExecMode.STREAMING)
+    public static final ConfigOption<MemorySize> TABLE_EXEC_RANK_TOPN_CACHE_MEMORY =
+            key("table.exec.rank.topn-cache-memory")
+                    .memoryType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "Rank operators over insert-only input can bound their cache by "
+                                    + "memory instead of by 'table.exec.rank.topn-cache-size'. If "
+                                    + "set, the cache holds the partitions which fit into the given "
+                                    + "memory size, estimated from the size of their binary records, "
+                                    + "and the records of a partition are kept in sorted arrays "
+                                    + "instead of a tree.");
+
     @Documentation.TableOption(execMode = Documentation.ExecMode.BATCH_STREAMING)
     public static final ConfigOption<Boolean> TABLE_EXEC_SIMPLIFY_OPERATOR_NAME_ENABLED =
             key("table.exec.simplify-operator-name-enabled")
@@ -478,6 +501,35 @@ public class ExecutionConfigOptions {
                                             + "all changes to downstream just like when the mini-batch is "
                                             + "not enabled.");
 
+    @Documentation.TableOption(execMode = Documentation.ExecMode.STREAMING)
+    public static final ConfigOption<Boolean> TABLE_EXEC_JOIN_MINIBATCH_ENABLED =
+            key("table.exec.join.mini-batch-enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Set whether regular joins buffer their input in mini-batches when "
+                                    + "'table.exec.mini-batch.enabled' is true. If true, changes of the "
+                                    + "same record within a mini-batch are folded before they are "
+                                    + "joined, and the records of a join key are joined together, "
+                                    + "which reduces the accesses to the join state. The mini-batch is "
+                                    + "finished when 'table.exec.mini-batch.size' records are buffered "
+                                    + "or on the next mini-batch watermark.");
+
+    @Documentation.TableOption(execMode = Documentation.ExecMode.STREAMING)
+    public static final ConfigOption<MemorySize> TABLE_EXEC_JOIN_STATE_CACHE_SIZE =
+            key("table.exec.join.state-cache-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.ZERO)
+                    .withDescription(
+                            "The memory size per input side of a regular join for caching the "
+                                    + "records of the most recently accessed join keys in front of "
+                                    + "the join state, estimated from the size of their binary "
+                                    + "records. Modified records are written back to the state when "
+                                    + "a join key is evicted from the cache or a checkpoint is taken, "
+                                    + "which saves the state accesses of frequently joined keys. The "
+                                    + "records of an input side whose join key contains its unique "
+                                    + "key are not cached. 0 disables the cache.");
+
     /** @deprecated Use {@link #TABLE_EXEC_UID_GENERATION} instead. */
     @Documentation.TableOption(execMode = Documentation.ExecMode.STREAMING)
     @Deprecated
@@ -528,6 +580,21 @@ public class ExecutionConfigOptions {
     // Enum option types
     // ------------------------------------------------------------------------------------------
 
+    /** Output mode for asynchronous operations, equivalent to {@see AsyncDataStream.OutputMode}. */
+    @PublicEvolving
+    public enum AsyncOutputMode {
+
+        /** Ordered output mode, equivalent to {@see AsyncDataStream.OutputMode.ORDERED}. */
+        ORDERED,
+
+        /**
+         * Allow unordered output mode, will attempt to use {@see
+         * AsyncDataStream.OutputMode.UNORDERED} when it does not affect the correctness of the
+         * result, otherwise ORDERED will be still used.
+         */
+        ALLOW_UNORDERED
+    }
+
     /** The enforcer to guarantee NOT NULL column constraint when writing data into sink. */
     @PublicEvolving
     public enum NotNullEnforcer implements DescribedEnum {
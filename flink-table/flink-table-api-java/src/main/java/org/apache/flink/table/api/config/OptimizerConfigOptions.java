@@ -132,4 +132,16 @@ public class OptimizerConfigOptions {
                     .withDescription(
                             "When it is true, the optimizer will merge the operators with pipelined shuffling "
                                     + "into a multiple input operator to reduce shuffling and improve performance. Default value is true.");
+
+    @Documentation.TableOption(execMode = Documentation.ExecMode.STREAMING)
+    public static final ConfigOption<Boolean> TABLE_OPTIMIZER_RANK_TWO_PHASE_ENABLED =
+            key("table.optimizer.rank.two-phase-enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "When it is true and mini-batch is enabled, the optimizer splits a TopN on "
+                                    + "append-only input into a local TopN before the shuffle and a global TopN "
+                                    + "after it. The local TopN only forwards the top N records of every "
+                                    + "partition key in a mini-batch, which relieves the subtasks of hot "
+                                    + "partition keys. Default is false.");
 }
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.connector.source.abilities;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.api.common.functions.Partitioner;
+import org.apache.flink.table.connector.source.LookupTableSource;
+import org.apache.flink.table.data.RowData;
+
+import java.util.Optional;
+
+/**
+ * Enables to partition the input of a lookup join on the lookup keys of a {@link
+ * LookupTableSource}.
+ *
+ * <p>A source whose lookup function holds the data of the table locally, e.g. a source that caches
+ * the whole table, can use this interface to let each parallel instance only hold a shard of the
+ * table. The planner partitions the probe side with the returned {@link Partitioner} before the
+ * lookup join, so the lookup function of subtask {@code i} only receives keys for which the
+ * partitioner returns {@code i} given the parallelism of the lookup join.
+ *
+ * <p>The partitioner is called with a row that contains the lookup keys in the order of {@link
+ * LookupTableSource.LookupContext#getKeys()}. Lookup keys that are constants in the join condition
+ * cannot be partitioned on, the planner fails the translation in this case. The same holds for an
+ * input with updates or deletes, because the changes of a row could be sent to different parallel
+ * instances and lose their order.
+ */
+@PublicEvolving
+public interface SupportsLookupKeyPartitioning {
+
+    /**
+     * Returns the partitioner for the lookup keys, or {@link Optional#empty()} if the input of the
+     * lookup join does not need to be partitioned.
+     *
+     * @param context the same context as passed to {@link
+     *     LookupTableSource#getLookupRuntimeProvider(LookupTableSource.LookupContext)}
+     */
+    Optional<Partitioner<RowData>> getLookupKeyPartitioner(LookupTableSource.LookupContext context);
+}
@@ -32,7 +32,8 @@ import java.util.Set;
  * A {@link FunctionContext} allows to obtain global runtime information about the context in which
  * the user-defined function is executed.
  *
- * <p>The information includes the metric group, distributed cache files, and global job parameters.
+ * <p>The information includes the metric group, the index of the parallel subtask, distributed
+ * cache files, and global job parameters.
  */
 @PublicEvolving
 public class FunctionContext {
@@ -57,6 +58,25 @@ public class FunctionContext {
         return context.getMetricGroup();
     }
 
+    /**
+     * Gets the number of this parallel subtask. The numbering starts from 0 and goes up to
+     * parallelism-1.
+     *
+     * @return index of this parallel subtask.
+     */
+    public int getIndexOfThisSubtask() {
+        return context.getIndexOfThisSubtask();
+    }
+
+    /**
+     * Gets the parallelism with which the function is executed.
+     *
+     * @return parallelism of the function.
+     */
+    public int getNumberOfParallelSubtasks() {
+        return context.getNumberOfParallelSubtasks();
+    }
+
     /**
      * Gets the local temporary file copy of a distributed cache files.
      *
@@ -19,6 +19,7 @@
 package org.apache.flink.table.planner.plan.nodes.exec.common;
 
 import org.apache.flink.api.common.functions.FlatMapFunction;
+import org.apache.flink.api.common.functions.Partitioner;
 import org.apache.flink.api.common.typeinfo.TypeInformation;
 import org.apache.flink.api.dag.Transformation;
 import org.apache.flink.api.java.typeutils.RowTypeInfo;
@@ -30,6 +31,8 @@ import org.apache.flink.streaming.api.operators.ProcessOperator;
 import org.apache.flink.streaming.api.operators.SimpleOperatorFactory;
 import org.apache.flink.streaming.api.operators.StreamOperatorFactory;
 import org.apache.flink.streaming.api.operators.async.AsyncWaitOperatorFactory;
+import org.apache.flink.streaming.api.transformations.PartitionTransformation;
+import org.apache.flink.streaming.runtime.partitioner.CustomPartitionerWrapper;
 import org.apache.flink.table.api.TableException;
 import org.apache.flink.table.api.config.ExecutionConfigOptions;
 import org.apache.flink.table.catalog.DataTypeFactory;
@@ -56,6 +59,7 @@ import org.apache.flink.table.planner.plan.nodes.exec.spec.TemporalTableSourceSp
 import org.apache.flink.table.planner.plan.nodes.exec.utils.ExecNodeUtil;
 import org.apache.flink.table.planner.plan.schema.LegacyTableSourceTable;
 import org.apache.flink.table.planner.plan.schema.TableSourceTable;
+import org.apache.flink.table.planner.plan.utils.KeySelectorUtil;
 import org.apache.flink.table.planner.plan.utils.LookupJoinUtil;
 import org.apache.flink.table.planner.utils.JavaScalaConversionUtil;
 import org.apache.flink.table.planner.utils.ShortcutUtils;
@@ -64,6 +68,7 @@ import org.apache.flink.table.runtime.collector.TableFunctionResultFuture;
 import org.apache.flink.table.runtime.generated.GeneratedCollector;
 import org.apache.flink.table.runtime.generated.GeneratedFunction;
 import org.apache.flink.table.runtime.generated.GeneratedResultFuture;
+import org.apache.flink.table.runtime.keyselector.RowDataKeySelector;
 import org.apache.flink.table.runtime.operators.join.FlinkJoinType;
 import org.apache.flink.table.runtime.operators.join.lookup.AsyncLookupJoinRunner;
 import org.apache.flink.table.runtime.operators.join.lookup.AsyncLookupJoinWithCalcRunner;
@@ -139,6 +144,8 @@ public abstract class CommonExecLookupJoin extends ExecNodeBase<RowData>
 
     public static final String LOOKUP_JOIN_TRANSFORMATION = "lookup-join";
 
+    public static final String LOOKUP_KEY_PARTITION_TRANSFORMATION = "lookup-key-partition";
+
     public static final String FIELD_NAME_JOIN_TYPE = "joinType";
     public static final String FIELD_NAME_JOIN_CONDITION = "joinCondition";
     public static final String FIELD_NAME_TEMPORAL_TABLE = "temporalTable";
@@ -146,6 +153,7 @@ public abstract class CommonExecLookupJoin extends ExecNodeBase<RowData>
     public static final String FIELD_NAME_PROJECTION_ON_TEMPORAL_TABLE =
             "projectionOnTemporalTable";
     public static final String FIELD_NAME_FILTER_ON_TEMPORAL_TABLE = "filterOnTemporalTable";
+    public static final String FIELD_NAME_INPUT_INSERT_ONLY = "inputInsertOnly";
 
     @JsonProperty(FIELD_NAME_JOIN_TYPE)
     private final FlinkJoinType joinType;
@@ -170,6 +178,14 @@ public abstract class CommonExecLookupJoin extends ExecNodeBase<RowData>
     @JsonProperty(FIELD_NAME_JOIN_CONDITION)
     private final @Nullable RexNode joinCondition;
 
+    /**
+     * whether the input only contains inserts, the async output may only be unordered and the
+     * input may only be partitioned on the lookup keys then. It is false for plans that were
+     * compiled before the flag was added.
+     */
+    @JsonProperty(FIELD_NAME_INPUT_INSERT_ONLY)
+    private final boolean inputInsertOnly;
+
     private final boolean existCalcOnTemporalTable;
 
     private final @Nullable RelDataType temporalTableOutputType;
@@ -185,6 +201,7 @@ public abstract class CommonExecLookupJoin extends ExecNodeBase<RowData>
             Map<Integer, LookupJoinUtil.LookupKey> lookupKeys,
             @Nullable List<RexNode> projectionOnTemporalTable,
             @Nullable RexNode filterOnTemporalTable,
+            boolean inputInsertOnly,
             List<InputProperty> inputProperties,
             RowType outputType,
             String description) {
@@ -196,6 +213,7 @@ public abstract class CommonExecLookupJoin extends ExecNodeBase<RowData>
         this.temporalTableSourceSpec = checkNotNull(temporalTableSourceSpec);
         this.projectionOnTemporalTable = projectionOnTemporalTable;
         this.filterOnTemporalTable = filterOnTemporalTable;
+        this.inputInsertOnly = inputInsertOnly;
         if (null != projectionOnTemporalTable) {
             this.existCalcOnTemporalTable = true;
             this.temporalTableOutputType =
@@ -211,6 +229,10 @@ public abstract class CommonExecLookupJoin extends ExecNodeBase<RowData>
         return temporalTableSourceSpec;
     }
 
+    public boolean isInputInsertOnly() {
+        return inputInsertOnly;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public Transformation<RowData> translateToPlanInternal(
@@ -265,6 +287,25 @@ public abstract class CommonExecLookupJoin extends ExecNodeBase<RowData>
 
         Transformation<RowData> inputTransformation =
                 (Transformation<RowData>) inputEdge.translateToPlan(planner);
+        Optional<Partitioner<RowData>> lookupKeyPartitioner =
+                LookupJoinUtil.getLookupKeyPartitioner(temporalTable, lookupKeys.keySet());
+        if (lookupKeyPartitioner.isPresent()) {
+            if (!inputInsertOnly) {
+                // the retraction and the update of a row may have different lookup keys, they
+                // would be sent to different subtasks and could be emitted in the wrong order
+                throw new TableException(
+                        "Temporal table join on a table partitioned by the lookup keys requires "
+                                + "an insert-only input, but the input contains updates or "
+                                + "deletes.");
+            }
+            inputTransformation =
+                    createLookupKeyPartitioning(
+                            inputTransformation,
+                            config,
+                            lookupKeys,
+                            lookupKeyPartitioner.get(),
+                            inputRowType);
+        }
         return ExecNodeUtil.createOneInputTransformation(
                 inputTransformation,
                 createTransformationMeta(LOOKUP_JOIN_TRANSFORMATION, config),
@@ -273,6 +314,40 @@ public abstract class CommonExecLookupJoin extends ExecNodeBase<RowData>
                 inputTransformation.getParallelism());
     }
 
+    /**
+     * Partitions the input on the lookup keys with the partitioner of the temporal table, so each
+     * parallel lookup function only receives the keys of its own shard of the table.
+     */
+    private Transformation<RowData> createLookupKeyPartitioning(
+            Transformation<RowData> inputTransformation,
+            ExecNodeConfig config,
+            Map<Integer, LookupJoinUtil.LookupKey> allLookupKeys,
+            Partitioner<RowData> partitioner,
+            RowType inputRowType) {
+        int[] orderedLookupKeys = LookupJoinUtil.getOrderedLookupKeys(allLookupKeys.keySet());
+        int[] inputKeys = new int[orderedLookupKeys.length];
+        for (int i = 0; i < orderedLookupKeys.length; i++) {
+            LookupJoinUtil.LookupKey lookupKey = allLookupKeys.get(orderedLookupKeys[i]);
+            if (!(lookupKey instanceof LookupJoinUtil.FieldRefLookupKey)) {
+                throw new TableException(
+                        "Temporal table join on a table partitioned by the lookup keys requires "
+                                + "all lookup keys to be fields of the input, but a constant "
+                                + "lookup key is found.");
+            }
+            inputKeys[i] = ((LookupJoinUtil.FieldRefLookupKey) lookupKey).index;
+        }
+        RowDataKeySelector keySelector =
+                KeySelectorUtil.getRowDataSelector(inputKeys, InternalTypeInfo.of(inputRowType));
+        Transformation<RowData> transformation =
+                new PartitionTransformation<>(
+                        inputTransformation,
+                        new CustomPartitionerWrapper<>(partitioner, keySelector));
+        createTransformationMeta(LOOKUP_KEY_PARTITION_TRANSFORMATION, config).fill(transformation);
+        transformation.setParallelism(inputTransformation.getParallelism());
+        transformation.setOutputType(InternalTypeInfo.of(inputRowType));
+        return transformation;
+    }
+
     protected void validateLookupKeyType(
             final Map<Integer, LookupJoinUtil.LookupKey> lookupKeys,
             final RowType inputRowType,
@@ -386,10 +461,17 @@ public abstract class CommonExecLookupJoin extends ExecNodeBase<RowData>
                             asyncBufferCapacity);
         }
 
-        // force ORDERED output mode currently, optimize it to UNORDERED
-        // when the downstream do not need orderness
+        // the output may only be reordered if the input has no updates whose order matters
+        AsyncDataStream.OutputMode outputMode =
+                inputInsertOnly
+                                && config.get(
+                                                ExecutionConfigOptions
+                                                        .TABLE_EXEC_ASYNC_LOOKUP_OUTPUT_MODE)
+                                        == ExecutionConfigOptions.AsyncOutputMode.ALLOW_UNORDERED
+                        ? AsyncDataStream.OutputMode.UNORDERED
+                        : AsyncDataStream.OutputMode.ORDERED;
         return new AsyncWaitOperatorFactory<>(
-                asyncFunc, asyncTimeout, asyncBufferCapacity, AsyncDataStream.OutputMode.ORDERED);
+                asyncFunc, asyncTimeout, asyncBufferCapacity, outputMode);
     }
 
     private StreamOperatorFactory<RowData> createSyncLookupJoin(
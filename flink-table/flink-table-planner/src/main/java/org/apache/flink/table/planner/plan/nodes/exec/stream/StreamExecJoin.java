@@ -23,6 +23,7 @@ import org.apache.flink.FlinkVersion;
 import org.apache.flink.api.dag.Transformation;
 import org.apache.flink.configuration.ReadableConfig;
 import org.apache.flink.streaming.api.transformations.TwoInputTransformation;
+import org.apache.flink.table.api.config.ExecutionConfigOptions;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.planner.delegation.PlannerBase;
 import org.apache.flink.table.planner.plan.nodes.exec.ExecEdge;
@@ -38,8 +39,10 @@ import org.apache.flink.table.planner.plan.utils.JoinUtil;
 import org.apache.flink.table.planner.plan.utils.KeySelectorUtil;
 import org.apache.flink.table.runtime.generated.GeneratedJoinCondition;
 import org.apache.flink.table.runtime.keyselector.RowDataKeySelector;
+import org.apache.flink.table.runtime.operators.bundle.trigger.CountCoBundleTrigger;
 import org.apache.flink.table.runtime.operators.join.FlinkJoinType;
 import org.apache.flink.table.runtime.operators.join.stream.AbstractStreamingJoinOperator;
+import org.apache.flink.table.runtime.operators.join.stream.MiniBatchStreamingJoinOperator;
 import org.apache.flink.table.runtime.operators.join.stream.StreamingJoinOperator;
 import org.apache.flink.table.runtime.operators.join.stream.StreamingSemiAntiJoinOperator;
 import org.apache.flink.table.runtime.operators.join.stream.state.JoinInputSideSpec;
@@ -156,6 +159,8 @@ public class StreamExecJoin extends ExecNodeBase<RowData>
                         config.getTableConfig(), joinSpec, leftType, rightType);
 
         long minRetentionTime = config.getStateRetentionTime();
+        long stateCacheSize =
+                config.get(ExecutionConfigOptions.TABLE_EXEC_JOIN_STATE_CACHE_SIZE).getBytes();
 
         AbstractStreamingJoinOperator operator;
         FlinkJoinType joinType = joinSpec.getJoinType();
@@ -169,22 +174,46 @@ public class StreamExecJoin extends ExecNodeBase<RowData>
                             leftInputSpec,
                             rightInputSpec,
                             joinSpec.getFilterNulls(),
-                            minRetentionTime);
+                            minRetentionTime,
+                            stateCacheSize);
         } else {
             boolean leftIsOuter = joinType == FlinkJoinType.LEFT || joinType == FlinkJoinType.FULL;
             boolean rightIsOuter =
                     joinType == FlinkJoinType.RIGHT || joinType == FlinkJoinType.FULL;
-            operator =
-                    new StreamingJoinOperator(
-                            leftTypeInfo,
-                            rightTypeInfo,
-                            generatedCondition,
-                            leftInputSpec,
-                            rightInputSpec,
-                            leftIsOuter,
-                            rightIsOuter,
-                            joinSpec.getFilterNulls(),
-                            minRetentionTime);
+            if (config.get(ExecutionConfigOptions.TABLE_EXEC_MINIBATCH_ENABLED)
+                    && config.get(ExecutionConfigOptions.TABLE_EXEC_JOIN_MINIBATCH_ENABLED)) {
+                long miniBatchSize = config.get(ExecutionConfigOptions.TABLE_EXEC_MINIBATCH_SIZE);
+                checkArgument(
+                        miniBatchSize > 0,
+                        ExecutionConfigOptions.TABLE_EXEC_MINIBATCH_SIZE.key()
+                                + " should be greater than 0.");
+                operator =
+                        new MiniBatchStreamingJoinOperator(
+                                leftTypeInfo,
+                                rightTypeInfo,
+                                generatedCondition,
+                                leftInputSpec,
+                                rightInputSpec,
+                                leftIsOuter,
+                                rightIsOuter,
+                                joinSpec.getFilterNulls(),
+                                minRetentionTime,
+                                stateCacheSize,
+                                new CountCoBundleTrigger<>(miniBatchSize));
+            } else {
+                operator =
+                        new StreamingJoinOperator(
+                                leftTypeInfo,
+                                rightTypeInfo,
+                                generatedCondition,
+                                leftInputSpec,
+                                rightInputSpec,
+                                leftIsOuter,
+                                rightIsOuter,
+                                joinSpec.getFilterNulls(),
+                                minRetentionTime,
+                                stateCacheSize);
+            }
         }
 
         final RowType returnType = (RowType) getOutputType();
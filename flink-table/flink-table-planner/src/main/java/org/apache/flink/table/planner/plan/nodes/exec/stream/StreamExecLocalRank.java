@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.planner.plan.nodes.exec.stream;
+
+import org.apache.flink.FlinkVersion;
+import org.apache.flink.api.dag.Transformation;
+import org.apache.flink.configuration.ReadableConfig;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.planner.codegen.sort.ComparatorCodeGenerator;
+import org.apache.flink.table.planner.delegation.PlannerBase;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecEdge;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecNode;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecNodeBase;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecNodeConfig;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecNodeContext;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecNodeMetadata;
+import org.apache.flink.table.planner.plan.nodes.exec.InputProperty;
+import org.apache.flink.table.planner.plan.nodes.exec.SingleTransformationTranslator;
+import org.apache.flink.table.planner.plan.nodes.exec.spec.PartitionSpec;
+import org.apache.flink.table.planner.plan.nodes.exec.spec.SortSpec;
+import org.apache.flink.table.planner.plan.nodes.exec.utils.ExecNodeUtil;
+import org.apache.flink.table.planner.plan.utils.AggregateUtil;
+import org.apache.flink.table.planner.plan.utils.KeySelectorUtil;
+import org.apache.flink.table.runtime.generated.GeneratedRecordComparator;
+import org.apache.flink.table.runtime.keyselector.RowDataKeySelector;
+import org.apache.flink.table.runtime.operators.bundle.MapBundleOperator;
+import org.apache.flink.table.runtime.operators.rank.ConstantRankRange;
+import org.apache.flink.table.runtime.operators.rank.MiniBatchLocalTopNFunction;
+import org.apache.flink.table.runtime.operators.rank.RankRange;
+import org.apache.flink.table.runtime.operators.rank.TopNBuffer;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.types.logical.RowType;
+
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonCreator;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Stream {@link ExecNode} for the local TopN of a two-phase TopN. It forwards the top N input
+ * records of every partition key in a mini-batch, the records have the same type as the input.
+ */
+@ExecNodeMetadata(
+        name = "stream-exec-local-rank",
+        version = 1,
+        consumedOptions = {
+            "table.exec.mini-batch.enabled",
+            "table.exec.mini-batch.size",
+        },
+        producedTransformations = StreamExecLocalRank.LOCAL_RANK_TRANSFORMATION,
+        minPlanVersion = FlinkVersion.v1_15,
+        minStateVersion = FlinkVersion.v1_15)
+public class StreamExecLocalRank extends ExecNodeBase<RowData>
+        implements StreamExecNode<RowData>, SingleTransformationTranslator<RowData> {
+
+    public static final String LOCAL_RANK_TRANSFORMATION = "local-rank";
+
+    @JsonProperty(StreamExecRank.FIELD_NAME_PARTITION_SPEC)
+    private final PartitionSpec partitionSpec;
+
+    @JsonProperty(StreamExecRank.FIELD_NAME_SORT_SPEC)
+    private final SortSpec sortSpec;
+
+    @JsonProperty(StreamExecRank.FIELD_NAME_RANK_RANG)
+    private final RankRange rankRange;
+
+    public StreamExecLocalRank(
+            ReadableConfig tableConfig,
+            PartitionSpec partitionSpec,
+            SortSpec sortSpec,
+            RankRange rankRange,
+            InputProperty inputProperty,
+            RowType outputType,
+            String description) {
+        this(
+                ExecNodeContext.newNodeId(),
+                ExecNodeContext.newContext(StreamExecLocalRank.class),
+                ExecNodeContext.newPersistedConfig(StreamExecLocalRank.class, tableConfig),
+                partitionSpec,
+                sortSpec,
+                rankRange,
+                Collections.singletonList(inputProperty),
+                outputType,
+                description);
+    }
+
+    @JsonCreator
+    public StreamExecLocalRank(
+            @JsonProperty(FIELD_NAME_ID) int id,
+            @JsonProperty(FIELD_NAME_TYPE) ExecNodeContext context,
+            @JsonProperty(FIELD_NAME_CONFIGURATION) ReadableConfig persistedConfig,
+            @JsonProperty(StreamExecRank.FIELD_NAME_PARTITION_SPEC) PartitionSpec partitionSpec,
+            @JsonProperty(StreamExecRank.FIELD_NAME_SORT_SPEC) SortSpec sortSpec,
+            @JsonProperty(StreamExecRank.FIELD_NAME_RANK_RANG) RankRange rankRange,
+            @JsonProperty(FIELD_NAME_INPUT_PROPERTIES) List<InputProperty> inputProperties,
+            @JsonProperty(FIELD_NAME_OUTPUT_TYPE) RowType outputType,
+            @JsonProperty(FIELD_NAME_DESCRIPTION) String description) {
+        super(id, context, persistedConfig, inputProperties, outputType, description);
+        checkArgument(inputProperties.size() == 1);
+        this.partitionSpec = checkNotNull(partitionSpec);
+        this.sortSpec = checkNotNull(sortSpec);
+        checkArgument(
+                rankRange instanceof ConstantRankRange,
+                "The local rank only supports constant rank ranges.");
+        this.rankRange = rankRange;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected Transformation<RowData> translateToPlanInternal(
+            PlannerBase planner, ExecNodeConfig config) {
+        final ExecEdge inputEdge = getInputEdges().get(0);
+        final Transformation<RowData> inputTransform =
+                (Transformation<RowData>) inputEdge.translateToPlan(planner);
+        final RowType inputType = (RowType) inputEdge.getOutputType();
+        final InternalTypeInfo<RowData> inputRowTypeInfo = InternalTypeInfo.of(inputType);
+
+        final int[] sortFields = sortSpec.getFieldIndices();
+        final RowDataKeySelector sortKeySelector =
+                KeySelectorUtil.getRowDataSelector(sortFields, inputRowTypeInfo);
+        // create a sort spec on sort keys.
+        final SortSpec.SortSpecBuilder builder = SortSpec.builder();
+        IntStream.range(0, sortFields.length)
+                .forEach(
+                        idx ->
+                                builder.addField(
+                                        idx,
+                                        sortSpec.getFieldSpec(idx).getIsAscendingOrder(),
+                                        sortSpec.getFieldSpec(idx).getNullIsLast()));
+        final GeneratedRecordComparator sortKeyComparator =
+                ComparatorCodeGenerator.gen(
+                        config.getTableConfig(),
+                        "StreamExecLocalSortComparator",
+                        RowType.of(sortSpec.getFieldTypes(inputType)),
+                        builder.build());
+
+        final MiniBatchLocalTopNFunction topNFunction =
+                new MiniBatchLocalTopNFunction(
+                        inputType,
+                        sortKeyComparator,
+                        sortKeySelector,
+                        ((ConstantRankRange) rankRange).getRankEnd());
+        final RowDataKeySelector partitionKeySelector =
+                KeySelectorUtil.getRowDataSelector(
+                        partitionSpec.getFieldIndices(), inputRowTypeInfo);
+        final MapBundleOperator<RowData, TopNBuffer, RowData, RowData> operator =
+                new MapBundleOperator<>(
+                        topNFunction,
+                        AggregateUtil.createMiniBatchTrigger(config),
+                        partitionKeySelector);
+
+        return ExecNodeUtil.createOneInputTransformation(
+                inputTransform,
+                createTransformationMeta(LOCAL_RANK_TRANSFORMATION, config),
+                operator,
+                InternalTypeInfo.of(getOutputType()),
+                inputTransform.getParallelism());
+    }
+}
@@ -50,6 +50,7 @@ import org.apache.flink.table.planner.plan.nodes.exec.stream.StreamExecLegacySin
 import org.apache.flink.table.planner.plan.nodes.exec.stream.StreamExecLegacyTableSourceScan;
 import org.apache.flink.table.planner.plan.nodes.exec.stream.StreamExecLimit;
 import org.apache.flink.table.planner.plan.nodes.exec.stream.StreamExecLocalGroupAggregate;
+import org.apache.flink.table.planner.plan.nodes.exec.stream.StreamExecLocalRank;
 import org.apache.flink.table.planner.plan.nodes.exec.stream.StreamExecLocalWindowAggregate;
 import org.apache.flink.table.planner.plan.nodes.exec.stream.StreamExecLookupJoin;
 import org.apache.flink.table.planner.plan.nodes.exec.stream.StreamExecMatch;
@@ -119,6 +120,7 @@ public final class ExecNodeMetadataUtil {
                     add(StreamExecJoin.class);
                     add(StreamExecLimit.class);
                     add(StreamExecLocalGroupAggregate.class);
+                    add(StreamExecLocalRank.class);
                     add(StreamExecLocalWindowAggregate.class);
                     add(StreamExecLookupJoin.class);
                     add(StreamExecMatch.class);
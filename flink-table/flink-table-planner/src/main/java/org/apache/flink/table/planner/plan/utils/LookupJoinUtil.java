@@ -19,10 +19,14 @@
 package org.apache.flink.table.planner.plan.utils;
 
 import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.functions.Partitioner;
 import org.apache.flink.table.api.TableException;
 import org.apache.flink.table.connector.source.AsyncTableFunctionProvider;
+import org.apache.flink.table.connector.source.DynamicTableSource;
 import org.apache.flink.table.connector.source.LookupTableSource;
 import org.apache.flink.table.connector.source.TableFunctionProvider;
+import org.apache.flink.table.connector.source.abilities.SupportsLookupKeyPartitioning;
+import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.functions.UserDefinedFunction;
 import org.apache.flink.table.planner.plan.schema.LegacyTableSourceTable;
 import org.apache.flink.table.planner.plan.schema.TableSourceTable;
@@ -44,6 +48,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.IntStream;
 
 /** Utilities for lookup joins using {@link LookupTableSource}. */
@@ -145,6 +150,26 @@ public final class LookupJoinUtil {
         return lookupKeyIndicesInOrder.stream().mapToInt(Integer::intValue).toArray();
     }
 
+    /**
+     * Gets the partitioner for the lookup keys if the temporal table requires the input of the
+     * lookup join to be partitioned on the lookup keys.
+     */
+    public static Optional<Partitioner<RowData>> getLookupKeyPartitioner(
+            RelOptTable temporalTable, Collection<Integer> lookupKeys) {
+        if (temporalTable instanceof TableSourceTable) {
+            DynamicTableSource tableSource = ((TableSourceTable) temporalTable).tableSource();
+            if (tableSource instanceof SupportsLookupKeyPartitioning) {
+                int[][] indices =
+                        IntStream.of(getOrderedLookupKeys(lookupKeys))
+                                .mapToObj(i -> new int[] {i})
+                                .toArray(int[][]::new);
+                return ((SupportsLookupKeyPartitioning) tableSource)
+                        .getLookupKeyPartitioner(new LookupRuntimeProviderContext(indices));
+            }
+        }
+        return Optional.empty();
+    }
+
     /** Gets LookupFunction from temporal table according to the given lookup keys. */
     public static UserDefinedFunction getLookupFunction(
             RelOptTable temporalTable, Collection<Integer> lookupKeys) {
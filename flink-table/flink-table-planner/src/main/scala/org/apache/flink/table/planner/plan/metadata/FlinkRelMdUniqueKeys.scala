@@ -634,6 +634,13 @@ class FlinkRelMdUniqueKeys private extends MetadataHandler[BuiltInMetadata.Uniqu
     mq.getUniqueKeys(subset.getInput, ignoreNulls)
   }
 
+  def getUniqueKeys(
+      rel: StreamPhysicalLocalRank,
+      mq: RelMetadataQuery,
+      ignoreNulls: Boolean): JSet[ImmutableBitSet] = {
+    mq.getUniqueKeys(rel.getInput, ignoreNulls)
+  }
+
   // Catch-all rule when none of the others apply.
   def getUniqueKeys(
       rel: RelNode,
@@ -464,6 +464,8 @@ object FlinkStreamRuleSets {
     IncrementalAggregateRule.INSTANCE,
     // optimize window agg rule
     TwoStageOptimizedWindowAggregateRule.INSTANCE,
+    // optimize rank rule
+    TwoStageOptimizedRankRule.INSTANCE,
     // optimize ChangelogNormalize
     PushFilterPastChangelogNormalizeRule.INSTANCE
   )
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.table.planner.plan.rules.physical.stream
+
+import org.apache.flink.table.api.config.{ExecutionConfigOptions, OptimizerConfigOptions}
+import org.apache.flink.table.planner.calcite.{FlinkContext, FlinkTypeFactory}
+import org.apache.flink.table.planner.plan.`trait`.{FlinkRelDistribution, FlinkRelDistributionTraitDef, ModifyKindSetTrait, UpdateKindTrait}
+import org.apache.flink.table.planner.plan.nodes.FlinkConventions
+import org.apache.flink.table.planner.plan.nodes.physical.stream._
+import org.apache.flink.table.planner.plan.rules.physical.FlinkExpandConversionRule._
+import org.apache.flink.table.planner.plan.utils.RankProcessStrategy.AppendFastStrategy
+import org.apache.flink.table.runtime.operators.rank.{ConstantRankRange, RankType}
+
+import org.apache.calcite.plan.{RelOptRule, RelOptRuleCall}
+import org.apache.calcite.plan.RelOptRule.{any, operand}
+import org.apache.calcite.rel.RelNode
+
+import java.util
+import java.util.Collections
+
+import scala.collection.JavaConversions._
+
+/**
+ * Rule that matches [[StreamPhysicalRank]] on [[StreamPhysicalExchange]] with the following
+ * condition:
+ *   1. mini-batch is enabled in given TableConfig, 2. two-phase rank is enabled in given
+ *      TableConfig, 3. the rank is a ROW_NUMBER with a constant rank range on append-only input, 4.
+ *      the rank is not ordered by a processing time attribute, 5. the input of exchange is not a
+ *      local rank and does not satisfy the shuffle distribution,
+ *
+ * and converts them to
+ * {{{
+ *   StreamPhysicalRank
+ *   +- StreamPhysicalExchange
+ *      +- StreamPhysicalLocalRank
+ *         +- input of exchange
+ * }}}
+ */
+class TwoStageOptimizedRankRule
+  extends RelOptRule(
+    operand(
+      classOf[StreamPhysicalRank],
+      operand(classOf[StreamPhysicalExchange], operand(classOf[RelNode], any))),
+    "TwoStageOptimizedRankRule") {
+
+  override def matches(call: RelOptRuleCall): Boolean = {
+    val tableConfig = call.getPlanner.getContext.unwrap(classOf[FlinkContext]).getTableConfig
+    val rank: StreamPhysicalRank = call.rel(0)
+    val realInput: RelNode = call.rel(2)
+
+    val isMiniBatchEnabled = tableConfig.get(ExecutionConfigOptions.TABLE_EXEC_MINIBATCH_ENABLED)
+    val isTwoPhaseEnabled =
+      tableConfig.get(OptimizerConfigOptions.TABLE_OPTIMIZER_RANK_TWO_PHASE_ENABLED)
+    val inputFields = realInput.getRowType.getFieldList
+    val isOrderedByProctime = rank.orderKey.getFieldCollations.exists {
+      collation =>
+        FlinkTypeFactory.isProctimeIndicatorType(inputFields(collation.getFieldIndex).getType)
+    }
+
+    isMiniBatchEnabled && isTwoPhaseEnabled &&
+    rank.rankStrategy.isInstanceOf[AppendFastStrategy] &&
+    rank.rankType == RankType.ROW_NUMBER &&
+    rank.rankRange.isInstanceOf[ConstantRankRange] &&
+    !isOrderedByProctime &&
+    // the global rank of a two-phase rank is also a StreamPhysicalRank
+    !realInput.isInstanceOf[StreamPhysicalLocalRank] &&
+    !isInputSatisfyRequiredDistribution(realInput, rank.partitionKey.toArray)
+  }
+
+  private def isInputSatisfyRequiredDistribution(input: RelNode, keys: Array[Int]): Boolean = {
+    val requiredDistribution = createDistribution(keys)
+    val inputDistribution = input.getTraitSet.getTrait(FlinkRelDistributionTraitDef.INSTANCE)
+    inputDistribution.satisfies(requiredDistribution)
+  }
+
+  override def onMatch(call: RelOptRuleCall): Unit = {
+    val originalRank: StreamPhysicalRank = call.rel(0)
+    val realInput: RelNode = call.rel(2)
+
+    // local rank only forwards a part of its insert only input
+    val localRankTraitSet = realInput.getTraitSet
+      .plus(ModifyKindSetTrait.INSERT_ONLY)
+      .plus(UpdateKindTrait.NONE)
+    val localRank = new StreamPhysicalLocalRank(
+      originalRank.getCluster,
+      localRankTraitSet,
+      realInput,
+      originalRank.partitionKey,
+      originalRank.orderKey,
+      originalRank.rankRange.asInstanceOf[ConstantRankRange])
+
+    // local rank keeps the fields of its input, so the global rank uses the same keys
+    val globalDistribution = createDistribution(originalRank.partitionKey.toArray)
+    // create exchange if needed
+    val newInput =
+      satisfyDistribution(FlinkConventions.STREAM_PHYSICAL, localRank, globalDistribution)
+    val globalRank =
+      originalRank.copy(originalRank.getTraitSet, Collections.singletonList(newInput))
+
+    call.transformTo(globalRank)
+  }
+
+  private def createDistribution(keys: Array[Int]): FlinkRelDistribution = {
+    if (keys.nonEmpty) {
+      val fields = new util.ArrayList[Integer]()
+      keys.foreach(fields.add(_))
+      FlinkRelDistribution.hash(fields)
+    } else {
+      FlinkRelDistribution.SINGLETON
+    }
+  }
+
+}
+
+object TwoStageOptimizedRankRule {
+  val INSTANCE: RelOptRule = new TwoStageOptimizedRankRule
+}
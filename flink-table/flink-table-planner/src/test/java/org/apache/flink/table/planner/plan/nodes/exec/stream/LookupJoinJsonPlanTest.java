@@ -19,10 +19,15 @@
 package org.apache.flink.table.planner.plan.nodes.exec.stream;
 
 import org.apache.flink.api.common.typeinfo.Types;
+import org.apache.flink.table.api.CompiledPlan;
+import org.apache.flink.table.api.PlanReference;
 import org.apache.flink.table.api.TableConfig;
 import org.apache.flink.table.api.TableEnvironment;
 import org.apache.flink.table.api.TableSchema;
 import org.apache.flink.table.api.ValidationException;
+import org.apache.flink.table.api.internal.CompiledPlanUtils;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecEdge;
+import org.apache.flink.table.planner.plan.nodes.exec.ExecNode;
 import org.apache.flink.table.planner.runtime.utils.InMemoryLookupableTableSource;
 import org.apache.flink.table.planner.utils.StreamTableTestUtil;
 import org.apache.flink.table.planner.utils.TableTestBase;
@@ -36,6 +41,7 @@ import java.util.ArrayList;
 import scala.collection.JavaConverters;
 
 import static org.apache.flink.core.testutils.FlinkAssertions.anyCauseMatches;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /** Test json serialization/deserialization for LookupJoin. */
@@ -115,6 +121,67 @@ public class LookupJoinJsonPlanTest extends TableTestBase {
                         + "ON T.a = D.id\n");
     }
 
+    @Test
+    public void testJoinTemporalTableWithUpdatingInput() {
+        String srcTableC =
+                "CREATE TABLE MyChangelogTable (\n"
+                        + "  a int,\n"
+                        + "  b varchar,\n"
+                        + "  proctime as PROCTIME()\n"
+                        + ") with (\n"
+                        + "  'connector' = 'values',\n"
+                        + "  'changelog-mode' = 'I,UA,UB,D',\n"
+                        + "  'bounded' = 'false')";
+        String sinkTableDdl =
+                "CREATE TABLE MySink (\n"
+                        + "  a int,\n"
+                        + "  b varchar,"
+                        + "  id int,"
+                        + "  name varchar"
+                        + ") with (\n"
+                        + "  'connector' = 'values',\n"
+                        + "  'sink-insert-only' = 'false',\n"
+                        + "  'table-sink-class' = 'DEFAULT')";
+        tEnv.executeSql(srcTableC);
+        tEnv.executeSql(sinkTableDdl);
+        util.verifyJsonPlan(
+                "INSERT INTO MySink \n"
+                        + "SELECT T.a, T.b, D.id, D.name \n"
+                        + "FROM MyChangelogTable AS T \n"
+                        + "JOIN LookupTable FOR SYSTEM_TIME AS OF T.proctime AS D \n"
+                        + "ON T.a = D.id\n");
+    }
+
+    @Test
+    public void testLoadPlanWithoutInputInsertOnly() {
+        String sinkTableDdl =
+                "CREATE TABLE MySink (\n"
+                        + "  a int,\n"
+                        + "  b varchar,"
+                        + "  id int"
+                        + ") with (\n"
+                        + "  'connector' = 'values',\n"
+                        + "  'table-sink-class' = 'DEFAULT')";
+        tEnv.executeSql(sinkTableDdl);
+        String jsonPlan =
+                tEnv.compilePlanSql(
+                                "INSERT INTO MySink SELECT T.a, T.b, D.id FROM MyTable AS T "
+                                        + "JOIN LookupTable FOR SYSTEM_TIME AS OF T.proctime AS D "
+                                        + "ON T.a = D.id")
+                        .asJsonString();
+        // a plan compiled before the lookup join serialized the flag
+        String previousJsonPlan =
+                jsonPlan.replaceAll("\"inputInsertOnly\"\\s*:\\s*true\\s*,", "");
+        assertThat(previousJsonPlan).isNotEqualTo(jsonPlan).doesNotContain("inputInsertOnly");
+
+        CompiledPlan plan = tEnv.loadPlan(PlanReference.fromJsonString(previousJsonPlan));
+        StreamExecLookupJoin lookupJoin =
+                findLookupJoin(
+                        CompiledPlanUtils.unwrap(plan).getExecNodeGraph().getRootNodes().get(0));
+        assertThat(lookupJoin.isInputInsertOnly()).isFalse();
+        assertThat(CompiledPlanUtils.toTransformations(tEnv, plan)).hasSize(1);
+    }
+
     @Test
     public void testLegacyTableSourceException() {
         TableSchema tableSchema =
@@ -156,4 +223,17 @@ public class LookupJoinJsonPlanTest extends TableTestBase {
                                 ValidationException.class,
                                 "TemporalTableSourceSpec can not be serialized."));
     }
+
+    private static StreamExecLookupJoin findLookupJoin(ExecNode<?> node) {
+        if (node instanceof StreamExecLookupJoin) {
+            return (StreamExecLookupJoin) node;
+        }
+        for (ExecEdge edge : node.getInputEdges()) {
+            StreamExecLookupJoin lookupJoin = findLookupJoin(edge.getSource());
+            if (lookupJoin != null) {
+                return lookupJoin;
+            }
+        }
+        return null;
+    }
 }
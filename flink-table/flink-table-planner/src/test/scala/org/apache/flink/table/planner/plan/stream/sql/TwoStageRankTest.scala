@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.table.planner.plan.stream.sql
+
+import org.apache.flink.api.scala._
+import org.apache.flink.table.api._
+import org.apache.flink.table.api.config.OptimizerConfigOptions
+import org.apache.flink.table.planner.utils.TableTestBase
+
+import org.junit.{Before, Test}
+
+class TwoStageRankTest extends TableTestBase {
+
+  private val util = streamTestUtil()
+  util.addDataStream[(Int, Long, String)]("MyTable", 'a, 'b, 'c, 'proctime.proctime)
+
+  @Before
+  def before(): Unit = {
+    util.enableMiniBatch()
+    util.tableEnv.getConfig
+      .set(OptimizerConfigOptions.TABLE_OPTIMIZER_RANK_TWO_PHASE_ENABLED, Boolean.box(true))
+  }
+
+  @Test
+  def testTopNWithPartitionBy(): Unit = {
+    val sql =
+      """
+        |SELECT a, b, c FROM (
+        |  SELECT *, ROW_NUMBER() OVER (PARTITION BY a ORDER BY b DESC) AS rn FROM MyTable)
+        |WHERE rn <= 10
+      """.stripMargin
+    util.verifyExecPlan(sql)
+  }
+
+  @Test
+  def testTopNWithoutPartitionBy(): Unit = {
+    val sql =
+      """
+        |SELECT a, b, c, rn FROM (
+        |  SELECT *, ROW_NUMBER() OVER (ORDER BY b DESC) AS rn FROM MyTable)
+        |WHERE rn <= 10
+      """.stripMargin
+    util.verifyExecPlan(sql)
+  }
+
+  @Test
+  def testTopNOnUpdatingInput(): Unit = {
+    val sql =
+      """
+        |SELECT a, s FROM (
+        |  SELECT *, ROW_NUMBER() OVER (PARTITION BY a ORDER BY s DESC) AS rn FROM (
+        |    SELECT a, c, SUM(b) AS s FROM MyTable GROUP BY a, c))
+        |WHERE rn <= 10
+      """.stripMargin
+    util.verifyExecPlan(sql)
+  }
+
+  @Test
+  def testTopNOrderedByProctime(): Unit = {
+    val sql =
+      """
+        |SELECT a, b, c FROM (
+        |  SELECT *, ROW_NUMBER() OVER (PARTITION BY a ORDER BY proctime ASC) AS rn FROM MyTable)
+        |WHERE rn <= 10
+      """.stripMargin
+    util.verifyExecPlan(sql)
+  }
+
+  @Test
+  def testTopNWithTwoPhaseDisabled(): Unit = {
+    util.tableEnv.getConfig
+      .set(OptimizerConfigOptions.TABLE_OPTIMIZER_RANK_TWO_PHASE_ENABLED, Boolean.box(false))
+    val sql =
+      """
+        |SELECT a, b, c FROM (
+        |  SELECT *, ROW_NUMBER() OVER (PARTITION BY a ORDER BY b DESC) AS rn FROM MyTable)
+        |WHERE rn <= 10
+      """.stripMargin
+    util.verifyExecPlan(sql)
+  }
+}
@@ -62,6 +62,9 @@ public abstract class AbstractStreamingJoinOperator extends AbstractStreamOperat
 
     protected final long stateRetentionTime;
 
+    // memory size in bytes per side of the records cached in front of the state, 0 disables it
+    protected final long stateCacheSize;
+
     protected transient JoinConditionWithNullFilters joinCondition;
     protected transient TimestampedCollector<RowData> collector;
 
@@ -72,13 +75,15 @@ public abstract class AbstractStreamingJoinOperator extends AbstractStreamOperat
             JoinInputSideSpec leftInputSideSpec,
             JoinInputSideSpec rightInputSideSpec,
             boolean[] filterNullKeys,
-            long stateRetentionTime) {
+            long stateRetentionTime,
+            long stateCacheSize) {
         this.leftType = leftType;
         this.rightType = rightType;
         this.generatedJoinCondition = generatedJoinCondition;
         this.leftInputSideSpec = leftInputSideSpec;
         this.rightInputSideSpec = rightInputSideSpec;
         this.stateRetentionTime = stateRetentionTime;
+        this.stateCacheSize = stateCacheSize;
         this.filterNullKeys = filterNullKeys;
     }
 
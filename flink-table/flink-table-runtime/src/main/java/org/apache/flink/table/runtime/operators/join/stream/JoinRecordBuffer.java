@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.stream;
+
+import org.apache.flink.api.java.functions.KeySelector;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.util.RowDataUtil;
+import org.apache.flink.table.runtime.operators.join.stream.state.JoinInputSideSpec;
+import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
+import org.apache.flink.types.RowKind;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The {@link JoinRecordBuffer} buffers the records of one input side of a mini-batch join per join
+ * key until the bundle is finished.
+ *
+ * <p>Records of the same join key are grouped by their unique key if the input side has one, or by
+ * their content otherwise. A retract message which follows an accumulate message of the same record
+ * in a group cancels it out, so e.g. a +I/-D or a +U/-U pair of the same record never reaches the
+ * join state.
+ */
+public final class JoinRecordBuffer {
+
+    private final RowDataSerializer serializer;
+    @Nullable private final KeySelector<RowData, RowData> uniqueKeySelector;
+
+    /** Join key -> record group key -> folded records of the group, in arrival order. */
+    private final Map<RowData, Map<RowData, List<BufferedRecord>>> bundle = new LinkedHashMap<>();
+
+    public JoinRecordBuffer(JoinInputSideSpec inputSideSpec, RowDataSerializer serializer) {
+        this.serializer = serializer;
+        this.uniqueKeySelector = inputSideSpec.getUniqueKeySelector();
+    }
+
+    /**
+     * Adds a record of the given join key to the buffer. The record is copied, so the caller may
+     * reuse it.
+     */
+    public void addRecord(RowData joinKey, RowData record) throws Exception {
+        boolean isAccumulateMsg = RowDataUtil.isAccumulateMsg(record);
+        RowKind rowKind = record.getRowKind();
+        RowData copy = serializer.copy(record);
+        // erase RowKind, so that an accumulate and a retract message of a record are equal
+        copy.setRowKind(RowKind.INSERT);
+
+        RowData groupKey = uniqueKeySelector == null ? copy : uniqueKeySelector.getKey(copy);
+        Map<RowData, List<BufferedRecord>> groups =
+                bundle.computeIfAbsent(joinKey, k -> new LinkedHashMap<>());
+        List<BufferedRecord> group = groups.computeIfAbsent(groupKey, k -> new ArrayList<>());
+        if (!isAccumulateMsg && !group.isEmpty()) {
+            BufferedRecord last = group.get(group.size() - 1);
+            if (last.isAccumulateMsg() && last.record.equals(copy)) {
+                group.remove(group.size() - 1);
+                if (group.isEmpty()) {
+                    groups.remove(groupKey);
+                    if (groups.isEmpty()) {
+                        bundle.remove(joinKey);
+                    }
+                }
+                return;
+            }
+        }
+        group.add(new BufferedRecord(copy, rowKind));
+    }
+
+    /** Returns the join keys of the buffered records, in the order of their first arrival. */
+    public Set<RowData> getJoinKeys() {
+        return bundle.keySet();
+    }
+
+    /**
+     * Returns the folded records of the given join key with their original {@link RowKind}, or an
+     * empty list if there is no record of the join key. The buffer must be cleared before new
+     * records are added once the records have been returned.
+     */
+    public List<RowData> getRecords(RowData joinKey) {
+        Map<RowData, List<BufferedRecord>> groups = bundle.get(joinKey);
+        if (groups == null) {
+            return new ArrayList<>();
+        }
+        List<RowData> records = new ArrayList<>();
+        for (List<BufferedRecord> group : groups.values()) {
+            for (BufferedRecord bufferedRecord : group) {
+                bufferedRecord.record.setRowKind(bufferedRecord.rowKind);
+                records.add(bufferedRecord.record);
+            }
+        }
+        return records;
+    }
+
+    /** Returns the number of records which are left in the buffer after folding. */
+    public int getNumOfRecords() {
+        int numOfRecords = 0;
+        for (Map<RowData, List<BufferedRecord>> groups : bundle.values()) {
+            for (List<BufferedRecord> group : groups.values()) {
+                numOfRecords += group.size();
+            }
+        }
+        return numOfRecords;
+    }
+
+    public boolean isEmpty() {
+        return bundle.isEmpty();
+    }
+
+    public void clear() {
+        bundle.clear();
+    }
+
+    /** A copied record with its RowKind erased, together with the original RowKind. */
+    private static final class BufferedRecord {
+        private final RowData record;
+        private final RowKind rowKind;
+
+        private BufferedRecord(RowData record, RowKind rowKind) {
+            this.record = record;
+            this.rowKind = rowKind;
+        }
+
+        private boolean isAccumulateMsg() {
+            return rowKind == RowKind.INSERT || rowKind == RowKind.UPDATE_AFTER;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.stream;
+
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.generated.GeneratedJoinCondition;
+import org.apache.flink.table.runtime.operators.bundle.trigger.BundleTriggerCallback;
+import org.apache.flink.table.runtime.operators.bundle.trigger.CoBundleTrigger;
+import org.apache.flink.table.runtime.operators.join.stream.state.JoinInputSideSpec;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Streaming unbounded Join operator which supports INNER/LEFT/RIGHT/FULL JOIN and processes the
+ * input records in mini-batches.
+ *
+ * <p>The records of both sides are buffered per join key in a {@link JoinRecordBuffer} until the
+ * {@link CoBundleTrigger} fires, a watermark arrives or a checkpoint is taken. Changes of the same
+ * record within a bundle are folded, e.g. an insert followed by a delete of the same record is
+ * dropped. The folded records are then joined one join key at a time. The state views buffer the
+ * records of the current join key, so the state of a join key is read at most once per bundle and
+ * its modified records are written once when the join key is finished.
+ */
+public class MiniBatchStreamingJoinOperator extends StreamingJoinOperator
+        implements BundleTriggerCallback {
+
+    private static final long serialVersionUID = 3420316064330405637L;
+
+    private final CoBundleTrigger<RowData, RowData> coBundleTrigger;
+
+    private transient JoinRecordBuffer leftBuffer;
+    private transient JoinRecordBuffer rightBuffer;
+
+    private transient int numOfElements;
+
+    public MiniBatchStreamingJoinOperator(
+            InternalTypeInfo<RowData> leftType,
+            InternalTypeInfo<RowData> rightType,
+            GeneratedJoinCondition generatedJoinCondition,
+            JoinInputSideSpec leftInputSideSpec,
+            JoinInputSideSpec rightInputSideSpec,
+            boolean leftIsOuter,
+            boolean rightIsOuter,
+            boolean[] filterNullKeys,
+            long stateRetentionTime,
+            long stateCacheSize,
+            CoBundleTrigger<RowData, RowData> coBundleTrigger) {
+        super(
+                leftType,
+                rightType,
+                generatedJoinCondition,
+                leftInputSideSpec,
+                rightInputSideSpec,
+                leftIsOuter,
+                rightIsOuter,
+                filterNullKeys,
+                stateRetentionTime,
+                stateCacheSize);
+        this.coBundleTrigger = checkNotNull(coBundleTrigger, "coBundleTrigger is null");
+    }
+
+    @Override
+    public void open() throws Exception {
+        super.open();
+
+        this.leftBuffer = new JoinRecordBuffer(leftInputSideSpec, leftType.toRowSerializer());
+        this.rightBuffer = new JoinRecordBuffer(rightInputSideSpec, rightType.toRowSerializer());
+        this.numOfElements = 0;
+
+        coBundleTrigger.registerCallback(this);
+        // reset trigger
+        coBundleTrigger.reset();
+        LOG.info("BundleOperator's trigger info: " + coBundleTrigger.explain());
+
+        // counter metric to get the size of bundle
+        getRuntimeContext()
+                .getMetricGroup()
+                .gauge("bundleSize", (Gauge<Integer>) () -> numOfElements);
+        // ratio of the number of records in the bundle to the number of records left after folding
+        getRuntimeContext()
+                .getMetricGroup()
+                .gauge(
+                        "bundleRatio",
+                        (Gauge<Double>)
+                                () -> {
+                                    int numOfRecords =
+                                            leftBuffer.getNumOfRecords()
+                                                    + rightBuffer.getNumOfRecords();
+                                    if (numOfRecords == 0) {
+                                        return 0.0;
+                                    } else {
+                                        return 1.0 * numOfElements / numOfRecords;
+                                    }
+                                });
+    }
+
+    @Override
+    protected boolean bufferCurrentKey() {
+        return true;
+    }
+
+    @Override
+    public void processElement1(StreamRecord<RowData> element) throws Exception {
+        RowData input = element.getValue();
+        leftBuffer.addRecord((RowData) getCurrentKey(), input);
+        numOfElements++;
+        coBundleTrigger.onElement1(input);
+    }
+
+    @Override
+    public void processElement2(StreamRecord<RowData> element) throws Exception {
+        RowData input = element.getValue();
+        rightBuffer.addRecord((RowData) getCurrentKey(), input);
+        numOfElements++;
+        coBundleTrigger.onElement2(input);
+    }
+
+    @Override
+    public void finishBundle() throws Exception {
+        if (!leftBuffer.isEmpty() || !rightBuffer.isEmpty()) {
+            for (RowData joinKey : leftBuffer.getJoinKeys()) {
+                processBundle(joinKey);
+            }
+            for (RowData joinKey : rightBuffer.getJoinKeys()) {
+                if (!leftBuffer.getJoinKeys().contains(joinKey)) {
+                    processBundle(joinKey);
+                }
+            }
+            leftBuffer.clear();
+            rightBuffer.clear();
+        }
+        numOfElements = 0;
+        coBundleTrigger.reset();
+    }
+
+    private void processBundle(RowData joinKey) throws Exception {
+        setCurrentKey(joinKey);
+        for (RowData record : leftBuffer.getRecords(joinKey)) {
+            processElement(record, leftRecordStateView, rightRecordStateView, true);
+        }
+        for (RowData record : rightBuffer.getRecords(joinKey)) {
+            processElement(record, rightRecordStateView, leftRecordStateView, false);
+        }
+        leftRecordStateView.flushCurrentKey();
+        rightRecordStateView.flushCurrentKey();
+    }
+
+    @Override
+    public void processWatermark(Watermark mark) throws Exception {
+        finishBundle();
+        super.processWatermark(mark);
+    }
+
+    @Override
+    public void prepareSnapshotPreBarrier(long checkpointId) throws Exception {
+        finishBundle();
+    }
+
+    @Override
+    public void finish() throws Exception {
+        finishBundle();
+        super.finish();
+    }
+}
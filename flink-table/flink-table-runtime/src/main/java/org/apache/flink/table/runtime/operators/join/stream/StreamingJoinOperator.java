@@ -18,6 +18,7 @@
 
 package org.apache.flink.table.runtime.operators.join.stream;
 
+import org.apache.flink.runtime.state.StateSnapshotContext;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 import org.apache.flink.table.data.GenericRowData;
 import org.apache.flink.table.data.RowData;
@@ -47,9 +48,9 @@ public class StreamingJoinOperator extends AbstractStreamingJoinOperator {
     private transient RowData rightNullRow;
 
     // left join state
-    private transient JoinRecordStateView leftRecordStateView;
+    protected transient JoinRecordStateView leftRecordStateView;
     // right join state
-    private transient JoinRecordStateView rightRecordStateView;
+    protected transient JoinRecordStateView rightRecordStateView;
 
     public StreamingJoinOperator(
             InternalTypeInfo<RowData> leftType,
@@ -60,7 +61,8 @@ public class StreamingJoinOperator extends AbstractStreamingJoinOperator {
             boolean leftIsOuter,
             boolean rightIsOuter,
             boolean[] filterNullKeys,
-            long stateRetentionTime) {
+            long stateRetentionTime,
+            long stateCacheSize) {
         super(
                 leftType,
                 rightType,
@@ -68,7 +70,8 @@ public class StreamingJoinOperator extends AbstractStreamingJoinOperator {
                 leftInputSideSpec,
                 rightInputSideSpec,
                 filterNullKeys,
-                stateRetentionTime);
+                stateRetentionTime,
+                stateCacheSize);
         this.leftIsOuter = leftIsOuter;
         this.rightIsOuter = rightIsOuter;
     }
@@ -86,39 +89,66 @@ public class StreamingJoinOperator extends AbstractStreamingJoinOperator {
             this.leftRecordStateView =
                     OuterJoinRecordStateViews.create(
                             getRuntimeContext(),
+                            this,
                             "left-records",
                             leftInputSideSpec,
                             leftType,
-                            stateRetentionTime);
+                            stateRetentionTime,
+                            stateCacheSize,
+                            bufferCurrentKey());
         } else {
             this.leftRecordStateView =
                     JoinRecordStateViews.create(
                             getRuntimeContext(),
+                            this,
                             "left-records",
                             leftInputSideSpec,
                             leftType,
-                            stateRetentionTime);
+                            stateRetentionTime,
+                            stateCacheSize,
+                            bufferCurrentKey());
         }
 
         if (rightIsOuter) {
             this.rightRecordStateView =
                     OuterJoinRecordStateViews.create(
                             getRuntimeContext(),
+                            this,
                             "right-records",
                             rightInputSideSpec,
                             rightType,
-                            stateRetentionTime);
+                            stateRetentionTime,
+                            stateCacheSize,
+                            bufferCurrentKey());
         } else {
             this.rightRecordStateView =
                     JoinRecordStateViews.create(
                             getRuntimeContext(),
+                            this,
                             "right-records",
                             rightInputSideSpec,
                             rightType,
-                            stateRetentionTime);
+                            stateRetentionTime,
+                            stateCacheSize,
+                            bufferCurrentKey());
         }
     }
 
+    /**
+     * Whether the state views buffer the records of the current join key until {@link
+     * JoinRecordStateView#flushCurrentKey()} is called, see {@link JoinRecordStateViews#create}.
+     */
+    protected boolean bufferCurrentKey() {
+        return false;
+    }
+
+    @Override
+    public void snapshotState(StateSnapshotContext context) throws Exception {
+        super.snapshotState(context);
+        leftRecordStateView.flush();
+        rightRecordStateView.flush();
+    }
+
     @Override
     public void processElement1(StreamRecord<RowData> element) throws Exception {
         processElement(element.getValue(), leftRecordStateView, rightRecordStateView, true);
@@ -195,7 +225,7 @@ public class StreamingJoinOperator extends AbstractStreamingJoinOperator {
      * @param otherSideStateView state of other side
      * @param inputIsLeft whether input side is left side
      */
-    private void processElement(
+    protected void processElement(
             RowData input,
             JoinRecordStateView inputSideStateView,
             JoinRecordStateView otherSideStateView,
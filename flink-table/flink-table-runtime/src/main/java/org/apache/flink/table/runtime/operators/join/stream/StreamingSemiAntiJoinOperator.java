@@ -18,6 +18,7 @@
 
 package org.apache.flink.table.runtime.operators.join.stream;
 
+import org.apache.flink.runtime.state.StateSnapshotContext;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.data.util.RowDataUtil;
@@ -51,7 +52,8 @@ public class StreamingSemiAntiJoinOperator extends AbstractStreamingJoinOperator
             JoinInputSideSpec leftInputSideSpec,
             JoinInputSideSpec rightInputSideSpec,
             boolean[] filterNullKeys,
-            long stateRetentionTime) {
+            long stateRetentionTime,
+            long stateCacheSize) {
         super(
                 leftType,
                 rightType,
@@ -59,7 +61,8 @@ public class StreamingSemiAntiJoinOperator extends AbstractStreamingJoinOperator
                 leftInputSideSpec,
                 rightInputSideSpec,
                 filterNullKeys,
-                stateRetentionTime);
+                stateRetentionTime,
+                stateCacheSize);
         this.isAntiJoin = isAntiJoin;
     }
 
@@ -70,18 +73,29 @@ public class StreamingSemiAntiJoinOperator extends AbstractStreamingJoinOperator
         this.leftRecordStateView =
                 OuterJoinRecordStateViews.create(
                         getRuntimeContext(),
+                        this,
                         LEFT_RECORDS_STATE_NAME,
                         leftInputSideSpec,
                         leftType,
-                        stateRetentionTime);
+                        stateRetentionTime,
+                        stateCacheSize);
 
         this.rightRecordStateView =
                 JoinRecordStateViews.create(
                         getRuntimeContext(),
+                        this,
                         RIGHT_RECORDS_STATE_NAME,
                         rightInputSideSpec,
                         rightType,
-                        stateRetentionTime);
+                        stateRetentionTime,
+                        stateCacheSize);
+    }
+
+    @Override
+    public void snapshotState(StateSnapshotContext context) throws Exception {
+        super.snapshotState(context);
+        leftRecordStateView.flush();
+        rightRecordStateView.flush();
     }
 
     /**
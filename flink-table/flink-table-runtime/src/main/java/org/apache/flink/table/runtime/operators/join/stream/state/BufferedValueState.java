@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.stream.state;
+
+import org.apache.flink.api.common.state.ValueState;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+
+import java.io.IOException;
+
+/**
+ * A {@link ValueState} which buffers the value of the current key (i.e. join key) in memory, so
+ * that the state is read at most once and written at most once until {@link #flushCurrentKey()} is
+ * called. The current key must not change before the buffered value is flushed. The buffered value
+ * is a copy made with the serializer of the value, so that it is not affected if the caller reuses
+ * or modifies the updated object afterwards.
+ */
+public final class BufferedValueState<T> implements ValueState<T> {
+
+    private final ValueState<T> state;
+    private final TypeSerializer<T> serializer;
+
+    private T value;
+    private boolean loaded;
+    private boolean modified;
+
+    private BufferedValueState(ValueState<T> state, TypeSerializer<T> serializer) {
+        this.state = state;
+        this.serializer = serializer;
+    }
+
+    /**
+     * Returns the given state with a buffer of the value of the current key in front of it if
+     * {@code bufferCurrentKey} is set, or the state itself. The serializer is used to copy the
+     * buffered value.
+     */
+    public static <T> ValueState<T> create(
+            ValueState<T> state, TypeSerializer<T> serializer, boolean bufferCurrentKey) {
+        return bufferCurrentKey ? new BufferedValueState<>(state, serializer) : state;
+    }
+
+    /** Flushes the current key of the given state if it is a {@link BufferedValueState}. */
+    static void flushCurrentKey(ValueState<?> state) throws IOException {
+        if (state instanceof BufferedValueState) {
+            ((BufferedValueState<?>) state).flushCurrentKey();
+        }
+    }
+
+    /** Writes the buffered value of the current key to the state if it was modified. */
+    public void flushCurrentKey() throws IOException {
+        if (modified) {
+            if (value == null) {
+                state.clear();
+            } else {
+                state.update(value);
+            }
+        }
+        value = null;
+        loaded = false;
+        modified = false;
+    }
+
+    @Override
+    public T value() throws IOException {
+        if (!loaded) {
+            value = state.value();
+            loaded = true;
+        }
+        return value;
+    }
+
+    @Override
+    public void update(T value) {
+        this.value = value == null ? null : serializer.copy(value);
+        this.loaded = true;
+        this.modified = true;
+    }
+
+    @Override
+    public void clear() {
+        update(null);
+    }
+}
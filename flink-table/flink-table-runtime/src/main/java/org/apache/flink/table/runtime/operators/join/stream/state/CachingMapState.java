@@ -0,0 +1,368 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.stream.state;
+
+import org.apache.flink.api.common.state.MapState;
+import org.apache.flink.api.common.state.StateTtlConfig;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.java.tuple.Tuple;
+import org.apache.flink.streaming.api.operators.KeyContext;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+
+import org.apache.flink.shaded.guava30.com.google.common.cache.Cache;
+import org.apache.flink.shaded.guava30.com.google.common.cache.CacheBuilder;
+import org.apache.flink.shaded.guava30.com.google.common.cache.RemovalCause;
+import org.apache.flink.shaded.guava30.com.google.common.cache.RemovalNotification;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link MapState} which caches the entries of the most recently accessed keys (i.e. join keys)
+ * in memory in front of the underlying keyed state, up to a memory size in bytes.
+ *
+ * <p>The entries of a key are loaded from the state on the first access and served from memory
+ * afterwards. Modifications are only applied to the cached entries and written back to the state
+ * when the key is evicted from the cache or {@link #flush()} is called, which must happen before
+ * the state is snapshotted. The keys and values put into the cache are copied with their
+ * serializers, so that the cache never holds a row which the caller reuses or modifies afterwards,
+ * e.g. with object reuse enabled. The memory size of the entries is estimated from the size of
+ * their binary rows plus a fixed overhead per object, a key whose entries alone exceed the cache
+ * size is written back and evicted after every modification.
+ *
+ * <p>If the state has a time-to-live, a key is dropped from the cache without writing it back once
+ * it has not been modified for the time-to-live. The entries of a key which keeps being modified
+ * may therefore outlive the time-to-live until the key is evicted.
+ *
+ * <p>Without a cache size, the state only buffers the entries of the current key until {@link
+ * #flushCurrentKey()} writes them back and drops them from memory, so that the state of a key is
+ * read at most once and every modified entry is written once.
+ */
+public final class CachingMapState<UK, UV> implements MapState<UK, UV> {
+
+    /** Estimated heap overhead of a row object, its memory segment and the reference to it. */
+    private static final int ROW_OVERHEAD = 64;
+
+    /** Estimated heap overhead of any other object and the reference to it. */
+    private static final int OBJECT_OVERHEAD = 24;
+
+    /** Estimated heap overhead of a map entry, i.e. its hash map node and table slot. */
+    private static final int ENTRY_OVERHEAD = 48;
+
+    private final MapState<UK, UV> state;
+    private final TypeSerializer<UK> keySerializer;
+    private final TypeSerializer<UV> valueSerializer;
+    private final KeyContext keyContext;
+    private final Cache<Object, CachedEntries<UK, UV>> cache;
+    private final boolean ttlEnabled;
+    /** Whether only the current key is buffered, i.e. there is no cache size. */
+    private final boolean bufferCurrentKey;
+    /**
+     * The keys evicted from the cache whose modified entries are not yet written to the state.
+     * They are collected by the removal listener and written by {@link #writeEvictedEntries()}
+     * after each write to the cache, so that failures are not swallowed by the cache.
+     */
+    private final List<RemovalNotification<Object, CachedEntries<UK, UV>>> evictedEntries =
+            new ArrayList<>();
+
+    private CachingMapState(
+            MapState<UK, UV> state,
+            TypeSerializer<UK> keySerializer,
+            TypeSerializer<UV> valueSerializer,
+            KeyContext keyContext,
+            long cacheSize,
+            StateTtlConfig ttlConfig) {
+        this.state = state;
+        this.keySerializer = keySerializer;
+        this.valueSerializer = valueSerializer;
+        this.keyContext = keyContext;
+        this.ttlEnabled = ttlConfig.isEnabled();
+        this.bufferCurrentKey = cacheSize <= 0;
+        CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder();
+        if (ttlConfig.isEnabled()) {
+            cacheBuilder.expireAfterWrite(
+                    ttlConfig.getTtl().toMilliseconds(), TimeUnit.MILLISECONDS);
+        }
+        if (!bufferCurrentKey) {
+            // the weight of the entries is updated whenever they are put into the cache again
+            cacheBuilder
+                    .concurrencyLevel(1)
+                    .maximumWeight(cacheSize)
+                    .<Object, CachedEntries<UK, UV>>weigher(
+                            (key, entries) ->
+                                    (int) Math.min(entries.memorySize, Integer.MAX_VALUE));
+        }
+        this.cache =
+                cacheBuilder
+                        .<Object, CachedEntries<UK, UV>>removalListener(
+                                notification -> {
+                                    if (notification.getCause() == RemovalCause.SIZE
+                                            && !notification.getValue().dirtyKeys.isEmpty()) {
+                                        // Don't flush values to state if cause is ttl expired
+                                        evictedEntries.add(notification);
+                                    }
+                                })
+                        .build();
+    }
+
+    /**
+     * Returns the given state with a cache of the given memory size in bytes in front of it. If the
+     * cache size is not positive, the state buffers the current key if {@code bufferCurrentKey} is
+     * set, otherwise the state itself is returned. The serializers are used to copy the keys and
+     * values put into the cache.
+     */
+    public static <UK, UV> MapState<UK, UV> create(
+            MapState<UK, UV> state,
+            TypeSerializer<UK> keySerializer,
+            TypeSerializer<UV> valueSerializer,
+            KeyContext keyContext,
+            long cacheSize,
+            StateTtlConfig ttlConfig,
+            boolean bufferCurrentKey) {
+        if (cacheSize <= 0 && !bufferCurrentKey) {
+            return state;
+        }
+        return new CachingMapState<>(
+                state, keySerializer, valueSerializer, keyContext, cacheSize, ttlConfig);
+    }
+
+    /** Flushes the given state if it is a {@link CachingMapState}. */
+    static void flush(MapState<?, ?> state) throws Exception {
+        if (state instanceof CachingMapState) {
+            ((CachingMapState<?, ?>) state).flush();
+        }
+    }
+
+    /** Flushes the current key of the given state if it is a {@link CachingMapState}. */
+    static void flushCurrentKey(MapState<?, ?> state) throws Exception {
+        if (state instanceof CachingMapState) {
+            ((CachingMapState<?, ?>) state).flushCurrentKey();
+        }
+    }
+
+    /**
+     * Writes the modified entries of all cached keys to the state. The current key of the key
+     * context is changed by this method.
+     */
+    public void flush() throws Exception {
+        writeEvictedEntries();
+        for (Map.Entry<Object, CachedEntries<UK, UV>> entry : cache.asMap().entrySet()) {
+            if (!entry.getValue().dirtyKeys.isEmpty()) {
+                keyContext.setCurrentKey(entry.getKey());
+                entry.getValue().writeTo(state);
+            }
+        }
+    }
+
+    /**
+     * Writes the modified entries of the current key to the state and drops them from memory if
+     * only the current key is buffered. With a cache size, the entries stay cached until they are
+     * evicted or flushed.
+     */
+    public void flushCurrentKey() throws Exception {
+        if (!bufferCurrentKey) {
+            return;
+        }
+        Object currentKey = keyContext.getCurrentKey();
+        CachedEntries<UK, UV> entries = cache.getIfPresent(currentKey);
+        if (entries != null) {
+            entries.writeTo(state);
+            cache.invalidate(currentKey);
+        }
+    }
+
+    @Override
+    public UV get(UK key) throws Exception {
+        return getEntries().entries.get(key);
+    }
+
+    @Override
+    public void put(UK key, UV value) throws Exception {
+        CachedEntries<UK, UV> entries = getEntries();
+        UK copiedKey = keySerializer.copy(key);
+        entries.put(copiedKey, valueSerializer.copy(value));
+        entries.dirtyKeys.add(copiedKey);
+        touch(entries);
+    }
+
+    @Override
+    public void putAll(Map<UK, UV> map) throws Exception {
+        CachedEntries<UK, UV> entries = getEntries();
+        for (Map.Entry<UK, UV> entry : map.entrySet()) {
+            UK copiedKey = keySerializer.copy(entry.getKey());
+            entries.put(copiedKey, valueSerializer.copy(entry.getValue()));
+            entries.dirtyKeys.add(copiedKey);
+        }
+        touch(entries);
+    }
+
+    @Override
+    public void remove(UK key) throws Exception {
+        CachedEntries<UK, UV> entries = getEntries();
+        if (entries.remove(key)) {
+            entries.dirtyKeys.add(keySerializer.copy(key));
+            touch(entries);
+        }
+    }
+
+    @Override
+    public boolean contains(UK key) throws Exception {
+        return getEntries().entries.containsKey(key);
+    }
+
+    @Override
+    public Iterable<Map.Entry<UK, UV>> entries() throws Exception {
+        return Collections.unmodifiableMap(getEntries().entries).entrySet();
+    }
+
+    @Override
+    public Iterable<UK> keys() throws Exception {
+        return Collections.unmodifiableMap(getEntries().entries).keySet();
+    }
+
+    @Override
+    public Iterable<UV> values() throws Exception {
+        return Collections.unmodifiableMap(getEntries().entries).values();
+    }
+
+    @Override
+    public Iterator<Map.Entry<UK, UV>> iterator() throws Exception {
+        return entries().iterator();
+    }
+
+    @Override
+    public boolean isEmpty() throws Exception {
+        return getEntries().entries.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        cache.invalidate(keyContext.getCurrentKey());
+        state.clear();
+    }
+
+    // -------------------------------------------------------------------------------------
+
+    /** Returns the cached entries of the current key, loads them from the state on a miss. */
+    private CachedEntries<UK, UV> getEntries() throws Exception {
+        Object currentKey = keyContext.getCurrentKey();
+        CachedEntries<UK, UV> entries = cache.getIfPresent(currentKey);
+        if (entries == null) {
+            entries = new CachedEntries<>();
+            for (Map.Entry<UK, UV> entry : state.entries()) {
+                entries.put(entry.getKey(), entry.getValue());
+            }
+            cache.put(currentKey, entries);
+            writeEvictedEntries();
+        }
+        return entries;
+    }
+
+    /**
+     * Puts the entries of the current key into the cache again after a modification, which
+     * updates their weight and restarts their time-to-live.
+     */
+    private void touch(CachedEntries<UK, UV> entries) throws Exception {
+        if (ttlEnabled || !bufferCurrentKey) {
+            cache.put(keyContext.getCurrentKey(), entries);
+            writeEvictedEntries();
+        }
+    }
+
+    /** Writes the modified entries of the keys evicted from the cache to the state. */
+    private void writeEvictedEntries() throws Exception {
+        if (evictedEntries.isEmpty()) {
+            return;
+        }
+        Object previousKey = keyContext.getCurrentKey();
+        try {
+            for (RemovalNotification<Object, CachedEntries<UK, UV>> evicted : evictedEntries) {
+                keyContext.setCurrentKey(evicted.getKey());
+                evicted.getValue().writeTo(state);
+            }
+        } finally {
+            evictedEntries.clear();
+            keyContext.setCurrentKey(previousKey);
+        }
+    }
+
+    /** Estimates the heap size of a map key or value in bytes. */
+    private static long sizeOf(Object value) {
+        if (value instanceof BinaryRowData) {
+            return ((BinaryRowData) value).getSizeInBytes() + ROW_OVERHEAD;
+        } else if (value instanceof RowData) {
+            return ROW_OVERHEAD + 8L * ((RowData) value).getArity();
+        } else if (value instanceof Tuple) {
+            Tuple tuple = (Tuple) value;
+            long size = OBJECT_OVERHEAD;
+            for (int i = 0; i < tuple.getArity(); i++) {
+                size += sizeOf(tuple.getField(i));
+            }
+            return size;
+        }
+        return value == null ? 0 : OBJECT_OVERHEAD;
+    }
+
+    /** The cached entries of a key and the keys of the entries modified since the last flush. */
+    private static final class CachedEntries<UK, UV> {
+        private final Map<UK, UV> entries = new HashMap<>();
+        private final Set<UK> dirtyKeys = new HashSet<>();
+        /** The estimated memory size of the entries in bytes. */
+        private long memorySize = 0;
+
+        private void put(UK key, UV value) {
+            UV previous = entries.put(key, value);
+            if (previous == null) {
+                memorySize += sizeOf(key) + ENTRY_OVERHEAD;
+            } else {
+                memorySize -= sizeOf(previous);
+            }
+            memorySize += sizeOf(value);
+        }
+
+        private boolean remove(UK key) {
+            UV previous = entries.remove(key);
+            if (previous == null) {
+                return false;
+            }
+            memorySize -= sizeOf(key) + ENTRY_OVERHEAD + sizeOf(previous);
+            return true;
+        }
+
+        private void writeTo(MapState<UK, UV> state) throws Exception {
+            for (UK key : dirtyKeys) {
+                UV value = entries.get(key);
+                if (value == null) {
+                    state.remove(key);
+                } else {
+                    state.put(key, value);
+                }
+            }
+            dirtyKeys.clear();
+        }
+    }
+}
@@ -39,4 +39,17 @@ public interface JoinRecordStateView {
 
     /** Gets all the records under the current context (i.e. join key). */
     Iterable<RowData> getRecords() throws Exception;
+
+    /**
+     * Writes the records which are only cached in memory to the state, this must be called before
+     * the state is snapshotted. The current context may be changed by this method.
+     */
+    default void flush() throws Exception {}
+
+    /**
+     * Writes the records of the current join key which are only buffered in memory to the state, if
+     * the view buffers the current join key. The current join key must not change while its records
+     * are buffered.
+     */
+    default void flushCurrentKey() throws Exception {}
 }
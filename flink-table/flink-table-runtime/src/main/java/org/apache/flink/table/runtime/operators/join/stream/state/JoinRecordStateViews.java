@@ -25,7 +25,9 @@ import org.apache.flink.api.common.state.StateTtlConfig;
 import org.apache.flink.api.common.state.ValueState;
 import org.apache.flink.api.common.state.ValueStateDescriptor;
 import org.apache.flink.api.common.typeinfo.Types;
+import org.apache.flink.api.common.typeutils.base.IntSerializer;
 import org.apache.flink.api.java.functions.KeySelector;
+import org.apache.flink.streaming.api.operators.KeyContext;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
 import org.apache.flink.util.IterableIterator;
@@ -41,17 +43,53 @@ import static org.apache.flink.util.Preconditions.checkNotNull;
 /** Utility to create a {@link JoinRecordStateView} depends on {@link JoinInputSideSpec}. */
 public final class JoinRecordStateViews {
 
-    /** Creates a {@link JoinRecordStateView} depends on {@link JoinInputSideSpec}. */
+    /**
+     * Creates a {@link JoinRecordStateView} depends on {@link JoinInputSideSpec}, which does not
+     * buffer the current join key.
+     */
     public static JoinRecordStateView create(
             RuntimeContext ctx,
+            KeyContext keyContext,
             String stateName,
             JoinInputSideSpec inputSideSpec,
             InternalTypeInfo<RowData> recordType,
-            long retentionTime) {
+            long retentionTime,
+            long cacheSize) {
+        return create(
+                ctx,
+                keyContext,
+                stateName,
+                inputSideSpec,
+                recordType,
+                retentionTime,
+                cacheSize,
+                false);
+    }
+
+    /**
+     * Creates a {@link JoinRecordStateView} depends on {@link JoinInputSideSpec}, the records of
+     * the most recently accessed join keys are cached in memory in front of the state, up to the
+     * given estimated memory size in bytes. The cache is written back to the state by {@link
+     * JoinRecordStateView#flush()}.
+     *
+     * <p>If {@code bufferCurrentKey} is set and there is no cache, the records of the current join
+     * key are read from the state at most once and buffered in memory until {@link
+     * JoinRecordStateView#flushCurrentKey()} writes them back.
+     */
+    public static JoinRecordStateView create(
+            RuntimeContext ctx,
+            KeyContext keyContext,
+            String stateName,
+            JoinInputSideSpec inputSideSpec,
+            InternalTypeInfo<RowData> recordType,
+            long retentionTime,
+            long cacheSize,
+            boolean bufferCurrentKey) {
         StateTtlConfig ttlConfig = createTtlConfig(retentionTime);
         if (inputSideSpec.hasUniqueKey()) {
             if (inputSideSpec.joinKeyContainsUniqueKey()) {
-                return new JoinKeyContainsUniqueKey(ctx, stateName, recordType, ttlConfig);
+                return new JoinKeyContainsUniqueKey(
+                        ctx, stateName, recordType, ttlConfig, bufferCurrentKey);
             } else {
                 return new InputSideHasUniqueKey(
                         ctx,
@@ -59,10 +97,14 @@ public final class JoinRecordStateViews {
                         recordType,
                         inputSideSpec.getUniqueKeyType(),
                         inputSideSpec.getUniqueKeySelector(),
-                        ttlConfig);
+                        ttlConfig,
+                        keyContext,
+                        cacheSize,
+                        bufferCurrentKey);
             }
         } else {
-            return new InputSideHasNoUniqueKey(ctx, stateName, recordType, ttlConfig);
+            return new InputSideHasNoUniqueKey(
+                    ctx, stateName, recordType, ttlConfig, keyContext, cacheSize, bufferCurrentKey);
         }
     }
 
@@ -77,13 +119,18 @@ public final class JoinRecordStateViews {
                 RuntimeContext ctx,
                 String stateName,
                 InternalTypeInfo<RowData> recordType,
-                StateTtlConfig ttlConfig) {
+                StateTtlConfig ttlConfig,
+                boolean bufferCurrentKey) {
             ValueStateDescriptor<RowData> recordStateDesc =
                     new ValueStateDescriptor<>(stateName, recordType);
             if (ttlConfig.isEnabled()) {
                 recordStateDesc.enableTimeToLive(ttlConfig);
             }
-            this.recordState = ctx.getState(recordStateDesc);
+            this.recordState =
+                    BufferedValueState.create(
+                            ctx.getState(recordStateDesc),
+                            recordType.toRowSerializer(),
+                            bufferCurrentKey);
             // the result records always not more than 1
             this.reusedList = new ArrayList<>(1);
         }
@@ -107,6 +154,11 @@ public final class JoinRecordStateViews {
             }
             return reusedList;
         }
+
+        @Override
+        public void flushCurrentKey() throws Exception {
+            BufferedValueState.flushCurrentKey(recordState);
+        }
     }
 
     private static final class InputSideHasUniqueKey implements JoinRecordStateView {
@@ -121,7 +173,10 @@ public final class JoinRecordStateViews {
                 InternalTypeInfo<RowData> recordType,
                 InternalTypeInfo<RowData> uniqueKeyType,
                 KeySelector<RowData, RowData> uniqueKeySelector,
-                StateTtlConfig ttlConfig) {
+                StateTtlConfig ttlConfig,
+                KeyContext keyContext,
+                long cacheSize,
+                boolean bufferCurrentKey) {
             checkNotNull(uniqueKeyType);
             checkNotNull(uniqueKeySelector);
             MapStateDescriptor<RowData, RowData> recordStateDesc =
@@ -129,7 +184,15 @@ public final class JoinRecordStateViews {
             if (ttlConfig.isEnabled()) {
                 recordStateDesc.enableTimeToLive(ttlConfig);
             }
-            this.recordState = ctx.getMapState(recordStateDesc);
+            this.recordState =
+                    CachingMapState.create(
+                            ctx.getMapState(recordStateDesc),
+                            uniqueKeyType.toRowSerializer(),
+                            recordType.toRowSerializer(),
+                            keyContext,
+                            cacheSize,
+                            ttlConfig,
+                            bufferCurrentKey);
             this.uniqueKeySelector = uniqueKeySelector;
         }
 
@@ -149,6 +212,16 @@ public final class JoinRecordStateViews {
         public Iterable<RowData> getRecords() throws Exception {
             return recordState.values();
         }
+
+        @Override
+        public void flush() throws Exception {
+            CachingMapState.flush(recordState);
+        }
+
+        @Override
+        public void flushCurrentKey() throws Exception {
+            CachingMapState.flushCurrentKey(recordState);
+        }
     }
 
     private static final class InputSideHasNoUniqueKey implements JoinRecordStateView {
@@ -159,13 +232,24 @@ public final class JoinRecordStateViews {
                 RuntimeContext ctx,
                 String stateName,
                 InternalTypeInfo<RowData> recordType,
-                StateTtlConfig ttlConfig) {
+                StateTtlConfig ttlConfig,
+                KeyContext keyContext,
+                long cacheSize,
+                boolean bufferCurrentKey) {
             MapStateDescriptor<RowData, Integer> recordStateDesc =
                     new MapStateDescriptor<>(stateName, recordType, Types.INT);
             if (ttlConfig.isEnabled()) {
                 recordStateDesc.enableTimeToLive(ttlConfig);
             }
-            this.recordState = ctx.getMapState(recordStateDesc);
+            this.recordState =
+                    CachingMapState.create(
+                            ctx.getMapState(recordStateDesc),
+                            recordType.toRowSerializer(),
+                            IntSerializer.INSTANCE,
+                            keyContext,
+                            cacheSize,
+                            ttlConfig,
+                            bufferCurrentKey);
         }
 
         @Override
@@ -226,5 +310,15 @@ public final class JoinRecordStateViews {
                 }
             };
         }
+
+        @Override
+        public void flush() throws Exception {
+            CachingMapState.flush(recordState);
+        }
+
+        @Override
+        public void flushCurrentKey() throws Exception {
+            CachingMapState.flushCurrentKey(recordState);
+        }
     }
 }
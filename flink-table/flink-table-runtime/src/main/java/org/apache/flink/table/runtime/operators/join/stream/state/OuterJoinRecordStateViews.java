@@ -28,6 +28,7 @@ import org.apache.flink.api.common.typeinfo.Types;
 import org.apache.flink.api.java.functions.KeySelector;
 import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.api.java.typeutils.TupleTypeInfo;
+import org.apache.flink.streaming.api.operators.KeyContext;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
 import org.apache.flink.util.IterableIterator;
@@ -43,18 +44,53 @@ import static org.apache.flink.util.Preconditions.checkNotNull;
 /** Utility to create a {@link OuterJoinRecordStateViews} depends on {@link JoinInputSideSpec}. */
 public final class OuterJoinRecordStateViews {
 
-    /** Creates a {@link OuterJoinRecordStateView} depends on {@link JoinInputSideSpec}. */
+    /**
+     * Creates a {@link OuterJoinRecordStateView} depends on {@link JoinInputSideSpec}, which does
+     * not buffer the current join key.
+     */
     public static OuterJoinRecordStateView create(
             RuntimeContext ctx,
+            KeyContext keyContext,
             String stateName,
             JoinInputSideSpec inputSideSpec,
             InternalTypeInfo<RowData> recordType,
-            long retentionTime) {
+            long retentionTime,
+            long cacheSize) {
+        return create(
+                ctx,
+                keyContext,
+                stateName,
+                inputSideSpec,
+                recordType,
+                retentionTime,
+                cacheSize,
+                false);
+    }
+
+    /**
+     * Creates a {@link OuterJoinRecordStateView} depends on {@link JoinInputSideSpec}, the records
+     * of the most recently accessed join keys are cached in memory in front of the state, up to the
+     * given estimated memory size in bytes. The cache is written back to the state by {@link
+     * OuterJoinRecordStateView#flush()}.
+     *
+     * <p>If {@code bufferCurrentKey} is set and there is no cache, the records of the current join
+     * key are read from the state at most once and buffered in memory until {@link
+     * OuterJoinRecordStateView#flushCurrentKey()} writes them back.
+     */
+    public static OuterJoinRecordStateView create(
+            RuntimeContext ctx,
+            KeyContext keyContext,
+            String stateName,
+            JoinInputSideSpec inputSideSpec,
+            InternalTypeInfo<RowData> recordType,
+            long retentionTime,
+            long cacheSize,
+            boolean bufferCurrentKey) {
         StateTtlConfig ttlConfig = createTtlConfig(retentionTime);
         if (inputSideSpec.hasUniqueKey()) {
             if (inputSideSpec.joinKeyContainsUniqueKey()) {
                 return new OuterJoinRecordStateViews.JoinKeyContainsUniqueKey(
-                        ctx, stateName, recordType, ttlConfig);
+                        ctx, stateName, recordType, ttlConfig, bufferCurrentKey);
             } else {
                 return new OuterJoinRecordStateViews.InputSideHasUniqueKey(
                         ctx,
@@ -62,11 +98,14 @@ public final class OuterJoinRecordStateViews {
                         recordType,
                         inputSideSpec.getUniqueKeyType(),
                         inputSideSpec.getUniqueKeySelector(),
-                        ttlConfig);
+                        ttlConfig,
+                        keyContext,
+                        cacheSize,
+                        bufferCurrentKey);
             }
         } else {
             return new OuterJoinRecordStateViews.InputSideHasNoUniqueKey(
-                    ctx, stateName, recordType, ttlConfig);
+                    ctx, stateName, recordType, ttlConfig, keyContext, cacheSize, bufferCurrentKey);
         }
     }
 
@@ -82,7 +121,8 @@ public final class OuterJoinRecordStateViews {
                 RuntimeContext ctx,
                 String stateName,
                 InternalTypeInfo<RowData> recordType,
-                StateTtlConfig ttlConfig) {
+                StateTtlConfig ttlConfig,
+                boolean bufferCurrentKey) {
             TupleTypeInfo<Tuple2<RowData, Integer>> valueTypeInfo =
                     new TupleTypeInfo<>(recordType, Types.INT);
             ValueStateDescriptor<Tuple2<RowData, Integer>> recordStateDesc =
@@ -90,7 +130,11 @@ public final class OuterJoinRecordStateViews {
             if (ttlConfig.isEnabled()) {
                 recordStateDesc.enableTimeToLive(ttlConfig);
             }
-            this.recordState = ctx.getState(recordStateDesc);
+            this.recordState =
+                    BufferedValueState.create(
+                            ctx.getState(recordStateDesc),
+                            valueTypeInfo.createSerializer(ctx.getExecutionConfig()),
+                            bufferCurrentKey);
             // the result records always not more than 1
             this.reusedRecordList = new ArrayList<>(1);
             this.reusedTupleList = new ArrayList<>(1);
@@ -138,6 +182,11 @@ public final class OuterJoinRecordStateViews {
             }
             return reusedTupleList;
         }
+
+        @Override
+        public void flushCurrentKey() throws Exception {
+            BufferedValueState.flushCurrentKey(recordState);
+        }
     }
 
     private static final class InputSideHasUniqueKey implements OuterJoinRecordStateView {
@@ -152,7 +201,10 @@ public final class OuterJoinRecordStateViews {
                 InternalTypeInfo<RowData> recordType,
                 InternalTypeInfo<RowData> uniqueKeyType,
                 KeySelector<RowData, RowData> uniqueKeySelector,
-                StateTtlConfig ttlConfig) {
+                StateTtlConfig ttlConfig,
+                KeyContext keyContext,
+                long cacheSize,
+                boolean bufferCurrentKey) {
             checkNotNull(uniqueKeyType);
             checkNotNull(uniqueKeySelector);
             TupleTypeInfo<Tuple2<RowData, Integer>> valueTypeInfo =
@@ -162,7 +214,15 @@ public final class OuterJoinRecordStateViews {
             if (ttlConfig.isEnabled()) {
                 recordStateDesc.enableTimeToLive(ttlConfig);
             }
-            this.recordState = ctx.getMapState(recordStateDesc);
+            this.recordState =
+                    CachingMapState.create(
+                            ctx.getMapState(recordStateDesc),
+                            uniqueKeyType.toRowSerializer(),
+                            valueTypeInfo.createSerializer(ctx.getExecutionConfig()),
+                            keyContext,
+                            cacheSize,
+                            ttlConfig,
+                            bufferCurrentKey);
             this.uniqueKeySelector = uniqueKeySelector;
         }
 
@@ -200,6 +260,16 @@ public final class OuterJoinRecordStateViews {
                 throws Exception {
             return recordState.values();
         }
+
+        @Override
+        public void flush() throws Exception {
+            CachingMapState.flush(recordState);
+        }
+
+        @Override
+        public void flushCurrentKey() throws Exception {
+            CachingMapState.flushCurrentKey(recordState);
+        }
     }
 
     private static final class InputSideHasNoUniqueKey implements OuterJoinRecordStateView {
@@ -211,7 +281,10 @@ public final class OuterJoinRecordStateViews {
                 RuntimeContext ctx,
                 String stateName,
                 InternalTypeInfo<RowData> recordType,
-                StateTtlConfig ttlConfig) {
+                StateTtlConfig ttlConfig,
+                KeyContext keyContext,
+                long cacheSize,
+                boolean bufferCurrentKey) {
             TupleTypeInfo<Tuple2<Integer, Integer>> tupleTypeInfo =
                     new TupleTypeInfo<>(Types.INT, Types.INT);
             MapStateDescriptor<RowData, Tuple2<Integer, Integer>> recordStateDesc =
@@ -219,7 +292,15 @@ public final class OuterJoinRecordStateViews {
             if (ttlConfig.isEnabled()) {
                 recordStateDesc.enableTimeToLive(ttlConfig);
             }
-            this.recordState = ctx.getMapState(recordStateDesc);
+            this.recordState =
+                    CachingMapState.create(
+                            ctx.getMapState(recordStateDesc),
+                            recordType.toRowSerializer(),
+                            tupleTypeInfo.createSerializer(ctx.getExecutionConfig()),
+                            keyContext,
+                            cacheSize,
+                            ttlConfig,
+                            bufferCurrentKey);
         }
 
         @Override
@@ -305,6 +386,16 @@ public final class OuterJoinRecordStateViews {
                 }
             };
         }
+
+        @Override
+        public void flush() throws Exception {
+            CachingMapState.flush(recordState);
+        }
+
+        @Override
+        public void flushCurrentKey() throws Exception {
+            CachingMapState.flushCurrentKey(recordState);
+        }
     }
 
     // ----------------------------------------------------------------------------------------
@@ -58,6 +58,7 @@ public class AppendOnlyTopNFunction extends AbstractTopNFunction {
     private final InternalTypeInfo<RowData> sortKeyType;
     private final TypeSerializer<RowData> inputRowSer;
     private final long cacheSize;
+    private final long cacheMemorySize;
 
     // a map state stores mapping from sort key to records list which is in topN
     private transient MapState<RowData, List<RowData>> dataState;
@@ -68,6 +69,9 @@ public class AppendOnlyTopNFunction extends AbstractTopNFunction {
     // the kvSortedMap stores mapping from partition key to it's buffer
     private transient Cache<RowData, TopNBuffer> kvSortedMap;
 
+    // whether a partition which does not fit into the cache memory-size has been logged
+    private transient boolean oversizedPartitionLogged;
+
     public AppendOnlyTopNFunction(
             StateTtlConfig ttlConfig,
             InternalTypeInfo<RowData> inputRowType,
@@ -77,7 +81,8 @@ public class AppendOnlyTopNFunction extends AbstractTopNFunction {
             RankRange rankRange,
             boolean generateUpdateBefore,
             boolean outputRankNumber,
-            long cacheSize) {
+            long cacheSize,
+            long cacheMemorySize) {
         super(
                 ttlConfig,
                 inputRowType,
@@ -90,22 +95,43 @@ public class AppendOnlyTopNFunction extends AbstractTopNFunction {
         this.sortKeyType = sortKeySelector.getProducedType();
         this.inputRowSer = inputRowType.createSerializer(new ExecutionConfig());
         this.cacheSize = cacheSize;
+        this.cacheMemorySize = cacheMemorySize;
     }
 
     @Override
     public void open(Configuration parameters) throws Exception {
         super.open(parameters);
-        int lruCacheSize = Math.max(1, (int) (cacheSize / getDefaultTopNSize()));
         CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder();
         if (ttlConfig.isEnabled()) {
             cacheBuilder.expireAfterWrite(
                     ttlConfig.getTtl().toMilliseconds(), TimeUnit.MILLISECONDS);
         }
-        kvSortedMap = cacheBuilder.maximumSize(lruCacheSize).build();
-        LOG.info(
-                "Top{} operator is using LRU caches key-size: {}",
-                getDefaultTopNSize(),
-                lruCacheSize);
+        if (cacheMemorySize > 0) {
+            // the weight of a buffer is updated whenever it is put into the cache again
+            kvSortedMap =
+                    cacheBuilder
+                            .concurrencyLevel(1)
+                            .maximumWeight(cacheMemorySize)
+                            .<RowData, TopNBuffer>weigher(
+                                    (key, buffer) ->
+                                            (int)
+                                                    Math.min(
+                                                            ((SortedArrayTopNBuffer) buffer)
+                                                                    .getMemorySize(),
+                                                            Integer.MAX_VALUE))
+                            .build();
+            LOG.info(
+                    "Top{} operator is using LRU caches memory-size: {} bytes",
+                    getDefaultTopNSize(),
+                    cacheMemorySize);
+        } else {
+            int lruCacheSize = Math.max(1, (int) (cacheSize / getDefaultTopNSize()));
+            kvSortedMap = cacheBuilder.maximumSize(lruCacheSize).build();
+            LOG.info(
+                    "Top{} operator is using LRU caches key-size: {}",
+                    getDefaultTopNSize(),
+                    lruCacheSize);
+        }
 
         ListTypeInfo<RowData> valueTypeInfo = new ListTypeInfo<>(inputRowType);
         MapStateDescriptor<RowData, List<RowData>> mapStateDescriptor =
@@ -143,6 +169,10 @@ public class AppendOnlyTopNFunction extends AbstractTopNFunction {
             } else {
                 processElementWithoutRowNumber(input, out);
             }
+            if (cacheMemorySize > 0) {
+                // put the buffer again to update its weight
+                putBuffer((RowData) keyContext.getCurrentKey());
+            }
         }
     }
 
@@ -151,8 +181,11 @@ public class AppendOnlyTopNFunction extends AbstractTopNFunction {
         RowData currentKey = (RowData) keyContext.getCurrentKey();
         buffer = kvSortedMap.getIfPresent(currentKey);
         if (buffer == null) {
-            buffer = new TopNBuffer(sortKeyComparator, ArrayList::new);
-            kvSortedMap.put(currentKey, buffer);
+            if (cacheMemorySize > 0) {
+                buffer = new SortedArrayTopNBuffer(sortKeyComparator);
+            } else {
+                buffer = new TopNBuffer(sortKeyComparator, ArrayList::new);
+            }
             // restore buffer
             Iterator<Map.Entry<RowData, List<RowData>>> iter = dataState.iterator();
             if (iter != null) {
@@ -164,11 +197,42 @@ public class AppendOnlyTopNFunction extends AbstractTopNFunction {
                     buffer.putAll(sortKey, values);
                 }
             }
+            putBuffer(currentKey);
         } else {
             hitCount += 1;
         }
     }
 
+    /**
+     * Puts the buffer into the cache. With a cache bounded by memory, the least recently used
+     * partitions are evicted until the cache fits into its memory-size again, and a buffer which
+     * is heavier than the whole memory-size is not cached at all: its partition is removed from
+     * the cache and restored from the state for every record, which is logged once.
+     */
+    private void putBuffer(RowData currentKey) {
+        if (cacheMemorySize <= 0) {
+            kvSortedMap.put(currentKey, buffer);
+            return;
+        }
+        long memorySize = ((SortedArrayTopNBuffer) buffer).getMemorySize();
+        if (memorySize <= cacheMemorySize) {
+            kvSortedMap.put(currentKey, buffer);
+            return;
+        }
+        kvSortedMap.invalidate(currentKey);
+        if (!oversizedPartitionLogged) {
+            oversizedPartitionLogged = true;
+            LOG.warn(
+                    "A partition of the Top{} operator takes {} bytes, which exceeds the LRU "
+                            + "caches memory-size of {} bytes. The partition is not cached and "
+                            + "restored from the state for every record, consider increasing "
+                            + "'table.exec.rank.topn-cache-memory'.",
+                    getDefaultTopNSize(),
+                    memorySize,
+                    cacheMemorySize);
+        }
+    }
+
     private void processElementWithRowNumber(RowData sortKey, RowData input, Collector<RowData> out)
             throws Exception {
         Iterator<Map.Entry<RowData, Collection<RowData>>> iterator = buffer.entrySet().iterator();
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.rank;
+
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.java.functions.KeySelector;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.context.ExecutionContext;
+import org.apache.flink.table.runtime.generated.GeneratedRecordComparator;
+import org.apache.flink.table.runtime.generated.RecordComparator;
+import org.apache.flink.table.runtime.operators.bundle.MapBundleFunction;
+import org.apache.flink.table.runtime.typeutils.InternalSerializers;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.util.Collector;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Function used for the local TopN of a two-phase TopN in miniBatch mode. It keeps the top N
+ * records of every partition key in a bundle and forwards them to the global TopN when the bundle
+ * is finished, all other records are dropped.
+ *
+ * <p>This is only valid for append-only input: a record which is not in the top N of its bundle has
+ * at least N smaller records which are all sent to the global TopN, so it can never be in the
+ * global top N either.
+ */
+public class MiniBatchLocalTopNFunction
+        extends MapBundleFunction<RowData, TopNBuffer, RowData, RowData> {
+
+    private static final long serialVersionUID = 1L;
+
+    /** The input row type. */
+    private final RowType inputType;
+
+    /** The code generated comparator of sort keys. */
+    private final GeneratedRecordComparator generatedSortKeyComparator;
+
+    /** The key selector to extract the sort key of a record. */
+    private final KeySelector<RowData, RowData> sortKeySelector;
+
+    /** The number of records to keep for every partition key in a bundle. */
+    private final long topN;
+
+    private transient RecordComparator sortKeyComparator;
+
+    private transient TypeSerializer<RowData> inputRowSerializer;
+
+    public MiniBatchLocalTopNFunction(
+            RowType inputType,
+            GeneratedRecordComparator generatedSortKeyComparator,
+            KeySelector<RowData, RowData> sortKeySelector,
+            long topN) {
+        checkArgument(topN > 0, "The number of records to keep must be positive.");
+        this.inputType = inputType;
+        this.generatedSortKeyComparator = generatedSortKeyComparator;
+        this.sortKeySelector = sortKeySelector;
+        this.topN = topN;
+    }
+
+    @Override
+    public void open(ExecutionContext ctx) throws Exception {
+        super.open(ctx);
+        sortKeyComparator =
+                generatedSortKeyComparator.newInstance(
+                        ctx.getRuntimeContext().getUserCodeClassLoader());
+        inputRowSerializer = InternalSerializers.create(inputType);
+    }
+
+    @Override
+    public TopNBuffer addInput(@Nullable TopNBuffer buffer, RowData input) throws Exception {
+        if (buffer == null) {
+            buffer = new TopNBuffer(sortKeyComparator, ArrayList::new);
+        }
+        RowData sortKey = sortKeySelector.getKey(input);
+        if (buffer.getCurrentTopNum() < topN) {
+            // input row maybe reused, we need deep copy here
+            buffer.put(sortKey, inputRowSerializer.copy(input));
+        } else if (sortKeyComparator.compare(sortKey, buffer.lastEntry().getKey()) < 0) {
+            buffer.put(sortKey, inputRowSerializer.copy(input));
+            buffer.removeLast();
+        }
+        return buffer;
+    }
+
+    @Override
+    public void finishBundle(Map<RowData, TopNBuffer> buffer, Collector<RowData> out)
+            throws Exception {
+        for (TopNBuffer topNBuffer : buffer.values()) {
+            for (Map.Entry<RowData, Collection<RowData>> entry : topNBuffer.entrySet()) {
+                for (RowData record : entry.getValue()) {
+                    out.collect(record);
+                }
+            }
+        }
+        buffer.clear();
+    }
+}
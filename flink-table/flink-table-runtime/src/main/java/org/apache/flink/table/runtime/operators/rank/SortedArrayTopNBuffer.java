@@ -0,0 +1,280 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.rank;
+
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A {@link TopNBuffer} which keeps the sort keys and their record lists in two sorted arrays
+ * instead of a tree. Sort keys are looked up and inserted with a binary search, which avoids a tree
+ * node per sort key and keeps the records of a partition in a few compact objects.
+ *
+ * <p>The buffer also tracks the estimated memory size of its sort keys and records, which is the
+ * size of the binary rows plus a fixed overhead per object, so that the buffers can be cached with
+ * a memory budget. The record lists must be {@link List}s and must only be modified through the
+ * buffer, otherwise the memory size is not updated.
+ */
+public class SortedArrayTopNBuffer extends TopNBuffer {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Estimated heap overhead of a row object, its memory segment and the reference to it. */
+    private static final int ROW_OVERHEAD = 64;
+
+    /** Estimated heap overhead of a sort key entry, i.e. its record list and array slots. */
+    private static final int ENTRY_OVERHEAD = 48;
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private RowData[] sortKeys = new RowData[INITIAL_CAPACITY];
+    private Collection<RowData>[] values = newValues(INITIAL_CAPACITY);
+    private int size = 0;
+    private int currentTopNum = 0;
+    private long memorySize = 0;
+
+    public SortedArrayTopNBuffer(Comparator<RowData> sortKeyComparator) {
+        super(sortKeyComparator);
+    }
+
+    @Override
+    public int put(RowData sortKey, RowData value) {
+        int index = indexOf(sortKey);
+        Collection<RowData> collection;
+        if (index >= 0) {
+            collection = values[index];
+        } else {
+            collection = new ArrayList<>();
+            insertAt(-index - 1, sortKey, collection);
+        }
+        collection.add(value);
+        currentTopNum += 1;
+        memorySize += rowSize(value);
+        return collection.size();
+    }
+
+    @Override
+    public void putAll(RowData sortKey, Collection<RowData> values) {
+        int index = indexOf(sortKey);
+        if (index >= 0) {
+            currentTopNum -= this.values[index].size();
+            memorySize -= rowsSize(this.values[index]);
+            this.values[index] = values;
+        } else {
+            insertAt(-index - 1, sortKey, values);
+        }
+        currentTopNum += values.size();
+        memorySize += rowsSize(values);
+    }
+
+    @Override
+    public Collection<RowData> get(RowData sortKey) {
+        int index = indexOf(sortKey);
+        return index >= 0 ? values[index] : null;
+    }
+
+    @Override
+    public void remove(RowData sortKey, RowData value) {
+        int index = indexOf(sortKey);
+        if (index >= 0) {
+            Collection<RowData> collection = values[index];
+            if (collection.remove(value)) {
+                currentTopNum -= 1;
+                memorySize -= rowSize(value);
+            }
+            if (collection.isEmpty()) {
+                removeAt(index);
+            }
+        }
+    }
+
+    @Override
+    public void removeAll(RowData sortKey) {
+        int index = indexOf(sortKey);
+        if (index >= 0) {
+            currentTopNum -= values[index].size();
+            memorySize -= rowsSize(values[index]);
+            removeAt(index);
+        }
+    }
+
+    @Override
+    public RowData removeLast() {
+        if (size == 0) {
+            return null;
+        }
+        List<RowData> list = (List<RowData>) values[size - 1];
+        RowData lastElement = null;
+        if (!list.isEmpty()) {
+            lastElement = list.remove(list.size() - 1);
+            currentTopNum -= 1;
+            memorySize -= rowSize(lastElement);
+        }
+        if (list.isEmpty()) {
+            removeAt(size - 1);
+        }
+        return lastElement;
+    }
+
+    @Override
+    public RowData lastElement() {
+        if (size == 0) {
+            return null;
+        }
+        List<RowData> list = (List<RowData>) values[size - 1];
+        return list.isEmpty() ? null : list.get(list.size() - 1);
+    }
+
+    @Override
+    public RowData getElement(int rank) {
+        if (rank <= 0) {
+            return null;
+        }
+        int curRank = 0;
+        for (int i = 0; i < size; i++) {
+            List<RowData> list = (List<RowData>) values[i];
+            if (curRank + list.size() >= rank) {
+                return list.get(rank - curRank - 1);
+            }
+            curRank += list.size();
+        }
+        return null;
+    }
+
+    @Override
+    public Set<Map.Entry<RowData, Collection<RowData>>> entrySet() {
+        return new AbstractSet<Map.Entry<RowData, Collection<RowData>>>() {
+            @Override
+            public Iterator<Map.Entry<RowData, Collection<RowData>>> iterator() {
+                return new Iterator<Map.Entry<RowData, Collection<RowData>>>() {
+                    private int index = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < size;
+                    }
+
+                    @Override
+                    public Map.Entry<RowData, Collection<RowData>> next() {
+                        if (index >= size) {
+                            throw new NoSuchElementException();
+                        }
+                        Map.Entry<RowData, Collection<RowData>> entry = entryAt(index);
+                        index++;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Map.Entry<RowData, Collection<RowData>> lastEntry() {
+        return size == 0 ? null : entryAt(size - 1);
+    }
+
+    @Override
+    public boolean containsKey(RowData key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public int getCurrentTopNum() {
+        return currentTopNum;
+    }
+
+    /** Gets the estimated memory size of the sort keys and records in bytes. */
+    public long getMemorySize() {
+        return memorySize;
+    }
+
+    // -------------------------------------------------------------------------------------
+
+    /**
+     * Returns the index of the sort key if it is contained in the buffer, otherwise {@code
+     * (-(insertion point) - 1)}, see {@link Arrays#binarySearch(Object[], Object, Comparator)}.
+     */
+    private int indexOf(RowData sortKey) {
+        return Arrays.binarySearch(sortKeys, 0, size, sortKey, getSortKeyComparator());
+    }
+
+    private void insertAt(int index, RowData sortKey, Collection<RowData> collection) {
+        if (size == sortKeys.length) {
+            int capacity = sortKeys.length * 2;
+            sortKeys = Arrays.copyOf(sortKeys, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        System.arraycopy(sortKeys, index, sortKeys, index + 1, size - index);
+        System.arraycopy(values, index, values, index + 1, size - index);
+        sortKeys[index] = sortKey;
+        values[index] = collection;
+        size++;
+        memorySize += rowSize(sortKey) + ENTRY_OVERHEAD;
+    }
+
+    private void removeAt(int index) {
+        memorySize -= rowSize(sortKeys[index]) + ENTRY_OVERHEAD;
+        System.arraycopy(sortKeys, index + 1, sortKeys, index, size - index - 1);
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        sortKeys[size] = null;
+        values[size] = null;
+    }
+
+    private Map.Entry<RowData, Collection<RowData>> entryAt(int index) {
+        return new AbstractMap.SimpleImmutableEntry<>(sortKeys[index], values[index]);
+    }
+
+    private static long rowsSize(Collection<RowData> rows) {
+        long size = 0;
+        for (RowData row : rows) {
+            size += rowSize(row);
+        }
+        return size;
+    }
+
+    private static long rowSize(RowData row) {
+        if (row instanceof BinaryRowData) {
+            return ((BinaryRowData) row).getSizeInBytes() + ROW_OVERHEAD;
+        }
+        return ROW_OVERHEAD + 8L * row.getArity();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<RowData>[] newValues(int capacity) {
+        return new Collection[capacity];
+    }
+}
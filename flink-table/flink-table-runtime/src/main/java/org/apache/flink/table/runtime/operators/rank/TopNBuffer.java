@@ -49,6 +49,12 @@ public class TopNBuffer implements Serializable {
         this.treeMap = new TreeMap(sortKeyComparator);
     }
 
+    /** Creates a buffer for subclasses which keep the records in their own structure. */
+    protected TopNBuffer(Comparator<RowData> sortKeyComparator) {
+        this.valueSupplier = null;
+        this.sortKeyComparator = sortKeyComparator;
+    }
+
     /**
      * Appends a record into the buffer.
      *
@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.stream;
+
+import org.apache.flink.runtime.checkpoint.OperatorSubtaskState;
+import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.util.KeyedTwoInputStreamOperatorTestHarness;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.generated.GeneratedJoinCondition;
+import org.apache.flink.table.runtime.keyselector.RowDataKeySelector;
+import org.apache.flink.table.runtime.operators.bundle.trigger.CountCoBundleTrigger;
+import org.apache.flink.table.runtime.operators.join.stream.state.JoinInputSideSpec;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.runtime.util.RowDataHarnessAssertor;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.VarCharType;
+import org.apache.flink.table.utils.HandwrittenSelectorUtil;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.deleteRecord;
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.insertRecord;
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.updateAfterRecord;
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.updateBeforeRecord;
+
+/** Harness tests for {@link MiniBatchStreamingJoinOperator}. */
+public class MiniBatchStreamingJoinOperatorTest {
+
+    private final String funcCode =
+            "public class TrueJoinCondition extends org.apache.flink.api.common.functions.AbstractRichFunction "
+                    + "implements org.apache.flink.table.runtime.generated.JoinCondition {\n"
+                    + "\n"
+                    + "    public TrueJoinCondition(Object[] reference) {\n"
+                    + "    }\n"
+                    + "\n"
+                    + "    @Override\n"
+                    + "    public boolean apply(org.apache.flink.table.data.RowData in1, org.apache.flink.table.data.RowData in2) {\n"
+                    + "        return true;\n"
+                    + "    }\n"
+                    + "}\n";
+    private final GeneratedJoinCondition joinCondition =
+            new GeneratedJoinCondition("TrueJoinCondition", funcCode, new Object[0]);
+
+    // left input: (join key, id, name) with unique key id
+    private final InternalTypeInfo<RowData> leftType =
+            InternalTypeInfo.ofFields(
+                    VarCharType.STRING_TYPE, new BigIntType(), VarCharType.STRING_TYPE);
+    // right input: (join key, value) without unique key
+    private final InternalTypeInfo<RowData> rightType =
+            InternalTypeInfo.ofFields(VarCharType.STRING_TYPE, VarCharType.STRING_TYPE);
+    private final InternalTypeInfo<RowData> outputType =
+            InternalTypeInfo.ofFields(
+                    VarCharType.STRING_TYPE,
+                    new BigIntType(),
+                    VarCharType.STRING_TYPE,
+                    VarCharType.STRING_TYPE,
+                    VarCharType.STRING_TYPE);
+
+    private final RowDataKeySelector leftKeySelector =
+            HandwrittenSelectorUtil.getRowDataSelector(new int[] {0}, leftType.toRowFieldTypes());
+    private final RowDataKeySelector rightKeySelector =
+            HandwrittenSelectorUtil.getRowDataSelector(new int[] {0}, rightType.toRowFieldTypes());
+    private final JoinInputSideSpec leftInputSideSpec =
+            JoinInputSideSpec.withUniqueKey(
+                    InternalTypeInfo.ofFields(new BigIntType()),
+                    HandwrittenSelectorUtil.getRowDataSelector(
+                            new int[] {1}, leftType.toRowFieldTypes()));
+    private final JoinInputSideSpec rightInputSideSpec = JoinInputSideSpec.withoutUniqueKey();
+
+    private final RowDataHarnessAssertor assertor =
+            new RowDataHarnessAssertor(outputType.toRowFieldTypes());
+
+    @Test
+    public void testInnerJoinFoldsChangesWithinBundle() throws Exception {
+        KeyedTwoInputStreamOperatorTestHarness<RowData, RowData, RowData, RowData> testHarness =
+                createTestHarness(false, false, 100);
+        testHarness.open();
+
+        testHarness.processElement1(insertRecord("a", 1L, "x"));
+        testHarness.processElement1(updateBeforeRecord("a", 1L, "x"));
+        testHarness.processElement1(updateAfterRecord("a", 1L, "y"));
+        testHarness.processElement1(insertRecord("a", 2L, "z"));
+        testHarness.processElement1(deleteRecord("a", 2L, "z"));
+        testHarness.processElement2(insertRecord("a", "r1"));
+        testHarness.processElement2(insertRecord("a", "r2"));
+        testHarness.processElement2(deleteRecord("a", "r2"));
+        testHarness.processElement2(insertRecord("b", "r3"));
+        assertor.assertOutputEquals("output wrong.", new ArrayList<>(), testHarness.getOutput());
+
+        testHarness.prepareSnapshotPreBarrier(1L);
+
+        List<Object> expectedOutput = new ArrayList<>();
+        expectedOutput.add(insertRecord("a", 1L, "y", "a", "r1"));
+        assertor.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
+
+        // the next bundle joins with the state written by the previous one
+        testHarness.processElement1(insertRecord("b", 3L, "w"));
+        testHarness.processElement2(deleteRecord("a", "r1"));
+        testHarness.prepareSnapshotPreBarrier(2L);
+
+        expectedOutput.add(insertRecord("b", 3L, "w", "b", "r3"));
+        expectedOutput.add(deleteRecord("a", 1L, "y", "a", "r1"));
+        assertor.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
+        testHarness.close();
+    }
+
+    @Test
+    public void testLeftOuterJoinFinishesBundleOnCount() throws Exception {
+        KeyedTwoInputStreamOperatorTestHarness<RowData, RowData, RowData, RowData> testHarness =
+                createTestHarness(true, false, 2);
+        testHarness.open();
+
+        testHarness.processElement1(insertRecord("a", 1L, "x"));
+        testHarness.processElement2(insertRecord("b", "r1"));
+
+        List<Object> expectedOutput = new ArrayList<>();
+        expectedOutput.add(insertRecord("a", 1L, "x", null, null));
+        assertor.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
+
+        // the insert and delete of the same record are folded, the null padding is kept
+        testHarness.processElement2(insertRecord("a", "r2"));
+        testHarness.processElement2(deleteRecord("a", "r2"));
+        assertor.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
+
+        testHarness.processElement2(insertRecord("a", "r3"));
+        testHarness.processElement1(deleteRecord("a", 1L, "x"));
+
+        // the left record is retracted before the right record is joined
+        expectedOutput.add(deleteRecord("a", 1L, "x", null, null));
+        assertor.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
+        testHarness.close();
+    }
+
+    @Test
+    public void testFinishBundleOnWatermark() throws Exception {
+        KeyedTwoInputStreamOperatorTestHarness<RowData, RowData, RowData, RowData> testHarness =
+                createTestHarness(false, false, 100);
+        testHarness.open();
+
+        testHarness.processElement1(insertRecord("a", 1L, "x"));
+        testHarness.processElement2(insertRecord("a", "r1"));
+        testHarness.processWatermark1(new Watermark(10L));
+        testHarness.processWatermark2(new Watermark(10L));
+
+        List<Object> expectedOutput = new ArrayList<>();
+        expectedOutput.add(insertRecord("a", 1L, "x", "a", "r1"));
+        expectedOutput.add(new Watermark(10L));
+        assertor.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
+        testHarness.close();
+    }
+
+    @Test
+    public void testBufferedStateIsWrittenPerJoinKey() throws Exception {
+        testBufferedStateIsWrittenPerJoinKey(leftInputSideSpec);
+    }
+
+    @Test
+    public void testBufferedStateIsWrittenPerJoinKeyContainingUniqueKey() throws Exception {
+        testBufferedStateIsWrittenPerJoinKey(
+                JoinInputSideSpec.withUniqueKeyContainedByJoinKey(
+                        InternalTypeInfo.ofFields(VarCharType.STRING_TYPE), leftKeySelector));
+    }
+
+    private void testBufferedStateIsWrittenPerJoinKey(JoinInputSideSpec leftInputSideSpec)
+            throws Exception {
+        KeyedTwoInputStreamOperatorTestHarness<RowData, RowData, RowData, RowData> testHarness =
+                createTestHarness(true, true, 100, leftInputSideSpec);
+        testHarness.open();
+
+        testHarness.processElement1(insertRecord("a", 1L, "x"));
+        testHarness.processElement1(updateBeforeRecord("a", 1L, "x"));
+        testHarness.processElement1(updateAfterRecord("a", 1L, "y"));
+        testHarness.processElement2(insertRecord("a", "r1"));
+        testHarness.prepareSnapshotPreBarrier(1L);
+
+        List<Object> expectedOutput = new ArrayList<>();
+        expectedOutput.add(insertRecord("a", 1L, "y", null, null));
+        expectedOutput.add(deleteRecord("a", 1L, "y", null, null));
+        expectedOutput.add(insertRecord("a", 1L, "y", "a", "r1"));
+        assertor.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
+
+        OperatorSubtaskState snapshot = testHarness.snapshot(1L, 1L);
+        testHarness.close();
+
+        // the records and their numbers of associations were written to the state
+        testHarness = createTestHarness(true, true, 100, leftInputSideSpec);
+        testHarness.initializeState(snapshot);
+        testHarness.open();
+
+        testHarness.processElement2(insertRecord("a", "r2"));
+        testHarness.prepareSnapshotPreBarrier(2L);
+        testHarness.processElement2(deleteRecord("a", "r1"));
+        testHarness.prepareSnapshotPreBarrier(3L);
+        testHarness.processElement2(deleteRecord("a", "r2"));
+        testHarness.prepareSnapshotPreBarrier(4L);
+
+        expectedOutput.clear();
+        expectedOutput.add(insertRecord("a", 1L, "y", "a", "r2"));
+        expectedOutput.add(deleteRecord("a", 1L, "y", "a", "r1"));
+        expectedOutput.add(deleteRecord("a", 1L, "y", "a", "r2"));
+        expectedOutput.add(insertRecord("a", 1L, "y", null, null));
+        assertor.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
+        testHarness.close();
+    }
+
+    private KeyedTwoInputStreamOperatorTestHarness<RowData, RowData, RowData, RowData>
+            createTestHarness(boolean leftIsOuter, boolean rightIsOuter, long bundleSize)
+                    throws Exception {
+        return createTestHarness(leftIsOuter, rightIsOuter, bundleSize, leftInputSideSpec);
+    }
+
+    private KeyedTwoInputStreamOperatorTestHarness<RowData, RowData, RowData, RowData>
+            createTestHarness(
+                    boolean leftIsOuter,
+                    boolean rightIsOuter,
+                    long bundleSize,
+                    JoinInputSideSpec leftInputSideSpec)
+                    throws Exception {
+        MiniBatchStreamingJoinOperator operator =
+                new MiniBatchStreamingJoinOperator(
+                        leftType,
+                        rightType,
+                        joinCondition,
+                        leftInputSideSpec,
+                        rightInputSideSpec,
+                        leftIsOuter,
+                        rightIsOuter,
+                        new boolean[] {true},
+                        0,
+                        0,
+                        new CountCoBundleTrigger<>(bundleSize));
+        return new KeyedTwoInputStreamOperatorTestHarness<>(
+                operator, leftKeySelector, rightKeySelector, leftKeySelector.getProducedType());
+    }
+}
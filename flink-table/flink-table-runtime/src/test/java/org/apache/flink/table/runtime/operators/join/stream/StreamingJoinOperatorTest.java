@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.join.stream;
+
+import org.apache.flink.runtime.checkpoint.OperatorSubtaskState;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.util.KeyedTwoInputStreamOperatorTestHarness;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.runtime.generated.GeneratedJoinCondition;
+import org.apache.flink.table.runtime.keyselector.RowDataKeySelector;
+import org.apache.flink.table.runtime.operators.join.stream.state.JoinInputSideSpec;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.runtime.util.RowDataHarnessAssertor;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.VarCharType;
+import org.apache.flink.table.utils.HandwrittenSelectorUtil;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.deleteRecord;
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.insertRecord;
+
+/** Harness tests for {@link StreamingJoinOperator} with a state cache. */
+public class StreamingJoinOperatorTest {
+
+    private final String funcCode =
+            "public class TrueJoinCondition extends org.apache.flink.api.common.functions.AbstractRichFunction "
+                    + "implements org.apache.flink.table.runtime.generated.JoinCondition {\n"
+                    + "\n"
+                    + "    public TrueJoinCondition(Object[] reference) {\n"
+                    + "    }\n"
+                    + "\n"
+                    + "    @Override\n"
+                    + "    public boolean apply(org.apache.flink.table.data.RowData in1, org.apache.flink.table.data.RowData in2) {\n"
+                    + "        return true;\n"
+                    + "    }\n"
+                    + "}\n";
+    private final GeneratedJoinCondition joinCondition =
+            new GeneratedJoinCondition("TrueJoinCondition", funcCode, new Object[0]);
+
+    // left input: (join key, value) without unique key
+    private final InternalTypeInfo<RowData> leftType =
+            InternalTypeInfo.ofFields(VarCharType.STRING_TYPE, VarCharType.STRING_TYPE);
+    // right input: (join key, id, name) with unique key id
+    private final InternalTypeInfo<RowData> rightType =
+            InternalTypeInfo.ofFields(
+                    VarCharType.STRING_TYPE, new BigIntType(), VarCharType.STRING_TYPE);
+    private final InternalTypeInfo<RowData> outputType =
+            InternalTypeInfo.ofFields(
+                    VarCharType.STRING_TYPE,
+                    VarCharType.STRING_TYPE,
+                    VarCharType.STRING_TYPE,
+                    new BigIntType(),
+                    VarCharType.STRING_TYPE);
+
+    private final RowDataKeySelector leftKeySelector =
+            HandwrittenSelectorUtil.getRowDataSelector(new int[] {0}, leftType.toRowFieldTypes());
+    private final RowDataKeySelector rightKeySelector =
+            HandwrittenSelectorUtil.getRowDataSelector(new int[] {0}, rightType.toRowFieldTypes());
+    private final JoinInputSideSpec leftInputSideSpec = JoinInputSideSpec.withoutUniqueKey();
+    private final JoinInputSideSpec rightInputSideSpec =
+            JoinInputSideSpec.withUniqueKey(
+                    InternalTypeInfo.ofFields(new BigIntType()),
+                    HandwrittenSelectorUtil.getRowDataSelector(
+                            new int[] {1}, rightType.toRowFieldTypes()));
+
+    private final RowDataHarnessAssertor assertor =
+            new RowDataHarnessAssertor(outputType.toRowFieldTypes());
+
+    @Test
+    public void testInnerJoinWithStateCacheEviction() throws Exception {
+        // the cache holds the records of a single join key per side, so every join key evicts the
+        // previous one
+        testInnerJoinWithStateCache(250);
+    }
+
+    @Test
+    public void testInnerJoinWithStateCacheSmallerThanJoinKey() throws Exception {
+        // the records of every join key are evicted right after they are modified
+        testInnerJoinWithStateCache(1);
+    }
+
+    private void testInnerJoinWithStateCache(long stateCacheSize) throws Exception {
+        KeyedTwoInputStreamOperatorTestHarness<RowData, RowData, RowData, RowData> testHarness =
+                createTestHarness(false, stateCacheSize);
+        testHarness.open();
+
+        testHarness.processElement1(insertRecord("a", "l1"));
+        testHarness.processElement1(insertRecord("a", "l1"));
+        testHarness.processElement1(insertRecord("b", "l2"));
+        testHarness.processElement2(insertRecord("a", 1L, "r1"));
+        testHarness.processElement2(insertRecord("b", 2L, "r2"));
+        testHarness.processElement1(deleteRecord("a", "l1"));
+        testHarness.processElement2(deleteRecord("b", 2L, "r2"));
+        testHarness.processElement1(insertRecord("b", "l3"));
+
+        List<Object> expectedOutput = new ArrayList<>();
+        expectedOutput.add(insertRecord("a", "l1", "a", 1L, "r1"));
+        expectedOutput.add(insertRecord("a", "l1", "a", 1L, "r1"));
+        expectedOutput.add(insertRecord("b", "l2", "b", 2L, "r2"));
+        expectedOutput.add(deleteRecord("a", "l1", "a", 1L, "r1"));
+        expectedOutput.add(deleteRecord("b", "l2", "b", 2L, "r2"));
+        assertor.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
+        testHarness.close();
+    }
+
+    @Test
+    public void testStateCacheCopiesReusedRecords() throws Exception {
+        KeyedTwoInputStreamOperatorTestHarness<RowData, RowData, RowData, RowData> testHarness =
+                createTestHarness(false, 1024);
+        testHarness.open();
+
+        // the inputs reuse the record objects, e.g. with object reuse enabled
+        StreamRecord<RowData> left = insertRecord("a", "l1");
+        testHarness.processElement1(left);
+        ((GenericRowData) left.getValue()).setField(1, StringData.fromString("l2"));
+        StreamRecord<RowData> right = insertRecord("a", 1L, "r1");
+        testHarness.processElement2(right);
+        ((GenericRowData) right.getValue()).setField(2, StringData.fromString("r2"));
+        testHarness.processElement1(insertRecord("a", "l3"));
+
+        List<Object> expectedOutput = new ArrayList<>();
+        expectedOutput.add(insertRecord("a", "l1", "a", 1L, "r1"));
+        expectedOutput.add(insertRecord("a", "l3", "a", 1L, "r1"));
+        assertor.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
+        testHarness.close();
+    }
+
+    @Test
+    public void testStateCacheIsFlushedOnSnapshot() throws Exception {
+        KeyedTwoInputStreamOperatorTestHarness<RowData, RowData, RowData, RowData> testHarness =
+                createTestHarness(true, 1024);
+        testHarness.open();
+
+        testHarness.processElement1(insertRecord("a", "l1"));
+        testHarness.processElement1(insertRecord("b", "l2"));
+        testHarness.processElement1(deleteRecord("b", "l2"));
+
+        List<Object> expectedOutput = new ArrayList<>();
+        expectedOutput.add(insertRecord("a", "l1", null, null, null));
+        expectedOutput.add(insertRecord("b", "l2", null, null, null));
+        expectedOutput.add(deleteRecord("b", "l2", null, null, null));
+        assertor.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
+
+        OperatorSubtaskState snapshot = testHarness.snapshot(1L, 1L);
+        testHarness.close();
+
+        // restore without cache, the state must contain the cached records
+        testHarness = createTestHarness(true, 0);
+        testHarness.initializeState(snapshot);
+        testHarness.open();
+
+        testHarness.processElement2(insertRecord("a", 1L, "r1"));
+        testHarness.processElement2(insertRecord("b", 2L, "r2"));
+
+        expectedOutput.clear();
+        expectedOutput.add(deleteRecord("a", "l1", null, null, null));
+        expectedOutput.add(insertRecord("a", "l1", "a", 1L, "r1"));
+        assertor.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
+        testHarness.close();
+    }
+
+    private KeyedTwoInputStreamOperatorTestHarness<RowData, RowData, RowData, RowData>
+            createTestHarness(boolean leftIsOuter, long stateCacheSize) throws Exception {
+        StreamingJoinOperator operator =
+                new StreamingJoinOperator(
+                        leftType,
+                        rightType,
+                        joinCondition,
+                        leftInputSideSpec,
+                        rightInputSideSpec,
+                        leftIsOuter,
+                        false,
+                        new boolean[] {true},
+                        0,
+                        stateCacheSize);
+        return new KeyedTwoInputStreamOperatorTestHarness<>(
+                operator, leftKeySelector, rightKeySelector, leftKeySelector.getProducedType());
+    }
+}
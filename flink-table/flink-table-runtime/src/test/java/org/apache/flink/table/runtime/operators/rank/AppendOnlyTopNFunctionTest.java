@@ -47,7 +47,8 @@ public class AppendOnlyTopNFunctionTest extends TopNFunctionTestBase {
                 rankRange,
                 generateUpdateBefore,
                 outputRankNumber,
-                cacheSize);
+                cacheSize,
+                0L);
     }
 
     @Test
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.rank;
+
+import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness;
+import org.apache.flink.table.data.RowData;
+
+import org.junit.Test;
+
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.insertRecord;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link AppendOnlyTopNFunction} with a cache bounded by memory, the memory size is so
+ * small that partitions are evicted and restored from state all the time.
+ */
+public class AppendOnlyTopNFunctionWithCacheMemoryTest extends AppendOnlyTopNFunctionTest {
+
+    @Override
+    protected AbstractTopNFunction createFunction(
+            RankType rankType,
+            RankRange rankRange,
+            boolean generateUpdateBefore,
+            boolean outputRankNumber) {
+        return createFunction(rankType, rankRange, generateUpdateBefore, outputRankNumber, 512L);
+    }
+
+    @Test
+    public void testPartitionLargerThanCacheMemoryIsNotCached() throws Exception {
+        // a partition of two records fits into 1 KB, but not into 1 byte
+        assertEquals(3L, processPartition(1024L).hitCount);
+        assertEquals(0L, processPartition(1L).hitCount);
+    }
+
+    private AbstractTopNFunction processPartition(long cacheMemorySize) throws Exception {
+        AbstractTopNFunction func =
+                createFunction(
+                        RankType.ROW_NUMBER,
+                        new ConstantRankRange(1, 2),
+                        true,
+                        false,
+                        cacheMemorySize);
+        OneInputStreamOperatorTestHarness<RowData, RowData> testHarness = createTestHarness(func);
+        testHarness.open();
+        testHarness.processElement(insertRecord("book", 1L, 12));
+        testHarness.processElement(insertRecord("book", 2L, 19));
+        testHarness.processElement(insertRecord("book", 4L, 11));
+        testHarness.processElement(insertRecord("book", 5L, 11));
+        testHarness.close();
+        assertEquals(4L, func.requestCount);
+        return func;
+    }
+
+    private AbstractTopNFunction createFunction(
+            RankType rankType,
+            RankRange rankRange,
+            boolean generateUpdateBefore,
+            boolean outputRankNumber,
+            long cacheMemorySize) {
+        return new AppendOnlyTopNFunction(
+                ttlConfig,
+                inputRowType,
+                generatedSortKeyComparator,
+                sortKeySelector,
+                rankType,
+                rankRange,
+                generateUpdateBefore,
+                outputRankNumber,
+                cacheSize,
+                cacheMemorySize);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.rank;
+
+import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.runtime.generated.GeneratedRecordComparator;
+import org.apache.flink.table.runtime.generated.RecordComparator;
+import org.apache.flink.table.runtime.keyselector.RowDataKeySelector;
+import org.apache.flink.table.runtime.operators.bundle.MapBundleOperator;
+import org.apache.flink.table.runtime.operators.bundle.trigger.CountBundleTrigger;
+import org.apache.flink.table.runtime.operators.sort.IntRecordComparator;
+import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
+import org.apache.flink.table.runtime.util.GenericRowRecordSortComparator;
+import org.apache.flink.table.runtime.util.RowDataHarnessAssertor;
+import org.apache.flink.table.types.logical.BigIntType;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.table.types.logical.VarCharType;
+import org.apache.flink.table.utils.HandwrittenSelectorUtil;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.flink.table.runtime.util.StreamRecordUtils.insertRecord;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link MiniBatchLocalTopNFunction}. */
+public class MiniBatchLocalTopNFunctionTest {
+
+    private final InternalTypeInfo<RowData> inputRowType =
+            InternalTypeInfo.ofFields(VarCharType.STRING_TYPE, new BigIntType(), new IntType());
+
+    private final GeneratedRecordComparator generatedSortKeyComparator =
+            new GeneratedRecordComparator("", "", new Object[0]) {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                public RecordComparator newInstance(ClassLoader classLoader) {
+                    return IntRecordComparator.INSTANCE;
+                }
+            };
+
+    private final RowDataKeySelector sortKeySelector =
+            HandwrittenSelectorUtil.getRowDataSelector(
+                    new int[] {2}, inputRowType.toRowFieldTypes());
+
+    private final RowDataKeySelector partitionKeySelector =
+            HandwrittenSelectorUtil.getRowDataSelector(
+                    new int[] {0}, inputRowType.toRowFieldTypes());
+
+    private final RowDataHarnessAssertor assertor =
+            new RowDataHarnessAssertor(
+                    inputRowType.toRowFieldTypes(),
+                    new GenericRowRecordSortComparator(0, VarCharType.STRING_TYPE));
+
+    private OneInputStreamOperatorTestHarness<RowData, RowData> createTestHarness(
+            long topN, long bundleSize) throws Exception {
+        MiniBatchLocalTopNFunction function =
+                new MiniBatchLocalTopNFunction(
+                        (RowType) inputRowType.toLogicalType(),
+                        generatedSortKeyComparator,
+                        sortKeySelector,
+                        topN);
+        MapBundleOperator<RowData, TopNBuffer, RowData, RowData> operator =
+                new MapBundleOperator<>(
+                        function, new CountBundleTrigger<>(bundleSize), partitionKeySelector);
+        return new OneInputStreamOperatorTestHarness<>(operator);
+    }
+
+    @Test
+    public void testKeepTopNOfEveryPartitionInBundle() throws Exception {
+        OneInputStreamOperatorTestHarness<RowData, RowData> testHarness = createTestHarness(2, 8);
+        testHarness.open();
+        testHarness.processElement(insertRecord("book", 1L, 12));
+        testHarness.processElement(insertRecord("book", 2L, 19));
+        testHarness.processElement(insertRecord("book", 4L, 11));
+        testHarness.processElement(insertRecord("fruit", 4L, 33));
+        testHarness.processElement(insertRecord("book", 5L, 11));
+        testHarness.processElement(insertRecord("fruit", 3L, 44));
+        testHarness.processElement(insertRecord("book", 6L, 10));
+        // output is empty because bundle not trigger yet.
+        assertTrue(testHarness.getOutput().isEmpty());
+
+        testHarness.processElement(insertRecord("fruit", 5L, 22));
+
+        List<Object> expectedOutput = new ArrayList<>();
+        // the first of equal sort keys is kept
+        expectedOutput.add(insertRecord("book", 6L, 10));
+        expectedOutput.add(insertRecord("book", 4L, 11));
+        expectedOutput.add(insertRecord("fruit", 5L, 22));
+        expectedOutput.add(insertRecord("fruit", 4L, 33));
+        assertor.assertOutputEqualsSorted("output wrong.", expectedOutput, testHarness.getOutput());
+        testHarness.close();
+    }
+
+    @Test
+    public void testBundlesAreIndependent() throws Exception {
+        OneInputStreamOperatorTestHarness<RowData, RowData> testHarness = createTestHarness(1, 2);
+        testHarness.open();
+        testHarness.processElement(insertRecord("book", 1L, 12));
+        testHarness.processElement(insertRecord("book", 2L, 11));
+        testHarness.processElement(insertRecord("book", 3L, 13));
+        testHarness.processElement(insertRecord("book", 4L, 14));
+        testHarness.processElement(insertRecord("book", 5L, 10));
+        // the last bundle is flushed before checkpoints
+        testHarness.prepareSnapshotPreBarrier(1L);
+
+        List<Object> expectedOutput = new ArrayList<>();
+        expectedOutput.add(insertRecord("book", 2L, 11));
+        expectedOutput.add(insertRecord("book", 3L, 13));
+        expectedOutput.add(insertRecord("book", 5L, 10));
+        assertor.assertOutputEquals("output wrong.", expectedOutput, testHarness.getOutput());
+        testHarness.close();
+    }
+}
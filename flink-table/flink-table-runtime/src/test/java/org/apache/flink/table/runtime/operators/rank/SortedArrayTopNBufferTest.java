@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.rank;
+
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.data.writer.BinaryRowWriter;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link SortedArrayTopNBuffer}. */
+public class SortedArrayTopNBufferTest {
+
+    private final Comparator<RowData> comparator = Comparator.comparingInt(row -> row.getInt(0));
+
+    @Test
+    public void testPutAndRemove() {
+        SortedArrayTopNBuffer buffer = new SortedArrayTopNBuffer(comparator);
+        assertNull(buffer.lastEntry());
+        assertNull(buffer.removeLast());
+
+        assertEquals(1, buffer.put(key(3), row(3, 1)));
+        assertEquals(1, buffer.put(key(1), row(1, 1)));
+        assertEquals(2, buffer.put(key(3), row(3, 2)));
+        assertEquals(1, buffer.put(key(2), row(2, 1)));
+        assertEquals(4, buffer.getCurrentTopNum());
+        assertTrue(buffer.containsKey(key(2)));
+        assertFalse(buffer.containsKey(key(4)));
+
+        assertEquals(row(1, 1), buffer.getElement(1));
+        assertEquals(row(3, 1), buffer.getElement(3));
+        assertEquals(row(3, 2), buffer.getElement(4));
+        assertNull(buffer.getElement(5));
+        assertEquals(row(3, 2), buffer.lastElement());
+        assertEquals(key(3), buffer.lastEntry().getKey());
+
+        assertEquals(row(3, 2), buffer.removeLast());
+        assertEquals(row(3, 1), buffer.removeLast());
+        assertEquals(key(2), buffer.lastEntry().getKey());
+        buffer.remove(key(1), row(1, 1));
+        buffer.removeAll(key(2));
+        assertEquals(0, buffer.getCurrentTopNum());
+        assertEquals(0, buffer.getMemorySize());
+        assertFalse(buffer.entrySet().iterator().hasNext());
+    }
+
+    @Test
+    public void testSameResultsAsTopNBuffer() {
+        Random random = new Random(42);
+        TopNBuffer expected = new TopNBuffer(comparator, ArrayList::new);
+        SortedArrayTopNBuffer actual = new SortedArrayTopNBuffer(comparator);
+        for (int i = 0; i < 10000; i++) {
+            int sortKey = random.nextInt(100);
+            switch (random.nextInt(5)) {
+                case 0:
+                case 1:
+                    RowData value = row(sortKey, i);
+                    assertEquals(
+                            expected.put(key(sortKey), value), actual.put(key(sortKey), value));
+                    break;
+                case 2:
+                    List<RowData> values = Arrays.asList(row(sortKey, i), row(sortKey, -i));
+                    expected.putAll(key(sortKey), new ArrayList<>(values));
+                    actual.putAll(key(sortKey), new ArrayList<>(values));
+                    break;
+                case 3:
+                    assertEquals(expected.removeLast(), actual.removeLast());
+                    break;
+                default:
+                    expected.removeAll(key(sortKey));
+                    actual.removeAll(key(sortKey));
+            }
+            assertEquals(expected.getCurrentTopNum(), actual.getCurrentTopNum());
+            assertEquals(expected.lastElement(), actual.lastElement());
+            int rank = random.nextInt(expected.getCurrentTopNum() + 1);
+            assertEquals(expected.getElement(rank), actual.getElement(rank));
+        }
+
+        Iterator<Map.Entry<RowData, Collection<RowData>>> expectedIter =
+                expected.entrySet().iterator();
+        for (Map.Entry<RowData, Collection<RowData>> entry : actual.entrySet()) {
+            Map.Entry<RowData, Collection<RowData>> expectedEntry = expectedIter.next();
+            assertEquals(expectedEntry.getKey(), entry.getKey());
+            assertEquals(expectedEntry.getValue(), entry.getValue());
+        }
+        assertFalse(expectedIter.hasNext());
+    }
+
+    @Test
+    public void testMemorySize() {
+        SortedArrayTopNBuffer buffer = new SortedArrayTopNBuffer(comparator);
+        buffer.put(key(1), row(1, 1));
+        long keySize = buffer.getMemorySize() - rowSize(row(1, 1));
+        assertTrue(keySize > 0);
+
+        buffer.put(key(1), row(1, 2));
+        buffer.put(key(2), row(2, 1));
+        assertEquals(2 * keySize + 3 * rowSize(row(1, 1)), buffer.getMemorySize());
+
+        buffer.putAll(key(1), new ArrayList<>(Arrays.asList(row(1, 3))));
+        assertEquals(2 * keySize + 2 * rowSize(row(1, 1)), buffer.getMemorySize());
+
+        buffer.removeLast();
+        assertEquals(keySize + rowSize(row(1, 1)), buffer.getMemorySize());
+        buffer.removeAll(key(1));
+        assertEquals(0, buffer.getMemorySize());
+    }
+
+    private static long rowSize(BinaryRowData row) {
+        // Binary rows are estimated by their size in bytes plus the object overhead.
+        return row.getSizeInBytes() + 64;
+    }
+
+    private static RowData key(int sortKey) {
+        return GenericRowData.of(sortKey);
+    }
+
+    private static BinaryRowData row(int sortKey, int value) {
+        BinaryRowData row = new BinaryRowData(2);
+        BinaryRowWriter writer = new BinaryRowWriter(row);
+        writer.writeInt(0, sortKey);
+        writer.writeInt(1, value);
+        writer.complete();
+        return row;
+    }
+}